@@ -12,6 +12,7 @@ import com.farao_community.farao.data.crac_api.CracFactory;
 import com.farao_community.farao.data.crac_io_api.CracImporter;
 import com.farao_community.farao.data.crac_io_json.deserializers.CracDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.google.auto.service.AutoService;
 import org.apache.commons.io.FilenameUtils;
@@ -31,14 +32,25 @@ import static com.powsybl.commons.json.JsonUtil.createObjectMapper;
 public class JsonImport implements CracImporter {
     private static final String JSON_EXTENSION = "json";
 
+    /**
+     * Reader shared by all the imports: building a mapper and resolving its deserializers is much more
+     * expensive than reading a small Crac, and readers are immutable and thread-safe. The CracFactory of
+     * an import is given to the CracDeserializer as an attribute of its reader.
+     */
+    private static final ObjectReader CRAC_READER = createCracReader();
+
+    private static ObjectReader createCracReader() {
+        ObjectMapper objectMapper = createObjectMapper();
+        SimpleModule module = new SimpleModule();
+        module.addDeserializer(Crac.class, new CracDeserializer());
+        objectMapper.registerModule(module);
+        return objectMapper.readerFor(Crac.class);
+    }
+
     @Override
     public Crac importCrac(InputStream inputStream, @Nonnull CracFactory cracFactory) {
         try {
-            ObjectMapper objectMapper = createObjectMapper();
-            SimpleModule module = new SimpleModule();
-            module.addDeserializer(Crac.class, new CracDeserializer(cracFactory));
-            objectMapper.registerModule(module);
-            return objectMapper.readValue(inputStream, Crac.class);
+            return CRAC_READER.withAttribute(CracFactory.class, cracFactory).readValue(inputStream);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
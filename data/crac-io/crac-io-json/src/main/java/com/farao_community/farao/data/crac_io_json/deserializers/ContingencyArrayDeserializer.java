@@ -12,11 +12,9 @@ import com.farao_community.farao.data.crac_api.ContingencyAdder;
 import com.farao_community.farao.data.crac_api.Crac;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
-import com.fasterxml.jackson.core.type.TypeReference;
 
 import java.io.IOException;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import static com.farao_community.farao.data.crac_io_json.JsonSerializationConstants.*;
@@ -28,8 +26,8 @@ final class ContingencyArrayDeserializer {
 
     private ContingencyArrayDeserializer() { }
 
-    static void deserialize(JsonParser jsonParser, Crac crac, Map<String, String> networkElementsNamesPerId) throws IOException {
-        if (networkElementsNamesPerId == null) {
+    static void deserialize(JsonParser jsonParser, Crac crac, DeserializedIds deserializedIds) throws IOException {
+        if (deserializedIds == null) {
             throw new FaraoException(String.format("Cannot deserialize %s before %s", CONTINGENCIES, NETWORK_ELEMENTS_NAME_PER_ID));
         }
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
@@ -37,18 +35,21 @@ final class ContingencyArrayDeserializer {
             while (!jsonParser.nextToken().isStructEnd()) {
                 switch (jsonParser.getCurrentName()) {
                     case ID:
-                        adder.withId(jsonParser.nextTextValue());
+                        adder.withId(deserializedIds.nextId(jsonParser));
                         break;
                     case NAME:
                         adder.withName(jsonParser.nextTextValue());
                         break;
                     case NETWORK_ELEMENTS_IDS:
                         jsonParser.nextToken();
-                        Set<String> networkElementIds = jsonParser.readValueAs(new TypeReference<HashSet<String>>() {
-                        });
+                        Set<String> networkElementIds = new HashSet<>();
+                        while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+                            networkElementIds.add(deserializedIds.intern(jsonParser.getText()));
+                        }
                         networkElementIds.forEach(neId -> {
-                                if (networkElementsNamesPerId.containsKey(neId)) {
-                                    adder.withNetworkElement(neId, networkElementsNamesPerId.get(neId));
+                                String neName = deserializedIds.getNetworkElementName(neId);
+                                if (neName != null) {
+                                    adder.withNetworkElement(neId, neName);
                                 } else {
                                     adder.withNetworkElement(neId);
                                 }
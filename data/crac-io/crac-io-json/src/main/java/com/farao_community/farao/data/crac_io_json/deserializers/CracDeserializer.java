@@ -19,9 +19,7 @@ import com.powsybl.commons.extensions.Extension;
 import com.powsybl.commons.json.JsonUtil;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import static com.farao_community.farao.data.crac_io_json.JsonSerializationConstants.*;
 
@@ -33,13 +31,26 @@ public class CracDeserializer extends JsonDeserializer<Crac> {
 
     private CracFactory cracFactory;
 
-    private CracDeserializer() {
+    /**
+     * Creates a deserializer which takes the {@link CracFactory} from the {@link CracFactory}-keyed
+     * attribute of the deserialization context, so that it can be registered once in a shared mapper.
+     * The default factory is used if the attribute is not set.
+     */
+    public CracDeserializer() {
     }
 
     public CracDeserializer(CracFactory cracFactory) {
         this.cracFactory = cracFactory;
     }
 
+    private CracFactory getCracFactory(DeserializationContext deserializationContext) {
+        if (cracFactory != null) {
+            return cracFactory;
+        }
+        CracFactory contextCracFactory = (CracFactory) deserializationContext.getAttribute(CracFactory.class);
+        return contextCracFactory != null ? contextCracFactory : CracFactory.findDefault();
+    }
+
     @Override
     public Crac deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
         jsonParser.nextToken();
@@ -56,35 +67,35 @@ public class CracDeserializer extends JsonDeserializer<Crac> {
         }
         String name = jsonParser.nextTextValue();
 
-        Crac crac = cracFactory.create(id, name);
+        Crac crac = getCracFactory(deserializationContext).create(id, name);
 
-        Map<String, String> deserializedNetworkElementsNamesPerId = null;
+        DeserializedIds deserializedIds = null;
         // deserialize the following lines of the Crac
         while (jsonParser.nextToken() != JsonToken.END_OBJECT) {
             switch (jsonParser.getCurrentName()) {
                 case NETWORK_ELEMENTS_NAME_PER_ID:
                     jsonParser.nextToken();
-                    deserializedNetworkElementsNamesPerId = jsonParser.readValueAs(HashMap.class);
+                    deserializedIds = DeserializedIds.readNetworkElementsNamesPerId(jsonParser);
                     break;
 
                 case CONTINGENCIES:
                     jsonParser.nextToken();
-                    ContingencyArrayDeserializer.deserialize(jsonParser, crac, deserializedNetworkElementsNamesPerId);
+                    ContingencyArrayDeserializer.deserialize(jsonParser, crac, deserializedIds);
                     break;
 
                 case FLOW_CNECS:
                     jsonParser.nextToken();
-                    FlowCnecArrayDeserializer.deserialize(jsonParser, deserializationContext, crac, deserializedNetworkElementsNamesPerId);
+                    FlowCnecArrayDeserializer.deserialize(jsonParser, deserializationContext, crac, deserializedIds);
                     break;
 
                 case PST_RANGE_ACTIONS:
                     jsonParser.nextToken();
-                    PstRangeActionArrayDeserializer.deserialize(jsonParser, deserializationContext, crac, deserializedNetworkElementsNamesPerId);
+                    PstRangeActionArrayDeserializer.deserialize(jsonParser, deserializationContext, crac, deserializedIds);
                     break;
 
                 case NETWORK_ACTIONS:
                     jsonParser.nextToken();
-                    NetworkActionArrayDeserializer.deserialize(jsonParser, deserializationContext, crac, deserializedNetworkElementsNamesPerId);
+                    NetworkActionArrayDeserializer.deserialize(jsonParser, deserializationContext, crac, deserializedIds);
                     break;
 
                 case EXTENSIONS:
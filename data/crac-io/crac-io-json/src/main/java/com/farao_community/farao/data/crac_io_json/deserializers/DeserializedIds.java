@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.data.crac_io_json.deserializers;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ids of the network elements and of the contingencies met while deserializing a Crac.
+ * <p>
+ * The same ids are repeated by many objects of a JSON Crac, and the parser creates a new String
+ * each time it reads one of them. They are interned, per deserialization, so that all the objects
+ * of the Crac share a single instance of each id.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class DeserializedIds {
+    private final Map<String, String> ids = new HashMap<>();
+    private final Map<String, String> networkElementsNamesPerId = new HashMap<>();
+
+    /**
+     * Reads the names of the network elements, without materializing the JSON object.
+     */
+    static DeserializedIds readNetworkElementsNamesPerId(JsonParser jsonParser) throws IOException {
+        DeserializedIds deserializedIds = new DeserializedIds();
+        while (jsonParser.nextToken() != JsonToken.END_OBJECT) {
+            String networkElementId = deserializedIds.intern(jsonParser.getCurrentName());
+            deserializedIds.networkElementsNamesPerId.put(networkElementId, jsonParser.nextTextValue());
+        }
+        return deserializedIds;
+    }
+
+    /**
+     * Wraps names of network elements which have already been read, or returns null if there are none.
+     */
+    static DeserializedIds fromNetworkElementsNamesPerId(Map<String, String> networkElementsNamesPerId) {
+        if (networkElementsNamesPerId == null) {
+            return null;
+        }
+        DeserializedIds deserializedIds = new DeserializedIds();
+        networkElementsNamesPerId.forEach((networkElementId, name) ->
+            deserializedIds.networkElementsNamesPerId.put(deserializedIds.intern(networkElementId), name));
+        return deserializedIds;
+    }
+
+    /**
+     * Returns the instance of the id shared by the whole Crac.
+     */
+    String intern(String id) {
+        if (id == null) {
+            return null;
+        }
+        String internedId = ids.putIfAbsent(id, id);
+        return internedId == null ? id : internedId;
+    }
+
+    /**
+     * Reads the next text value of the parser, as an interned id.
+     */
+    String nextId(JsonParser jsonParser) throws IOException {
+        return intern(jsonParser.nextTextValue());
+    }
+
+    /**
+     * Returns the name of the network element, or null if it has none.
+     */
+    String getNetworkElementName(String networkElementId) {
+        return networkElementsNamesPerId.get(networkElementId);
+    }
+}
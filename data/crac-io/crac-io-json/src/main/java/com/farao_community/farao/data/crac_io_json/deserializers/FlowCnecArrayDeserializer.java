@@ -32,8 +32,17 @@ public final class FlowCnecArrayDeserializer {
     private FlowCnecArrayDeserializer() {
     }
 
+    /**
+     * @deprecated the Crac is deserialized by {@link CracDeserializer}, which shares the ids of the network
+     * elements of the whole Crac
+     */
+    @Deprecated
     public static void deserialize(JsonParser jsonParser, DeserializationContext deserializationContext, Crac crac, Map<String, String> networkElementsNamesPerId) throws IOException {
-        if (networkElementsNamesPerId == null) {
+        deserialize(jsonParser, deserializationContext, crac, DeserializedIds.fromNetworkElementsNamesPerId(networkElementsNamesPerId));
+    }
+
+    static void deserialize(JsonParser jsonParser, DeserializationContext deserializationContext, Crac crac, DeserializedIds deserializedIds) throws IOException {
+        if (deserializedIds == null) {
             throw new FaraoException(String.format("Cannot deserialize %s before %s", FLOW_CNECS, NETWORK_ELEMENTS_NAME_PER_ID));
         }
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
@@ -48,9 +57,10 @@ public final class FlowCnecArrayDeserializer {
                         adder.withName(jsonParser.nextTextValue());
                         break;
                     case NETWORK_ELEMENT_ID:
-                        String networkElementId = jsonParser.nextTextValue();
-                        if (networkElementsNamesPerId.containsKey(networkElementId)) {
-                            adder.withNetworkElement(networkElementId, networkElementsNamesPerId.get(networkElementId));
+                        String networkElementId = deserializedIds.nextId(jsonParser);
+                        String networkElementName = deserializedIds.getNetworkElementName(networkElementId);
+                        if (networkElementName != null) {
+                            adder.withNetworkElement(networkElementId, networkElementName);
                         } else {
                             adder.withNetworkElement(networkElementId);
                         }
@@ -62,7 +72,7 @@ public final class FlowCnecArrayDeserializer {
                         adder.withInstant(deserializeInstant(jsonParser.nextTextValue()));
                         break;
                     case CONTINGENCY_ID:
-                        adder.withContingency(jsonParser.nextTextValue());
+                        adder.withContingency(deserializedIds.nextId(jsonParser));
                         break;
                     case OPTIMIZED:
                         adder.withOptimized(jsonParser.nextBooleanValue());
@@ -76,7 +86,7 @@ public final class FlowCnecArrayDeserializer {
                         break;
                     case I_MAX:
                         jsonParser.nextToken();
-                        Double[] iMax = jsonParser.readValueAs(Double[].class);
+                        double[] iMax = readDoubleArray(jsonParser);
                         if (iMax.length == 1) {
                             adder.withIMax(iMax[0]);
                         } else if (iMax.length == 2) {
@@ -88,7 +98,7 @@ public final class FlowCnecArrayDeserializer {
                         break;
                     case NOMINAL_VOLTAGE:
                         jsonParser.nextToken();
-                        Double[] nominalV = jsonParser.readValueAs(Double[].class);
+                        double[] nominalV = readDoubleArray(jsonParser);
                         if (nominalV.length == 1) {
                             adder.withNominalVoltage(nominalV[0]);
                         } else if (nominalV.length == 2) {
@@ -116,4 +126,16 @@ public final class FlowCnecArrayDeserializer {
             }
         }
     }
+
+    private static double[] readDoubleArray(JsonParser jsonParser) throws IOException {
+        double[] values = new double[2];
+        int size = 0;
+        while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, 2 * size);
+            }
+            values[size++] = jsonParser.getDoubleValue();
+        }
+        return Arrays.copyOf(values, size);
+    }
 }
@@ -25,8 +25,17 @@ public final class InjectionSetpointArrayDeserializer {
     private InjectionSetpointArrayDeserializer() {
     }
 
+    /**
+     * @deprecated the Crac is deserialized by {@link CracDeserializer}, which shares the ids of the network
+     * elements of the whole Crac
+     */
+    @Deprecated
     public static void deserialize(JsonParser jsonParser, NetworkActionAdder ownerAdder, Map<String, String> networkElementsNamesPerId) throws IOException {
-        if (networkElementsNamesPerId == null) {
+        deserialize(jsonParser, ownerAdder, DeserializedIds.fromNetworkElementsNamesPerId(networkElementsNamesPerId));
+    }
+
+    static void deserialize(JsonParser jsonParser, NetworkActionAdder ownerAdder, DeserializedIds deserializedIds) throws IOException {
+        if (deserializedIds == null) {
             throw new FaraoException(String.format("Cannot deserialize %s before %s", INJECTION_SETPOINTS, NETWORK_ELEMENTS_NAME_PER_ID));
         }
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
@@ -34,9 +43,10 @@ public final class InjectionSetpointArrayDeserializer {
             while (!jsonParser.nextToken().isStructEnd()) {
                 switch (jsonParser.getCurrentName()) {
                     case NETWORK_ELEMENT_ID:
-                        String networkElementId = jsonParser.nextTextValue();
-                        if (networkElementsNamesPerId.containsKey(networkElementId)) {
-                            adder.withNetworkElement(networkElementId, networkElementsNamesPerId.get(networkElementId));
+                        String networkElementId = deserializedIds.nextId(jsonParser);
+                        String networkElementName = deserializedIds.getNetworkElementName(networkElementId);
+                        if (networkElementName != null) {
+                            adder.withNetworkElement(networkElementId, networkElementName);
                         } else {
                             adder.withNetworkElement(networkElementId);
                         }
@@ -32,8 +32,17 @@ public final class NetworkActionArrayDeserializer {
     private NetworkActionArrayDeserializer() {
     }
 
+    /**
+     * @deprecated the Crac is deserialized by {@link CracDeserializer}, which shares the ids of the network
+     * elements of the whole Crac
+     */
+    @Deprecated
     public static void deserialize(JsonParser jsonParser, DeserializationContext deserializationContext, Crac crac, Map<String, String> networkElementsNamesPerId) throws IOException {
-        if (networkElementsNamesPerId == null) {
+        deserialize(jsonParser, deserializationContext, crac, DeserializedIds.fromNetworkElementsNamesPerId(networkElementsNamesPerId));
+    }
+
+    static void deserialize(JsonParser jsonParser, DeserializationContext deserializationContext, Crac crac, DeserializedIds deserializedIds) throws IOException {
+        if (deserializedIds == null) {
             throw new FaraoException(String.format("Cannot deserialize %s before %s", NETWORK_ACTIONS, NETWORK_ELEMENTS_NAME_PER_ID));
         }
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
@@ -56,7 +65,7 @@ public final class NetworkActionArrayDeserializer {
                         break;
                     case ON_STATE_USAGE_RULES:
                         jsonParser.nextToken();
-                        OnStateArrayDeserializer.deserialize(jsonParser, adder);
+                        OnStateArrayDeserializer.deserialize(jsonParser, adder, deserializedIds);
                         break;
                     case ON_FLOW_CONSTRAINT_USAGE_RULES:
                         jsonParser.nextToken();
@@ -64,15 +73,15 @@ public final class NetworkActionArrayDeserializer {
                         break;
                     case TOPOLOGICAL_ACTIONS:
                         jsonParser.nextToken();
-                        TopologicalActionArrayDeserializer.deserialize(jsonParser, adder, networkElementsNamesPerId);
+                        TopologicalActionArrayDeserializer.deserialize(jsonParser, adder, deserializedIds);
                         break;
                     case PST_SETPOINTS:
                         jsonParser.nextToken();
-                        PstSetpointArrayDeserializer.deserialize(jsonParser, adder, networkElementsNamesPerId);
+                        PstSetpointArrayDeserializer.deserialize(jsonParser, adder, deserializedIds);
                         break;
                     case INJECTION_SETPOINTS:
                         jsonParser.nextToken();
-                        InjectionSetpointArrayDeserializer.deserialize(jsonParser, adder, networkElementsNamesPerId);
+                        InjectionSetpointArrayDeserializer.deserialize(jsonParser, adder, deserializedIds);
                         break;
                     case EXTENSIONS:
                         jsonParser.nextToken();
@@ -24,7 +24,16 @@ public final class OnStateArrayDeserializer {
     private OnStateArrayDeserializer() {
     }
 
+    /**
+     * @deprecated the Crac is deserialized by {@link CracDeserializer}, which shares the contingency ids
+     * of the whole Crac
+     */
+    @Deprecated
     public static void deserialize(JsonParser jsonParser, RemedialActionAdder<?> ownerAdder) throws IOException {
+        deserialize(jsonParser, ownerAdder, new DeserializedIds());
+    }
+
+    static void deserialize(JsonParser jsonParser, RemedialActionAdder<?> ownerAdder, DeserializedIds deserializedIds) throws IOException {
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
             OnStateAdder<?> adder = ownerAdder.newOnStateUsageRule();
             while (!jsonParser.nextToken().isStructEnd()) {
@@ -36,7 +45,7 @@ public final class OnStateArrayDeserializer {
                         adder.withUsageMethod(deserializeUsageMethod(jsonParser.nextTextValue()));
                         break;
                     case CONTINGENCY_ID:
-                        adder.withContingency(jsonParser.nextTextValue());
+                        adder.withContingency(deserializedIds.nextId(jsonParser));
                         break;
                     default:
                         throw new FaraoException("Unexpected field in OnState: " + jsonParser.getCurrentName());
@@ -34,8 +34,17 @@ public final class PstRangeActionArrayDeserializer {
     private PstRangeActionArrayDeserializer() {
     }
 
+    /**
+     * @deprecated the Crac is deserialized by {@link CracDeserializer}, which shares the ids of the network
+     * elements of the whole Crac
+     */
+    @Deprecated
     public static void deserialize(JsonParser jsonParser, DeserializationContext deserializationContext, Crac crac, Map<String, String> networkElementsNamesPerId) throws IOException {
-        if (networkElementsNamesPerId == null) {
+        deserialize(jsonParser, deserializationContext, crac, DeserializedIds.fromNetworkElementsNamesPerId(networkElementsNamesPerId));
+    }
+
+    static void deserialize(JsonParser jsonParser, DeserializationContext deserializationContext, Crac crac, DeserializedIds deserializedIds) throws IOException {
+        if (deserializedIds == null) {
             throw new FaraoException(String.format("Cannot deserialize %s before %s", PST_RANGE_ACTIONS, NETWORK_ELEMENTS_NAME_PER_ID));
         }
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
@@ -58,16 +67,17 @@ public final class PstRangeActionArrayDeserializer {
                         break;
                     case ON_STATE_USAGE_RULES:
                         jsonParser.nextToken();
-                        OnStateArrayDeserializer.deserialize(jsonParser, adder);
+                        OnStateArrayDeserializer.deserialize(jsonParser, adder, deserializedIds);
                         break;
                     case ON_FLOW_CONSTRAINT_USAGE_RULES:
                         jsonParser.nextToken();
                         OnFlowConstraintArrayDeserializer.deserialize(jsonParser, adder);
                         break;
                     case NETWORK_ELEMENT_ID:
-                        String networkElementId = jsonParser.nextTextValue();
-                        if (networkElementsNamesPerId.containsKey(networkElementId)) {
-                            adder.withNetworkElement(networkElementId, networkElementsNamesPerId.get(networkElementId));
+                        String networkElementId = deserializedIds.nextId(jsonParser);
+                        String networkElementName = deserializedIds.getNetworkElementName(networkElementId);
+                        if (networkElementName != null) {
+                            adder.withNetworkElement(networkElementId, networkElementName);
                         } else {
                             adder.withNetworkElement(networkElementId);
                         }
@@ -8,20 +8,32 @@ package com.farao_community.farao.data.crac_io_json;
 
 import com.farao_community.farao.commons.Unit;
 import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.CracFactory;
 import com.farao_community.farao.data.crac_api.Instant;
 import com.farao_community.farao.data.crac_api.cnec.Side;
 import com.farao_community.farao.data.crac_api.network_action.ActionType;
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.network_action.NetworkActionAdder;
 import com.farao_community.farao.data.crac_api.range_action.RangeType;
 import com.farao_community.farao.data.crac_api.threshold.BranchThresholdRule;
 import com.farao_community.farao.data.crac_api.usage_rule.OnFlowConstraint;
 import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
 import com.farao_community.farao.data.crac_impl.CracImpl;
+import com.farao_community.farao.data.crac_impl.CracImplFactory;
 import com.farao_community.farao.data.crac_impl.InjectionSetpointImpl;
 import com.farao_community.farao.data.crac_impl.OnFlowConstraintImpl;
 import com.farao_community.farao.data.crac_impl.PstSetpointImpl;
+import com.farao_community.farao.data.crac_io_json.deserializers.OnStateArrayDeserializer;
+import com.farao_community.farao.data.crac_io_json.deserializers.TopologicalActionArrayDeserializer;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static junit.framework.TestCase.assertEquals;
 import static org.junit.Assert.*;
@@ -182,4 +194,48 @@ public class CracImportExportTest {
         assertEquals(Instant.PREVENTIVE, onFlowConstraint.getInstant());
         assertSame(importedCrac.getCnec("cnec3prevId"), onFlowConstraint.getFlowCnec());
     }
+
+    @Test
+    public void importsUseTheirOwnCracFactory() {
+        Crac crac = new CracImpl("cracId");
+        crac.newContingency().withId("co").withNetworkElement("ne1Id", "ne1Name").add();
+        crac.newFlowCnec().withId("cnec").withNetworkElement("ne1Id", "ne1Name").withInstant(Instant.OUTAGE).withContingency("co")
+            .newThreshold().withRule(BranchThresholdRule.ON_LEFT_SIDE).withUnit(Unit.MEGAWATT).withMax(100.).add()
+            .add();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new JsonExport().exportCrac(crac, outputStream);
+
+        AtomicInteger createdCracs = new AtomicInteger();
+        CracFactory countingCracFactory = new CracImplFactory() {
+            @Override
+            public Crac create(String id, String name) {
+                createdCracs.incrementAndGet();
+                return super.create(id, name);
+            }
+        };
+        Crac importedCrac = new JsonImport().importCrac(new ByteArrayInputStream(outputStream.toByteArray()), countingCracFactory);
+        new JsonImport().importCrac(new ByteArrayInputStream(outputStream.toByteArray()), new CracImplFactory());
+        new JsonImport().importCrac(new ByteArrayInputStream(outputStream.toByteArray()), countingCracFactory);
+
+        assertEquals(2, createdCracs.get());
+        assertEquals("ne1Name", importedCrac.getFlowCnec("cnec").getNetworkElement().getName());
+        assertSame(importedCrac.getContingency("co"), importedCrac.getFlowCnec("cnec").getState().getContingency().orElseThrow());
+    }
+
+    @Test
+    public void deprecatedArrayDeserializersCanStillBeCalled() throws IOException {
+        Crac crac = new CracImpl("cracId");
+        crac.newContingency().withId("co").withNetworkElement("ne1Id").add();
+        NetworkActionAdder adder = crac.newNetworkAction().withId("na");
+        JsonParser jsonParser = new JsonFactory().createParser("[{\"networkElementId\":\"ne2Id\",\"actionType\":\"open\"}]");
+        jsonParser.nextToken();
+        TopologicalActionArrayDeserializer.deserialize(jsonParser, adder, Map.of("ne2Id", "ne2Name"));
+        jsonParser = new JsonFactory().createParser("[{\"instant\":\"curative\",\"usageMethod\":\"available\",\"contingencyId\":\"co\"}]");
+        jsonParser.nextToken();
+        OnStateArrayDeserializer.deserialize(jsonParser, adder);
+        NetworkAction networkAction = adder.add();
+
+        assertEquals("ne2Name", networkAction.getNetworkElements().iterator().next().getName());
+        assertEquals(UsageMethod.AVAILABLE, networkAction.getUsageMethod(crac.getState("co", Instant.CURATIVE)));
+    }
 }
@@ -47,6 +47,17 @@ public interface PstRangeAction extends RangeAction {
      */
     Map<Integer, Double> getTapToAngleConversionMap();
 
+    /**
+     * Get the lowest tap of the PST. All the taps between the lowest and the highest ones are defined
+     * in the tap to angle conversion map.
+     */
+    int getLowTapPosition();
+
+    /**
+     * Get the highest tap of the PST
+     */
+    int getHighTapPosition();
+
     /**
      * Get the value of the tap of the PST Range Action for a given Network
      */
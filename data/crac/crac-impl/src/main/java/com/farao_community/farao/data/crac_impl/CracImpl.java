@@ -18,6 +18,8 @@ import com.farao_community.farao.data.crac_api.network_action.NetworkActionAdder
 import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
 import com.farao_community.farao.data.crac_api.range_action.PstRangeActionAdder;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.data.crac_api.usage_rule.FreeToUse;
+import com.farao_community.farao.data.crac_api.usage_rule.OnFlowConstraint;
 import com.farao_community.farao.data.crac_api.usage_rule.OnState;
 import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
 
@@ -42,6 +44,13 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
     private final Map<String, PstRangeAction> pstRangeActions = new HashMap<>();
     private final Map<String, NetworkAction> networkActions = new HashMap<>();
 
+    // Indexes of the elements above, maintained as elements are added or removed
+    private final Map<String, Map<Instant, State>> statesPerContingency = new HashMap<>();
+    private final Map<Instant, Set<State>> statesPerInstant = new EnumMap<>(Instant.class);
+    private final Map<State, Set<FlowCnec>> flowCnecsPerState = new HashMap<>();
+    private final UsageRuleIndex<PstRangeAction> pstRangeActionsPerUsageRule = new UsageRuleIndex<>();
+    private final UsageRuleIndex<NetworkAction> networkActionsPerUsageRule = new UsageRuleIndex<>();
+
     public CracImpl(String id, String name) {
         super(id, name);
     }
@@ -191,26 +200,18 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
     @Override
     public SortedSet<State> getStates(Contingency contingency) {
         Objects.requireNonNull(contingency, "Contingency must not be null when getting states.");
-        return states.values().stream()
-            .filter(state -> state.getContingency().isPresent() && state.getContingency().get().getId().equals(contingency.getId()))
-            .collect(Collectors.toCollection(TreeSet::new));
+        return new TreeSet<>(statesPerContingency.getOrDefault(contingency.getId(), Collections.emptyMap()).values());
     }
 
     @Override
     public Set<State> getStates(Instant instant) {
-        return states.values().stream()
-            .filter(state -> state.getInstant().equals(instant))
-            .collect(Collectors.toSet());
+        return new HashSet<>(statesPerInstant.getOrDefault(instant, Collections.emptySet()));
     }
 
     @Override
     public State getState(Contingency contingency, Instant instant) {
         Objects.requireNonNull(contingency, "Contingency must not be null when getting a state.");
-        return states.values().stream()
-            .filter(state -> state.getInstant() == instant)
-            .filter(state -> state.getContingency().isPresent() && state.getContingency().get().getId().equals(contingency.getId()))
-            .findAny()
-            .orElse(null);
+        return statesPerContingency.getOrDefault(contingency.getId(), Collections.emptyMap()).get(instant);
     }
 
     State addPreventiveState() {
@@ -218,7 +219,7 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
             return getPreventiveState();
         } else {
             State state = new PreventiveState();
-            states.put(state.getId(), state);
+            putState(state);
             return state;
         }
     }
@@ -235,11 +236,33 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
                 throw new FaraoException(format(ADD_ELEMENT_TO_CRAC_ERROR_MESSAGE, contingency.getId()));
             }
             State state = new PostContingencyState(getContingency(contingency.getId()), instant);
-            states.put(state.getId(), state);
+            putState(state);
             return state;
         }
     }
 
+    private void putState(State state) {
+        states.put(state.getId(), state);
+        statesPerInstant.computeIfAbsent(state.getInstant(), instant -> new HashSet<>()).add(state);
+        state.getContingency().ifPresent(contingency ->
+            statesPerContingency.computeIfAbsent(contingency.getId(), id -> new EnumMap<>(Instant.class)).put(state.getInstant(), state));
+    }
+
+    private void removeState(String stateId) {
+        State state = states.remove(stateId);
+        if (state == null) {
+            return;
+        }
+        statesPerInstant.get(state.getInstant()).remove(state);
+        state.getContingency().ifPresent(contingency -> {
+            Map<Instant, State> contingencyStates = statesPerContingency.get(contingency.getId());
+            contingencyStates.remove(state.getInstant());
+            if (contingencyStates.isEmpty()) {
+                statesPerContingency.remove(contingency.getId());
+            }
+        });
+    }
+
     /**
      * Removes State objects from the Crac, if they are not used within other objects of the Crac
      * Only State objects that are not referenced are removed.
@@ -248,7 +271,7 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
     void safeRemoveStates(Set<String> stateIds) {
         stateIds.stream()
                 .filter(stateId -> !isStateUsedWithinCrac(stateId))
-                .forEach(states::remove);
+                .forEach(this::removeState);
     }
 
     /**
@@ -257,17 +280,13 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
      * @return true if the State is referenced in a Cnec or a RemedialAction's UsageRule
      */
     private boolean isStateUsedWithinCrac(String stateId) {
-        if (getCnecs().stream()
-            .anyMatch(cnec -> cnec.getState().getId().equals(stateId))) {
-            return true;
-        } else if (getRemedialActions().stream()
-            .map(RemedialAction::getUsageRules)
-            .flatMap(List::stream)
-            .anyMatch(ur -> ur instanceof OnState && ((OnState) ur).getState().getId().equals(stateId))) {
-            return true;
+        State state = states.get(stateId);
+        if (state == null) {
+            return false;
         }
-
-        return false;
+        return flowCnecsPerState.containsKey(state)
+            || pstRangeActionsPerUsageRule.isUsedOnState(state)
+            || networkActionsPerUsageRule.isUsedOnState(state);
     }
 
     //endregion
@@ -325,9 +344,7 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
 
     @Override
     public Set<FlowCnec> getFlowCnecs(State state) {
-        return flowCnecs.values().stream()
-                .filter(cnec -> cnec.getState().equals(state))
-                .collect(Collectors.toSet());
+        return new HashSet<>(flowCnecsPerState.getOrDefault(state, Collections.emptySet()));
     }
 
     @Override
@@ -345,12 +362,25 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
         String neId = flowCnecToRemove.getNetworkElement().getId();
         String stateId = flowCnecToRemove.getState().getId();
         flowCnecs.remove(flowCnecId);
+        removeFromStateIndex(flowCnecToRemove);
         safeRemoveNetworkElements(Collections.singleton(neId));
         safeRemoveStates(Collections.singleton(stateId));
     }
 
     void addFlowCnec(FlowCnec flowCnec) {
-        flowCnecs.put(flowCnec.getId(), flowCnec);
+        FlowCnec replacedFlowCnec = flowCnecs.put(flowCnec.getId(), flowCnec);
+        if (replacedFlowCnec != null) {
+            removeFromStateIndex(replacedFlowCnec);
+        }
+        flowCnecsPerState.computeIfAbsent(flowCnec.getState(), state -> new HashSet<>()).add(flowCnec);
+    }
+
+    private void removeFromStateIndex(FlowCnec flowCnec) {
+        Set<FlowCnec> stateFlowCnecs = flowCnecsPerState.get(flowCnec.getState());
+        stateFlowCnecs.remove(flowCnec);
+        if (stateFlowCnecs.isEmpty()) {
+            flowCnecsPerState.remove(flowCnec.getState());
+        }
     }
 
     // endregion
@@ -418,7 +448,7 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
     @Override
     public Set<RangeAction> getRangeActions(State state, UsageMethod... usageMethods) {
         // the only implementation of RangeAction is for now PstRangeAction
-        return pstRangeActions.values().stream()
+        return pstRangeActionsPerUsageRule.getCandidates(state, pstRangeActions.values(), usageMethods).stream()
             .filter(rangeAction -> Arrays.stream(usageMethods).anyMatch(usageMethod -> rangeAction.getUsageMethod(state).equals(usageMethod)))
             .collect(Collectors.toSet());
     }
@@ -440,13 +470,18 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
         Set<String> associatedStatesIds = getAssociatedStates(rangeActionToRemove).stream().map(State::getId).collect(Collectors.toSet());
 
         pstRangeActions.remove(id);
+        pstRangeActionsPerUsageRule.remove(rangeActionToRemove);
 
         safeRemoveNetworkElements(associatedNetworkElementsIds);
         safeRemoveStates(associatedStatesIds);
     }
 
     void addPstRangeAction(PstRangeAction pstRangeAction) {
-        pstRangeActions.put(pstRangeAction.getId(), pstRangeAction);
+        PstRangeAction replacedPstRangeAction = pstRangeActions.put(pstRangeAction.getId(), pstRangeAction);
+        if (replacedPstRangeAction != null) {
+            pstRangeActionsPerUsageRule.remove(replacedPstRangeAction);
+        }
+        pstRangeActionsPerUsageRule.add(pstRangeAction);
     }
 
     // endregion
@@ -461,7 +496,7 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
 
     @Override
     public Set<NetworkAction> getNetworkActions(State state, UsageMethod... usageMethods) {
-        return networkActions.values().stream()
+        return networkActionsPerUsageRule.getCandidates(state, networkActions.values(), usageMethods).stream()
             .filter(networkAction -> Arrays.stream(usageMethods).anyMatch(usageMethod -> networkAction.getUsageMethod(state).equals(usageMethod)))
             .collect(Collectors.toSet());
     }
@@ -487,13 +522,99 @@ public class CracImpl extends AbstractIdentifiable<Crac> implements Crac {
         Set<String> associatedStatesIds = getAssociatedStates(networkActionToRemove).stream().map(State::getId).collect(Collectors.toSet());
 
         networkActions.remove(id);
+        networkActionsPerUsageRule.remove(networkActionToRemove);
 
         safeRemoveNetworkElements(associatedNetworkElementsIds);
         safeRemoveStates(associatedStatesIds);
     }
 
     void addNetworkAction(NetworkAction networkAction) {
-        networkActions.put(networkAction.getId(), networkAction);
+        NetworkAction replacedNetworkAction = networkActions.put(networkAction.getId(), networkAction);
+        if (replacedNetworkAction != null) {
+            networkActionsPerUsageRule.remove(replacedNetworkAction);
+        }
+        networkActionsPerUsageRule.add(networkAction);
+    }
+    // endregion
+    // ========================================
+    // region Indexes
+    // ========================================
+
+    /**
+     * Index of remedial actions by the states and instants targeted by their usage rules. A remedial action can
+     * only have another usage method than UNAVAILABLE on a state if one of its usage rules targets this state
+     * (OnState) or its instant (FreeToUse, OnFlowConstraint), so the index gives the candidates which have to
+     * be checked for a usage method on a state.
+     * <p>
+     * As usage rules can be removed from a remedial action once it has been added to the crac, some candidates
+     * may not have any usage rule on the state anymore. The index is only modified when remedial actions are
+     * added or removed: the states and instants under which a remedial action has been indexed are kept, so that
+     * it is removed from all of them, and the lookups never modify the index.
+     */
+    private static final class UsageRuleIndex<T extends RemedialAction<?>> {
+        private final Map<State, Set<T>> remedialActionsPerState = new HashMap<>();
+        private final Map<Instant, Set<T>> remedialActionsPerInstant = new EnumMap<>(Instant.class);
+        // remedial actions with usage rules of another type, which are always candidates
+        private final Set<T> unindexedRemedialActions = new HashSet<>();
+        private final Map<T, Set<State>> indexedStates = new HashMap<>();
+        private final Map<T, Set<Instant>> indexedInstants = new HashMap<>();
+
+        void add(T remedialAction) {
+            remedialAction.getUsageRules().forEach(usageRule -> {
+                if (usageRule instanceof OnState) {
+                    addToIndex(remedialActionsPerState, indexedStates, ((OnState) usageRule).getState(), remedialAction);
+                } else if (usageRule instanceof FreeToUse) {
+                    addToIndex(remedialActionsPerInstant, indexedInstants, ((FreeToUse) usageRule).getInstant(), remedialAction);
+                } else if (usageRule instanceof OnFlowConstraint) {
+                    addToIndex(remedialActionsPerInstant, indexedInstants, ((OnFlowConstraint) usageRule).getInstant(), remedialAction);
+                } else {
+                    unindexedRemedialActions.add(remedialAction);
+                }
+            });
+        }
+
+        void remove(T remedialAction) {
+            removeFromIndex(remedialActionsPerState, indexedStates, remedialAction);
+            removeFromIndex(remedialActionsPerInstant, indexedInstants, remedialAction);
+            unindexedRemedialActions.remove(remedialAction);
+        }
+
+        boolean isUsedOnState(State state) {
+            // OnState usage rules can be removed from a remedial action after it has been added to the crac
+            return remedialActionsPerState.getOrDefault(state, Collections.emptySet()).stream()
+                .anyMatch(remedialAction -> remedialAction.getUsageRules().stream()
+                    .anyMatch(usageRule -> usageRule instanceof OnState && ((OnState) usageRule).getState().equals(state)));
+        }
+
+        /**
+         * @return the remedial actions which may have one of the usage methods on the state. As any remedial action
+         * without any usage rule on a state is UNAVAILABLE on it, all of them are returned when UNAVAILABLE is asked
+         */
+        Collection<T> getCandidates(State state, Collection<T> allRemedialActions, UsageMethod... usageMethods) {
+            if (Arrays.asList(usageMethods).contains(UsageMethod.UNAVAILABLE)) {
+                return allRemedialActions;
+            }
+            Set<T> candidates = new HashSet<>(unindexedRemedialActions);
+            candidates.addAll(remedialActionsPerState.getOrDefault(state, Collections.emptySet()));
+            candidates.addAll(remedialActionsPerInstant.getOrDefault(state.getInstant(), Collections.emptySet()));
+            return candidates;
+        }
+
+        private <K> void addToIndex(Map<K, Set<T>> index, Map<T, Set<K>> indexedKeys, K key, T remedialAction) {
+            index.computeIfAbsent(key, k -> new HashSet<>()).add(remedialAction);
+            indexedKeys.computeIfAbsent(remedialAction, ra -> new HashSet<>()).add(key);
+        }
+
+        private <K> void removeFromIndex(Map<K, Set<T>> index, Map<T, Set<K>> indexedKeys, T remedialAction) {
+            indexedKeys.getOrDefault(remedialAction, Collections.emptySet()).forEach(key -> {
+                Set<T> remedialActions = index.get(key);
+                remedialActions.remove(remedialAction);
+                if (remedialActions.isEmpty()) {
+                    index.remove(key);
+                }
+            });
+            indexedKeys.remove(remedialAction);
+        }
     }
     // endregion
 }
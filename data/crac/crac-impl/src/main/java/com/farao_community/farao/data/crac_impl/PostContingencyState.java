@@ -23,11 +23,14 @@ public class PostContingencyState implements State {
     private String id;
     private Contingency contingency;
     private Instant instant;
+    // States are used as keys of the indexes of the crac, so their hash code is computed once
+    private final int hashCode;
 
     PostContingencyState(Contingency contingency, Instant instant) {
         this.id = contingency.getId() + " - " + instant.toString();
         this.contingency = contingency;
         this.instant = instant;
+        this.hashCode = (contingency.getId() + instant.toString()).hashCode();
     }
 
     public final String getId() {
@@ -67,7 +70,7 @@ public class PostContingencyState implements State {
 
     @Override
     public int hashCode() {
-        return String.format("%s%s", contingency.getId(), instant.toString()).hashCode();
+        return hashCode;
     }
 
     @Override
@@ -17,8 +17,6 @@ import com.powsybl.iidm.network.*;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Elementary PST range remedial action.
@@ -35,6 +33,9 @@ public final class PstRangeActionImpl extends AbstractRangeAction implements Pst
     private Map<Integer, Double> tapToAngleConversionMap;
     private int lowTapPosition;
     private int highTapPosition;
+    // angles of the consecutive taps from lowTapPosition to highTapPosition, which are either increasing or decreasing
+    private double[] angles;
+    private boolean invertedAngles;
 
     PstRangeActionImpl(String id, String name, String operator, List<UsageRule> usageRules, List<TapRange> ranges,
                               NetworkElement networkElement, String groupId, int initialTap, Map<Integer, Double> tapToAngleConversionMap) {
@@ -45,6 +46,11 @@ public final class PstRangeActionImpl extends AbstractRangeAction implements Pst
         this.tapToAngleConversionMap = tapToAngleConversionMap;
         this.lowTapPosition = Collections.min(tapToAngleConversionMap.keySet());
         this.highTapPosition = Collections.max(tapToAngleConversionMap.keySet());
+        this.angles = new double[highTapPosition - lowTapPosition + 1];
+        for (int tap = lowTapPosition; tap <= highTapPosition; tap++) {
+            angles[tap - lowTapPosition] = tapToAngleConversionMap.get(tap);
+        }
+        this.invertedAngles = angles[0] > angles[angles.length - 1];
     }
 
     @Override
@@ -67,6 +73,16 @@ public final class PstRangeActionImpl extends AbstractRangeAction implements Pst
         return tapToAngleConversionMap;
     }
 
+    @Override
+    public int getLowTapPosition() {
+        return lowTapPosition;
+    }
+
+    @Override
+    public int getHighTapPosition() {
+        return highTapPosition;
+    }
+
     @Override
     public Set<NetworkElement> getNetworkElements() {
         return Collections.singleton(networkElement);
@@ -109,35 +125,46 @@ public final class PstRangeActionImpl extends AbstractRangeAction implements Pst
 
     @Override
     public double convertTapToAngle(int tap) {
-        if (tapToAngleConversionMap.containsKey(tap)) {
-            return tapToAngleConversionMap.get(tap);
-        } else {
+        if (tap < lowTapPosition || tap > highTapPosition) {
             throw new FaraoException(String.format("Pst of Range Action %s does not have a tap %d", getId(), tap));
         }
+        return angles[tap - lowTapPosition];
     }
 
+    /**
+     * The closest tap is found by a binary search on the angles of the taps, which are monotonic. When the angle
+     * is exactly between two taps, the lowest one is chosen.
+     */
     @Override
     public int convertAngleToTap(double angle) {
-
-        double minAngle = Collections.min(tapToAngleConversionMap.values());
-        double maxAngle = Collections.max(tapToAngleConversionMap.values());
+        double minAngle = invertedAngles ? angles[angles.length - 1] : angles[0];
+        double maxAngle = invertedAngles ? angles[0] : angles[angles.length - 1];
 
         // Modification of the range limitation control allowing the final angle to exceed of an EPSILON value the limitation.
         if (angle < minAngle && Math.abs(angle - minAngle) > EPSILON || angle > maxAngle && Math.abs(angle - maxAngle) > EPSILON) {
             throw new FaraoException(String.format("Angle value %.4f not is the range of minimum and maximum angle values [%.4f,%.4f] of the phase tap changer %s steps", angle, minAngle, maxAngle, networkElement.getId()));
         }
 
-        AtomicReference<Double> smallestAngleDifference = new AtomicReference<>(Double.MAX_VALUE);
-        AtomicInteger approximatedTapPosition = new AtomicInteger(0);
-
-        tapToAngleConversionMap.forEach((tap, alpha) -> {
-            double diff = Math.abs(alpha - angle);
-            if (diff < smallestAngleDifference.get()) {
-                smallestAngleDifference.set(diff);
-                approximatedTapPosition.set(tap);
+        // index of the first tap whose angle is beyond the searched one, in the direction of the angles
+        int low = 0;
+        int high = angles.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (invertedAngles ? angles[middle] > angle : angles[middle] < angle) {
+                low = middle + 1;
+            } else {
+                high = middle;
             }
-        });
-        return approximatedTapPosition.get();
+        }
+        if (low == 0) {
+            return lowTapPosition;
+        }
+        if (low == angles.length) {
+            return highTapPosition;
+        }
+        // the closest tap is either the one found or the previous one
+        int closestIndex = Math.abs(angles[low] - angle) < Math.abs(angles[low - 1] - angle) ? low : low - 1;
+        return lowTapPosition + closestIndex;
     }
 
     private Pair<Integer, Integer> getMinAndMaxTaps(double previousInstantSetPoint) {
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.data.crac_impl;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Contingency;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.network_action.ActionType;
+import com.farao_community.farao.data.crac_api.threshold.BranchThresholdRule;
+import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the lookups of the indexed CracImpl with the linear stream scans it used to make, on a crac with
+ * 3,000 contingencies. For each contingency, the states are looked up, then the cnecs and the available network
+ * actions of each state.
+ *
+ * It is not run with the unit tests, as its name does not end with Test. Run it with:
+ * mvn test -pl data/crac/crac-impl -Dtest=CracImplBenchmark -Dfarao.benchmark.runs=20
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class CracImplBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CracImplBenchmark.class);
+    private static final int NUMBER_OF_CONTINGENCIES = 3000;
+    private static final int CNECS_PER_STATE = 2;
+    // one curative network action every 10 contingencies, and a few preventive ones
+    private static final int CONTINGENCIES_PER_CURATIVE_NETWORK_ACTION = 10;
+    private static final int PREVENTIVE_NETWORK_ACTIONS = 50;
+
+    private static Crac createCrac() {
+        Crac crac = new CracImplFactory().create("benchmark");
+        for (int i = 0; i < NUMBER_OF_CONTINGENCIES; i++) {
+            String contingencyId = "co" + i;
+            crac.newContingency().withId(contingencyId).withNetworkElement("line" + i).add();
+            for (Instant instant : new Instant[] {Instant.OUTAGE, Instant.CURATIVE}) {
+                for (int j = 0; j < CNECS_PER_STATE; j++) {
+                    crac.newFlowCnec()
+                        .withId(String.format("cnec%d %s %s", j, contingencyId, instant))
+                        .withNetworkElement("line" + (i + j + 1) % NUMBER_OF_CONTINGENCIES)
+                        .withInstant(instant)
+                        .withContingency(contingencyId)
+                        .newThreshold().withUnit(Unit.MEGAWATT).withRule(BranchThresholdRule.ON_LEFT_SIDE).withMax(1000.).add()
+                        .add();
+                }
+            }
+            if (i % CONTINGENCIES_PER_CURATIVE_NETWORK_ACTION == 0) {
+                crac.newNetworkAction()
+                    .withId("curative na " + contingencyId)
+                    .newTopologicalAction().withNetworkElement("line" + i).withActionType(ActionType.CLOSE).add()
+                    .newOnStateUsageRule().withInstant(Instant.CURATIVE).withContingency(contingencyId).withUsageMethod(UsageMethod.AVAILABLE).add()
+                    .add();
+            }
+        }
+        for (int i = 0; i < PREVENTIVE_NETWORK_ACTIONS; i++) {
+            crac.newNetworkAction()
+                .withId("preventive na " + i)
+                .newTopologicalAction().withNetworkElement("line" + i).withActionType(ActionType.OPEN).add()
+                .newFreeToUseUsageRule().withInstant(Instant.PREVENTIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+                .add();
+        }
+        return crac;
+    }
+
+    private static int indexedLookups(Crac crac, Contingency contingency) {
+        int count = 0;
+        for (State state : crac.getStates(contingency)) {
+            count += crac.getFlowCnecs(state).size();
+            count += crac.getNetworkActions(state, UsageMethod.AVAILABLE).size();
+        }
+        return count + (crac.getState(contingency, Instant.CURATIVE) == null ? 0 : 1);
+    }
+
+    private static int linearScans(Crac crac, Contingency contingency) {
+        int count = 0;
+        Set<State> states = crac.getStates().stream()
+            .filter(state -> state.getContingency().isPresent() && state.getContingency().get().equals(contingency))
+            .collect(Collectors.toSet());
+        for (State state : states) {
+            count += crac.getFlowCnecs().stream().filter(cnec -> cnec.getState().equals(state)).count();
+            count += crac.getNetworkActions().stream().filter(networkAction -> networkAction.getUsageMethod(state).equals(UsageMethod.AVAILABLE)).count();
+        }
+        return count + (int) states.stream().filter(state -> state.getInstant() == Instant.CURATIVE).count();
+    }
+
+    private static double meanSweepTimeInMs(Crac crac, ToIntFunction<Contingency> lookups, int runs, int expectedCount) {
+        // warm-up
+        for (int i = 0; i < runs / 10 + 1; i++) {
+            crac.getContingencies().forEach(lookups::applyAsInt);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            assertEquals(expectedCount, crac.getContingencies().stream().mapToInt(lookups).sum());
+        }
+        return (System.nanoTime() - start) / 1e6 / runs;
+    }
+
+    @Test
+    public void compareIndexedLookupsWithLinearScans() {
+        int runs = Integer.getInteger("farao.benchmark.runs", 20);
+        Crac crac = createCrac();
+        int expectedCount = crac.getContingencies().stream().mapToInt(contingency -> indexedLookups(crac, contingency)).sum();
+        assertEquals(expectedCount, crac.getContingencies().stream().mapToInt(contingency -> linearScans(crac, contingency)).sum());
+
+        double indexedTime = meanSweepTimeInMs(crac, contingency -> indexedLookups(crac, contingency), runs, expectedCount);
+        // the linear scans are much slower, they are run on fewer sweeps
+        int linearRuns = runs / 10 + 1;
+        double linearTime = meanSweepTimeInMs(crac, contingency -> linearScans(crac, contingency), linearRuns, expectedCount);
+        LOGGER.info("Lookups of the states, cnecs and network actions of {} contingencies: indexed {} ms (mean of {} runs), linear scans {} ms (mean of {} runs)",
+            NUMBER_OF_CONTINGENCIES, String.format("%.1f", indexedTime), runs, String.format("%.1f", linearTime), linearRuns);
+    }
+}
@@ -322,6 +322,32 @@ public class CracImplTest {
         assertNotNull(crac.getContingency("co1"));
     }
 
+    @Test
+    public void testRemoveContingencyAfterRemovingOnStateUsageRule() {
+
+        crac.newContingency()
+            .withId("co1")
+            .withNetworkElement("anyNetworkElement")
+            .add();
+        crac.newNetworkAction()
+            .withId("na")
+            .withOperator("operator")
+            .newTopologicalAction().withNetworkElement("anyNetworkElement").withActionType(ActionType.CLOSE).add()
+            .newOnStateUsageRule().withInstant(CURATIVE).withContingency("co1").withUsageMethod(AVAILABLE).add()
+            .add();
+        State state = crac.getState("co1", CURATIVE);
+
+        // the usage rule is removed from the network action, which is already in the crac
+        crac.getNetworkAction("na").getUsageRules().clear();
+        assertTrue(crac.getNetworkActions(state, AVAILABLE).isEmpty());
+        crac.removeContingency("co1");
+        assertTrue(crac.getContingencies().isEmpty());
+
+        // the network action is removed from the index of the states it used to have usage rules on
+        crac.removeNetworkAction("na");
+        assertTrue(crac.getNetworkActions().isEmpty());
+    }
+
     @Test
     public void testPreventiveState() {
         assertNull(crac.getPreventiveState());
@@ -509,7 +535,6 @@ public class CracImplTest {
         crac.removeFlowCnec("cnec3");
         assertNull(crac.getCnec("cnec3"));
         assertNotNull(crac.getNetworkElement("ne2")); // still used by cnec4
-        assertNull(crac.getState("co1", CURATIVE)); // unused
         assertNotNull(crac.getState("co1", OUTAGE)); // state2, still used by cnec4
 
         crac.removeCnec("cnec4");
@@ -584,7 +609,6 @@ public class CracImplTest {
         crac.removePstRangeAction("ra3");
         assertNull(crac.getPstRangeAction("ra3"));
         assertNotNull(crac.getNetworkElement("ne2")); // still used by ra4
-        assertNull(crac.getState("co1", CURATIVE)); // unused
         assertNotNull(crac.getState("co2", CURATIVE)); // state2, still used by ra4
 
         crac.removeRemedialAction("ra4");
@@ -734,6 +758,74 @@ public class CracImplTest {
         assertEquals(Set.of(ra2, ra4), crac.getNetworkActions(state2, AVAILABLE, FORCED));
     }
 
+    @Test
+    public void testUsageRulesOfAllTypesOnSeveralStates() {
+        crac.newContingency().withId("co1").withNetworkElement("neCo").add();
+        crac.newContingency().withId("co2").withNetworkElement("neCo").add();
+        crac.newFlowCnec()
+            .withId("cnec1")
+            .withNetworkElement("ne1")
+            .withInstant(CURATIVE)
+            .withContingency("co1")
+            .newThreshold().withMax(1000.).withUnit(Unit.MEGAWATT).withRule(BranchThresholdRule.ON_LEFT_SIDE).add()
+            .add();
+        crac.newFlowCnec()
+            .withId("cnec2")
+            .withNetworkElement("ne1")
+            .withInstant(CURATIVE)
+            .withContingency("co2")
+            .newThreshold().withMax(1000.).withUnit(Unit.MEGAWATT).withRule(BranchThresholdRule.ON_LEFT_SIDE).add()
+            .add();
+
+        PstRangeAction freeToUseRa = crac.newPstRangeAction()
+            .withId("freeToUseRa")
+            .withNetworkElement("pst")
+            .newFreeToUseUsageRule().withUsageMethod(AVAILABLE).withInstant(CURATIVE).add()
+            .withInitialTap(0)
+            .withTapToAngleConversionMap(Map.of(-1, -1., 0, 0., 1, 1.))
+            .add();
+        PstRangeAction onStateRa = crac.newPstRangeAction()
+            .withId("onStateRa")
+            .withNetworkElement("pst")
+            .newOnStateUsageRule().withUsageMethod(FORCED).withContingency("co2").withInstant(CURATIVE).add()
+            .withInitialTap(0)
+            .withTapToAngleConversionMap(Map.of(-1, -1., 0, 0., 1, 1.))
+            .add();
+        NetworkAction onFlowConstraintNa = crac.newNetworkAction()
+            .withId("onFlowConstraintNa")
+            .newTopologicalAction().withNetworkElement("ne2").withActionType(ActionType.OPEN).add()
+            .newOnFlowConstraintUsageRule().withInstant(CURATIVE).withFlowCnec("cnec1").add()
+            .add();
+        NetworkAction preventiveNa = crac.newNetworkAction()
+            .withId("preventiveNa")
+            .newTopologicalAction().withNetworkElement("ne2").withActionType(ActionType.CLOSE).add()
+            .newFreeToUseUsageRule().withUsageMethod(AVAILABLE).withInstant(PREVENTIVE).add()
+            .add();
+
+        State state1 = crac.getState("co1", CURATIVE);
+        State state2 = crac.getState("co2", CURATIVE);
+        assertEquals(Set.of(state1, state2), crac.getStates(CURATIVE));
+        assertEquals(Set.of(crac.getFlowCnec("cnec1")), crac.getFlowCnecs(state1));
+        assertEquals(Set.of(crac.getFlowCnec("cnec2")), crac.getFlowCnecs(state2));
+
+        assertEquals(Set.of(freeToUseRa), crac.getRangeActions(state1, AVAILABLE, FORCED));
+        assertEquals(Set.of(freeToUseRa, onStateRa), crac.getRangeActions(state2, AVAILABLE, FORCED));
+        assertEquals(Set.of(onFlowConstraintNa), crac.getNetworkActions(state1, TO_BE_EVALUATED));
+        assertEquals(Set.of(onFlowConstraintNa), crac.getNetworkActions(state2, TO_BE_EVALUATED));
+        assertEquals(Set.of(preventiveNa), crac.getNetworkActions(crac.getPreventiveState(), AVAILABLE));
+        // remedial actions without any usage rule on a state are unavailable on it
+        assertEquals(Set.of(onStateRa), crac.getRangeActions(state1, UNAVAILABLE));
+        assertEquals(Set.of(preventiveNa), crac.getNetworkActions(state1, UNAVAILABLE));
+
+        crac.removeFlowCnec("cnec2");
+        crac.removePstRangeAction("onStateRa");
+        assertNull(crac.getState("co2", CURATIVE));
+        assertTrue(crac.getStates(crac.getContingency("co2")).isEmpty());
+        assertEquals(Set.of(state1), crac.getStates(CURATIVE));
+        assertTrue(crac.getFlowCnecs(state2).isEmpty());
+        assertTrue(crac.getRangeActions(state2, FORCED).isEmpty());
+    }
+
     @Test
     public void testPstRangeActionAdder() {
         PstRangeActionAdder pstRangeActionAdder = crac.newPstRangeAction();
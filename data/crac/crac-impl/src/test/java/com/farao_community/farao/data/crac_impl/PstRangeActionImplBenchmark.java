@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.data.crac_impl;
+
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
+import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleToIntFunction;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares PstRangeActionImpl.convertAngleToTap, a binary search on the angles of the taps, with the scan of the
+ * tap to angle map it used to make, on a 65-tap PST.
+ *
+ * It is not run with the unit tests, as its name does not end with Test. Run it with:
+ * mvn test -pl data/crac/crac-impl -Dtest=PstRangeActionImplBenchmark -Dfarao.benchmark.runs=20
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class PstRangeActionImplBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PstRangeActionImplBenchmark.class);
+    private static final int LOW_TAP = -32;
+    private static final int HIGH_TAP = 32;
+    private static final double ANGLE_STEP = 0.39;
+    private static final int ANGLES_PER_RUN = 100_000;
+
+    private static Map<Integer, Double> createTapToAngleConversionMap() {
+        Map<Integer, Double> tapToAngleConversionMap = new HashMap<>();
+        for (int tap = LOW_TAP; tap <= HIGH_TAP; tap++) {
+            tapToAngleConversionMap.put(tap, tap * ANGLE_STEP);
+        }
+        return tapToAngleConversionMap;
+    }
+
+    /**
+     * The conversion made by PstRangeActionImpl before the angles were stored in an array, without its range check.
+     */
+    private static int scanTapToAngleConversionMap(Map<Integer, Double> tapToAngleConversionMap, double angle) {
+        AtomicReference<Double> smallestAngleDifference = new AtomicReference<>(Double.MAX_VALUE);
+        AtomicInteger approximatedTapPosition = new AtomicInteger(0);
+        tapToAngleConversionMap.forEach((tap, alpha) -> {
+            double diff = Math.abs(alpha - angle);
+            if (diff < smallestAngleDifference.get()) {
+                smallestAngleDifference.set(diff);
+                approximatedTapPosition.set(tap);
+            }
+        });
+        return approximatedTapPosition.get();
+    }
+
+    private static double meanCallTimeInNs(DoubleToIntFunction conversion, double[] angles, int runs) {
+        long checksum = 0;
+        // warm-up
+        for (int i = 0; i < runs / 10 + 1; i++) {
+            for (double angle : angles) {
+                checksum += conversion.applyAsInt(angle);
+            }
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            for (double angle : angles) {
+                checksum += conversion.applyAsInt(angle);
+            }
+        }
+        double meanTime = (double) (System.nanoTime() - start) / runs / angles.length;
+        LOGGER.debug("checksum {}", checksum);
+        return meanTime;
+    }
+
+    @Test
+    public void compareBinarySearchWithMapScan() {
+        int runs = Integer.getInteger("farao.benchmark.runs", 20);
+        Map<Integer, Double> tapToAngleConversionMap = createTapToAngleConversionMap();
+        PstRangeAction pstRangeAction = new CracImplFactory().create("benchmark").newPstRangeAction()
+            .withId("pst")
+            .withNetworkElement("pst")
+            .newFreeToUseUsageRule().withInstant(Instant.PREVENTIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+            .withTapToAngleConversionMap(tapToAngleConversionMap)
+            .withInitialTap(0)
+            .add();
+
+        Random random = new Random(0);
+        double[] angles = new double[ANGLES_PER_RUN];
+        for (int i = 0; i < ANGLES_PER_RUN; i++) {
+            angles[i] = (LOW_TAP + random.nextDouble() * (HIGH_TAP - LOW_TAP)) * ANGLE_STEP;
+        }
+        // both conversions find a tap at the same distance of the angle, they only differ when it is exactly between two taps
+        for (double angle : angles) {
+            assertEquals(Math.abs(tapToAngleConversionMap.get(scanTapToAngleConversionMap(tapToAngleConversionMap, angle)) - angle),
+                Math.abs(pstRangeAction.convertTapToAngle(pstRangeAction.convertAngleToTap(angle)) - angle), 1e-9);
+        }
+
+        double binarySearchTime = meanCallTimeInNs(pstRangeAction::convertAngleToTap, angles, runs);
+        double mapScanTime = meanCallTimeInNs(angle -> scanTapToAngleConversionMap(tapToAngleConversionMap, angle), angles, runs);
+        LOGGER.info("Conversion of an angle to a tap of a {}-tap PST: binary search {} ns, map scan {} ns (mean of {} runs of {} angles)",
+            HIGH_TAP - LOW_TAP + 1, String.format("%.1f", binarySearchTime), String.format("%.1f", mapScanTime), runs, ANGLES_PER_RUN);
+    }
+}
@@ -198,6 +198,45 @@ public class PstRangeActionImplTest {
         assertTrue(pstRa2.getMinAdmissibleSetpoint(0) <= pstRa2.getMaxAdmissibleSetpoint(0));
     }
 
+    @Test
+    public void lowAndHighTapPositions() {
+        PstRangeAction pstRa = pstRangeActionAdder.add();
+        assertEquals((int) Collections.min(tapToAngleConversionMap.keySet()), pstRa.getLowTapPosition());
+        assertEquals((int) Collections.max(tapToAngleConversionMap.keySet()), pstRa.getHighTapPosition());
+    }
+
+    @Test
+    public void convertAngleToClosestTap() {
+        PstRangeAction pstRa = pstRangeActionAdder
+            .withTapToAngleConversionMap(Map.of(-2, -5., -1, -2., 0, 0., 1, 2., 2, 5.))
+            .add();
+        assertEquals(1, pstRa.convertAngleToTap(1.2));
+        assertEquals(0, pstRa.convertAngleToTap(0.9));
+        // exactly between two taps, the lowest one is chosen
+        assertEquals(0, pstRa.convertAngleToTap(1.));
+        assertEquals(-2, pstRa.convertAngleToTap(-3.6));
+        assertEquals(-1, pstRa.convertAngleToTap(-3.4));
+        assertEquals(-2, pstRa.convertAngleToTap(-5.0005));
+        assertEquals(2, pstRa.convertAngleToTap(5.));
+        assertEquals(2., pstRa.convertTapToAngle(1), 1e-6);
+        assertThrows(FaraoException.class, () -> pstRa.convertTapToAngle(3));
+        assertThrows(FaraoException.class, () -> pstRa.convertAngleToTap(5.1));
+    }
+
+    @Test
+    public void convertAngleToClosestTapWithDecreasingAngles() {
+        PstRangeAction pstRa = pstRangeActionAdder
+            .withTapToAngleConversionMap(Map.of(-2, 5., -1, 2., 0, 0., 1, -2., 2, -5.))
+            .add();
+        assertEquals(-1, pstRa.convertAngleToTap(1.2));
+        assertEquals(0, pstRa.convertAngleToTap(0.9));
+        assertEquals(-1, pstRa.convertAngleToTap(1.));
+        assertEquals(2, pstRa.convertAngleToTap(-3.6));
+        assertEquals(-2, pstRa.convertAngleToTap(5.));
+        assertEquals(-2., pstRa.convertTapToAngle(1), 1e-6);
+        assertThrows(FaraoException.class, () -> pstRa.convertAngleToTap(-5.1));
+    }
+
     @Test
     public void testGetLocation() {
         PstRangeAction pstRa = pstRangeActionAdder.add();
@@ -13,6 +13,9 @@ import com.powsybl.commons.extensions.AbstractExtension;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * AbstractResultExtension is a standard Extension of any {@link Identifiable} object
@@ -22,6 +25,10 @@ import java.util.Map;
  * each registered variant. It also contains utility methods to manage the result
  * variants of an Identifiable object.
  *
+ * The results of the variants created by the {@link ResultVariantManager} are only
+ * allocated when they are first accessed, so that creating a variant does not allocate
+ * a result for every element of the Crac.
+ *
  * @author Baptiste Seguinot {@literal <baptiste.seguinot at rte-france.com>}
  */
 public abstract class AbstractResultExtension<T extends Identifiable<T>, S extends Result> extends AbstractExtension<T> {
@@ -31,27 +38,52 @@ public abstract class AbstractResultExtension<T extends Identifiable<T>, S exten
      */
     private Map<String, S> resultMap;
 
+    /**
+     * Ids of the variants of the Crac, whose results are created with resultSupplier
+     * on their first access. Null if the extension is not handled by a ResultVariantManager.
+     */
+    private Set<String> variantIds;
+    private Supplier<S> resultSupplier;
+
     /**
      * Default constructor.
      * Private-package as the extensions can only be created by the ResultVariantManager
      * to ensure the consistency of ResultExtensions within all the Crac.
      */
     AbstractResultExtension() {
-        resultMap = new HashMap<>();
+        resultMap = new ConcurrentHashMap<>();
     }
 
     /**
-     * Get the complete map of results
+     * Get the complete map of results, including the default results of the variants
+     * which have not been accessed yet
      */
     Map<String, S> getResultMap() {
-        return resultMap;
+        Map<String, S> completeResultMap = new HashMap<>(resultMap);
+        if (variantIds != null) {
+            variantIds.forEach(variantId -> completeResultMap.computeIfAbsent(variantId, id -> resultSupplier.get()));
+        }
+        return completeResultMap;
     }
 
     /**
      * Set the complete map of results
      */
     void setResultMap(Map<String, S> resultMap) {
-        this.resultMap = resultMap;
+        this.resultMap = new ConcurrentHashMap<>(resultMap);
+    }
+
+    /**
+     * Create the results of the variants with ids variantIds on their first access.
+     * Private-package as the variants can only be created by the ResultVariantManager
+     * to ensure the consistency of variants within all the Crac.
+     *
+     * @param variantIds: Ids of the variants of the Crac, shared with the ResultVariantManager.
+     * @param resultSupplier: Supplier of the default result of a variant.
+     */
+    void setVariantIds(Set<String> variantIds, Supplier<S> resultSupplier) {
+        this.variantIds = variantIds;
+        this.resultSupplier = resultSupplier;
     }
 
     /**
@@ -62,7 +94,17 @@ public abstract class AbstractResultExtension<T extends Identifiable<T>, S exten
      * @return The associated result generic object.
      */
     public S getVariant(String variantId) {
-        return resultMap.get(variantId);
+        S result = resultMap.get(variantId);
+        if (result == null && variantIds != null && variantIds.contains(variantId)) {
+            result = resultMap.computeIfAbsent(variantId, id -> resultSupplier.get());
+            // the variant may have been deleted concurrently, after it was found in variantIds and
+            // before its result was created: in that case the result must not outlive the variant
+            if (!variantIds.contains(variantId)) {
+                resultMap.remove(variantId, result);
+                return null;
+            }
+        }
+        return result;
     }
 
     /**
@@ -74,10 +116,9 @@ public abstract class AbstractResultExtension<T extends Identifiable<T>, S exten
      * @param resultElement: Result object to add to the variant.
      */
     void addVariant(String newVariantId, S resultElement) {
-        if (resultMap.containsKey(newVariantId)) {
+        if (resultMap.putIfAbsent(newVariantId, resultElement) != null) {
             throw new FaraoException(String.format("Cannot create result variant with id [%s] for [%s] as it already exists", newVariantId, getExtendable().getId()));
         }
-        resultMap.put(newVariantId, resultElement);
     }
 
     /**
@@ -15,8 +15,8 @@ import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
 import com.powsybl.commons.extensions.AbstractExtension;
 
-import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -43,7 +43,7 @@ public class ResultVariantManager extends AbstractExtension<Crac> {
      * Default constructor
      */
     public ResultVariantManager() {
-        variants = new HashSet<>();
+        variants = ConcurrentHashMap.newKeySet();
     }
 
     /**
@@ -51,7 +51,8 @@ public class ResultVariantManager extends AbstractExtension<Crac> {
      * Private-package, used only for the JSON import
      */
     ResultVariantManager(Set<String> variantIdSet) {
-        variants = variantIdSet;
+        variants = ConcurrentHashMap.newKeySet();
+        variants.addAll(variantIdSet);
     }
 
     @Override
@@ -88,9 +89,8 @@ public class ResultVariantManager extends AbstractExtension<Crac> {
     /**
      * Create a new variant.
      * If they do not exist, add a {@link AbstractResultExtension} to all the Cnecs, RangeActions,
-     * NetworkActions and the Crac itself.
-     * Add a new {@link Result} variant, with default values, to all the ResultExtensions
-     * of the Crac.
+     * NetworkActions and the Crac itself. No {@link Result} is allocated for the new variant: the
+     * Result of a variant, with default values, is added to a ResultExtension on its first access.
      */
     @SuppressWarnings("unchecked")
     public synchronized void createVariant(String variantId) {
@@ -99,44 +99,52 @@ public class ResultVariantManager extends AbstractExtension<Crac> {
             throw new FaraoException(String.format("Cannot create results variant with id [%s], as one with the same id already exists", variantId));
         }
 
-        Set<String> stateIds = getExtendable().getStates().stream().map(State::getId).collect(Collectors.toSet());
+        // the elements added to the Crac since the previous variant also get a ResultExtension
+        addResultExtensions();
 
-        // add CRAC result variant
+        // add variant in variant set, which is shared with all the ResultExtensions
+        variants.add(variantId);
+    }
+
+    private void addResultExtensions() {
+
+        // add CRAC result extension
         if (getExtendable().getExtension(CracResultExtension.class) == null) {
             getExtendable().addExtension(CracResultExtension.class, new CracResultExtension());
         }
-        getExtendable().getExtension(CracResultExtension.class).addVariant(variantId, new CracResult());
+        getExtendable().getExtension(CracResultExtension.class).setVariantIds(variants, CracResult::new);
 
-        // add CNEC result variant
+        // add CNEC result extension
         getExtendable().getFlowCnecs().forEach(cnec -> {
             if (cnec.getExtension(CnecResultExtension.class) == null) {
                 cnec.addExtension(CnecResultExtension.class, new CnecResultExtension());
             }
-            cnec.getExtension(CnecResultExtension.class).addVariant(variantId, new CnecResult());
+            cnec.getExtension(CnecResultExtension.class).setVariantIds(variants, CnecResult::new);
         });
 
-        // add Network Action result variant
+        // add Network Action result extension
         for (NetworkAction networkAction: getExtendable().getNetworkActions()) {
             if (networkAction.getExtension(NetworkActionResultExtension.class) == null) {
                 networkAction.addExtension(NetworkActionResultExtension.class, new NetworkActionResultExtension());
             }
-            networkAction.getExtension(NetworkActionResultExtension.class).addVariant(variantId, new NetworkActionResult(stateIds));
+            networkAction.getExtension(NetworkActionResultExtension.class).setVariantIds(variants, () -> new NetworkActionResult(getStateIds()));
         }
 
-        // add Range Action result variant
+        // add Range Action result extension
         for (RangeAction rangeAction: getExtendable().getRangeActions()) {
             if (rangeAction.getExtension(RangeActionResultExtension.class) == null) {
                 rangeAction.addExtension(RangeActionResultExtension.class, new RangeActionResultExtension());
             }
             if (rangeAction instanceof PstRangeAction) {
-                rangeAction.getExtension(RangeActionResultExtension.class).addVariant(variantId, new PstRangeResult(stateIds));
+                rangeAction.getExtension(RangeActionResultExtension.class).setVariantIds(variants, () -> new PstRangeResult(getStateIds()));
             } else {
-                rangeAction.getExtension(RangeActionResultExtension.class).addVariant(variantId, new RangeActionResult(stateIds));
+                rangeAction.getExtension(RangeActionResultExtension.class).setVariantIds(variants, () -> new RangeActionResult(getStateIds()));
             }
         }
+    }
 
-        // add variant in variant map
-        variants.add(variantId);
+    private Set<String> getStateIds() {
+        return getExtendable().getStates().stream().map(State::getId).collect(Collectors.toSet());
     }
 
     /**
@@ -147,11 +155,11 @@ public class ResultVariantManager extends AbstractExtension<Crac> {
     @SuppressWarnings("unchecked")
     public synchronized void deleteVariant(String variantId) {
 
-        if (!variants.contains(variantId)) {
+        if (!variants.remove(variantId)) {
             throw new FaraoException(String.format("Cannot delete variant with id [%s], as it does not exist", variantId));
         }
 
-        if (variants.size() == 1) { // if the crac does not contains other variant than this one : delete all extension
+        if (variants.isEmpty()) { // if the crac does not contains other variant than this one : delete all extension
             getExtendable().removeExtension(CracResultExtension.class);
 
             getExtendable().getFlowCnecs().forEach(cnec -> cnec.removeExtension(CnecResultExtension.class));
@@ -166,20 +174,25 @@ public class ResultVariantManager extends AbstractExtension<Crac> {
 
         } else { // else, delete the variants
 
-            getExtendable().getExtension(CracResultExtension.class).deleteVariant(variantId);
+            // the elements added to the Crac after the creation of the last variant have no extension
+            deleteVariant(getExtendable().getExtension(CracResultExtension.class), variantId);
 
-            getExtendable().getFlowCnecs().forEach(cnec -> cnec.getExtension(CnecResultExtension.class).deleteVariant(variantId));
+            getExtendable().getFlowCnecs().forEach(cnec -> deleteVariant(cnec.getExtension(CnecResultExtension.class), variantId));
 
             for (NetworkAction networkAction: getExtendable().getNetworkActions()) {
-                networkAction.getExtension(NetworkActionResultExtension.class).deleteVariant(variantId);
+                deleteVariant(networkAction.getExtension(NetworkActionResultExtension.class), variantId);
             }
 
             for (RangeAction rangeAction: getExtendable().getRangeActions()) {
-                rangeAction.getExtension(RangeActionResultExtension.class).deleteVariant(variantId);
+                deleteVariant(rangeAction.getExtension(RangeActionResultExtension.class), variantId);
             }
         }
+    }
 
-        variants.remove(variantId);
+    private static void deleteVariant(AbstractResultExtension<?, ?> resultExtension, String variantId) {
+        if (resultExtension != null) {
+            resultExtension.deleteVariant(variantId);
+        }
     }
 
     /**
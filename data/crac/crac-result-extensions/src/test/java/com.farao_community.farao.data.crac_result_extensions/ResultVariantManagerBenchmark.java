@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.data.crac_result_extensions;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.threshold.BranchThresholdRule;
+import com.farao_community.farao.data.crac_impl.CracImplFactory;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures the creation of result variants on a Crac with 20,000 cnecs, where the results of a variant are only
+ * allocated on their first access. It is compared with the creation of the variants followed by an access to the
+ * result of every cnec, which allocates as much as the creation of a variant used to.
+ *
+ * It is not run with the unit tests, as its name does not end with Test. Run it with:
+ * mvn test -pl data/crac/crac-result-extensions -Dtest=ResultVariantManagerBenchmark -Dfarao.benchmark.runs=20
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class ResultVariantManagerBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultVariantManagerBenchmark.class);
+    private static final int NUMBER_OF_CNECS = 20000;
+    private static final int VARIANTS_PER_RUN = 10;
+
+    private static Crac createCrac() {
+        Crac crac = new CracImplFactory().create("benchmark");
+        for (int i = 0; i < NUMBER_OF_CNECS; i++) {
+            crac.newFlowCnec()
+                .withId("cnec" + i)
+                .withNetworkElement("line" + i)
+                .withInstant(Instant.PREVENTIVE)
+                .newThreshold().withUnit(Unit.MEGAWATT).withRule(BranchThresholdRule.ON_LEFT_SIDE).withMax(1000.).add()
+                .add();
+        }
+        crac.addExtension(ResultVariantManager.class, new ResultVariantManager());
+        crac.getExtension(ResultVariantManager.class).createVariant("first variant");
+        return crac;
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Returns the mean times of the creation of VARIANTS_PER_RUN variants and of their deletion, in ms
+     */
+    private static double[] meanRunTimesInMs(Crac crac, List<FlowCnec> cnecs, boolean accessAllResults, int runs) {
+        ResultVariantManager variantManager = crac.getExtension(ResultVariantManager.class);
+        long creationTime = 0;
+        long deletionTime = 0;
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            String[] variantIds = new String[VARIANTS_PER_RUN];
+            for (int j = 0; j < VARIANTS_PER_RUN; j++) {
+                variantIds[j] = variantManager.createNewUniqueVariantId("variant");
+                if (accessAllResults) {
+                    String variantId = variantIds[j];
+                    cnecs.forEach(cnec -> cnec.getExtension(CnecResultExtension.class).getVariant(variantId));
+                }
+            }
+            creationTime += System.nanoTime() - start;
+            if (i == runs - 1) {
+                LOGGER.info("Used memory with {} variants, {}: {} MB", VARIANTS_PER_RUN + 1,
+                    accessAllResults ? "all results accessed" : "no result accessed", usedMemory() / (1024 * 1024));
+            }
+            start = System.nanoTime();
+            variantManager.deleteVariants(variantIds);
+            deletionTime += System.nanoTime() - start;
+        }
+        assertEquals(1, variantManager.getVariants().size());
+        return new double[] {creationTime / 1e6 / runs, deletionTime / 1e6 / runs};
+    }
+
+    @Test
+    public void compareLazyAndEagerResults() {
+        int runs = Integer.getInteger("farao.benchmark.runs", 20);
+        Crac crac = createCrac();
+        List<FlowCnec> cnecs = crac.getFlowCnecs().stream().collect(Collectors.toList());
+
+        // warm-up
+        meanRunTimesInMs(crac, cnecs, false, runs / 10 + 1);
+        meanRunTimesInMs(crac, cnecs, true, runs / 10 + 1);
+
+        double[] lazyTimes = meanRunTimesInMs(crac, cnecs, false, runs);
+        double[] eagerTimes = meanRunTimesInMs(crac, cnecs, true, runs);
+        LOGGER.info("{} variants on {} cnecs, without any result access: creation {} ms, deletion {} ms (mean of {} runs)",
+            VARIANTS_PER_RUN, NUMBER_OF_CNECS, String.format("%.1f", lazyTimes[0]), String.format("%.1f", lazyTimes[1]), runs);
+        LOGGER.info("{} variants on {} cnecs, with an access to all the results: creation {} ms, deletion {} ms (mean of {} runs)",
+            VARIANTS_PER_RUN, NUMBER_OF_CNECS, String.format("%.1f", eagerTimes[0]), String.format("%.1f", eagerTimes[1]), runs);
+    }
+}
@@ -7,11 +7,20 @@
 package com.farao_community.farao.data.crac_result_extensions;
 
 import com.farao_community.farao.commons.FaraoException;
+import com.farao_community.farao.commons.Unit;
 import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.threshold.BranchThresholdRule;
 import com.farao_community.farao.data.crac_io_api.CracImporters;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static junit.framework.TestCase.*;
 
 /**
@@ -119,4 +128,96 @@ public class ResultVariantManagerTest {
         assertEquals(1, variantManager.getVariants().size());
         assertEquals("var2", variantManager.getVariants().iterator().next());
     }
+
+    @Test
+    public void resultsAreCreatedOnFirstAccess() {
+        variantManager.createVariant("variant1");
+        variantManager.createVariant("variant2");
+
+        CnecResultExtension cnecExtension = crac.getFlowCnec("Tieline BE FR - Défaut - N-1 NL1-NL3").getExtension(CnecResultExtension.class);
+        CnecResult result = cnecExtension.getVariant("variant2");
+        assertTrue(Double.isNaN(result.getFlowInMW()));
+        result.setFlowInMW(100.);
+
+        assertSame(result, cnecExtension.getVariant("variant2"));
+        assertTrue(Double.isNaN(cnecExtension.getVariant("variant1").getFlowInMW()));
+        assertNull(cnecExtension.getVariant("variant3"));
+
+        // variants created after the first one are also available on all the elements of the Crac
+        variantManager.createVariant("variant3");
+        assertNotNull(cnecExtension.getVariant("variant3"));
+        assertNotNull(crac.getExtension(CracResultExtension.class).getVariant("variant3"));
+        assertTrue(crac.getRangeAction("PRA_PST_BE").getExtension(RangeActionResultExtension.class).getVariant("variant3") instanceof PstRangeResult);
+        assertEquals(3, cnecExtension.getResultMap().size());
+    }
+
+    @Test
+    public void concurrentWritersOnDifferentVariants() {
+        List<String> variantIds = IntStream.range(0, 50).mapToObj(i -> variantManager.createNewUniqueVariantId("variant")).collect(Collectors.toList());
+
+        IntStream.range(0, variantIds.size()).parallel().forEach(i ->
+            crac.getFlowCnecs().forEach(cnec -> cnec.getExtension(CnecResultExtension.class).getVariant(variantIds.get(i)).setFlowInMW(i)));
+
+        for (int i = 0; i < variantIds.size(); i++) {
+            String variantId = variantIds.get(i);
+            double expectedFlow = i;
+            crac.getFlowCnecs().forEach(cnec -> assertEquals(expectedFlow, cnec.getExtension(CnecResultExtension.class).getVariant(variantId).getFlowInMW(), 1e-6));
+        }
+    }
+
+    @Test
+    public void deletedVariantIsNotRecreatedByConcurrentReads() {
+        variantManager.createVariant("variant1");
+        CnecResultExtension cnecExtension = crac.getFlowCnec("Tieline BE FR - Défaut - N-1 NL1-NL3").getExtension(CnecResultExtension.class);
+        for (int i = 0; i < 200; i++) {
+            String variantId = "variant" + (i + 2);
+            variantManager.createVariant(variantId);
+            IntStream.range(0, 8).parallel().forEach(j -> {
+                if (j == 0) {
+                    variantManager.deleteVariant(variantId);
+                } else {
+                    cnecExtension.getVariant(variantId);
+                }
+            });
+            assertNull(cnecExtension.getVariant(variantId));
+            assertFalse(cnecExtension.getResultMap().containsKey(variantId));
+        }
+    }
+
+    @Test
+    public void cnecAddedAfterTheFirstVariantGetsResults() {
+        variantManager.createVariant("variant1");
+        FlowCnec cnec = crac.newFlowCnec()
+            .withId("cnec added after the first variant")
+            .withNetworkElement("BBE2AA1  FFR3AA1  1")
+            .withInstant(Instant.PREVENTIVE)
+            .newThreshold().withUnit(Unit.MEGAWATT).withRule(BranchThresholdRule.ON_LEFT_SIDE).withMax(1000.).add()
+            .add();
+        variantManager.createVariant("variant2");
+
+        CnecResultExtension cnecExtension = cnec.getExtension(CnecResultExtension.class);
+        assertNotNull(cnecExtension);
+        cnecExtension.getVariant("variant2").setFlowInMW(100.);
+        assertEquals(100., cnecExtension.getVariant("variant2").getFlowInMW(), 1e-6);
+        // the variants created before the cnec are also available
+        assertTrue(Double.isNaN(cnecExtension.getVariant("variant1").getFlowInMW()));
+    }
+
+    @Test
+    public void deleteVariantWithCnecAddedAfterTheLastVariant() {
+        variantManager.createVariant("variant1");
+        variantManager.createVariant("variant2");
+        FlowCnec cnec = crac.newFlowCnec()
+            .withId("cnec added after the last variant")
+            .withNetworkElement("BBE2AA1  FFR3AA1  1")
+            .withInstant(Instant.PREVENTIVE)
+            .newThreshold().withUnit(Unit.MEGAWATT).withRule(BranchThresholdRule.ON_LEFT_SIDE).withMax(1000.).add()
+            .add();
+        assertNull(cnec.getExtension(CnecResultExtension.class));
+
+        variantManager.deleteVariant("variant1");
+        assertEquals(Set.of("variant2"), variantManager.getVariants());
+        variantManager.deleteVariant("variant2");
+        assertTrue(variantManager.getVariants().isEmpty());
+    }
 }
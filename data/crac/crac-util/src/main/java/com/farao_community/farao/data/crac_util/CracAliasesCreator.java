@@ -22,6 +22,7 @@ public class CracAliasesCreator {
 
     private static final int POSITION_OF_SECOND_UCTE_NODE = 9;
     private static final int BEGINNING_OF_ELEMENT_NAME = 17;
+    private static final String MERGED_ID_SEPARATOR = " + ";
 
     public CracAliasesCreator() {
     }
@@ -39,40 +40,125 @@ public class CracAliasesCreator {
         crac.getRangeActions().forEach(rangeAction -> handleAliases(rangeAction.getNetworkElements(), elementIds));
 
         // Try to find a corresponding element in the network, and add elementId as an alias
-        elementIds.forEach(elementId -> {
-            Optional<Identifiable<?>> correspondingElement = network.getIdentifiables().stream().filter(identifiable -> anyMatch(identifiable, elementId, rule)).findAny();
-            correspondingElement.ifPresent(identifiable -> identifiable.addAlias(elementId));
-        });
+        UcteIdentifiableIndex index = new UcteIdentifiableIndex(network, rule);
+        elementIds.forEach(elementId -> index.find(elementId).ifPresent(identifiable -> {
+            identifiable.addAlias(elementId);
+            index.addAlias(identifiable, elementId);
+        }));
     }
 
     private void handleAliases(Set<NetworkElement> networkElements, Set<String> elementIds) {
         networkElements.forEach(networkElement -> elementIds.add(networkElement.getId()));
     }
 
-    /* It only works correctly for Cnec with direction = both. This corrupts the other Cnec.
-    TODO : only look for the elements with reverse ID if all the thresholds of the cnec have a BOTH direction.
+    /**
+     * Index of the identifiables of a network, keyed by the UCTE nodes and element name of their id and aliases,
+     * built in one pass over the network. In a UCTE id, the origin node is at position 0, the extremity node at
+     * position 9 and the element name at position 18. Only the first characters of the nodes given by the
+     * {@link UcteNodeMatchingRule} are part of the key, the other ones are wildcards.
+     *
+     * An element of the crac corresponds to the first identifiable of the network whose id or alias has the
+     * same key as the element, or as the element with its nodes inverted.
+     *
+     * The ids of the tie lines created by the UCTE importer on X-nodes merge the ids of their two half lines,
+     * as in "DDE3AA1  X_DEFR1  1 + FFR2AA1  X_DEFR1  1". They cannot be keyed, so they are matched with the
+     * UCTE nodes and element name of the crac element as a regex, as all identifiables were before the index.
+     * A tie line is then matched by the id of its first half line, or by the real nodes on each side of its X-node.
      */
-    private boolean anyMatch(Identifiable<?> identifiable, String cnecId, UcteNodeMatchingRule rule) {
-        return nameMatches(identifiable, cnecId, rule, false) ||
-            aliasMatches(identifiable, cnecId, rule, false) ||
-            nameMatches(identifiable, cnecId, rule, true) ||
-            aliasMatches(identifiable, cnecId, rule, true);
-    }
+    private static final class UcteIdentifiableIndex {
+        private final UcteNodeMatchingRule rule;
+        private final Map<String, Integer> positions = new HashMap<>();
+        private final Map<String, Identifiable<?>> identifiablesPerKey = new HashMap<>();
+        private final List<Identifiable<?>> mergedIdentifiables = new ArrayList<>();
+        private final List<String> mergedIds = new ArrayList<>();
 
-    private boolean nameMatches(Identifiable<?> identifiable, String cnecId, UcteNodeMatchingRule rule, boolean reverse) {
-        return identifiable.getId().trim().matches(checkWithPattern(cnecId, rule, reverse));
-    }
+        private UcteIdentifiableIndex(Network network, UcteNodeMatchingRule rule) {
+            this.rule = rule;
+            for (Identifiable<?> identifiable : network.getIdentifiables()) {
+                positions.put(identifiable.getId(), positions.size());
+                index(identifiable, identifiable.getId());
+                identifiable.getAliases().forEach(alias -> index(identifiable, alias));
+            }
+        }
 
-    private boolean aliasMatches(Identifiable<?> identifiable, String cnecId, UcteNodeMatchingRule rule, boolean reverse) {
-        return identifiable.getAliases().stream().anyMatch(alias -> alias.trim().matches(checkWithPattern(cnecId, rule, reverse)));
-    }
+        /* It only works correctly for Cnec with direction = both. This corrupts the other Cnec.
+        TODO : only look for the elements with reverse ID if all the thresholds of the cnec have a BOTH direction.
+         */
+        private Optional<Identifiable<?>> find(String elementId) {
+            Identifiable<?> identifiable = first(getIdentifiable(getKey(elementId, false)), getIdentifiable(getKey(elementId, true)));
+            return Optional.ofNullable(first(identifiable, findMergedIdentifiable(elementId)));
+        }
+
+        /**
+         * @return the identifiable which comes first in the network, as when scanning the network
+         */
+        private Identifiable<?> first(Identifiable<?> identifiable, Identifiable<?> otherIdentifiable) {
+            if (identifiable == null || otherIdentifiable == null) {
+                return identifiable != null ? identifiable : otherIdentifiable;
+            }
+            return positions.get(identifiable.getId()) <= positions.get(otherIdentifiable.getId()) ? identifiable : otherIdentifiable;
+        }
+
+        private Identifiable<?> findMergedIdentifiable(String elementId) {
+            if (mergedIds.isEmpty() || elementId.length() < BEGINNING_OF_ELEMENT_NAME) {
+                return null;
+            }
+            Pattern pattern = getPattern(elementId, false);
+            Pattern reversedPattern = getPattern(elementId, true);
+            Identifiable<?> mergedIdentifiable = null;
+            for (int i = 0; i < mergedIds.size(); i++) {
+                if (pattern.matcher(mergedIds.get(i)).matches() || reversedPattern.matcher(mergedIds.get(i)).matches()) {
+                    mergedIdentifiable = first(mergedIdentifiable, mergedIdentifiables.get(i));
+                }
+            }
+            return mergedIdentifiable;
+        }
+
+        private void addAlias(Identifiable<?> identifiable, String alias) {
+            index(identifiable, alias);
+        }
+
+        private void index(Identifiable<?> identifiable, String idOrAlias) {
+            String ucteId = idOrAlias.trim();
+            if (ucteId.contains(MERGED_ID_SEPARATOR)) {
+                mergedIdentifiables.add(identifiable);
+                mergedIds.add(ucteId);
+                return;
+            }
+            // the nodes of the identifiable are separated by a space
+            if (ucteId.length() >= BEGINNING_OF_ELEMENT_NAME && ucteId.charAt(POSITION_OF_SECOND_UCTE_NODE - 1) == ' ') {
+                String key = getKey(ucteId, false);
+                Identifiable<?> indexedIdentifiable = identifiablesPerKey.get(key);
+                if (indexedIdentifiable == null || positions.get(identifiable.getId()) < positions.get(indexedIdentifiable.getId())) {
+                    identifiablesPerKey.put(key, identifiable);
+                }
+            }
+        }
+
+        private Pattern getPattern(String ucteId, boolean reverse) {
+            int first = reverse ? POSITION_OF_SECOND_UCTE_NODE : 0;
+            int second = reverse ? 0 : POSITION_OF_SECOND_UCTE_NODE;
+            return Pattern.compile(Pattern.quote(ucteId.substring(first, first + rule.getNbCharacter())) + ".* "
+                + Pattern.quote(ucteId.substring(second, second + rule.getNbCharacter())) + ".*"
+                + Pattern.quote(ucteId.substring(BEGINNING_OF_ELEMENT_NAME)));
+        }
+
+        private Identifiable<?> getIdentifiable(String key) {
+            return key == null ? null : identifiablesPerKey.get(key);
+        }
 
-    private String checkWithPattern(String string, UcteNodeMatchingRule rule, boolean reverse) {
-        int first = reverse ? POSITION_OF_SECOND_UCTE_NODE : 0;
-        int second = reverse ? 0 : POSITION_OF_SECOND_UCTE_NODE;
-        String nodeFrom = Pattern.quote(string.substring(first, first + rule.getNbCharacter()));
-        String nodeTo = Pattern.quote(string.substring(second, second + rule.getNbCharacter()));
-        String tail = Pattern.quote(string.substring(BEGINNING_OF_ELEMENT_NAME)).trim();
-        return String.format("%s.* %s.*%s", nodeFrom, nodeTo, tail);
+        /**
+         * @return the key of a UCTE id, or null if the id is too short to be a UCTE id
+         */
+        private String getKey(String ucteId, boolean reverse) {
+            if (ucteId.length() < BEGINNING_OF_ELEMENT_NAME) {
+                return null;
+            }
+            int first = reverse ? POSITION_OF_SECOND_UCTE_NODE : 0;
+            int second = reverse ? 0 : POSITION_OF_SECOND_UCTE_NODE;
+            return ucteId.substring(first, first + rule.getNbCharacter())
+                + ucteId.substring(second, second + rule.getNbCharacter())
+                + ucteId.substring(BEGINNING_OF_ELEMENT_NAME);
+        }
     }
 }
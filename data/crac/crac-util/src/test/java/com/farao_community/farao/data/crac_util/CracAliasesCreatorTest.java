@@ -10,10 +10,18 @@ package com.farao_community.farao.data.crac_util;
 import com.farao_community.farao.data.crac_api.*;
 import com.farao_community.farao.data.crac_io_api.CracImporters;
 import com.powsybl.iidm.import_.Importers;
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.Line;
 import com.powsybl.iidm.network.Network;
 import org.junit.Test;
 
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Viktor Terrier {@literal <viktor.terrier at rte-france.com>}
@@ -52,4 +60,90 @@ public class CracAliasesCreatorTest {
         assertEquals(1, network.getBranch("DDE1AA1D DDE2AA1E 1").getAliases().size());
         assertEquals(1, network.getBranch("FFR2AA1H DDE3AA1F 1").getAliases().size());
     }
+
+    @Test
+    public void testSameAliasesAsRegexMatching() {
+        Crac crac = CracImporters.importCrac("crac-for-aliases.json", getClass().getResourceAsStream("/crac-for-aliases.json"));
+        Set<String> elementIds = new TreeSet<>(Set.of(
+            "FFR2AA1  DDE3AA1  1", // 7 first characters of the nodes
+            "DDE3AA1  FFR2AA1  HFSK JDV", // inverted nodes, matching an alias
+            "DDE2AA1E DDE1AA1D 1", // inverted nodes
+            "NNL1AA1J NNL2AA1K 1", // exact id
+            "NNL1AA1J NNL2AA1K 2", // unknown element name
+            "BBE2AA1B BBE3AA1C 1", // transformer
+            "XXXXXXXX YYYYYYYY 1", // unknown nodes
+            "short id"
+        ));
+        crac.getFlowCnecs().forEach(cnec -> elementIds.add(cnec.getNetworkElement().getId()));
+        crac.getContingencies().forEach(contingency -> contingency.getNetworkElements().forEach(ne -> elementIds.add(ne.getId())));
+        assertSameAliasesAsRegexMatching(elementIds, "case-for-aliases.uct", network -> network.getBranch("FFR2AA1H DDE3AA1F 1").addAlias("FFR2AA1H DDE3AA1F HFSK JDV"));
+    }
+
+    @Test
+    public void testSameAliasesAsRegexMatchingOnXNodes() {
+        Set<String> elementIds = new TreeSet<>(Set.of(
+            "DDE2AA1  X_NLDE1  1", // first half of a tie line
+            "NNL3AA1  X_NLDE1  1", // second half of a tie line
+            "X_NLDE1  DDE2AA1  1", // inverted half of a tie line
+            "FFR2AA1  DDE3AA1  1", // real nodes on each side of the X-node
+            "DDE3AA1  FFR2AA1  1", // inverted real nodes
+            "BBE2AA1  FFR3AA1  1", // real nodes of a tie line, with their first 7 characters
+            "FFR2AA1  DDE3AA1  2", // unknown element name
+            "FFR1AA1  FFR2AA1  1", // line without X-node
+            "BBE2AA1  BBE3AA1  1" // transformer
+        ));
+        assertSameAliasesAsRegexMatching(elementIds, "TestCase12Nodes_with_Xnodes_different_imax.uct", network -> { });
+
+        Network network = Importers.loadNetwork("TestCase12Nodes_with_Xnodes_different_imax.uct", getClass().getResourceAsStream("/TestCase12Nodes_with_Xnodes_different_imax.uct"));
+        Crac crac = CracFactory.findDefault().create("crac");
+        elementIds.forEach(elementId -> crac.newContingency().withId(elementId).withNetworkElement(elementId).add());
+        new CracAliasesCreator().createAliases(crac, network);
+        assertTrue(getTieLine(network, "X_NLDE1").getAliases().contains("DDE2AA1  X_NLDE1  1"));
+        assertTrue(getTieLine(network, "X_DEFR1").getAliases().contains("FFR2AA1  DDE3AA1  1"));
+    }
+
+    private Line getTieLine(Network network, String xNodeId) {
+        return network.getLineStream().filter(line -> line.isTieLine() && line.getId().contains(xNodeId)).findAny().orElseThrow();
+    }
+
+    private void assertSameAliasesAsRegexMatching(Set<String> elementIds, String networkFileName, Consumer<Network> networkModification) {
+        Crac cracWithAllElements = CracFactory.findDefault().create("crac-with-all-elements");
+        elementIds.forEach(elementId -> cracWithAllElements.newContingency().withId(elementId).withNetworkElement(elementId).add());
+
+        for (UcteNodeMatchingRule rule : UcteNodeMatchingRule.values()) {
+            Network network = Importers.loadNetwork(networkFileName, getClass().getResourceAsStream("/" + networkFileName));
+            networkModification.accept(network);
+            Network expectedNetwork = Importers.loadNetwork(networkFileName, getClass().getResourceAsStream("/" + networkFileName));
+            networkModification.accept(expectedNetwork);
+
+            new CracAliasesCreator().createAliases(cracWithAllElements, network, rule);
+            elementIds.forEach(elementId -> createAliasWithRegex(expectedNetwork, elementId, rule));
+
+            for (Identifiable<?> expectedIdentifiable : expectedNetwork.getIdentifiables()) {
+                assertEquals(expectedIdentifiable.getAliases(), network.getIdentifiable(expectedIdentifiable.getId()).getAliases());
+            }
+        }
+    }
+
+    /**
+     * Reference matching of a crac element with the identifiables of the network, with a regex per UCTE id
+     */
+    private void createAliasWithRegex(Network network, String elementId, UcteNodeMatchingRule rule) {
+        if (elementId.length() < 17) {
+            return;
+        }
+        network.getIdentifiables().stream()
+            .filter(identifiable -> Stream.concat(Stream.of(identifiable.getId()), identifiable.getAliases().stream())
+                .anyMatch(id -> id.trim().matches(getPattern(elementId, rule, false)) || id.trim().matches(getPattern(elementId, rule, true))))
+            .findFirst()
+            .ifPresent(identifiable -> identifiable.addAlias(elementId));
+    }
+
+    private String getPattern(String elementId, UcteNodeMatchingRule rule, boolean reverse) {
+        int first = reverse ? 9 : 0;
+        int second = reverse ? 0 : 9;
+        return Pattern.quote(elementId.substring(first, first + rule.getNbCharacter())) + ".* "
+            + Pattern.quote(elementId.substring(second, second + rule.getNbCharacter())) + ".*"
+            + Pattern.quote(elementId.substring(17));
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.data.rao_result_binary;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
+
+/**
+ * Layout of the binary RaoResult format.
+ * <p>
+ * A header made of the {@link #MAGIC_NUMBER}, the {@link #VERSION} and the compression flag is followed by
+ * the body, deflated if the flag is set:
+ * <ul>
+ *     <li>the computation status; nothing else is written for a failed computation,</li>
+ *     <li>the dictionary of all the strings of the result: ids of the flow cnecs, remedial actions,
+ *     network elements and contingencies, names of the instants and of the virtual costs,
+ *     which are then referred to by their index in the dictionary,</li>
+ *     <li>the costs of each optimization state,</li>
+ *     <li>the flow cnec results, as one column of doubles per optimization state and flow metric,
+ *     NaN standing for a missing value,</li>
+ *     <li>the states in which each network action is activated,</li>
+ *     <li>the taps and set points of each PST range action.</li>
+ * </ul>
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class RaoResultBinaryConstants {
+
+    private RaoResultBinaryConstants() {
+    }
+
+    static final int MAGIC_NUMBER = 0x46524252; // "FRBR"
+    static final int VERSION = 1;
+
+    static final byte UNCOMPRESSED = 0;
+    static final byte DEFLATED = 1;
+
+    static final int NO_INDEX = -1;
+
+    static final OptimizationState[] OPTIMIZATION_STATES = {OptimizationState.INITIAL, OptimizationState.AFTER_PRA, OptimizationState.AFTER_CRA};
+    static final Unit[] UNITS = {Unit.MEGAWATT, Unit.AMPERE};
+
+    // columns of the flow cnec results of an optimization state: the metrics of each unit, then the zonal PTDF sum
+    static final int FLOW = 0;
+    static final int MARGIN = 1;
+    static final int RELATIVE_MARGIN = 2;
+    static final int LOOP_FLOW = 3;
+    static final int COMMERCIAL_FLOW = 4;
+    static final int METRICS_PER_UNIT = 5;
+    static final int PTDF_ZONAL_SUM = METRICS_PER_UNIT * UNITS.length;
+    static final int COLUMNS_PER_OPTIMIZATION_STATE = PTDF_ZONAL_SUM + 1;
+
+    static int getColumn(int unitIndex, int metric) {
+        return unitIndex * METRICS_PER_UNIT + metric;
+    }
+}
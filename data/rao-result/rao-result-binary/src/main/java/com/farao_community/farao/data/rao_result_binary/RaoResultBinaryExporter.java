@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.data.rao_result_binary;
+
+import com.farao_community.farao.commons.FaraoException;
+import com.farao_community.farao.data.crac_api.Contingency;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
+import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
+import com.farao_community.farao.data.rao_result_api.ComputationStatus;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
+import com.farao_community.farao.data.rao_result_api.RaoResult;
+
+import java.io.*;
+import java.util.*;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+import java.util.zip.DeflaterOutputStream;
+
+import static com.farao_community.farao.data.rao_result_binary.RaoResultBinaryConstants.*;
+
+/**
+ * Exports a RaoResult in the binary columnar format described in {@link RaoResultBinaryConstants}.
+ * It holds the same results as the JSON export of the RaoResult, in a much smaller file.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class RaoResultBinaryExporter {
+
+    private static final Comparator<State> STATE_COMPARATOR = Comparator.<State>comparingInt(state -> state.getInstant().getOrder())
+        .thenComparing(state -> state.getContingency().map(Contingency::getId).orElse(""));
+
+    /**
+     * Exports the RaoResult with compression.
+     */
+    public void export(RaoResult raoResult, Crac crac, OutputStream outputStream) {
+        export(raoResult, crac, outputStream, true);
+    }
+
+    public void export(RaoResult raoResult, Crac crac, OutputStream outputStream, boolean compressed) {
+        try {
+            DataOutputStream header = new DataOutputStream(outputStream);
+            header.writeInt(MAGIC_NUMBER);
+            header.writeInt(VERSION);
+            header.writeByte(compressed ? DEFLATED : UNCOMPRESSED);
+            header.flush();
+
+            DeflaterOutputStream deflaterOutputStream = compressed ? new DeflaterOutputStream(outputStream) : null;
+            DataOutputStream body = new DataOutputStream(new BufferedOutputStream(compressed ? deflaterOutputStream : outputStream));
+            writeBody(raoResult, crac, body);
+            body.flush();
+            if (deflaterOutputStream != null) {
+                deflaterOutputStream.finish();
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeBody(RaoResult raoResult, Crac crac, DataOutputStream body) throws IOException {
+        ComputationStatus computationStatus = raoResult.getComputationStatus();
+        body.writeUTF(computationStatus.name());
+        if (computationStatus == ComputationStatus.FAILURE) {
+            return;
+        }
+
+        // the strings are registered in the dictionary while the results are written, and the dictionary
+        // has to be written first: the results are buffered
+        StringDictionary dictionary = new StringDictionary();
+        ByteArrayOutputStream resultsBuffer = new ByteArrayOutputStream();
+        DataOutputStream results = new DataOutputStream(resultsBuffer);
+        List<State> sortedStates = crac.getStates().stream().sorted(STATE_COMPARATOR).collect(Collectors.toList());
+        writeCostResults(raoResult, dictionary, results);
+        writeFlowCnecResults(raoResult, crac, dictionary, results);
+        writeNetworkActionResults(raoResult, crac, sortedStates, dictionary, results);
+        writePstRangeActionResults(raoResult, crac, sortedStates, dictionary, results);
+        results.flush();
+
+        dictionary.write(body);
+        resultsBuffer.writeTo(body);
+    }
+
+    private static void writeCostResults(RaoResult raoResult, StringDictionary dictionary, DataOutputStream out) throws IOException {
+        Set<String> virtualCostNames = Objects.requireNonNullElse(raoResult.getVirtualCostNames(), Set.of());
+        for (OptimizationState optState : OPTIMIZATION_STATES) {
+            double functionalCost = raoResult.getFunctionalCost(optState);
+            boolean hasCosts = !Double.isNaN(functionalCost) || !Double.isNaN(raoResult.getVirtualCost(optState));
+            out.writeBoolean(hasCosts);
+            if (hasCosts) {
+                out.writeDouble(functionalCost);
+                Map<String, Double> virtualCosts = new TreeMap<>();
+                for (String virtualCostName : virtualCostNames) {
+                    double virtualCost = raoResult.getVirtualCost(optState, virtualCostName);
+                    if (!Double.isNaN(virtualCost)) {
+                        virtualCosts.put(virtualCostName, virtualCost);
+                    }
+                }
+                out.writeInt(virtualCosts.size());
+                for (Map.Entry<String, Double> virtualCost : virtualCosts.entrySet()) {
+                    out.writeInt(dictionary.indexOf(virtualCost.getKey()));
+                    out.writeDouble(virtualCost.getValue());
+                }
+            }
+        }
+    }
+
+    private static void writeFlowCnecResults(RaoResult raoResult, Crac crac, StringDictionary dictionary, DataOutputStream out) throws IOException {
+        List<FlowCnec> flowCnecs = new ArrayList<>();
+        List<double[][]> flowCnecValues = new ArrayList<>();
+        for (FlowCnec flowCnec : crac.getFlowCnecs().stream().sorted(Comparator.comparing(FlowCnec::getId)).collect(Collectors.toList())) {
+            double[][] values = readFlowCnecValues(raoResult, flowCnec);
+            if (Arrays.stream(values).flatMapToDouble(Arrays::stream).anyMatch(value -> !Double.isNaN(value))) {
+                flowCnecs.add(flowCnec);
+                flowCnecValues.add(values);
+            }
+        }
+
+        out.writeInt(flowCnecs.size());
+        for (FlowCnec flowCnec : flowCnecs) {
+            out.writeInt(dictionary.indexOf(flowCnec.getId()));
+        }
+        for (int optStateIndex = 0; optStateIndex < OPTIMIZATION_STATES.length; optStateIndex++) {
+            for (int column = 0; column < COLUMNS_PER_OPTIMIZATION_STATE; column++) {
+                for (double[][] values : flowCnecValues) {
+                    out.writeDouble(values[optStateIndex][column]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads all the results of the flow cnec, per optimization state and column. As in the JSON export,
+     * there are no AFTER_CRA results for preventive cnecs.
+     */
+    private static double[][] readFlowCnecValues(RaoResult raoResult, FlowCnec flowCnec) {
+        double[][] values = new double[OPTIMIZATION_STATES.length][COLUMNS_PER_OPTIMIZATION_STATE];
+        for (int optStateIndex = 0; optStateIndex < OPTIMIZATION_STATES.length; optStateIndex++) {
+            OptimizationState optState = OPTIMIZATION_STATES[optStateIndex];
+            if (optState == OptimizationState.AFTER_CRA && flowCnec.getState().isPreventive()) {
+                Arrays.fill(values[optStateIndex], Double.NaN);
+                continue;
+            }
+            for (int unitIndex = 0; unitIndex < UNITS.length; unitIndex++) {
+                int unit = unitIndex;
+                values[optStateIndex][getColumn(unitIndex, FLOW)] = safeGet(() -> raoResult.getFlow(optState, flowCnec, UNITS[unit]));
+                values[optStateIndex][getColumn(unitIndex, MARGIN)] = safeGet(() -> raoResult.getMargin(optState, flowCnec, UNITS[unit]));
+                values[optStateIndex][getColumn(unitIndex, RELATIVE_MARGIN)] = safeGet(() -> raoResult.getRelativeMargin(optState, flowCnec, UNITS[unit]));
+                values[optStateIndex][getColumn(unitIndex, LOOP_FLOW)] = safeGet(() -> raoResult.getLoopFlow(optState, flowCnec, UNITS[unit]));
+                values[optStateIndex][getColumn(unitIndex, COMMERCIAL_FLOW)] = safeGet(() -> raoResult.getCommercialFlow(optState, flowCnec, UNITS[unit]));
+            }
+            values[optStateIndex][PTDF_ZONAL_SUM] = safeGet(() -> raoResult.getPtdfZonalSum(optState, flowCnec));
+        }
+        return values;
+    }
+
+    private static void writeNetworkActionResults(RaoResult raoResult, Crac crac, List<State> sortedStates, StringDictionary dictionary, DataOutputStream out) throws IOException {
+        List<NetworkAction> sortedNetworkActions = crac.getNetworkActions().stream()
+            .sorted(Comparator.comparing(NetworkAction::getId))
+            .collect(Collectors.toList());
+
+        out.writeInt(sortedNetworkActions.size());
+        for (NetworkAction networkAction : sortedNetworkActions) {
+            out.writeInt(dictionary.indexOf(networkAction.getId()));
+            List<State> activatedStates = sortedStates.stream()
+                .filter(state -> safeIsActivatedDuringState(() -> raoResult.isActivatedDuringState(state, networkAction)))
+                .collect(Collectors.toList());
+            out.writeInt(activatedStates.size());
+            for (State state : activatedStates) {
+                writeState(state, dictionary, out);
+            }
+        }
+    }
+
+    private static void writePstRangeActionResults(RaoResult raoResult, Crac crac, List<State> sortedStates, StringDictionary dictionary, DataOutputStream out) throws IOException {
+        List<PstRangeAction> sortedPstRangeActions = crac.getPstRangeActions().stream()
+            .sorted(Comparator.comparing(RangeAction::getId))
+            .collect(Collectors.toList());
+
+        out.writeInt(sortedPstRangeActions.size());
+        for (PstRangeAction pstRangeAction : sortedPstRangeActions) {
+            out.writeInt(dictionary.indexOf(pstRangeAction.getId()));
+            writeOptionalTap(safeGetTap(() -> raoResult.getPreOptimizationTapOnState(crac.getPreventiveState(), pstRangeAction)), out);
+            out.writeDouble(safeGet(() -> raoResult.getPreOptimizationSetPointOnState(crac.getPreventiveState(), pstRangeAction)));
+            writeAfterPraValues(raoResult, crac, pstRangeAction, out);
+
+            List<State> activatedStates = sortedStates.stream()
+                .filter(state -> safeIsActivatedDuringState(() -> raoResult.isActivatedDuringState(state, pstRangeAction)))
+                .collect(Collectors.toList());
+            out.writeInt(activatedStates.size());
+            for (State state : activatedStates) {
+                writeState(state, dictionary, out);
+                writeOptionalTap(safeGetTap(() -> raoResult.getOptimizedTapOnState(state, pstRangeAction)), out);
+                out.writeDouble(safeGet(() -> raoResult.getOptimizedSetPointOnState(state, pstRangeAction)));
+            }
+        }
+    }
+
+    /**
+     * A purely curative PST may have a preventive counterpart on the same network element, whose optimized
+     * tap and set point are the initial ones of the curative PST, as in the JSON export.
+     */
+    private static void writeAfterPraValues(RaoResult raoResult, Crac crac, PstRangeAction pstRangeAction, DataOutputStream out) throws IOException {
+        Integer afterPraTap = null;
+        double afterPraSetpoint = Double.NaN;
+        Set<RangeAction> preventiveRangeActions = crac.getRangeActions(crac.getPreventiveState(), UsageMethod.AVAILABLE);
+        boolean isCurative = crac.getStates().stream()
+            .filter(state -> !state.equals(crac.getPreventiveState()))
+            .anyMatch(state -> crac.getRangeActions(state, UsageMethod.AVAILABLE).contains(pstRangeAction));
+        if (isCurative && !preventiveRangeActions.contains(pstRangeAction)) {
+            Optional<PstRangeAction> preventivePstRangeAction = preventiveRangeActions.stream()
+                .filter(PstRangeAction.class::isInstance)
+                .filter(rangeAction -> !rangeAction.equals(pstRangeAction))
+                .filter(rangeAction -> rangeAction.getNetworkElements().equals(pstRangeAction.getNetworkElements()))
+                .map(PstRangeAction.class::cast)
+                .findFirst();
+            if (preventivePstRangeAction.isPresent()) {
+                afterPraTap = safeGetTap(() -> raoResult.getOptimizedTapOnState(crac.getPreventiveState(), preventivePstRangeAction.get()));
+                afterPraSetpoint = safeGet(() -> raoResult.getOptimizedSetPointOnState(crac.getPreventiveState(), preventivePstRangeAction.get()));
+            }
+        }
+        boolean hasAfterPraValues = afterPraTap != null && !Double.isNaN(afterPraSetpoint);
+        out.writeBoolean(hasAfterPraValues);
+        if (hasAfterPraValues) {
+            out.writeInt(afterPraTap);
+            out.writeDouble(afterPraSetpoint);
+        }
+    }
+
+    private static void writeState(State state, StringDictionary dictionary, DataOutputStream out) throws IOException {
+        out.writeInt(dictionary.indexOf(state.getInstant().name()));
+        out.writeInt(state.getContingency().map(contingency -> dictionary.indexOf(contingency.getId())).orElse(NO_INDEX));
+    }
+
+    private static void writeOptionalTap(Integer tap, DataOutputStream out) throws IOException {
+        out.writeBoolean(tap != null);
+        if (tap != null) {
+            out.writeInt(tap);
+        }
+    }
+
+    // the getters of a RaoResult can throw if the RAO has not been run on all the states
+
+    private static double safeGet(DoubleSupplier getter) {
+        try {
+            return getter.getAsDouble();
+        } catch (FaraoException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static Integer safeGetTap(IntSupplier getter) {
+        try {
+            return getter.getAsInt();
+        } catch (FaraoException e) {
+            return null;
+        }
+    }
+
+    private static boolean safeIsActivatedDuringState(BooleanSupplier getter) {
+        try {
+            return getter.getAsBoolean();
+        } catch (FaraoException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Strings of the result, indexed in the order they are met.
+     */
+    private static final class StringDictionary {
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        int indexOf(String string) {
+            return indices.computeIfAbsent(string, s -> {
+                strings.add(s);
+                return strings.size() - 1;
+            });
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                out.writeUTF(string);
+            }
+        }
+    }
+}
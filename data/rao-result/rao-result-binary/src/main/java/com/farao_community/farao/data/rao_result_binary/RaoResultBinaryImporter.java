@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.data.rao_result_binary;
+
+import com.farao_community.farao.commons.FaraoException;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
+import com.farao_community.farao.data.rao_result_api.ComputationStatus;
+import com.farao_community.farao.data.rao_result_api.RaoResult;
+import com.farao_community.farao.data.rao_result_impl.*;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import static com.farao_community.farao.data.rao_result_binary.RaoResultBinaryConstants.*;
+
+/**
+ * Imports a RaoResult exported by the {@link RaoResultBinaryExporter}, compressed or not.
+ * <p>
+ * Every count and dictionary index of the stream is checked before it is used, so that a corrupted
+ * or truncated stream is reported with a {@link FaraoException}.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class RaoResultBinaryImporter {
+    private static final int MAX_INITIAL_DICTIONARY_CAPACITY = 1 << 16;
+
+    public RaoResult importRaoResult(InputStream inputStream, Crac crac) {
+        try {
+            DataInputStream header = new DataInputStream(inputStream);
+            if (header.readInt() != MAGIC_NUMBER) {
+                throw new FaraoException("Cannot import RaoResult: the stream is not a binary RaoResult");
+            }
+            int version = header.readInt();
+            if (version != VERSION) {
+                throw new FaraoException(String.format("Cannot import RaoResult: unsupported version %d of the binary format", version));
+            }
+            byte compression = header.readByte();
+            if (compression != UNCOMPRESSED && compression != DEFLATED) {
+                throw new FaraoException(String.format("Cannot import RaoResult: unknown compression %d", compression));
+            }
+
+            InputStream bodyStream = compression == DEFLATED ? new InflaterInputStream(inputStream) : inputStream;
+            return readBody(new DataInputStream(new BufferedInputStream(bodyStream)), crac);
+        } catch (EOFException | UTFDataFormatException | ZipException e) {
+            throw new FaraoException("Cannot import RaoResult: the stream is truncated or corrupted", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static RaoResult readBody(DataInputStream body, Crac crac) throws IOException {
+        RaoResultImpl raoResult = new RaoResultImpl();
+        raoResult.setComputationStatus(readEnum(ComputationStatus.class, body.readUTF()));
+        if (raoResult.getComputationStatus() == ComputationStatus.FAILURE) {
+            return raoResult;
+        }
+
+        String[] dictionary = readDictionary(body);
+        readCostResults(body, dictionary, raoResult);
+        readFlowCnecResults(body, dictionary, raoResult, crac);
+        readNetworkActionResults(body, dictionary, raoResult, crac);
+        readPstRangeActionResults(body, dictionary, raoResult, crac);
+        return raoResult;
+    }
+
+    private static void readCostResults(DataInputStream in, String[] dictionary, RaoResultImpl raoResult) throws IOException {
+        for (int optStateIndex = 0; optStateIndex < OPTIMIZATION_STATES.length; optStateIndex++) {
+            if (in.readBoolean()) {
+                CostResult costResult = raoResult.getAndCreateIfAbsentCostResult(OPTIMIZATION_STATES[optStateIndex]);
+                costResult.setFunctionalCost(in.readDouble());
+                int virtualCostCount = readCount(in, dictionary.length, "virtual costs");
+                for (int i = 0; i < virtualCostCount; i++) {
+                    costResult.setVirtualCost(readDictionaryEntry(in, dictionary), in.readDouble());
+                }
+            }
+        }
+    }
+
+    private static void readFlowCnecResults(DataInputStream in, String[] dictionary, RaoResultImpl raoResult, Crac crac) throws IOException {
+        FlowCnec[] flowCnecs = new FlowCnec[readCount(in, crac.getFlowCnecs().size(), "flow cnecs")];
+        for (int i = 0; i < flowCnecs.length; i++) {
+            String flowCnecId = readDictionaryEntry(in, dictionary);
+            flowCnecs[i] = crac.getFlowCnec(flowCnecId);
+            if (flowCnecs[i] == null) {
+                throw new FaraoException(String.format("Cannot import RaoResult: flowCnec with id %s does not exist in the Crac", flowCnecId));
+            }
+        }
+
+        FlowCnecResult[] flowCnecResults = new FlowCnecResult[flowCnecs.length];
+        for (int i = 0; i < flowCnecs.length; i++) {
+            flowCnecResults[i] = raoResult.getAndCreateIfAbsentFlowCnecResult(flowCnecs[i]);
+        }
+        for (int optStateIndex = 0; optStateIndex < OPTIMIZATION_STATES.length; optStateIndex++) {
+            for (int column = 0; column < COLUMNS_PER_OPTIMIZATION_STATE; column++) {
+                for (int i = 0; i < flowCnecs.length; i++) {
+                    double value = in.readDouble();
+                    if (!Double.isNaN(value)) {
+                        setFlowCnecValue(flowCnecResults[i].getAndCreateIfAbsentResultForOptimizationState(OPTIMIZATION_STATES[optStateIndex]), column, value);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void setFlowCnecValue(ElementaryFlowCnecResult result, int column, double value) {
+        if (column == PTDF_ZONAL_SUM) {
+            result.setPtdfZonalSum(value);
+            return;
+        }
+        int unitIndex = column / METRICS_PER_UNIT;
+        switch (column % METRICS_PER_UNIT) {
+            case FLOW:
+                result.setFlow(value, UNITS[unitIndex]);
+                break;
+            case MARGIN:
+                result.setMargin(value, UNITS[unitIndex]);
+                break;
+            case RELATIVE_MARGIN:
+                result.setRelativeMargin(value, UNITS[unitIndex]);
+                break;
+            case LOOP_FLOW:
+                result.setLoopFlow(value, UNITS[unitIndex]);
+                break;
+            case COMMERCIAL_FLOW:
+                result.setCommercialFlow(value, UNITS[unitIndex]);
+                break;
+            default:
+                throw new FaraoException(String.format("Cannot import RaoResult: unknown flow cnec result column %d", column));
+        }
+    }
+
+    private static void readNetworkActionResults(DataInputStream in, String[] dictionary, RaoResultImpl raoResult, Crac crac) throws IOException {
+        int networkActionCount = readCount(in, crac.getNetworkActions().size(), "network actions");
+        for (int i = 0; i < networkActionCount; i++) {
+            String networkActionId = readDictionaryEntry(in, dictionary);
+            NetworkAction networkAction = crac.getNetworkAction(networkActionId);
+            if (networkAction == null) {
+                throw new FaraoException(String.format("Cannot import RaoResult: networkAction with id %s does not exist in the Crac", networkActionId));
+            }
+            NetworkActionResult networkActionResult = raoResult.getAndCreateIfAbsentNetworkActionResult(networkAction);
+            int stateCount = readCount(in, crac.getStates().size(), "states");
+            for (int j = 0; j < stateCount; j++) {
+                networkActionResult.addActivationForState(readState(in, dictionary, crac));
+            }
+        }
+    }
+
+    private static void readPstRangeActionResults(DataInputStream in, String[] dictionary, RaoResultImpl raoResult, Crac crac) throws IOException {
+        int pstRangeActionCount = readCount(in, crac.getPstRangeActions().size(), "pstRangeActions");
+        for (int i = 0; i < pstRangeActionCount; i++) {
+            String pstRangeActionId = readDictionaryEntry(in, dictionary);
+            PstRangeAction pstRangeAction = crac.getPstRangeAction(pstRangeActionId);
+            if (pstRangeAction == null) {
+                throw new FaraoException(String.format("Cannot import RaoResult: pstRangeAction with id %s does not exist in the Crac", pstRangeActionId));
+            }
+            PstRangeActionResult pstRangeActionResult = raoResult.getAndCreateIfAbsentPstRangeActionResult(pstRangeAction);
+            if (in.readBoolean()) {
+                pstRangeActionResult.setPreOptimTap(in.readInt());
+            }
+            double initialSetpoint = in.readDouble();
+            if (!Double.isNaN(initialSetpoint)) {
+                pstRangeActionResult.setPreOptimSetPoint(initialSetpoint);
+            }
+            // for purely curative PSTs, the initial tap and set point are the ones after the preventive optimization
+            if (in.readBoolean()) {
+                pstRangeActionResult.setPreOptimTap(in.readInt());
+                pstRangeActionResult.setPreOptimSetPoint(in.readDouble());
+            }
+
+            int stateCount = readCount(in, crac.getStates().size(), "states");
+            for (int j = 0; j < stateCount; j++) {
+                State state = readState(in, dictionary, crac);
+                boolean hasTap = in.readBoolean();
+                int tap = hasTap ? in.readInt() : 0;
+                double setpoint = in.readDouble();
+                if (!hasTap || Double.isNaN(setpoint)) {
+                    throw new FaraoException(String.format("Cannot import RaoResult: tap and setpoint are required for the activation of pstRangeAction %s", pstRangeActionId));
+                }
+                pstRangeActionResult.addActivationForState(state, tap, setpoint);
+            }
+        }
+    }
+
+    private static State readState(DataInputStream in, String[] dictionary, Crac crac) throws IOException {
+        Instant instant = readEnum(Instant.class, readDictionaryEntry(in, dictionary));
+        int contingencyIndex = in.readInt();
+        if (instant == Instant.PREVENTIVE) {
+            return crac.getPreventiveState();
+        }
+        if (contingencyIndex == NO_INDEX) {
+            throw new FaraoException(String.format("Cannot import RaoResult: no contingency defined for a state at instant %s", instant));
+        }
+        String contingencyId = getDictionaryEntry(dictionary, contingencyIndex);
+        State state = crac.getState(contingencyId, instant);
+        if (state == null) {
+            throw new FaraoException(String.format("Cannot import RaoResult: State at instant %s with contingency %s not found in Crac", instant, contingencyId));
+        }
+        return state;
+    }
+
+    private static String[] readDictionary(DataInputStream in) throws IOException {
+        int dictionarySize = readCount(in, Integer.MAX_VALUE, "dictionary entries");
+        // the size is not trusted to allocate the dictionary: a corrupted size ends with a truncated stream instead
+        List<String> dictionary = new ArrayList<>(Math.min(dictionarySize, MAX_INITIAL_DICTIONARY_CAPACITY));
+        for (int i = 0; i < dictionarySize; i++) {
+            dictionary.add(in.readUTF());
+        }
+        return dictionary.toArray(new String[0]);
+    }
+
+    private static int readCount(DataInputStream in, int maxCount, String elements) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > maxCount) {
+            throw new FaraoException(String.format("Cannot import RaoResult: invalid number of %s (%d)", elements, count));
+        }
+        return count;
+    }
+
+    private static String readDictionaryEntry(DataInputStream in, String[] dictionary) throws IOException {
+        return getDictionaryEntry(dictionary, in.readInt());
+    }
+
+    private static String getDictionaryEntry(String[] dictionary, int index) {
+        if (index < 0 || index >= dictionary.length) {
+            throw new FaraoException(String.format("Cannot import RaoResult: invalid dictionary index %d", index));
+        }
+        return dictionary[index];
+    }
+
+    private static <E extends Enum<E>> E readEnum(Class<E> enumClass, String name) {
+        try {
+            return Enum.valueOf(enumClass, name);
+        } catch (IllegalArgumentException e) {
+            throw new FaraoException(String.format("Cannot import RaoResult: unknown %s %s", enumClass.getSimpleName(), name), e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.data.rao_result_binary;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.network_action.ActionType;
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
+import com.farao_community.farao.data.crac_api.range_action.RangeType;
+import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
+import com.farao_community.farao.data.crac_impl.utils.CommonCracCreation;
+import com.farao_community.farao.data.rao_result_api.ComputationStatus;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
+import com.farao_community.farao.data.rao_result_api.RaoResult;
+import com.farao_community.farao.data.rao_result_impl.*;
+import com.farao_community.farao.data.rao_result_json.RaoResultExporter;
+import com.farao_community.farao.data.rao_result_json.RaoResultImporter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.farao_community.farao.commons.Unit.AMPERE;
+import static com.farao_community.farao.commons.Unit.MEGAWATT;
+import static org.junit.Assert.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class RaoResultBinaryExporterTest {
+    private static final double DOUBLE_TOLERANCE = 1e-6;
+
+    private Crac crac;
+    private RaoResultImpl raoResult;
+
+    @Before
+    public void setUp() {
+        crac = CommonCracCreation.createWithCurativePstRange();
+        PstRangeAction curativePst = crac.getPstRangeAction("pst");
+        PstRangeAction preventivePst = crac.newPstRangeAction()
+            .withId("pst-prev")
+            .withNetworkElement(curativePst.getNetworkElement().getId(), curativePst.getNetworkElement().getName())
+            .withOperator("operator1")
+            .newFreeToUseUsageRule().withInstant(Instant.PREVENTIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+            .newTapRange().withRangeType(RangeType.ABSOLUTE).withMinTap(-16).withMaxTap(16).add()
+            .withInitialTap(curativePst.getInitialTap())
+            .withTapToAngleConversionMap(curativePst.getTapToAngleConversionMap())
+            .add();
+        NetworkAction networkAction = crac.newNetworkAction().withId("na-id")
+            .newTopologicalAction().withNetworkElement("any").withActionType(ActionType.OPEN).add()
+            .newFreeToUseUsageRule().withInstant(Instant.PREVENTIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+            .newFreeToUseUsageRule().withInstant(Instant.CURATIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+            .add();
+        State curativeState = crac.getState("Contingency FR1 FR3", Instant.CURATIVE);
+
+        raoResult = new RaoResultImpl();
+        raoResult.setComputationStatus(ComputationStatus.DEFAULT);
+
+        CostResult initialCost = raoResult.getAndCreateIfAbsentCostResult(OptimizationState.INITIAL);
+        initialCost.setFunctionalCost(100.);
+        initialCost.setVirtualCost("loopFlow", 0.);
+        CostResult afterCraCost = raoResult.getAndCreateIfAbsentCostResult(OptimizationState.AFTER_CRA);
+        afterCraCost.setFunctionalCost(-50.);
+        afterCraCost.setVirtualCost("loopFlow", 10.);
+        afterCraCost.setVirtualCost("MNEC", 2.);
+
+        // results with gaps: some cnecs have no result at all, some have no result in AMPERE or no PTDF sum
+        List<FlowCnec> sortedFlowCnecs = crac.getFlowCnecs().stream().sorted(Comparator.comparing(FlowCnec::getId)).collect(Collectors.toList());
+        for (int i = 0; i < sortedFlowCnecs.size(); i++) {
+            if (i % 5 == 4) {
+                continue;
+            }
+            FlowCnecResult flowCnecResult = raoResult.getAndCreateIfAbsentFlowCnecResult(sortedFlowCnecs.get(i));
+            for (OptimizationState optState : OptimizationState.values()) {
+                ElementaryFlowCnecResult result = flowCnecResult.getAndCreateIfAbsentResultForOptimizationState(optState);
+                double offset = 100. * i + 10. * optState.ordinal();
+                result.setFlow(offset + 1., MEGAWATT);
+                result.setMargin(offset + 2., MEGAWATT);
+                result.setRelativeMargin(offset + 3., MEGAWATT);
+                result.setLoopFlow(offset + 4., MEGAWATT);
+                result.setCommercialFlow(offset + 5., MEGAWATT);
+                if (i % 2 == 0) {
+                    result.setFlow(offset + 6., AMPERE);
+                    result.setMargin(offset + 7., AMPERE);
+                }
+                if (i % 3 == 0) {
+                    result.setPtdfZonalSum(offset / 1000.);
+                }
+            }
+        }
+
+        raoResult.getAndCreateIfAbsentNetworkActionResult(networkAction).addActivationForStates(java.util.Set.of(crac.getPreventiveState(), curativeState));
+
+        PstRangeActionResult preventivePstResult = raoResult.getAndCreateIfAbsentPstRangeActionResult(preventivePst);
+        preventivePstResult.setPreOptimTap(3);
+        preventivePstResult.setPreOptimSetPoint(2.3);
+        preventivePstResult.addActivationForState(crac.getPreventiveState(), -7, -3.2);
+        PstRangeActionResult curativePstResult = raoResult.getAndCreateIfAbsentPstRangeActionResult(curativePst);
+        curativePstResult.setPreOptimTap(1);
+        curativePstResult.setPreOptimSetPoint(0.8);
+        curativePstResult.addActivationForState(curativeState, 5, 2.9);
+    }
+
+    private RaoResult jsonRoundTrip() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new RaoResultExporter().export(raoResult, crac, outputStream);
+        return new RaoResultImporter().importRaoResult(new ByteArrayInputStream(outputStream.toByteArray()), crac);
+    }
+
+    private byte[] exportBinary(boolean compressed) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        new RaoResultBinaryExporter().export(raoResult, crac, outputStream, compressed);
+        return outputStream.toByteArray();
+    }
+
+    private RaoResult importBinary(byte[] bytes) {
+        return new RaoResultBinaryImporter().importRaoResult(new ByteArrayInputStream(bytes), crac);
+    }
+
+    private void assertSameResults(RaoResult expected, RaoResult actual) {
+        assertEquals(expected.getComputationStatus(), actual.getComputationStatus());
+        assertEquals(expected.getVirtualCostNames(), actual.getVirtualCostNames());
+        for (OptimizationState optState : OptimizationState.values()) {
+            assertEquals(expected.getFunctionalCost(optState), actual.getFunctionalCost(optState), DOUBLE_TOLERANCE);
+            assertEquals(expected.getVirtualCost(optState), actual.getVirtualCost(optState), DOUBLE_TOLERANCE);
+            assertEquals(expected.getCost(optState), actual.getCost(optState), DOUBLE_TOLERANCE);
+            for (String virtualCostName : expected.getVirtualCostNames()) {
+                assertEquals(expected.getVirtualCost(optState, virtualCostName), actual.getVirtualCost(optState, virtualCostName), DOUBLE_TOLERANCE);
+            }
+            for (FlowCnec flowCnec : crac.getFlowCnecs()) {
+                for (Unit unit : List.of(MEGAWATT, AMPERE)) {
+                    assertEquals(expected.getFlow(optState, flowCnec, unit), actual.getFlow(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(expected.getMargin(optState, flowCnec, unit), actual.getMargin(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(expected.getRelativeMargin(optState, flowCnec, unit), actual.getRelativeMargin(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(expected.getLoopFlow(optState, flowCnec, unit), actual.getLoopFlow(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(expected.getCommercialFlow(optState, flowCnec, unit), actual.getCommercialFlow(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                }
+                assertEquals(expected.getPtdfZonalSum(optState, flowCnec), actual.getPtdfZonalSum(optState, flowCnec), DOUBLE_TOLERANCE);
+            }
+        }
+        for (State state : crac.getStates()) {
+            for (NetworkAction networkAction : crac.getNetworkActions()) {
+                assertEquals(expected.isActivatedDuringState(state, networkAction), actual.isActivatedDuringState(state, networkAction));
+            }
+            for (PstRangeAction pstRangeAction : crac.getPstRangeActions()) {
+                assertEquals(expected.isActivatedDuringState(state, pstRangeAction), actual.isActivatedDuringState(state, pstRangeAction));
+                assertEquals(expected.getPreOptimizationTapOnState(state, pstRangeAction), actual.getPreOptimizationTapOnState(state, pstRangeAction));
+                assertEquals(expected.getOptimizedTapOnState(state, pstRangeAction), actual.getOptimizedTapOnState(state, pstRangeAction));
+                assertEquals(expected.getPreOptimizationSetPointOnState(state, pstRangeAction), actual.getPreOptimizationSetPointOnState(state, pstRangeAction), DOUBLE_TOLERANCE);
+                assertEquals(expected.getOptimizedSetPointOnState(state, pstRangeAction), actual.getOptimizedSetPointOnState(state, pstRangeAction), DOUBLE_TOLERANCE);
+            }
+        }
+    }
+
+    @Test
+    public void binaryRoundTripGivesTheSameResultsAsJsonRoundTrip() {
+        RaoResult jsonResult = jsonRoundTrip();
+        assertSameResults(jsonResult, importBinary(exportBinary(true)));
+        assertSameResults(jsonResult, importBinary(exportBinary(false)));
+
+        // the afterPra values of the preventive PST are the initial ones of the purely curative PST
+        assertEquals(-7, importBinary(exportBinary(true)).getPreOptimizationTapOnState(crac.getPreventiveState(), crac.getPstRangeAction("pst")));
+    }
+
+    @Test
+    public void compressedExportIsSmallerThanJson() {
+        ByteArrayOutputStream jsonOutputStream = new ByteArrayOutputStream();
+        new RaoResultExporter().export(raoResult, crac, jsonOutputStream);
+
+        assertTrue(exportBinary(true).length < jsonOutputStream.size());
+        assertTrue(exportBinary(true).length < exportBinary(false).length);
+    }
+
+    @Test
+    public void failedResultOnlyKeepsItsStatus() {
+        raoResult.setComputationStatus(ComputationStatus.FAILURE);
+        RaoResult importedRaoResult = importBinary(exportBinary(true));
+        assertEquals(ComputationStatus.FAILURE, importedRaoResult.getComputationStatus());
+        assertTrue(Double.isNaN(importedRaoResult.getFunctionalCost(OptimizationState.INITIAL)));
+    }
+}
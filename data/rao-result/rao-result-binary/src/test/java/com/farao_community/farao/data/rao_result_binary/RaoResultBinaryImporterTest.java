@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.data.rao_result_binary;
+
+import com.farao_community.farao.commons.FaraoException;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_impl.utils.CommonCracCreation;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class RaoResultBinaryImporterTest {
+
+    private final Crac crac = CommonCracCreation.create();
+
+    @Test
+    public void jsonIsNotABinaryRaoResult() {
+        byte[] json = "{\"computationStatus\" : \"default\"}".getBytes(StandardCharsets.UTF_8);
+        RaoResultBinaryImporter importer = new RaoResultBinaryImporter();
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(json);
+        FaraoException exception = assertThrows(FaraoException.class, () -> importer.importRaoResult(inputStream, crac));
+        assertEquals("Cannot import RaoResult: the stream is not a binary RaoResult", exception.getMessage());
+    }
+
+    private static DataOutputStream writeHeader(ByteArrayOutputStream outputStream, byte compression) throws IOException {
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(RaoResultBinaryConstants.MAGIC_NUMBER);
+        header.writeInt(RaoResultBinaryConstants.VERSION);
+        header.writeByte(compression);
+        return header;
+    }
+
+    private void assertImportFails(ByteArrayOutputStream outputStream, String expectedMessage) {
+        RaoResultBinaryImporter importer = new RaoResultBinaryImporter();
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
+        FaraoException exception = assertThrows(FaraoException.class, () -> importer.importRaoResult(inputStream, crac));
+        assertEquals(expectedMessage, exception.getMessage());
+    }
+
+    @Test
+    public void unsupportedVersion() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.writeInt(RaoResultBinaryConstants.MAGIC_NUMBER);
+        header.writeInt(RaoResultBinaryConstants.VERSION + 1);
+        header.writeByte(RaoResultBinaryConstants.UNCOMPRESSED);
+
+        RaoResultBinaryImporter importer = new RaoResultBinaryImporter();
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(outputStream.toByteArray());
+        FaraoException exception = assertThrows(FaraoException.class, () -> importer.importRaoResult(inputStream, crac));
+        assertEquals("Cannot import RaoResult: unsupported version 2 of the binary format", exception.getMessage());
+    }
+
+    @Test
+    public void unknownComputationStatus() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream body = writeHeader(outputStream, RaoResultBinaryConstants.UNCOMPRESSED);
+        body.writeUTF("UNKNOWN");
+
+        assertImportFails(outputStream, "Cannot import RaoResult: unknown ComputationStatus UNKNOWN");
+    }
+
+    @Test
+    public void dictionaryIndexOutOfBounds() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream body = writeHeader(outputStream, RaoResultBinaryConstants.UNCOMPRESSED);
+        body.writeUTF("DEFAULT");
+        body.writeInt(1);
+        body.writeUTF("loopFlow");
+        // initial cost, with a virtual cost whose name is not in the dictionary
+        body.writeBoolean(true);
+        body.writeDouble(100.);
+        body.writeInt(1);
+        body.writeInt(5);
+        body.writeDouble(0.);
+
+        assertImportFails(outputStream, "Cannot import RaoResult: invalid dictionary index 5");
+    }
+
+    @Test
+    public void invalidCounts() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream body = writeHeader(outputStream, RaoResultBinaryConstants.UNCOMPRESSED);
+        body.writeUTF("DEFAULT");
+        body.writeInt(-1);
+        assertImportFails(outputStream, "Cannot import RaoResult: invalid number of dictionary entries (-1)");
+
+        outputStream = new ByteArrayOutputStream();
+        body = writeHeader(outputStream, RaoResultBinaryConstants.UNCOMPRESSED);
+        body.writeUTF("DEFAULT");
+        body.writeInt(0);
+        for (int i = 0; i < RaoResultBinaryConstants.OPTIMIZATION_STATES.length; i++) {
+            body.writeBoolean(false);
+        }
+        // more flow cnecs than in the crac
+        body.writeInt(1000);
+        assertImportFails(outputStream, "Cannot import RaoResult: invalid number of flow cnecs (1000)");
+    }
+
+    @Test
+    public void truncatedStream() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream body = writeHeader(outputStream, RaoResultBinaryConstants.UNCOMPRESSED);
+        body.writeUTF("DEFAULT");
+        // a corrupted dictionary size is not trusted to allocate the dictionary
+        body.writeInt(Integer.MAX_VALUE);
+        body.writeUTF("loopFlow");
+
+        assertImportFails(outputStream, "Cannot import RaoResult: the stream is truncated or corrupted");
+    }
+
+    @Test
+    public void corruptedCompressedStream() throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        DataOutputStream body = writeHeader(outputStream, RaoResultBinaryConstants.DEFLATED);
+        body.writeUTF("not deflated");
+
+        assertImportFails(outputStream, "Cannot import RaoResult: the stream is truncated or corrupted");
+    }
+}
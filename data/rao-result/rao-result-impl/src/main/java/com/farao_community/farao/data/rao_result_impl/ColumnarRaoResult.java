@@ -0,0 +1,615 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.data.rao_result_impl;
+
+import com.farao_community.farao.commons.FaraoException;
+import com.farao_community.farao.commons.PhysicalParameter;
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
+import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.data.rao_result_api.ComputationStatus;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
+import com.farao_community.farao.data.rao_result_api.RaoResult;
+
+import java.util.*;
+import java.util.function.DoubleSupplier;
+
+/**
+ * RaoResult of a given Crac, which stores its values in primitive arrays rather than in one object per
+ * flow cnec, optimization state and unit as {@link RaoResultImpl} does.
+ * <p>
+ * The flow cnecs, states and remedial actions of the Crac are given an int index when the result is created.
+ * The values of the flow cnecs are stored in one column of doubles per optimization state and per flow metric,
+ * indexed by the index of the flow cnec; a column is only allocated when a value is first written in it. The
+ * results of the remedial actions are stored in arrays indexed by the index of the remedial action and of the
+ * state. The setters taking the index of a flow cnec avoid looking the flow cnec up for each value written.
+ * <p>
+ * Getters behave as the ones of {@link RaoResultImpl}. Like RaoResultImpl, this class is not thread-safe.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class ColumnarRaoResult implements RaoResult {
+
+    private static final OptimizationState[] OPTIMIZATION_STATES = OptimizationState.values();
+    private static final Unit[] FLOW_UNITS = Arrays.stream(Unit.values()).filter(unit -> unit.getPhysicalParameter() == PhysicalParameter.FLOW).toArray(Unit[]::new);
+
+    private static final int FLOW = 0;
+    private static final int MARGIN = 1;
+    private static final int RELATIVE_MARGIN = 2;
+    private static final int LOOP_FLOW = 3;
+    private static final int COMMERCIAL_FLOW = 4;
+    private static final int METRICS_PER_UNIT = 5;
+    private static final int PTDF_ZONAL_SUM = METRICS_PER_UNIT * FLOW_UNITS.length;
+    private static final int COLUMNS_PER_OPTIMIZATION_STATE = PTDF_ZONAL_SUM + 1;
+
+    private ComputationStatus computationStatus;
+
+    private final Map<FlowCnec, Integer> flowCnecIndices;
+    private final double[][] flowCnecColumns = new double[OPTIMIZATION_STATES.length * COLUMNS_PER_OPTIMIZATION_STATE][];
+
+    private final double[] functionalCosts = new double[OPTIMIZATION_STATES.length];
+    private final boolean[] hasVirtualCosts = new boolean[OPTIMIZATION_STATES.length];
+    private final Map<String, double[]> virtualCosts = new HashMap<>();
+
+    private final Map<State, Integer> stateIndices;
+    private final State[] states;
+    private final int preventiveStateIndex;
+
+    private final Map<NetworkAction, Integer> networkActionIndices;
+    private final NetworkAction[] networkActions;
+    // bit (networkActionIndex * number of states + stateIndex)
+    private final BitSet networkActionActivations = new BitSet();
+
+    private final Map<PstRangeAction, Integer> pstRangeActionIndices;
+    private final PstRangeAction[] pstRangeActions;
+    private final int[] preOptimTaps;
+    private final BitSet hasPreOptimTap = new BitSet();
+    private final double[] preOptimSetpoints;
+    // bit and values at (pstRangeActionIndex * number of states + stateIndex)
+    private final BitSet pstRangeActionActivations = new BitSet();
+    private int[] optimizedTaps;
+    private double[] optimizedSetpoints;
+
+    public ColumnarRaoResult(Crac crac) {
+        flowCnecIndices = index(crac.getFlowCnecs());
+
+        states = crac.getStates().toArray(new State[0]);
+        stateIndices = index(Arrays.asList(states));
+        preventiveStateIndex = crac.getPreventiveState() == null ? -1 : stateIndices.get(crac.getPreventiveState());
+
+        networkActions = crac.getNetworkActions().toArray(new NetworkAction[0]);
+        networkActionIndices = index(Arrays.asList(networkActions));
+
+        pstRangeActions = crac.getPstRangeActions().toArray(new PstRangeAction[0]);
+        pstRangeActionIndices = index(Arrays.asList(pstRangeActions));
+        preOptimTaps = new int[pstRangeActions.length];
+        preOptimSetpoints = new double[pstRangeActions.length];
+        Arrays.fill(preOptimSetpoints, Double.NaN);
+
+        Arrays.fill(functionalCosts, Double.NaN);
+    }
+
+    private static <T> Map<T, Integer> index(Collection<T> elements) {
+        Map<T, Integer> indices = new HashMap<>();
+        for (T element : elements) {
+            indices.put(element, indices.size());
+        }
+        return indices;
+    }
+
+    /**
+     * Copies all the results of a RaoResult of the same Crac, as the RaoResult exporters read them.
+     * Values which cannot be retrieved from the RaoResult are left undefined.
+     */
+    public void copyFrom(RaoResult raoResult) {
+        setComputationStatus(raoResult.getComputationStatus());
+        if (computationStatus == ComputationStatus.FAILURE) {
+            return;
+        }
+        for (OptimizationState optState : OPTIMIZATION_STATES) {
+            setFunctionalCost(optState, safeGet(() -> raoResult.getFunctionalCost(optState)));
+            for (String virtualCostName : raoResult.getVirtualCostNames()) {
+                double virtualCost = safeGet(() -> raoResult.getVirtualCost(optState, virtualCostName));
+                if (!Double.isNaN(virtualCost)) {
+                    setVirtualCost(optState, virtualCostName, virtualCost);
+                }
+            }
+        }
+        copyFlowCnecResults(raoResult);
+        copyNetworkActionResults(raoResult);
+        copyPstRangeActionResults(raoResult);
+    }
+
+    private void copyFlowCnecResults(RaoResult raoResult) {
+        for (Map.Entry<FlowCnec, Integer> entry : flowCnecIndices.entrySet()) {
+            FlowCnec flowCnec = entry.getKey();
+            int flowCnecIndex = entry.getValue();
+            for (OptimizationState optState : OPTIMIZATION_STATES) {
+                // the RaoResult exporters only read the units which are actually computed by the RAO
+                for (Unit unit : new Unit[] {Unit.MEGAWATT, Unit.AMPERE}) {
+                    setFlow(optState, flowCnecIndex, unit, safeGet(() -> raoResult.getFlow(optState, flowCnec, unit)));
+                    setMargin(optState, flowCnecIndex, unit, safeGet(() -> raoResult.getMargin(optState, flowCnec, unit)));
+                    setRelativeMargin(optState, flowCnecIndex, unit, safeGet(() -> raoResult.getRelativeMargin(optState, flowCnec, unit)));
+                    setLoopFlow(optState, flowCnecIndex, unit, safeGet(() -> raoResult.getLoopFlow(optState, flowCnec, unit)));
+                    setCommercialFlow(optState, flowCnecIndex, unit, safeGet(() -> raoResult.getCommercialFlow(optState, flowCnec, unit)));
+                }
+                setPtdfZonalSum(optState, flowCnecIndex, safeGet(() -> raoResult.getPtdfZonalSum(optState, flowCnec)));
+            }
+        }
+    }
+
+    private void copyNetworkActionResults(RaoResult raoResult) {
+        for (NetworkAction networkAction : networkActions) {
+            for (State state : states) {
+                try {
+                    if (raoResult.isActivatedDuringState(state, networkAction)) {
+                        addActivationForState(networkAction, state);
+                    }
+                } catch (FaraoException e) {
+                    // the RaoResult has no result for this state
+                }
+            }
+        }
+    }
+
+    private void copyPstRangeActionResults(RaoResult raoResult) {
+        State preventiveState = preventiveStateIndex < 0 ? null : states[preventiveStateIndex];
+        State curativeState = Arrays.stream(states).filter(state -> state.getInstant() == Instant.CURATIVE).findAny().orElse(null);
+        for (PstRangeAction pstRangeAction : pstRangeActions) {
+            boolean activatedInPreventive = false;
+            for (State state : states) {
+                try {
+                    if (raoResult.isActivatedDuringState(state, pstRangeAction)) {
+                        addActivationForState(pstRangeAction, state, raoResult.getOptimizedTapOnState(state, pstRangeAction), raoResult.getOptimizedSetPointOnState(state, pstRangeAction));
+                        activatedInPreventive |= state == preventiveState;
+                    }
+                } catch (FaraoException e) {
+                    // the RaoResult has no result for this state
+                }
+            }
+            if (preventiveState != null) {
+                copyPreOptimValues(raoResult, preventiveState, pstRangeAction);
+            }
+            // as in the json export, the pre-optimization values of a PST which is not activated in preventive are
+            // the curative ones, which differ from the preventive ones when another range action acts on its PST
+            if (!activatedInPreventive && curativeState != null) {
+                copyPreOptimValues(raoResult, curativeState, pstRangeAction);
+            }
+        }
+    }
+
+    private void copyPreOptimValues(RaoResult raoResult, State state, PstRangeAction pstRangeAction) {
+        try {
+            setPreOptimTap(pstRangeAction, raoResult.getPreOptimizationTapOnState(state, pstRangeAction));
+        } catch (FaraoException e) {
+            // no pre-optimization tap in the RaoResult for this state
+        }
+        double preOptimSetpoint = safeGet(() -> raoResult.getPreOptimizationSetPointOnState(state, pstRangeAction));
+        if (!Double.isNaN(preOptimSetpoint)) {
+            setPreOptimSetPoint(pstRangeAction, preOptimSetpoint);
+        }
+    }
+
+    private static double safeGet(DoubleSupplier getter) {
+        // getters of a RaoResult can throw when the result is not defined, for instance if the RAO was run on one state only
+        try {
+            return getter.getAsDouble();
+        } catch (FaraoException e) {
+            return Double.NaN;
+        }
+    }
+
+    public void setComputationStatus(ComputationStatus computationStatus) {
+        this.computationStatus = computationStatus;
+    }
+
+    @Override
+    public ComputationStatus getComputationStatus() {
+        return computationStatus;
+    }
+
+    /**
+     * @return the index of the flow cnec in this result, or -1 if it is not a flow cnec of the Crac of this result.
+     */
+    public int getFlowCnecIndex(FlowCnec flowCnec) {
+        return flowCnecIndices.getOrDefault(flowCnec, -1);
+    }
+
+    private static int getUnitIndex(Unit unit) {
+        for (int unitIndex = 0; unitIndex < FLOW_UNITS.length; unitIndex++) {
+            if (FLOW_UNITS[unitIndex] == unit) {
+                return unitIndex;
+            }
+        }
+        return -1;
+    }
+
+    private static int getColumn(OptimizationState optimizationState, int metric, Unit unit) {
+        int unitIndex = getUnitIndex(unit);
+        if (unitIndex < 0) {
+            return -1;
+        }
+        return optimizationState.ordinal() * COLUMNS_PER_OPTIMIZATION_STATE + unitIndex * METRICS_PER_UNIT + metric;
+    }
+
+    private double getValue(int column, FlowCnec flowCnec) {
+        int flowCnecIndex = getFlowCnecIndex(flowCnec);
+        if (column < 0 || flowCnecIndex < 0 || flowCnecColumns[column] == null) {
+            return Double.NaN;
+        }
+        return flowCnecColumns[column][flowCnecIndex];
+    }
+
+    private void setValue(int column, int flowCnecIndex, double value) {
+        if (column < 0) {
+            throw new FaraoException("FlowCnecResult can only be defined for a FLOW unit");
+        }
+        if (flowCnecIndex < 0 || flowCnecIndex >= flowCnecIndices.size()) {
+            throw new FaraoException(String.format("No flow cnec with index %d in this RaoResult", flowCnecIndex));
+        }
+        if (flowCnecColumns[column] == null) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            flowCnecColumns[column] = new double[flowCnecIndices.size()];
+            Arrays.fill(flowCnecColumns[column], Double.NaN);
+        }
+        flowCnecColumns[column][flowCnecIndex] = value;
+    }
+
+    private int checkFlowCnecIndex(FlowCnec flowCnec) {
+        int flowCnecIndex = getFlowCnecIndex(flowCnec);
+        if (flowCnecIndex < 0) {
+            throw new FaraoException(String.format("FlowCnec %s is not a flow cnec of the Crac of this RaoResult", flowCnec.getId()));
+        }
+        return flowCnecIndex;
+    }
+
+    @Override
+    public double getFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return getValue(getColumn(optimizationState, FLOW, unit), flowCnec);
+    }
+
+    @Override
+    public double getMargin(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return getValue(getColumn(optimizationState, MARGIN, unit), flowCnec);
+    }
+
+    @Override
+    public double getRelativeMargin(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return getValue(getColumn(optimizationState, RELATIVE_MARGIN, unit), flowCnec);
+    }
+
+    @Override
+    public double getLoopFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return getValue(getColumn(optimizationState, LOOP_FLOW, unit), flowCnec);
+    }
+
+    @Override
+    public double getCommercialFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return getValue(getColumn(optimizationState, COMMERCIAL_FLOW, unit), flowCnec);
+    }
+
+    @Override
+    public double getPtdfZonalSum(OptimizationState optimizationState, FlowCnec flowCnec) {
+        return getValue(optimizationState.ordinal() * COLUMNS_PER_OPTIMIZATION_STATE + PTDF_ZONAL_SUM, flowCnec);
+    }
+
+    public void setFlow(OptimizationState optimizationState, int flowCnecIndex, Unit unit, double flow) {
+        setValue(getColumn(optimizationState, FLOW, unit), flowCnecIndex, flow);
+    }
+
+    public void setFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit, double flow) {
+        setFlow(optimizationState, checkFlowCnecIndex(flowCnec), unit, flow);
+    }
+
+    public void setMargin(OptimizationState optimizationState, int flowCnecIndex, Unit unit, double margin) {
+        setValue(getColumn(optimizationState, MARGIN, unit), flowCnecIndex, margin);
+    }
+
+    public void setMargin(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit, double margin) {
+        setMargin(optimizationState, checkFlowCnecIndex(flowCnec), unit, margin);
+    }
+
+    public void setRelativeMargin(OptimizationState optimizationState, int flowCnecIndex, Unit unit, double relativeMargin) {
+        setValue(getColumn(optimizationState, RELATIVE_MARGIN, unit), flowCnecIndex, relativeMargin);
+    }
+
+    public void setRelativeMargin(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit, double relativeMargin) {
+        setRelativeMargin(optimizationState, checkFlowCnecIndex(flowCnec), unit, relativeMargin);
+    }
+
+    public void setLoopFlow(OptimizationState optimizationState, int flowCnecIndex, Unit unit, double loopFlow) {
+        setValue(getColumn(optimizationState, LOOP_FLOW, unit), flowCnecIndex, loopFlow);
+    }
+
+    public void setLoopFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit, double loopFlow) {
+        setLoopFlow(optimizationState, checkFlowCnecIndex(flowCnec), unit, loopFlow);
+    }
+
+    public void setCommercialFlow(OptimizationState optimizationState, int flowCnecIndex, Unit unit, double commercialFlow) {
+        setValue(getColumn(optimizationState, COMMERCIAL_FLOW, unit), flowCnecIndex, commercialFlow);
+    }
+
+    public void setCommercialFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit, double commercialFlow) {
+        setCommercialFlow(optimizationState, checkFlowCnecIndex(flowCnec), unit, commercialFlow);
+    }
+
+    public void setPtdfZonalSum(OptimizationState optimizationState, int flowCnecIndex, double ptdfZonalSum) {
+        setValue(optimizationState.ordinal() * COLUMNS_PER_OPTIMIZATION_STATE + PTDF_ZONAL_SUM, flowCnecIndex, ptdfZonalSum);
+    }
+
+    public void setPtdfZonalSum(OptimizationState optimizationState, FlowCnec flowCnec, double ptdfZonalSum) {
+        setPtdfZonalSum(optimizationState, checkFlowCnecIndex(flowCnec), ptdfZonalSum);
+    }
+
+    @Override
+    public double getCost(OptimizationState optimizationState) {
+        double functionalCost = getFunctionalCost(optimizationState);
+        double virtualCost = getVirtualCost(optimizationState);
+        if (Double.isNaN(functionalCost) && Double.isNaN(virtualCost)) {
+            return Double.NaN;
+        }
+        return (Double.isNaN(functionalCost) ? 0 : functionalCost) + (Double.isNaN(virtualCost) ? 0 : virtualCost);
+    }
+
+    @Override
+    public double getFunctionalCost(OptimizationState optimizationState) {
+        return functionalCosts[optimizationState.ordinal()];
+    }
+
+    @Override
+    public double getVirtualCost(OptimizationState optimizationState) {
+        if (!hasVirtualCosts[optimizationState.ordinal()]) {
+            return Double.NaN;
+        }
+        double virtualCost = 0;
+        for (double[] costs : virtualCosts.values()) {
+            if (!Double.isNaN(costs[optimizationState.ordinal()])) {
+                virtualCost += costs[optimizationState.ordinal()];
+            }
+        }
+        return virtualCost;
+    }
+
+    @Override
+    public Set<String> getVirtualCostNames() {
+        return Collections.unmodifiableSet(virtualCosts.keySet());
+    }
+
+    @Override
+    public double getVirtualCost(OptimizationState optimizationState, String virtualCostName) {
+        double[] costs = virtualCosts.get(virtualCostName);
+        return costs == null ? Double.NaN : costs[optimizationState.ordinal()];
+    }
+
+    public void setFunctionalCost(OptimizationState optimizationState, double functionalCost) {
+        functionalCosts[optimizationState.ordinal()] = functionalCost;
+    }
+
+    public void setVirtualCost(OptimizationState optimizationState, String virtualCostName, double virtualCost) {
+        double[] costs = virtualCosts.computeIfAbsent(virtualCostName, name -> {
+            double[] newCosts = new double[OPTIMIZATION_STATES.length];
+            Arrays.fill(newCosts, Double.NaN);
+            return newCosts;
+        });
+        costs[optimizationState.ordinal()] = virtualCost;
+        hasVirtualCosts[optimizationState.ordinal()] = true;
+    }
+
+    private int getStateIndex(State state) {
+        return stateIndices.getOrDefault(state, -1);
+    }
+
+    private int checkStateIndex(State state) {
+        int stateIndex = getStateIndex(state);
+        if (stateIndex < 0) {
+            throw new FaraoException(String.format("State %s is not a state of the Crac of this RaoResult", state.getId()));
+        }
+        return stateIndex;
+    }
+
+    private boolean isActivated(BitSet activations, int remedialActionIndex, int stateIndex) {
+        return remedialActionIndex >= 0 && stateIndex >= 0 && activations.get(remedialActionIndex * states.length + stateIndex);
+    }
+
+    public void addActivationForState(NetworkAction networkAction, State state) {
+        int networkActionIndex = networkActionIndices.getOrDefault(networkAction, -1);
+        if (networkActionIndex < 0) {
+            throw new FaraoException(String.format("NetworkAction %s is not a network action of the Crac of this RaoResult", networkAction.getId()));
+        }
+        networkActionActivations.set(networkActionIndex * states.length + checkStateIndex(state));
+    }
+
+    @Override
+    public boolean wasActivatedBeforeState(State state, NetworkAction networkAction) {
+        if (state.isPreventive() || state.getContingency().isEmpty()) {
+            return false;
+        }
+        int networkActionIndex = networkActionIndices.getOrDefault(networkAction, -1);
+
+        // if it is activated in the preventive state, return true
+        if (isActivated(networkActionActivations, networkActionIndex, preventiveStateIndex)) {
+            return true;
+        }
+
+        String contingencyId = state.getContingency().get().getId();
+        for (int stateIndex = 0; stateIndex < states.length; stateIndex++) {
+            State otherState = states[stateIndex];
+            if (isActivated(networkActionActivations, networkActionIndex, stateIndex)
+                && otherState.getContingency().isPresent()
+                && otherState.getInstant().getOrder() < state.getInstant().getOrder()
+                && otherState.getContingency().get().getId().equals(contingencyId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isActivatedDuringState(State state, NetworkAction networkAction) {
+        return isActivated(networkActionActivations, networkActionIndices.getOrDefault(networkAction, -1), getStateIndex(state));
+    }
+
+    @Override
+    public Set<NetworkAction> getActivatedNetworkActionsDuringState(State state) {
+        int stateIndex = getStateIndex(state);
+        Set<NetworkAction> activatedNetworkActions = new HashSet<>();
+        for (int networkActionIndex = 0; networkActionIndex < networkActions.length; networkActionIndex++) {
+            if (isActivated(networkActionActivations, networkActionIndex, stateIndex)) {
+                activatedNetworkActions.add(networkActions[networkActionIndex]);
+            }
+        }
+        return activatedNetworkActions;
+    }
+
+    private int getPstRangeActionIndex(RangeAction rangeAction) {
+        // only handle PstRangeAction
+        return rangeAction instanceof PstRangeAction ? pstRangeActionIndices.getOrDefault(rangeAction, -1) : -1;
+    }
+
+    private int checkPstRangeActionIndex(PstRangeAction pstRangeAction) {
+        int pstRangeActionIndex = getPstRangeActionIndex(pstRangeAction);
+        if (pstRangeActionIndex < 0) {
+            throw new FaraoException(String.format("PstRangeAction %s is not a PST range action of the Crac of this RaoResult", pstRangeAction.getId()));
+        }
+        return pstRangeActionIndex;
+    }
+
+    public void setPreOptimTap(PstRangeAction pstRangeAction, int preOptimTap) {
+        int pstRangeActionIndex = checkPstRangeActionIndex(pstRangeAction);
+        preOptimTaps[pstRangeActionIndex] = preOptimTap;
+        hasPreOptimTap.set(pstRangeActionIndex);
+    }
+
+    public void setPreOptimSetPoint(PstRangeAction pstRangeAction, double preOptimSetpoint) {
+        preOptimSetpoints[checkPstRangeActionIndex(pstRangeAction)] = preOptimSetpoint;
+    }
+
+    public void addActivationForState(PstRangeAction pstRangeAction, State state, int tap, double setpoint) {
+        int activationIndex = checkPstRangeActionIndex(pstRangeAction) * states.length + checkStateIndex(state);
+        if (optimizedTaps == null) {
+            optimizedTaps = new int[pstRangeActions.length * states.length];
+            optimizedSetpoints = new double[pstRangeActions.length * states.length];
+        }
+        pstRangeActionActivations.set(activationIndex);
+        optimizedTaps[activationIndex] = tap;
+        optimizedSetpoints[activationIndex] = setpoint;
+    }
+
+    private int getPreOptimTap(int pstRangeActionIndex, RangeAction rangeAction) {
+        if (pstRangeActionIndex < 0 || !hasPreOptimTap.get(pstRangeActionIndex)) {
+            throw new FaraoException(String.format("No pre-optimisation tap defined for %s in this RaoResult", rangeAction.getId()));
+        }
+        return preOptimTaps[pstRangeActionIndex];
+    }
+
+    /**
+     * Index of the activation which gives the tap and set point of a PST at the beginning of the optimization of a
+     * state: its activation in the preventive state for the states after the preventive one, if any, as only
+     * preventive and curative range actions are handled. -1 if the initial values of the PST apply.
+     */
+    private int getPreOptimActivation(int pstRangeActionIndex, State state) {
+        if (state.getInstant() != Instant.PREVENTIVE && isActivated(pstRangeActionActivations, pstRangeActionIndex, preventiveStateIndex)) {
+            return pstRangeActionIndex * states.length + preventiveStateIndex;
+        }
+        return -1;
+    }
+
+    private int getOptimizedActivation(int pstRangeActionIndex, State state) {
+        int stateIndex = getStateIndex(state);
+        if (isActivated(pstRangeActionActivations, pstRangeActionIndex, stateIndex)) {
+            return pstRangeActionIndex * states.length + stateIndex;
+        }
+        return getPreOptimActivation(pstRangeActionIndex, state);
+    }
+
+    @Override
+    public boolean isActivatedDuringState(State state, RangeAction rangeAction) {
+        return isActivated(pstRangeActionActivations, getPstRangeActionIndex(rangeAction), getStateIndex(state));
+    }
+
+    @Override
+    public int getPreOptimizationTapOnState(State state, PstRangeAction pstRangeAction) {
+        int pstRangeActionIndex = getPstRangeActionIndex(pstRangeAction);
+        int activationIndex = getPreOptimActivation(pstRangeActionIndex, state);
+        return activationIndex >= 0 ? optimizedTaps[activationIndex] : getPreOptimTap(pstRangeActionIndex, pstRangeAction);
+    }
+
+    @Override
+    public int getOptimizedTapOnState(State state, PstRangeAction pstRangeAction) {
+        int pstRangeActionIndex = getPstRangeActionIndex(pstRangeAction);
+        int activationIndex = getOptimizedActivation(pstRangeActionIndex, state);
+        return activationIndex >= 0 ? optimizedTaps[activationIndex] : getPreOptimTap(pstRangeActionIndex, pstRangeAction);
+    }
+
+    @Override
+    public double getPreOptimizationSetPointOnState(State state, RangeAction rangeAction) {
+        int pstRangeActionIndex = getPstRangeActionIndex(rangeAction);
+        if (pstRangeActionIndex < 0) {
+            return Double.NaN;
+        }
+        int activationIndex = getPreOptimActivation(pstRangeActionIndex, state);
+        return activationIndex >= 0 ? optimizedSetpoints[activationIndex] : preOptimSetpoints[pstRangeActionIndex];
+    }
+
+    @Override
+    public double getOptimizedSetPointOnState(State state, RangeAction rangeAction) {
+        int pstRangeActionIndex = getPstRangeActionIndex(rangeAction);
+        if (pstRangeActionIndex < 0) {
+            return Double.NaN;
+        }
+        int activationIndex = getOptimizedActivation(pstRangeActionIndex, state);
+        return activationIndex >= 0 ? optimizedSetpoints[activationIndex] : preOptimSetpoints[pstRangeActionIndex];
+    }
+
+    @Override
+    public Set<RangeAction> getActivatedRangeActionsDuringState(State state) {
+        int stateIndex = getStateIndex(state);
+        Set<RangeAction> activatedRangeActions = new HashSet<>();
+        for (int pstRangeActionIndex = 0; pstRangeActionIndex < pstRangeActions.length; pstRangeActionIndex++) {
+            if (isActivated(pstRangeActionActivations, pstRangeActionIndex, stateIndex)) {
+                activatedRangeActions.add(pstRangeActions[pstRangeActionIndex]);
+            }
+        }
+        return activatedRangeActions;
+    }
+
+    private boolean hasResult(int pstRangeActionIndex) {
+        int firstActivation = pstRangeActionActivations.nextSetBit(pstRangeActionIndex * states.length);
+        return hasPreOptimTap.get(pstRangeActionIndex)
+            || !Double.isNaN(preOptimSetpoints[pstRangeActionIndex])
+            || firstActivation >= 0 && firstActivation < (pstRangeActionIndex + 1) * states.length;
+    }
+
+    @Override
+    public Map<PstRangeAction, Integer> getOptimizedTapsOnState(State state) {
+        Map<PstRangeAction, Integer> optimizedTapsOnState = new HashMap<>();
+        for (int pstRangeActionIndex = 0; pstRangeActionIndex < pstRangeActions.length; pstRangeActionIndex++) {
+            if (hasResult(pstRangeActionIndex)) {
+                optimizedTapsOnState.put(pstRangeActions[pstRangeActionIndex], getOptimizedTapOnState(state, pstRangeActions[pstRangeActionIndex]));
+            }
+        }
+        return optimizedTapsOnState;
+    }
+
+    @Override
+    public Map<RangeAction, Double> getOptimizedSetPointsOnState(State state) {
+        Map<RangeAction, Double> optimizedSetpointsOnState = new HashMap<>();
+        for (int pstRangeActionIndex = 0; pstRangeActionIndex < pstRangeActions.length; pstRangeActionIndex++) {
+            if (hasResult(pstRangeActionIndex)) {
+                optimizedSetpointsOnState.put(pstRangeActions[pstRangeActionIndex], getOptimizedSetPointOnState(state, pstRangeActions[pstRangeActionIndex]));
+            }
+        }
+        return optimizedSetpointsOnState;
+    }
+}
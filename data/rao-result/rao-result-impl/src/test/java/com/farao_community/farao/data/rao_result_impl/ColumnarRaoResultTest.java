@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.data.rao_result_impl;
+
+import com.farao_community.farao.commons.FaraoException;
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.network_action.ActionType;
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
+import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
+import com.farao_community.farao.data.crac_impl.CracImpl;
+import com.farao_community.farao.data.crac_impl.utils.CommonCracCreation;
+import com.farao_community.farao.data.rao_result_api.ComputationStatus;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.farao_community.farao.commons.Unit.AMPERE;
+import static com.farao_community.farao.commons.Unit.MEGAWATT;
+import static com.farao_community.farao.data.rao_result_api.OptimizationState.*;
+import static org.junit.Assert.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class ColumnarRaoResultTest {
+    private static final double DOUBLE_TOLERANCE = 1e-6;
+
+    private Crac crac;
+    private FlowCnec cnec;
+    private PstRangeAction pst;
+    private NetworkAction na;
+    private RaoResultImpl raoResult;
+
+    @Before
+    public void setUp() {
+        crac = CommonCracCreation.createWithCurativePstRange();
+        cnec = crac.getFlowCnec("cnec1basecase");
+        pst = crac.getPstRangeAction("pst");
+        na = crac.newNetworkAction().withId("na-id")
+            .newTopologicalAction().withNetworkElement("any").withActionType(ActionType.OPEN).add()
+            .newFreeToUseUsageRule().withInstant(Instant.PREVENTIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+            .newFreeToUseUsageRule().withInstant(Instant.CURATIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+            .add();
+
+        raoResult = new RaoResultImpl();
+        raoResult.setComputationStatus(ComputationStatus.DEFAULT);
+
+        ElementaryFlowCnecResult initialResult = raoResult.getAndCreateIfAbsentFlowCnecResult(cnec).getAndCreateIfAbsentResultForOptimizationState(INITIAL);
+        initialResult.setFlow(100., MEGAWATT);
+        initialResult.setMargin(101., MEGAWATT);
+        initialResult.setRelativeMargin(102., MEGAWATT);
+        initialResult.setLoopFlow(103., MEGAWATT);
+        initialResult.setCommercialFlow(104., MEGAWATT);
+        initialResult.setFlow(110., AMPERE);
+        initialResult.setMargin(111., AMPERE);
+        initialResult.setPtdfZonalSum(0.1);
+        ElementaryFlowCnecResult afterPraResult = raoResult.getAndCreateIfAbsentFlowCnecResult(cnec).getAndCreateIfAbsentResultForOptimizationState(AFTER_PRA);
+        afterPraResult.setFlow(200., MEGAWATT);
+        afterPraResult.setMargin(201., MEGAWATT);
+        ElementaryFlowCnecResult curativeResult = raoResult.getAndCreateIfAbsentFlowCnecResult(crac.getFlowCnec("cnec1stateCurativeContingency1")).getAndCreateIfAbsentResultForOptimizationState(AFTER_CRA);
+        curativeResult.setFlow(300., AMPERE);
+        curativeResult.setLoopFlow(301., MEGAWATT);
+
+        raoResult.getAndCreateIfAbsentNetworkActionResult(na).addActivationForState(crac.getPreventiveState());
+        raoResult.getAndCreateIfAbsentNetworkActionResult(na).addActivationForState(crac.getState("Contingency FR1 FR2", Instant.CURATIVE));
+
+        PstRangeActionResult pstRangeActionResult = raoResult.getAndCreateIfAbsentPstRangeActionResult(pst);
+        pstRangeActionResult.setPreOptimTap(3);
+        pstRangeActionResult.setPreOptimSetPoint(2.3);
+        pstRangeActionResult.addActivationForState(crac.getPreventiveState(), -7, -3.2);
+        pstRangeActionResult.addActivationForState(crac.getState("Contingency FR1 FR3", Instant.CURATIVE), 5, 2.9);
+
+        CostResult costResult = raoResult.getAndCreateIfAbsentCostResult(INITIAL);
+        costResult.setFunctionalCost(100.);
+        costResult.setVirtualCost("loopFlow", 0.);
+        costResult.setVirtualCost("MNEC", 0.);
+        costResult = raoResult.getAndCreateIfAbsentCostResult(AFTER_CRA);
+        costResult.setFunctionalCost(-50.);
+        costResult.setVirtualCost("loopFlow", 10.);
+    }
+
+    @Test
+    public void copyGivesTheSameResultsAsRaoResultImpl() {
+        ColumnarRaoResult columnarRaoResult = new ColumnarRaoResult(crac);
+        columnarRaoResult.copyFrom(raoResult);
+
+        assertEquals(raoResult.getComputationStatus(), columnarRaoResult.getComputationStatus());
+        assertEquals(raoResult.getVirtualCostNames(), columnarRaoResult.getVirtualCostNames());
+        for (OptimizationState optState : OptimizationState.values()) {
+            assertEquals(raoResult.getCost(optState), columnarRaoResult.getCost(optState), DOUBLE_TOLERANCE);
+            assertEquals(raoResult.getFunctionalCost(optState), columnarRaoResult.getFunctionalCost(optState), DOUBLE_TOLERANCE);
+            assertEquals(raoResult.getVirtualCost(optState), columnarRaoResult.getVirtualCost(optState), DOUBLE_TOLERANCE);
+            for (String virtualCostName : raoResult.getVirtualCostNames()) {
+                assertEquals(raoResult.getVirtualCost(optState, virtualCostName), columnarRaoResult.getVirtualCost(optState, virtualCostName), DOUBLE_TOLERANCE);
+            }
+            for (FlowCnec flowCnec : crac.getFlowCnecs()) {
+                for (Unit unit : Unit.values()) {
+                    assertEquals(raoResult.getFlow(optState, flowCnec, unit), columnarRaoResult.getFlow(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(raoResult.getMargin(optState, flowCnec, unit), columnarRaoResult.getMargin(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(raoResult.getRelativeMargin(optState, flowCnec, unit), columnarRaoResult.getRelativeMargin(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(raoResult.getLoopFlow(optState, flowCnec, unit), columnarRaoResult.getLoopFlow(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(raoResult.getCommercialFlow(optState, flowCnec, unit), columnarRaoResult.getCommercialFlow(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                }
+                assertEquals(raoResult.getPtdfZonalSum(optState, flowCnec), columnarRaoResult.getPtdfZonalSum(optState, flowCnec), DOUBLE_TOLERANCE);
+            }
+        }
+        for (State state : crac.getStates()) {
+            assertEquals(raoResult.wasActivatedBeforeState(state, na), columnarRaoResult.wasActivatedBeforeState(state, na));
+            assertEquals(raoResult.isActivatedDuringState(state, na), columnarRaoResult.isActivatedDuringState(state, na));
+            assertEquals(raoResult.getActivatedNetworkActionsDuringState(state), columnarRaoResult.getActivatedNetworkActionsDuringState(state));
+            assertEquals(raoResult.isActivatedDuringState(state, pst), columnarRaoResult.isActivatedDuringState(state, pst));
+            assertEquals(raoResult.getPreOptimizationTapOnState(state, pst), columnarRaoResult.getPreOptimizationTapOnState(state, pst));
+            assertEquals(raoResult.getOptimizedTapOnState(state, pst), columnarRaoResult.getOptimizedTapOnState(state, pst));
+            assertEquals(raoResult.getPreOptimizationSetPointOnState(state, pst), columnarRaoResult.getPreOptimizationSetPointOnState(state, pst), DOUBLE_TOLERANCE);
+            assertEquals(raoResult.getOptimizedSetPointOnState(state, pst), columnarRaoResult.getOptimizedSetPointOnState(state, pst), DOUBLE_TOLERANCE);
+            assertEquals(raoResult.getActivatedRangeActionsDuringState(state), columnarRaoResult.getActivatedRangeActionsDuringState(state));
+            assertEquals(raoResult.getOptimizedTapsOnState(state), columnarRaoResult.getOptimizedTapsOnState(state));
+            assertEquals(raoResult.getOptimizedSetPointsOnState(state), columnarRaoResult.getOptimizedSetPointsOnState(state));
+        }
+    }
+
+    @Test
+    public void copyOfFailedResultOnlyKeepsItsStatus() {
+        raoResult.setComputationStatus(ComputationStatus.FAILURE);
+        ColumnarRaoResult columnarRaoResult = new ColumnarRaoResult(crac);
+        columnarRaoResult.copyFrom(raoResult);
+
+        assertEquals(ComputationStatus.FAILURE, columnarRaoResult.getComputationStatus());
+        assertTrue(Double.isNaN(columnarRaoResult.getFunctionalCost(INITIAL)));
+        assertTrue(Double.isNaN(columnarRaoResult.getFlow(INITIAL, cnec, MEGAWATT)));
+        assertEquals(Map.of(), columnarRaoResult.getOptimizedTapsOnState(crac.getPreventiveState()));
+    }
+
+    @Test
+    public void writeFlowCnecResultsWithIndex() {
+        ColumnarRaoResult columnarRaoResult = new ColumnarRaoResult(crac);
+        int cnecIndex = columnarRaoResult.getFlowCnecIndex(cnec);
+        assertTrue(cnecIndex >= 0);
+
+        columnarRaoResult.setFlow(AFTER_PRA, cnecIndex, MEGAWATT, 10.);
+        columnarRaoResult.setMargin(AFTER_PRA, cnecIndex, MEGAWATT, 11.);
+        columnarRaoResult.setRelativeMargin(AFTER_PRA, cnecIndex, MEGAWATT, 12.);
+        columnarRaoResult.setLoopFlow(AFTER_PRA, cnecIndex, MEGAWATT, 13.);
+        columnarRaoResult.setCommercialFlow(AFTER_PRA, cnecIndex, MEGAWATT, 14.);
+        columnarRaoResult.setPtdfZonalSum(AFTER_PRA, cnecIndex, 0.5);
+        columnarRaoResult.setFlow(AFTER_PRA, cnec, Unit.PERCENT_IMAX, 95.);
+
+        assertEquals(10., columnarRaoResult.getFlow(AFTER_PRA, cnec, MEGAWATT), DOUBLE_TOLERANCE);
+        assertEquals(11., columnarRaoResult.getMargin(AFTER_PRA, cnec, MEGAWATT), DOUBLE_TOLERANCE);
+        assertEquals(12., columnarRaoResult.getRelativeMargin(AFTER_PRA, cnec, MEGAWATT), DOUBLE_TOLERANCE);
+        assertEquals(13., columnarRaoResult.getLoopFlow(AFTER_PRA, cnec, MEGAWATT), DOUBLE_TOLERANCE);
+        assertEquals(14., columnarRaoResult.getCommercialFlow(AFTER_PRA, cnec, MEGAWATT), DOUBLE_TOLERANCE);
+        assertEquals(0.5, columnarRaoResult.getPtdfZonalSum(AFTER_PRA, cnec), DOUBLE_TOLERANCE);
+        assertEquals(95., columnarRaoResult.getFlow(AFTER_PRA, cnec, Unit.PERCENT_IMAX), DOUBLE_TOLERANCE);
+
+        // the other values of the column and the other columns are undefined
+        assertTrue(Double.isNaN(columnarRaoResult.getFlow(AFTER_PRA, crac.getFlowCnec("cnec2basecase"), MEGAWATT)));
+        assertTrue(Double.isNaN(columnarRaoResult.getFlow(AFTER_PRA, cnec, AMPERE)));
+        assertTrue(Double.isNaN(columnarRaoResult.getFlow(INITIAL, cnec, MEGAWATT)));
+        assertTrue(Double.isNaN(columnarRaoResult.getFlow(AFTER_PRA, cnec, Unit.KILOVOLT)));
+    }
+
+    @Test
+    public void writeOnlyElementsOfTheCrac() {
+        ColumnarRaoResult columnarRaoResult = new ColumnarRaoResult(new CracImpl("empty-crac"));
+        State curativeState = crac.getState("Contingency FR1 FR3", Instant.CURATIVE);
+
+        assertEquals(-1, columnarRaoResult.getFlowCnecIndex(crac.getFlowCnec("cnec1basecase")));
+        assertThrows(FaraoException.class, () -> columnarRaoResult.setFlow(INITIAL, cnec, MEGAWATT, 10.));
+        assertThrows(FaraoException.class, () -> columnarRaoResult.setFlow(INITIAL, 1000, MEGAWATT, 10.));
+        assertThrows(FaraoException.class, () -> columnarRaoResult.setFlow(INITIAL, 0, Unit.KILOVOLT, 10.));
+        assertThrows(FaraoException.class, () -> columnarRaoResult.addActivationForState(na, curativeState));
+        assertThrows(FaraoException.class, () -> columnarRaoResult.addActivationForState(pst, curativeState, 1, 0.));
+        assertThrows(FaraoException.class, () -> columnarRaoResult.getOptimizedTapOnState(curativeState, pst));
+        assertFalse(columnarRaoResult.isActivatedDuringState(curativeState, na));
+        assertTrue(Double.isNaN(columnarRaoResult.getOptimizedSetPointOnState(curativeState, pst)));
+        assertEquals(Set.of(), columnarRaoResult.getActivatedRangeActionsDuringState(curativeState));
+    }
+}
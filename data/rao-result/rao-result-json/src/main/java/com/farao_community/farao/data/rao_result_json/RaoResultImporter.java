@@ -8,6 +8,7 @@ package com.farao_community.farao.data.rao_result_json;
 
 import com.farao_community.farao.data.crac_api.Crac;
 import com.farao_community.farao.data.rao_result_api.RaoResult;
+import com.farao_community.farao.data.rao_result_json.deserializers.IndexedRaoResult;
 import com.farao_community.farao.data.rao_result_json.deserializers.RaoResultDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -15,6 +16,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Path;
 
 import static com.powsybl.commons.json.JsonUtil.createObjectMapper;
 
@@ -35,4 +37,13 @@ public class RaoResultImporter {
         }
     }
 
+    /**
+     * Imports a RaoResult whose flow cnec and remedial action results are only deserialized when
+     * they are queried, see {@link IndexedRaoResult}. Best suited to large files of which only a
+     * few results are read.
+     */
+    public RaoResult importRaoResultLazily(Path jsonFile, Crac crac) {
+        return IndexedRaoResult.index(jsonFile, crac);
+    }
+
 }
@@ -34,19 +34,26 @@ final class FlowCnecResultArrayDeserializer {
 
         jsonParser.nextToken();
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
-            if (!jsonParser.nextFieldName().equals(FLOWCNEC_ID)) {
-                throw new FaraoException(String.format("Cannot deserialize RaoResult: each %s must start with an %s field", FLOWCNEC_RESULTS, FLOWCNEC_ID));
-            }
+            deserializeEntry(jsonParser, raoResult, crac);
+        }
+    }
 
-            String flowCnecId = jsonParser.nextTextValue();
-            FlowCnec flowCnec = crac.getFlowCnec(flowCnecId);
+    /**
+     * Deserializes one element of the flowCnecResults array, the parser being on its START_OBJECT token
+     */
+    static void deserializeEntry(JsonParser jsonParser, RaoResultImpl raoResult, Crac crac) throws IOException {
+        if (!jsonParser.nextFieldName().equals(FLOWCNEC_ID)) {
+            throw new FaraoException(String.format("Cannot deserialize RaoResult: each %s must start with an %s field", FLOWCNEC_RESULTS, FLOWCNEC_ID));
+        }
 
-            if (flowCnec == null) {
-                throw new FaraoException(String.format("Cannot deserialize RaoResult: flowCnec with id %s does not exist in the Crac", flowCnecId));
-            }
-            FlowCnecResult flowCnecResult = raoResult.getAndCreateIfAbsentFlowCnecResult(flowCnec);
-            deserializeFlowCnecResult(jsonParser, flowCnecResult);
+        String flowCnecId = jsonParser.nextTextValue();
+        FlowCnec flowCnec = crac.getFlowCnec(flowCnecId);
+
+        if (flowCnec == null) {
+            throw new FaraoException(String.format("Cannot deserialize RaoResult: flowCnec with id %s does not exist in the Crac", flowCnecId));
         }
+        FlowCnecResult flowCnecResult = raoResult.getAndCreateIfAbsentFlowCnecResult(flowCnec);
+        deserializeFlowCnecResult(jsonParser, flowCnecResult);
     }
 
     private static void deserializeFlowCnecResult(JsonParser jsonParser, FlowCnecResult flowCnecResult) throws IOException {
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.data.rao_result_json.deserializers;
+
+import com.farao_community.farao.commons.FaraoException;
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
+import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.data.rao_result_api.ComputationStatus;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
+import com.farao_community.farao.data.rao_result_api.RaoResult;
+import com.farao_community.farao.data.rao_result_impl.RaoResultImpl;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.function.Function;
+
+import static com.farao_community.farao.data.rao_result_json.RaoResultJsonConstants.*;
+
+/**
+ * RaoResult read from a json file on demand.
+ * <p>
+ * The file is scanned once to read the computation status and the costs, and to locate the
+ * result of each flow cnec and remedial action in the file. The results of a flow cnec or of a
+ * remedial action are only deserialized, from their location in the file, the first time they
+ * are queried. The file must therefore be left unchanged as long as this RaoResult is used.
+ * <p>
+ * As {@link RaoResultImpl}, which holds the deserialized results, this class is not thread-safe.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public final class IndexedRaoResult implements RaoResult {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Path jsonFile;
+    private final Crac crac;
+    private final RaoResultImpl raoResult = new RaoResultImpl();
+
+    // location in the file of the results which have not been deserialized yet
+    private final Map<FlowCnec, JsonEntry> flowCnecEntries = new HashMap<>();
+    private final Map<NetworkAction, JsonEntry> networkActionEntries = new HashMap<>();
+    private final Map<PstRangeAction, JsonEntry> pstRangeActionEntries = new HashMap<>();
+
+    private IndexedRaoResult(Path jsonFile, Crac crac) {
+        this.jsonFile = jsonFile;
+        this.crac = crac;
+    }
+
+    public static IndexedRaoResult index(Path jsonFile, Crac crac) {
+        IndexedRaoResult indexedRaoResult = new IndexedRaoResult(jsonFile, crac);
+        try (InputStream inputStream = Files.newInputStream(jsonFile);
+             JsonParser jsonParser = JSON_FACTORY.createParser(inputStream)) {
+            indexedRaoResult.readIndex(jsonParser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return indexedRaoResult;
+    }
+
+    private void readIndex(JsonParser jsonParser) throws IOException {
+        if (jsonParser.nextToken() != JsonToken.START_OBJECT) {
+            throw new FaraoException("Cannot deserialize RaoResult: a json object is expected");
+        }
+        while (jsonParser.nextToken() != JsonToken.END_OBJECT) {
+            switch (jsonParser.getCurrentName()) {
+
+                case COMPUTATION_STATUS:
+                    raoResult.setComputationStatus(deserializeStatus(jsonParser.nextTextValue()));
+                    break;
+
+                case COST_RESULTS:
+                    jsonParser.nextToken();
+                    CostResultMapDeserializer.deserialize(jsonParser, raoResult);
+                    break;
+
+                case FLOWCNEC_RESULTS:
+                    jsonParser.nextToken();
+                    indexEntries(jsonParser, FLOWCNEC_ID, crac::getFlowCnec, "flowCnec", flowCnecEntries);
+                    break;
+
+                case NETWORKACTION_RESULTS:
+                    jsonParser.nextToken();
+                    indexEntries(jsonParser, NETWORKACTION_ID, crac::getNetworkAction, "networkAction", networkActionEntries);
+                    break;
+
+                case PSTRANGEACTION_RESULTS:
+                    jsonParser.nextToken();
+                    indexEntries(jsonParser, PSTRANGEACTION_ID, crac::getPstRangeAction, "pstRangeAction", pstRangeActionEntries);
+                    break;
+
+                default:
+                    throw new FaraoException(String.format("Cannot deserialize RaoResult: unexpected field (%s)", jsonParser.getCurrentName()));
+            }
+        }
+    }
+
+    /**
+     * Records the location of each element of an array of results, the parser being on the START_ARRAY token.
+     * Only the id of each element is read, the rest of the element is skipped.
+     */
+    private static <T> void indexEntries(JsonParser jsonParser, String idField, Function<String, T> cracElementGetter, String cracElementType, Map<T, JsonEntry> entries) throws IOException {
+        while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
+            long offset = jsonParser.getTokenLocation().getByteOffset();
+            if (!idField.equals(jsonParser.nextFieldName())) {
+                throw new FaraoException(String.format("Cannot deserialize RaoResult: each element of the results must start with an %s field", idField));
+            }
+            String id = jsonParser.nextTextValue();
+            T cracElement = cracElementGetter.apply(id);
+            if (cracElement == null) {
+                throw new FaraoException(String.format("Cannot deserialize RaoResult: %s with id %s does not exist in the Crac", cracElementType, id));
+            }
+            while (jsonParser.nextToken() != JsonToken.END_OBJECT) {
+                jsonParser.nextToken();
+                jsonParser.skipChildren();
+            }
+            entries.put(cracElement, new JsonEntry(offset, (int) (jsonParser.getCurrentLocation().getByteOffset() - offset)));
+        }
+    }
+
+    private RaoResultImpl loaded(FlowCnec flowCnec) {
+        load(flowCnecEntries, flowCnec, FlowCnecResultArrayDeserializer::deserializeEntry);
+        return raoResult;
+    }
+
+    private RaoResultImpl loaded(NetworkAction networkAction) {
+        load(networkActionEntries, networkAction, NetworkActionResultArrayDeserializer::deserializeEntry);
+        return raoResult;
+    }
+
+    private RaoResultImpl loaded(RangeAction rangeAction) {
+        load(pstRangeActionEntries, rangeAction, PstRangeActionResultArrayDeserializer::deserializeEntry);
+        return raoResult;
+    }
+
+    private RaoResultImpl allRemedialActionsLoaded() {
+        loadAll(networkActionEntries, NetworkActionResultArrayDeserializer::deserializeEntry);
+        loadAll(pstRangeActionEntries, PstRangeActionResultArrayDeserializer::deserializeEntry);
+        return raoResult;
+    }
+
+    private void load(Map<?, JsonEntry> entries, Object cracElement, EntryDeserializer entryDeserializer) {
+        JsonEntry entry = entries.remove(cracElement);
+        if (entry != null) {
+            try (FileChannel channel = FileChannel.open(jsonFile, StandardOpenOption.READ)) {
+                read(channel, entry, entryDeserializer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void loadAll(Map<?, JsonEntry> entries, EntryDeserializer entryDeserializer) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        // read the remaining entries in the order of the file
+        List<JsonEntry> sortedEntries = new ArrayList<>(entries.values());
+        sortedEntries.sort(Comparator.comparingLong(entry -> entry.offset));
+        entries.clear();
+        try (FileChannel channel = FileChannel.open(jsonFile, StandardOpenOption.READ)) {
+            for (JsonEntry entry : sortedEntries) {
+                read(channel, entry, entryDeserializer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void read(FileChannel channel, JsonEntry entry, EntryDeserializer entryDeserializer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, entry.offset + buffer.position()) < 0) {
+                throw new EOFException(String.format("Cannot deserialize RaoResult: %s has been truncated since it was indexed", jsonFile));
+            }
+        }
+        try (JsonParser jsonParser = JSON_FACTORY.createParser(buffer.array())) {
+            jsonParser.nextToken();
+            entryDeserializer.deserialize(jsonParser, raoResult, crac);
+        }
+    }
+
+    @Override
+    public ComputationStatus getComputationStatus() {
+        return raoResult.getComputationStatus();
+    }
+
+    @Override
+    public double getFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return loaded(flowCnec).getFlow(optimizationState, flowCnec, unit);
+    }
+
+    @Override
+    public double getMargin(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return loaded(flowCnec).getMargin(optimizationState, flowCnec, unit);
+    }
+
+    @Override
+    public double getRelativeMargin(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return loaded(flowCnec).getRelativeMargin(optimizationState, flowCnec, unit);
+    }
+
+    @Override
+    public double getCommercialFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return loaded(flowCnec).getCommercialFlow(optimizationState, flowCnec, unit);
+    }
+
+    @Override
+    public double getLoopFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
+        return loaded(flowCnec).getLoopFlow(optimizationState, flowCnec, unit);
+    }
+
+    @Override
+    public double getPtdfZonalSum(OptimizationState optimizationState, FlowCnec flowCnec) {
+        return loaded(flowCnec).getPtdfZonalSum(optimizationState, flowCnec);
+    }
+
+    @Override
+    public double getCost(OptimizationState optimizationState) {
+        return raoResult.getCost(optimizationState);
+    }
+
+    @Override
+    public double getFunctionalCost(OptimizationState optimizationState) {
+        return raoResult.getFunctionalCost(optimizationState);
+    }
+
+    @Override
+    public double getVirtualCost(OptimizationState optimizationState) {
+        return raoResult.getVirtualCost(optimizationState);
+    }
+
+    @Override
+    public Set<String> getVirtualCostNames() {
+        return raoResult.getVirtualCostNames();
+    }
+
+    @Override
+    public double getVirtualCost(OptimizationState optimizationState, String virtualCostName) {
+        return raoResult.getVirtualCost(optimizationState, virtualCostName);
+    }
+
+    @Override
+    public boolean wasActivatedBeforeState(State state, NetworkAction networkAction) {
+        return loaded(networkAction).wasActivatedBeforeState(state, networkAction);
+    }
+
+    @Override
+    public boolean isActivatedDuringState(State state, NetworkAction networkAction) {
+        return loaded(networkAction).isActivatedDuringState(state, networkAction);
+    }
+
+    @Override
+    public Set<NetworkAction> getActivatedNetworkActionsDuringState(State state) {
+        return allRemedialActionsLoaded().getActivatedNetworkActionsDuringState(state);
+    }
+
+    @Override
+    public boolean isActivatedDuringState(State state, RangeAction rangeAction) {
+        return loaded(rangeAction).isActivatedDuringState(state, rangeAction);
+    }
+
+    @Override
+    public int getPreOptimizationTapOnState(State state, PstRangeAction pstRangeAction) {
+        return loaded(pstRangeAction).getPreOptimizationTapOnState(state, pstRangeAction);
+    }
+
+    @Override
+    public int getOptimizedTapOnState(State state, PstRangeAction pstRangeAction) {
+        return loaded(pstRangeAction).getOptimizedTapOnState(state, pstRangeAction);
+    }
+
+    @Override
+    public double getPreOptimizationSetPointOnState(State state, RangeAction rangeAction) {
+        return loaded(rangeAction).getPreOptimizationSetPointOnState(state, rangeAction);
+    }
+
+    @Override
+    public double getOptimizedSetPointOnState(State state, RangeAction rangeAction) {
+        return loaded(rangeAction).getOptimizedSetPointOnState(state, rangeAction);
+    }
+
+    @Override
+    public Set<RangeAction> getActivatedRangeActionsDuringState(State state) {
+        return allRemedialActionsLoaded().getActivatedRangeActionsDuringState(state);
+    }
+
+    @Override
+    public Map<PstRangeAction, Integer> getOptimizedTapsOnState(State state) {
+        return allRemedialActionsLoaded().getOptimizedTapsOnState(state);
+    }
+
+    @Override
+    public Map<RangeAction, Double> getOptimizedSetPointsOnState(State state) {
+        return allRemedialActionsLoaded().getOptimizedSetPointsOnState(state);
+    }
+
+    private static final class JsonEntry {
+        private final long offset;
+        private final int length;
+
+        private JsonEntry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    @FunctionalInterface
+    private interface EntryDeserializer {
+        void deserialize(JsonParser jsonParser, RaoResultImpl raoResult, Crac crac) throws IOException;
+    }
+}
@@ -31,25 +31,32 @@ final class NetworkActionResultArrayDeserializer {
     static void deserialize(JsonParser jsonParser, RaoResultImpl raoResult, Crac crac) throws IOException {
 
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
-            if (!jsonParser.nextFieldName().equals(NETWORKACTION_ID)) {
-                throw new FaraoException(String.format("Cannot deserialize RaoResult: each %s must start with an %s field", NETWORKACTION_RESULTS, NETWORKACTION_ID));
-            }
+            deserializeEntry(jsonParser, raoResult, crac);
+        }
+    }
 
-            String networkActionId = jsonParser.nextTextValue();
-            NetworkAction networkAction = crac.getNetworkAction(networkActionId);
+    /**
+     * Deserializes one element of the networkActionResults array, the parser being on its START_OBJECT token
+     */
+    static void deserializeEntry(JsonParser jsonParser, RaoResultImpl raoResult, Crac crac) throws IOException {
+        if (!jsonParser.nextFieldName().equals(NETWORKACTION_ID)) {
+            throw new FaraoException(String.format("Cannot deserialize RaoResult: each %s must start with an %s field", NETWORKACTION_RESULTS, NETWORKACTION_ID));
+        }
 
-            if (networkAction == null) {
-                throw new FaraoException(String.format("Cannot deserialize RaoResult: cannot deserialize RaoResult: networkAction with id %s does not exist in the Crac", networkActionId));
-            }
+        String networkActionId = jsonParser.nextTextValue();
+        NetworkAction networkAction = crac.getNetworkAction(networkActionId);
 
-            NetworkActionResult networkActionResult = raoResult.getAndCreateIfAbsentNetworkActionResult(networkAction);
-            while (!jsonParser.nextToken().isStructEnd()) {
-                if (jsonParser.getCurrentName().equals(STATES_ACTIVATED_NETWORKACTION)) {
-                    jsonParser.nextToken();
-                    deserializeStates(jsonParser, networkActionResult, crac);
-                } else {
-                    throw new FaraoException(String.format("Cannot deserialize RaoResult: unexpected field in %s (%s)", NETWORKACTION_RESULTS, jsonParser.getCurrentName()));
-                }
+        if (networkAction == null) {
+            throw new FaraoException(String.format("Cannot deserialize RaoResult: cannot deserialize RaoResult: networkAction with id %s does not exist in the Crac", networkActionId));
+        }
+
+        NetworkActionResult networkActionResult = raoResult.getAndCreateIfAbsentNetworkActionResult(networkAction);
+        while (!jsonParser.nextToken().isStructEnd()) {
+            if (jsonParser.getCurrentName().equals(STATES_ACTIVATED_NETWORKACTION)) {
+                jsonParser.nextToken();
+                deserializeStates(jsonParser, networkActionResult, crac);
+            } else {
+                throw new FaraoException(String.format("Cannot deserialize RaoResult: unexpected field in %s (%s)", NETWORKACTION_RESULTS, jsonParser.getCurrentName()));
             }
         }
     }
@@ -31,62 +31,69 @@ final class PstRangeActionResultArrayDeserializer {
     static void deserialize(JsonParser jsonParser, RaoResultImpl raoResult, Crac crac) throws IOException {
 
         while (jsonParser.nextToken() != JsonToken.END_ARRAY) {
-            if (!jsonParser.nextFieldName().equals(PSTRANGEACTION_ID)) {
-                throw new FaraoException(String.format("Cannot deserialize RaoResult: each %s must start with an %s field", PSTRANGEACTION_RESULTS, NETWORKACTION_ID));
-            }
-
-            String pstRangeActionId = jsonParser.nextTextValue();
-            PstRangeAction pstRangeAction = crac.getPstRangeAction(pstRangeActionId);
-
-            if (pstRangeAction == null) {
-                throw new FaraoException(String.format("Cannot deserialize RaoResult: cannot deserialize RaoResult: pstRangeAction with id %s does not exist in the Crac", pstRangeActionId));
-            }
-
-            PstRangeActionResult pstRangeActionResult = raoResult.getAndCreateIfAbsentPstRangeActionResult(pstRangeAction);
-            Integer afterPraTap = null;
-            Double afterPraSetpoint = null;
-            while (!jsonParser.nextToken().isStructEnd()) {
-                switch (jsonParser.getCurrentName()) {
-
-                    case PST_NETWORKELEMENT_ID:
-                        pstRangeActionResult.setPstNetworkElementId(jsonParser.nextTextValue());
-                        break;
-
-                    case INITIAL_TAP:
-                        jsonParser.nextToken();
-                        pstRangeActionResult.setPreOptimTap(jsonParser.getIntValue());
-                        break;
-
-                    case INITIAL_SETPOINT:
-                        jsonParser.nextToken();
-                        pstRangeActionResult.setPreOptimSetPoint(jsonParser.getDoubleValue());
-                        break;
+            deserializeEntry(jsonParser, raoResult, crac);
+        }
+    }
 
-                    case AFTER_PRA_TAP:
-                        jsonParser.nextToken();
-                        afterPraTap = jsonParser.getIntValue();
-                        break;
+    /**
+     * Deserializes one element of the pstRangeActionResults array, the parser being on its START_OBJECT token
+     */
+    static void deserializeEntry(JsonParser jsonParser, RaoResultImpl raoResult, Crac crac) throws IOException {
+        if (!jsonParser.nextFieldName().equals(PSTRANGEACTION_ID)) {
+            throw new FaraoException(String.format("Cannot deserialize RaoResult: each %s must start with an %s field", PSTRANGEACTION_RESULTS, NETWORKACTION_ID));
+        }
 
-                    case AFTER_PRA_SETPOINT:
-                        jsonParser.nextToken();
-                        afterPraSetpoint = jsonParser.getDoubleValue();
-                        break;
+        String pstRangeActionId = jsonParser.nextTextValue();
+        PstRangeAction pstRangeAction = crac.getPstRangeAction(pstRangeActionId);
 
-                    case STATES_ACTIVATED_NETWORKACTION:
-                        jsonParser.nextToken();
-                        deserializeResultsPerStates(jsonParser, pstRangeActionResult, crac);
-                        break;
+        if (pstRangeAction == null) {
+            throw new FaraoException(String.format("Cannot deserialize RaoResult: cannot deserialize RaoResult: pstRangeAction with id %s does not exist in the Crac", pstRangeActionId));
+        }
 
-                    default:
-                        throw new FaraoException(String.format("Cannot deserialize RaoResult: unexpected field in %s (%s)", PSTRANGEACTION_RESULTS, jsonParser.getCurrentName()));
-                }
-            }
-            // Do this at the end: for PSTs with afterPraTap and afterPraSetpoint, initial tap/setpoint should be set to afterPra values
-            if (afterPraTap != null && afterPraSetpoint != null) {
-                pstRangeActionResult.setPreOptimTap(afterPraTap);
-                pstRangeActionResult.setPreOptimSetPoint(afterPraSetpoint);
+        PstRangeActionResult pstRangeActionResult = raoResult.getAndCreateIfAbsentPstRangeActionResult(pstRangeAction);
+        Integer afterPraTap = null;
+        Double afterPraSetpoint = null;
+        while (!jsonParser.nextToken().isStructEnd()) {
+            switch (jsonParser.getCurrentName()) {
+
+                case PST_NETWORKELEMENT_ID:
+                    pstRangeActionResult.setPstNetworkElementId(jsonParser.nextTextValue());
+                    break;
+
+                case INITIAL_TAP:
+                    jsonParser.nextToken();
+                    pstRangeActionResult.setPreOptimTap(jsonParser.getIntValue());
+                    break;
+
+                case INITIAL_SETPOINT:
+                    jsonParser.nextToken();
+                    pstRangeActionResult.setPreOptimSetPoint(jsonParser.getDoubleValue());
+                    break;
+
+                case AFTER_PRA_TAP:
+                    jsonParser.nextToken();
+                    afterPraTap = jsonParser.getIntValue();
+                    break;
+
+                case AFTER_PRA_SETPOINT:
+                    jsonParser.nextToken();
+                    afterPraSetpoint = jsonParser.getDoubleValue();
+                    break;
+
+                case STATES_ACTIVATED_NETWORKACTION:
+                    jsonParser.nextToken();
+                    deserializeResultsPerStates(jsonParser, pstRangeActionResult, crac);
+                    break;
+
+                default:
+                    throw new FaraoException(String.format("Cannot deserialize RaoResult: unexpected field in %s (%s)", PSTRANGEACTION_RESULTS, jsonParser.getCurrentName()));
             }
         }
+        // Do this at the end: for PSTs with afterPraTap and afterPraSetpoint, initial tap/setpoint should be set to afterPra values
+        if (afterPraTap != null && afterPraSetpoint != null) {
+            pstRangeActionResult.setPreOptimTap(afterPraTap);
+            pstRangeActionResult.setPreOptimSetPoint(afterPraSetpoint);
+        }
     }
 
     private static void deserializeResultsPerStates(JsonParser jsonParser, PstRangeActionResult pstRangeActionResult, Crac crac) throws IOException {
@@ -29,6 +29,11 @@ import static com.farao_community.farao.data.rao_result_json.RaoResultJsonConsta
  */
 final class FlowCnecResultArraySerializer {
 
+    private static final OptimizationState[] PREVENTIVE_OPTIMIZATION_STATES = {OptimizationState.INITIAL, OptimizationState.AFTER_PRA};
+    private static final OptimizationState[] CURATIVE_OPTIMIZATION_STATES = {OptimizationState.INITIAL, OptimizationState.AFTER_PRA, OptimizationState.AFTER_CRA};
+    private static final Unit[] UNITS = {MEGAWATT, AMPERE};
+    private static final String[] VALUE_FIELDS = {FLOW, MARGIN, RELATIVE_MARGIN, LOOP_FLOW, COMMERCIAL_FLOW};
+
     private FlowCnecResultArraySerializer() {
     }
 
@@ -46,90 +51,92 @@ final class FlowCnecResultArraySerializer {
     }
 
     private static void serializeFlowCnecResult(FlowCnec flowCnec, RaoResult raoResult, JsonGenerator jsonGenerator) throws IOException {
-
-        if (containsAnyResultForFlowCnec(raoResult, flowCnec)) {
+        OptimizationState[] optStates = flowCnec.getState().isPreventive() ? PREVENTIVE_OPTIMIZATION_STATES : CURATIVE_OPTIMIZATION_STATES;
+        FlowCnecResultSnapshot[] snapshots = new FlowCnecResultSnapshot[optStates.length];
+        boolean containsAnyResult = false;
+        for (int i = 0; i < optStates.length; i++) {
+            snapshots[i] = new FlowCnecResultSnapshot(raoResult, flowCnec, optStates[i]);
+            containsAnyResult |= snapshots[i].containsAnyResult();
+        }
+        if (containsAnyResult) {
             jsonGenerator.writeStartObject();
             jsonGenerator.writeStringField(FLOWCNEC_ID, flowCnec.getId());
-
-            serializeFlowCnecResultForOptimizationState(OptimizationState.INITIAL, flowCnec, raoResult, jsonGenerator);
-            serializeFlowCnecResultForOptimizationState(OptimizationState.AFTER_PRA, flowCnec, raoResult, jsonGenerator);
-
-            if (!flowCnec.getState().isPreventive()) {
-                serializeFlowCnecResultForOptimizationState(OptimizationState.AFTER_CRA, flowCnec, raoResult, jsonGenerator);
+            for (int i = 0; i < optStates.length; i++) {
+                serializeFlowCnecResultForOptimizationState(optStates[i], snapshots[i], jsonGenerator);
             }
             jsonGenerator.writeEndObject();
         }
     }
 
-    private static void serializeFlowCnecResultForOptimizationState(OptimizationState optState, FlowCnec flowCnec, RaoResult raoResult, JsonGenerator jsonGenerator) throws IOException {
-
-        if (containsAnyResultForOptimizationState(raoResult, flowCnec, optState)) {
+    private static void serializeFlowCnecResultForOptimizationState(OptimizationState optState, FlowCnecResultSnapshot snapshot, JsonGenerator jsonGenerator) throws IOException {
+        if (snapshot.containsAnyResult()) {
             jsonGenerator.writeObjectFieldStart(serializeOptimizationState(optState));
-            serializeFlowCnecResultForOptimizationStateAndUnit(optState, MEGAWATT, flowCnec, raoResult, jsonGenerator);
-            serializeFlowCnecResultForOptimizationStateAndUnit(optState, AMPERE, flowCnec, raoResult, jsonGenerator);
-            double ptdfZonalSum = safeGetPtdfZonalSum(raoResult, flowCnec, optState);
-            if (!Double.isNaN(ptdfZonalSum)) {
-                jsonGenerator.writeNumberField(ZONAL_PTDF_SUM, ptdfZonalSum);
+            for (int unitIndex = 0; unitIndex < UNITS.length; unitIndex++) {
+                serializeFlowCnecResultForUnit(UNITS[unitIndex], snapshot.valuesPerUnit[unitIndex], jsonGenerator);
+            }
+            if (!Double.isNaN(snapshot.ptdfZonalSum)) {
+                jsonGenerator.writeNumberField(ZONAL_PTDF_SUM, snapshot.ptdfZonalSum);
             }
             jsonGenerator.writeEndObject();
         }
     }
 
-    private static void serializeFlowCnecResultForOptimizationStateAndUnit(OptimizationState optState, Unit unit, FlowCnec flowCnec, RaoResult raoResult, JsonGenerator jsonGenerator) throws IOException {
-
-        double flow = safeGetFlow(raoResult, flowCnec, optState, unit);
-        double margin = safeGetMargin(raoResult, flowCnec, optState, unit);
-        double relativeMargin = safeGetRelativeMargin(raoResult, flowCnec, optState, unit);
-        double loopFlow = safeGetLoopFlow(raoResult, flowCnec, optState, unit);
-        double commercialFlow = safeGetCommercialFlow(raoResult, flowCnec, optState, unit);
-
-        if (Double.isNaN(flow) && Double.isNaN(margin) && Double.isNaN(relativeMargin) && Double.isNaN(loopFlow) && Double.isNaN(commercialFlow)) {
+    private static void serializeFlowCnecResultForUnit(Unit unit, double[] values, JsonGenerator jsonGenerator) throws IOException {
+        if (!containsAnyValue(values)) {
             return;
         }
-
         jsonGenerator.writeObjectFieldStart(serializeUnit(unit));
-        if (!Double.isNaN(flow)) {
-            jsonGenerator.writeNumberField(FLOW, flow);
-        }
-        if (!Double.isNaN(margin)) {
-            jsonGenerator.writeNumberField(MARGIN, margin);
-        }
-        if (!Double.isNaN(relativeMargin)) {
-            jsonGenerator.writeNumberField(RELATIVE_MARGIN, relativeMargin);
-        }
-        if (!Double.isNaN(loopFlow)) {
-            jsonGenerator.writeNumberField(LOOP_FLOW, loopFlow);
-        }
-        if (!Double.isNaN(commercialFlow)) {
-            jsonGenerator.writeNumberField(COMMERCIAL_FLOW, commercialFlow);
+        for (int valueIndex = 0; valueIndex < VALUE_FIELDS.length; valueIndex++) {
+            if (!Double.isNaN(values[valueIndex])) {
+                jsonGenerator.writeNumberField(VALUE_FIELDS[valueIndex], values[valueIndex]);
+            }
         }
         jsonGenerator.writeEndObject();
     }
 
-    private static boolean containsAnyResultForFlowCnec(RaoResult raoResult, FlowCnec flowCnec) {
+    /**
+     * Results of a FlowCnec for one optimization state. Each value is read once from the RaoResult, whose
+     * getters can be costly or throw, and is then used both to know what has to be written and to write it.
+     */
+    private static final class FlowCnecResultSnapshot {
+        private final double[][] valuesPerUnit = new double[UNITS.length][];
+        private final double ptdfZonalSum;
+
+        private FlowCnecResultSnapshot(RaoResult raoResult, FlowCnec flowCnec, OptimizationState optState) {
+            for (int unitIndex = 0; unitIndex < UNITS.length; unitIndex++) {
+                Unit unit = UNITS[unitIndex];
+                // same order as VALUE_FIELDS
+                valuesPerUnit[unitIndex] = new double[] {
+                    safeGetFlow(raoResult, flowCnec, optState, unit),
+                    safeGetMargin(raoResult, flowCnec, optState, unit),
+                    safeGetRelativeMargin(raoResult, flowCnec, optState, unit),
+                    safeGetLoopFlow(raoResult, flowCnec, optState, unit),
+                    safeGetCommercialFlow(raoResult, flowCnec, optState, unit)
+                };
+            }
+            ptdfZonalSum = safeGetPtdfZonalSum(raoResult, flowCnec, optState);
+        }
 
-        if (flowCnec.getState().isPreventive()) {
-            return containsAnyResultForOptimizationState(raoResult, flowCnec, OptimizationState.INITIAL) ||
-                containsAnyResultForOptimizationState(raoResult, flowCnec, OptimizationState.AFTER_PRA);
-        } else {
-            return containsAnyResultForOptimizationState(raoResult, flowCnec, OptimizationState.INITIAL) ||
-                containsAnyResultForOptimizationState(raoResult, flowCnec, OptimizationState.AFTER_PRA) ||
-                containsAnyResultForOptimizationState(raoResult, flowCnec, OptimizationState.AFTER_CRA);
+        private boolean containsAnyResult() {
+            if (!Double.isNaN(ptdfZonalSum)) {
+                return true;
+            }
+            for (double[] values : valuesPerUnit) {
+                if (containsAnyValue(values)) {
+                    return true;
+                }
+            }
+            return false;
         }
     }
 
-    private static boolean containsAnyResultForOptimizationState(RaoResult raoResult, FlowCnec flowCnec, OptimizationState optState) {
-        return !Double.isNaN(safeGetFlow(raoResult, flowCnec, optState, MEGAWATT)) ||
-            !Double.isNaN(safeGetFlow(raoResult, flowCnec, optState, AMPERE)) ||
-            !Double.isNaN(safeGetMargin(raoResult, flowCnec, optState, MEGAWATT)) ||
-            !Double.isNaN(safeGetMargin(raoResult, flowCnec, optState, AMPERE)) ||
-            !Double.isNaN(safeGetRelativeMargin(raoResult, flowCnec, optState, MEGAWATT)) ||
-            !Double.isNaN(safeGetRelativeMargin(raoResult, flowCnec, optState, AMPERE)) ||
-            !Double.isNaN(safeGetLoopFlow(raoResult, flowCnec, optState, MEGAWATT)) ||
-            !Double.isNaN(safeGetLoopFlow(raoResult, flowCnec, optState, AMPERE)) ||
-            !Double.isNaN(safeGetCommercialFlow(raoResult, flowCnec, optState, MEGAWATT)) ||
-            !Double.isNaN(safeGetCommercialFlow(raoResult, flowCnec, optState, AMPERE)) ||
-            !Double.isNaN(safeGetPtdfZonalSum(raoResult, flowCnec, optState));
+    private static boolean containsAnyValue(double[] values) {
+        for (double value : values) {
+            if (!Double.isNaN(value)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static double safeGetFlow(RaoResult raoResult, FlowCnec flowCnec, OptimizationState optState, Unit unit) {
@@ -37,21 +37,25 @@ final class NetworkActionResultArraySerializer {
             .sorted(Comparator.comparing(NetworkAction::getId))
             .collect(Collectors.toList());
 
+        // sorted once, then filtered for each network action
+        List<State> sortedStates = crac.getStates().stream()
+            .sorted(STATE_COMPARATOR)
+            .collect(Collectors.toList());
+
         jsonGenerator.writeArrayFieldStart(NETWORKACTION_RESULTS);
         for (NetworkAction networkAction : sortedListOfNetworkActions) {
-            serializeNetworkActionResult(networkAction, raoResult, crac, jsonGenerator);
+            serializeNetworkActionResult(networkAction, raoResult, crac, sortedStates, jsonGenerator);
         }
         jsonGenerator.writeEndArray();
     }
 
-    private static void serializeNetworkActionResult(NetworkAction networkAction, RaoResult raoResult, Crac crac, JsonGenerator jsonGenerator) throws IOException {
+    private static void serializeNetworkActionResult(NetworkAction networkAction, RaoResult raoResult, Crac crac, List<State> sortedStates, JsonGenerator jsonGenerator) throws IOException {
 
         jsonGenerator.writeStartObject();
         jsonGenerator.writeStringField(NETWORKACTION_ID, networkAction.getId());
 
-        List<State> statesWhenNetworkActionIsActivated = crac.getStates().stream()
+        List<State> statesWhenNetworkActionIsActivated = sortedStates.stream()
             .filter(state -> safeIsActivatedDuringState(raoResult, state, networkAction))
-            .sorted(STATE_COMPARATOR)
             .collect(Collectors.toList());
 
         jsonGenerator.writeArrayFieldStart(STATES_ACTIVATED_NETWORKACTION);
@@ -39,14 +39,18 @@ final class PstRangeActionResultArraySerializer {
                 .sorted(Comparator.comparing(RangeAction::getId))
                 .collect(Collectors.toList());
 
+        List<State> sortedStates = crac.getStates().stream()
+                .sorted(STATE_COMPARATOR)
+                .collect(Collectors.toList());
+
         jsonGenerator.writeArrayFieldStart(PSTRANGEACTION_RESULTS);
         for (PstRangeAction pstRangeAction : sortedListOfRangeActions) {
-            serializeRangeActionResult(pstRangeAction, raoResult, crac, jsonGenerator);
+            serializeRangeActionResult(pstRangeAction, raoResult, crac, sortedStates, jsonGenerator);
         }
         jsonGenerator.writeEndArray();
     }
 
-    private static void serializeRangeActionResult(PstRangeAction pstRangeAction, RaoResult raoResult, Crac crac, JsonGenerator jsonGenerator) throws IOException {
+    private static void serializeRangeActionResult(PstRangeAction pstRangeAction, RaoResult raoResult, Crac crac, List<State> sortedStates, JsonGenerator jsonGenerator) throws IOException {
 
         jsonGenerator.writeStartObject();
         jsonGenerator.writeStringField(PSTRANGEACTION_ID, pstRangeAction.getId());
@@ -64,9 +68,8 @@ final class PstRangeActionResultArraySerializer {
 
         addAfterPraValuesForPurelyCurativePsts(pstRangeAction, raoResult, crac, jsonGenerator);
 
-        List<State> statesWhenRangeActionIsActivated = crac.getStates().stream()
+        List<State> statesWhenRangeActionIsActivated = sortedStates.stream()
                 .filter(state -> safeIsActivatedDuringState(raoResult, state, pstRangeAction))
-                .sorted(STATE_COMPARATOR)
                 .collect(Collectors.toList());
 
         jsonGenerator.writeArrayFieldStart(STATES_ACTIVATED_PSTRANGEACTION);
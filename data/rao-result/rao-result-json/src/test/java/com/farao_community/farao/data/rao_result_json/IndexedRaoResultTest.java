@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.data.rao_result_json;
+
+import com.farao_community.farao.commons.FaraoException;
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.network_action.ActionType;
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
+import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
+import com.farao_community.farao.data.crac_impl.utils.CommonCracCreation;
+import com.farao_community.farao.data.rao_result_api.ComputationStatus;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
+import com.farao_community.farao.data.rao_result_api.RaoResult;
+import com.farao_community.farao.data.rao_result_impl.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static com.farao_community.farao.commons.Unit.AMPERE;
+import static com.farao_community.farao.commons.Unit.MEGAWATT;
+import static org.junit.Assert.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class IndexedRaoResultTest {
+    private static final double DOUBLE_TOLERANCE = 1e-6;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Crac crac;
+    private Path jsonFile;
+
+    @Before
+    public void setUp() throws IOException {
+        crac = CommonCracCreation.createWithCurativePstRange();
+        NetworkAction networkAction = crac.newNetworkAction().withId("na-id")
+            .newTopologicalAction().withNetworkElement("any").withActionType(ActionType.OPEN).add()
+            .newFreeToUseUsageRule().withInstant(Instant.PREVENTIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+            .newFreeToUseUsageRule().withInstant(Instant.CURATIVE).withUsageMethod(UsageMethod.AVAILABLE).add()
+            .add();
+        State curativeState = crac.getState("Contingency FR1 FR3", Instant.CURATIVE);
+
+        RaoResultImpl raoResult = new RaoResultImpl();
+        raoResult.setComputationStatus(ComputationStatus.DEFAULT);
+        CostResult initialCost = raoResult.getAndCreateIfAbsentCostResult(OptimizationState.INITIAL);
+        initialCost.setFunctionalCost(100.);
+        initialCost.setVirtualCost("loopFlow", 0.);
+        CostResult afterCraCost = raoResult.getAndCreateIfAbsentCostResult(OptimizationState.AFTER_CRA);
+        afterCraCost.setFunctionalCost(-50.);
+        afterCraCost.setVirtualCost("loopFlow", 10.);
+
+        int i = 0;
+        for (FlowCnec flowCnec : crac.getFlowCnecs()) {
+            FlowCnecResult flowCnecResult = raoResult.getAndCreateIfAbsentFlowCnecResult(flowCnec);
+            for (OptimizationState optState : OptimizationState.values()) {
+                ElementaryFlowCnecResult result = flowCnecResult.getAndCreateIfAbsentResultForOptimizationState(optState);
+                double offset = 100. * i + 10. * optState.ordinal();
+                result.setFlow(offset + 1., MEGAWATT);
+                result.setMargin(offset + 2., MEGAWATT);
+                result.setFlow(offset + 3., AMPERE);
+                result.setPtdfZonalSum(offset / 1000.);
+            }
+            i++;
+        }
+
+        raoResult.getAndCreateIfAbsentNetworkActionResult(networkAction).addActivationForStates(Set.of(crac.getPreventiveState(), curativeState));
+        PstRangeActionResult pstRangeActionResult = raoResult.getAndCreateIfAbsentPstRangeActionResult(crac.getPstRangeAction("pst"));
+        pstRangeActionResult.setPreOptimTap(1);
+        pstRangeActionResult.setPreOptimSetPoint(0.8);
+        pstRangeActionResult.addActivationForState(curativeState, 5, 2.9);
+
+        jsonFile = temporaryFolder.newFile("raoResult.json").toPath();
+        try (OutputStream outputStream = Files.newOutputStream(jsonFile)) {
+            new RaoResultExporter().export(raoResult, crac, outputStream);
+        }
+    }
+
+    @Test
+    public void lazyImportGivesTheSameResultsAsFullImport() throws IOException {
+        RaoResult expected;
+        try (InputStream inputStream = Files.newInputStream(jsonFile)) {
+            expected = new RaoResultImporter().importRaoResult(inputStream, crac);
+        }
+        RaoResult actual = new RaoResultImporter().importRaoResultLazily(jsonFile, crac);
+
+        assertEquals(expected.getComputationStatus(), actual.getComputationStatus());
+        assertEquals(expected.getVirtualCostNames(), actual.getVirtualCostNames());
+        for (OptimizationState optState : OptimizationState.values()) {
+            assertEquals(expected.getFunctionalCost(optState), actual.getFunctionalCost(optState), DOUBLE_TOLERANCE);
+            assertEquals(expected.getVirtualCost(optState), actual.getVirtualCost(optState), DOUBLE_TOLERANCE);
+            assertEquals(expected.getVirtualCost(optState, "loopFlow"), actual.getVirtualCost(optState, "loopFlow"), DOUBLE_TOLERANCE);
+            assertEquals(expected.getCost(optState), actual.getCost(optState), DOUBLE_TOLERANCE);
+            for (FlowCnec flowCnec : crac.getFlowCnecs()) {
+                for (Unit unit : List.of(MEGAWATT, AMPERE)) {
+                    assertEquals(expected.getFlow(optState, flowCnec, unit), actual.getFlow(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                    assertEquals(expected.getMargin(optState, flowCnec, unit), actual.getMargin(optState, flowCnec, unit), DOUBLE_TOLERANCE);
+                }
+                assertEquals(expected.getPtdfZonalSum(optState, flowCnec), actual.getPtdfZonalSum(optState, flowCnec), DOUBLE_TOLERANCE);
+            }
+        }
+
+        PstRangeAction pst = crac.getPstRangeAction("pst");
+        NetworkAction networkAction = crac.getNetworkAction("na-id");
+        for (State state : crac.getStates()) {
+            assertEquals(expected.wasActivatedBeforeState(state, networkAction), actual.wasActivatedBeforeState(state, networkAction));
+            assertEquals(expected.isActivatedDuringState(state, networkAction), actual.isActivatedDuringState(state, networkAction));
+            assertEquals(expected.isActivatedDuringState(state, pst), actual.isActivatedDuringState(state, pst));
+            assertEquals(expected.getPreOptimizationTapOnState(state, pst), actual.getPreOptimizationTapOnState(state, pst));
+            assertEquals(expected.getOptimizedTapOnState(state, pst), actual.getOptimizedTapOnState(state, pst));
+            assertEquals(expected.getPreOptimizationSetPointOnState(state, pst), actual.getPreOptimizationSetPointOnState(state, pst), DOUBLE_TOLERANCE);
+            assertEquals(expected.getOptimizedSetPointOnState(state, pst), actual.getOptimizedSetPointOnState(state, pst), DOUBLE_TOLERANCE);
+        }
+    }
+
+    @Test
+    public void stateWideQueriesLoadAllRemedialActions() {
+        RaoResult raoResult = new RaoResultImporter().importRaoResultLazily(jsonFile, crac);
+        State curativeState = crac.getState("Contingency FR1 FR3", Instant.CURATIVE);
+
+        assertEquals(Set.of(crac.getNetworkAction("na-id")), raoResult.getActivatedNetworkActionsDuringState(curativeState));
+        assertEquals(Set.of(crac.getPstRangeAction("pst")), raoResult.getActivatedRangeActionsDuringState(curativeState));
+        assertEquals(5, raoResult.getOptimizedTapsOnState(curativeState).get(crac.getPstRangeAction("pst")).intValue());
+        assertEquals(2.9, raoResult.getOptimizedSetPointsOnState(curativeState).get(crac.getPstRangeAction("pst")), DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    public void resultsAreOnlyReadWhenQueried() throws IOException {
+        RaoResult raoResult = new RaoResultImporter().importRaoResultLazily(jsonFile, crac);
+        FlowCnec flowCnec = crac.getFlowCnecs().iterator().next();
+        double flow = raoResult.getFlow(OptimizationState.INITIAL, flowCnec, MEGAWATT);
+        Files.delete(jsonFile);
+
+        // costs are read with the index, and the results already queried are kept in memory
+        assertEquals(100., raoResult.getFunctionalCost(OptimizationState.INITIAL), DOUBLE_TOLERANCE);
+        assertEquals(flow, raoResult.getFlow(OptimizationState.INITIAL, flowCnec, MEGAWATT), DOUBLE_TOLERANCE);
+        // the other results still have to be read from the file
+        PstRangeAction pst = crac.getPstRangeAction("pst");
+        State preventiveState = crac.getPreventiveState();
+        assertThrows(UncheckedIOException.class, () -> raoResult.getOptimizedTapOnState(preventiveState, pst));
+    }
+
+    @Test
+    public void unknownFlowCnecIsDetectedWhenIndexing() throws IOException {
+        Path otherFile = temporaryFolder.newFile("otherRaoResult.json").toPath();
+        Files.writeString(otherFile, "{\"computationStatus\" : \"default\", \"flowCnecResults\" : [ { \"flowCnecId\" : \"unknown\", \"initial\" : { } } ] }", StandardCharsets.UTF_8);
+
+        RaoResultImporter importer = new RaoResultImporter();
+        FaraoException exception = assertThrows(FaraoException.class, () -> importer.importRaoResultLazily(otherFile, crac));
+        assertEquals("Cannot deserialize RaoResult: flowCnec with id unknown does not exist in the Crac", exception.getMessage());
+    }
+}
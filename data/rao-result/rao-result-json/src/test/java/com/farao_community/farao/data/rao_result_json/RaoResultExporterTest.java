@@ -16,9 +16,11 @@ import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
 import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
 import com.farao_community.farao.data.crac_impl.utils.CommonCracCreation;
 import com.farao_community.farao.data.rao_result_api.ComputationStatus;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
 import com.farao_community.farao.data.rao_result_api.RaoResult;
 import com.farao_community.farao.data.rao_result_impl.*;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -247,4 +249,22 @@ public class RaoResultExporterTest {
 
         assertEquals(ComputationStatus.DEFAULT, importedRaoResult.getComputationStatus());
     }
+
+    @Test
+    public void eachFlowCnecValueIsReadOnce() {
+        crac = CommonCracCreation.createWithCurativePstRange();
+        FlowCnec curativeCnec = crac.getFlowCnec("cnec1stateCurativeContingency1");
+        RaoResultImpl raoResult = Mockito.spy(new RaoResultImpl());
+        raoResult.setComputationStatus(ComputationStatus.DEFAULT);
+        crac.getPstRangeActions().forEach(pstRangeAction -> raoResult.getAndCreateIfAbsentPstRangeActionResult(pstRangeAction).setPreOptimTap(0));
+        raoResult.getAndCreateIfAbsentFlowCnecResult(curativeCnec).getAndCreateIfAbsentResultForOptimizationState(AFTER_CRA).setFlow(50., MEGAWATT);
+
+        new RaoResultExporter().export(raoResult, crac, new ByteArrayOutputStream());
+
+        for (OptimizationState optState : OptimizationState.values()) {
+            Mockito.verify(raoResult, Mockito.times(1)).getFlow(optState, curativeCnec, MEGAWATT);
+            Mockito.verify(raoResult, Mockito.times(1)).getCommercialFlow(optState, curativeCnec, AMPERE);
+            Mockito.verify(raoResult, Mockito.times(1)).getPtdfZonalSum(optState, curativeCnec);
+        }
+    }
 }
@@ -141,6 +141,17 @@ public class RaoParametersDeserializer extends StdDeserializer<RaoParameters> {
                     parser.nextToken();
                     parameters.setPerimetersInParallel(parser.getIntValue());
                     break;
+                case "sensitivity-analyses-in-parallel":
+                    parser.nextToken();
+                    parameters.setSensitivityAnalysesInParallel(parser.getIntValue());
+                    break;
+                case "solver":
+                    parameters.setSolver(stringToSolver(parser.nextTextValue()));
+                    break;
+                case "lazy-min-margin-cnecs":
+                    parser.nextToken();
+                    parameters.setLazyMinMarginCnecs(parser.getIntValue());
+                    break;
                 case "extensions":
                     parser.nextToken();
                     if (parameters.getExtensions().isEmpty()) {
@@ -173,4 +184,12 @@ public class RaoParametersDeserializer extends StdDeserializer<RaoParameters> {
             throw new FaraoException(String.format("Unknown loopflow approximation level: %s", string));
         }
     }
+
+    private RaoParameters.Solver stringToSolver(String string) {
+        try {
+            return RaoParameters.Solver.valueOf(string);
+        } catch (IllegalArgumentException e) {
+            throw new FaraoException(String.format("Unknown solver: %s", string));
+        }
+    }
 }
@@ -61,6 +61,9 @@ public class RaoParametersSerializer extends StdSerializer<RaoParameters> {
         jsonGenerator.writeEndArray();
         jsonGenerator.writeNumberField("ptdf-sum-lower-bound", parameters.getPtdfSumLowerBound());
         jsonGenerator.writeNumberField("perimeters-in-parallel", parameters.getPerimetersInParallel());
+        jsonGenerator.writeNumberField("sensitivity-analyses-in-parallel", parameters.getSensitivityAnalysesInParallel());
+        jsonGenerator.writeObjectField("solver", parameters.getSolver());
+        jsonGenerator.writeNumberField("lazy-min-margin-cnecs", parameters.getLazyMinMarginCnecs());
         jsonGenerator.writeFieldName("sensitivity-parameters");
         JsonSensitivityAnalysisParameters.serialize(parameters.getDefaultSensitivityAnalysisParameters(), jsonGenerator, serializerProvider);
         if (parameters.getFallbackSensitivityAnalysisParameters() != null) {
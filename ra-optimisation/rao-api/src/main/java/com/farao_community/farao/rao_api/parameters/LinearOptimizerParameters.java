@@ -21,6 +21,8 @@ public final class LinearOptimizerParameters {
     private MaxMinRelativeMarginParameters maxMinRelativeMarginParameters;
     private LoopFlowParameters loopFlowParameters;
     private UnoptimizedCnecParameters unoptimizedCnecParameters;
+    private RaoParameters.Solver solver;
+    private int lazyMinMarginCnecs;
 
     private LinearOptimizerParameters() {
         // Can be instantiated only by builder
@@ -38,6 +40,8 @@ public final class LinearOptimizerParameters {
         private MnecParameters mnecParameters;
         private LoopFlowParameters loopFlowParameters;
         private UnoptimizedCnecParameters unoptimizedCnecParameters;
+        private RaoParameters.Solver solver = RaoParameters.DEFAULT_SOLVER;
+        private int lazyMinMarginCnecs = RaoParameters.DEFAULT_LAZY_MIN_MARGIN_CNECS;
 
         public LinearOptimizerParametersBuilder withObjectiveFunction(RaoParameters.ObjectiveFunction objectiveFunction) {
             this.objectiveFunction = objectiveFunction;
@@ -74,6 +78,16 @@ public final class LinearOptimizerParameters {
             return this;
         }
 
+        public LinearOptimizerParametersBuilder withSolver(RaoParameters.Solver solver) {
+            this.solver = solver;
+            return this;
+        }
+
+        public LinearOptimizerParametersBuilder withLazyMinMarginCnecs(int lazyMinMarginCnecs) {
+            this.lazyMinMarginCnecs = lazyMinMarginCnecs;
+            return this;
+        }
+
         public LinearOptimizerParameters build() {
             if (objectiveFunction == null || pstSensitivityThreshold == null) {
                 throw new FaraoException("Objective function and pst sensitivity threshold are mandatory parameters.");
@@ -92,6 +106,8 @@ public final class LinearOptimizerParameters {
             linearOptimizerParameters.mnecParameters = mnecParameters;
             linearOptimizerParameters.loopFlowParameters = loopFlowParameters;
             linearOptimizerParameters.unoptimizedCnecParameters = unoptimizedCnecParameters;
+            linearOptimizerParameters.solver = solver;
+            linearOptimizerParameters.lazyMinMarginCnecs = lazyMinMarginCnecs;
             return linearOptimizerParameters;
         }
     }
@@ -144,4 +160,17 @@ public final class LinearOptimizerParameters {
     public UnoptimizedCnecParameters getUnoptimizedCnecParameters() {
         return unoptimizedCnecParameters;
     }
+
+    public RaoParameters.Solver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Number of most limiting CNECs whose minimum margin constraints are initially created in the linear
+     * problem, the constraints of the other CNECs being added only if they are violated. If 0, the constraints
+     * of all the CNECs are created upfront.
+     */
+    public int getLazyMinMarginCnecs() {
+        return lazyMinMarginCnecs;
+    }
 }
@@ -73,6 +73,12 @@ public class RaoParameters extends AbstractExtendable<RaoParameters> {
         }
     }
 
+    public enum Solver {
+        GLOP, // linear programming only, used by default when the linear problem has no integer variables
+        CBC, // mixed integer programming, used by default when the linear problem has integer variables
+        SCIP // mixed integer programming, if available in the OR-Tools distribution
+    }
+
     public static final ObjectiveFunction DEFAULT_OBJECTIVE_FUNCTION = ObjectiveFunction.MAX_MIN_MARGIN_IN_MEGAWATT;
     public static final int DEFAULT_MAX_ITERATIONS = 10;
     public static final double DEFAULT_FALLBACK_OVER_COST = 0;
@@ -91,6 +97,9 @@ public class RaoParameters extends AbstractExtendable<RaoParameters> {
     public static final double DEFAULT_NEGATIVE_MARGIN_OBJECTIVE_COEFFICIENT = 1000;
     public static final double DEFAULT_PTDF_SUM_LOWER_BOUND = 0.01;
     public static final int DEFAULT_PERIMETERS_IN_PARALLEL = 1;
+    public static final int DEFAULT_SENSITIVITY_ANALYSES_IN_PARALLEL = 1;
+    public static final Solver DEFAULT_SOLVER = Solver.GLOP;
+    public static final int DEFAULT_LAZY_MIN_MARGIN_CNECS = 0;
 
     private ObjectiveFunction objectiveFunction = DEFAULT_OBJECTIVE_FUNCTION;
     private int maxIterations = DEFAULT_MAX_ITERATIONS;
@@ -113,6 +122,9 @@ public class RaoParameters extends AbstractExtendable<RaoParameters> {
     private List<ZoneToZonePtdfDefinition> relativeMarginPtdfBoundaries = new ArrayList<>();
     private double ptdfSumLowerBound = DEFAULT_PTDF_SUM_LOWER_BOUND; // prevents relative margins from diverging to +infinity
     private int perimetersInParallel = DEFAULT_PERIMETERS_IN_PARALLEL;
+    private int sensitivityAnalysesInParallel = DEFAULT_SENSITIVITY_ANALYSES_IN_PARALLEL; // for the states with curative remedial actions
+    private Solver solver = DEFAULT_SOLVER; // the lightest solver able to handle the linear problem is used if it does not fit
+    private int lazyMinMarginCnecs = DEFAULT_LAZY_MIN_MARGIN_CNECS; // 0 to create the min margin constraints of all the CNECs upfront
 
     private LoopFlowParameters loopFlowParameters;
     private MnecParameters mnecParameters;
@@ -322,6 +334,33 @@ public class RaoParameters extends AbstractExtendable<RaoParameters> {
         this.perimetersInParallel = perimetersInParallel;
     }
 
+    public int getSensitivityAnalysesInParallel() {
+        return sensitivityAnalysesInParallel;
+    }
+
+    public void setSensitivityAnalysesInParallel(int sensitivityAnalysesInParallel) {
+        if (sensitivityAnalysesInParallel < 1) {
+            throw new FaraoException(String.format("Number of sensitivity analyses in parallel (%d) must be strictly positive", sensitivityAnalysesInParallel));
+        }
+        this.sensitivityAnalysesInParallel = sensitivityAnalysesInParallel;
+    }
+
+    public Solver getSolver() {
+        return solver;
+    }
+
+    public void setSolver(Solver solver) {
+        this.solver = solver;
+    }
+
+    public int getLazyMinMarginCnecs() {
+        return lazyMinMarginCnecs;
+    }
+
+    public void setLazyMinMarginCnecs(int lazyMinMarginCnecs) {
+        this.lazyMinMarginCnecs = lazyMinMarginCnecs;
+    }
+
     public LoopFlowParameters getLoopFlowParameters() {
         return new LoopFlowParameters(loopFlowApproximationLevel, loopFlowAcceptableAugmentation, loopFlowViolationCost, loopFlowConstraintAdjustmentCoefficient);
     }
@@ -404,6 +443,9 @@ public class RaoParameters extends AbstractExtendable<RaoParameters> {
                 parameters.setRelativeMarginPtdfBoundariesFromString(config.getStringListProperty("relative-margin-ptdf-boundaries", new ArrayList<>()));
                 parameters.setPtdfSumLowerBound(config.getDoubleProperty("ptdf-sum-lower-bound", DEFAULT_PTDF_SUM_LOWER_BOUND));
                 parameters.setPerimetersInParallel(config.getIntProperty("perimeters-in-parallel", DEFAULT_PERIMETERS_IN_PARALLEL));
+                parameters.setSensitivityAnalysesInParallel(config.getIntProperty("sensitivity-analyses-in-parallel", DEFAULT_SENSITIVITY_ANALYSES_IN_PARALLEL));
+                parameters.setSolver(config.getEnumProperty("solver", Solver.class, DEFAULT_SOLVER));
+                parameters.setLazyMinMarginCnecs(config.getIntProperty("lazy-min-margin-cnecs", DEFAULT_LAZY_MIN_MARGIN_CNECS));
             });
 
         // NB: Only the default sensitivity parameters are loaded, not the fallback ones...
@@ -7,6 +7,7 @@
 package com.farao_community.farao.rao_api;
 
 import com.farao_community.farao.commons.EICode;
+import com.farao_community.farao.commons.FaraoException;
 import com.farao_community.farao.rao_api.parameters.RaoParameters;
 import com.google.auto.service.AutoService;
 import com.google.common.jimfs.Configuration;
@@ -153,11 +154,31 @@ public class RaoParametersTest {
     public void checkPerimetersParallelConfig() {
         MapModuleConfig moduleConfig = platformCfg.createModuleConfig("rao-parameters");
         moduleConfig.setStringProperty("perimeters-in-parallel", Objects.toString(10));
+        moduleConfig.setStringProperty("sensitivity-analyses-in-parallel", Objects.toString(6));
 
         RaoParameters parameters = new RaoParameters();
         RaoParameters.load(parameters, platformCfg);
 
         assertEquals(10, parameters.getPerimetersInParallel());
+        assertEquals(6, parameters.getSensitivityAnalysesInParallel());
+    }
+
+    @Test(expected = FaraoException.class)
+    public void sensitivityAnalysesInParallelMustBePositive() {
+        new RaoParameters().setSensitivityAnalysesInParallel(0);
+    }
+
+    @Test
+    public void checkLinearProblemConfig() {
+        RaoParameters parameters = new RaoParameters();
+        assertEquals(RaoParameters.Solver.GLOP, parameters.getSolver());
+
+        MapModuleConfig moduleConfig = platformCfg.createModuleConfig("rao-parameters");
+        moduleConfig.setStringProperty("solver", "CBC");
+        moduleConfig.setStringProperty("lazy-min-margin-cnecs", Objects.toString(30));
+        RaoParameters.load(parameters, platformCfg);
+        assertEquals(RaoParameters.Solver.CBC, parameters.getSolver());
+        assertEquals(30, parameters.getLazyMinMarginCnecs());
     }
 
     @Test
@@ -71,6 +71,9 @@ public class JsonRaoParametersTest extends AbstractConverterTest {
         parameters.setRelativeMarginPtdfBoundariesFromString(stringBoundaries);
         parameters.setPtdfSumLowerBound(0.05);
         parameters.setPerimetersInParallel(15);
+        parameters.setSensitivityAnalysesInParallel(4);
+        parameters.setSolver(RaoParameters.Solver.SCIP);
+        parameters.setLazyMinMarginCnecs(20);
         roundTripTest(parameters, JsonRaoParameters::write, JsonRaoParameters::read, "/RaoParametersSet.json");
     }
 
@@ -99,6 +102,16 @@ public class JsonRaoParametersTest extends AbstractConverterTest {
         JsonRaoParameters.read(getClass().getResourceAsStream("/RaoParametersWithLoopFlowError.json"));
     }
 
+    @Test(expected = FaraoException.class)
+    public void solverError() {
+        JsonRaoParameters.read(getClass().getResourceAsStream("/RaoParametersWithSolverError.json"));
+    }
+
+    @Test(expected = FaraoException.class)
+    public void sensitivityAnalysesInParallelError() {
+        JsonRaoParameters.read(getClass().getResourceAsStream("/RaoParametersWithSensitivityAnalysesInParallelError.json"));
+    }
+
     static class DummyExtension extends AbstractExtension<RaoParameters> {
 
         DummyExtension() {
@@ -22,10 +22,14 @@ import com.farao_community.farao.sensitivity_analysis.AppliedRemedialActions;
 import com.farao_community.farao.sensitivity_analysis.SystematicSensitivityInterface;
 import com.powsybl.iidm.network.Country;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.sensitivity.SensitivityAnalysisParameters;
+import com.powsybl.sensitivity.json.JsonSensitivityAnalysisParameters;
 import com.powsybl.sensitivity.factors.variables.LinearGlsk;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -146,7 +150,8 @@ public final class ToolProvider {
                 .withDefaultParameters(raoParameters.getDefaultSensitivityAnalysisParameters())
                 .withFallbackParameters(raoParameters.getFallbackSensitivityAnalysisParameters())
                 .withRangeActionSensitivities(rangeActions, cnecs, flowUnits)
-                .withAppliedRemedialActions(appliedRemedialActions);
+                .withAppliedRemedialActions(appliedRemedialActions)
+                .withParallelism(raoParameters.getSensitivityAnalysesInParallel());
 
         if (computePtdfs && computeLoopFlows) {
             Set<String> eic = getEicForObjectiveFunction();
@@ -162,6 +167,19 @@ public final class ToolProvider {
         return builder.build();
     }
 
+    /**
+     * Returns a copy of the default sensitivity analysis parameters, with their extensions and the ones of their load
+     * flow parameters, set to run a DC computation. Being linear, a DC computation is much lighter than the one of
+     * {@link #getSystematicSensitivityInterface}, and can be used to estimate quickly the impact of a remedial action.
+     */
+    public SensitivityAnalysisParameters getDcSensitivityAnalysisParameters() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        JsonSensitivityAnalysisParameters.write(raoParameters.getDefaultSensitivityAnalysisParameters(), outputStream);
+        SensitivityAnalysisParameters dcParameters = JsonSensitivityAnalysisParameters.read(new ByteArrayInputStream(outputStream.toByteArray()));
+        dcParameters.getLoadFlowParameters().setDc(true);
+        return dcParameters;
+    }
+
     Set<String> getEicForObjectiveFunction() {
         return raoParameters.getRelativeMarginPtdfBoundaries().stream().
                 flatMap(boundary -> boundary.getEiCodes().stream()).
@@ -7,7 +7,6 @@
 
 package com.farao_community.farao.rao_commons.linear_optimisation;
 
-import com.farao_community.farao.commons.FaraoException;
 import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
 import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
@@ -17,8 +16,6 @@ import com.farao_community.farao.rao_commons.result_api.FlowResult;
 import com.farao_community.farao.rao_commons.result_api.RangeActionResult;
 import com.farao_community.farao.rao_commons.result_api.SensitivityResult;
 import com.powsybl.iidm.network.Network;
-import com.powsybl.iidm.network.ValidationException;
-import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -38,7 +35,8 @@ public final class BestTapFinder {
      * This function computes the best tap positions for PstRangeActions that were optimized in the linear problem.
      * It is a little smarter than just rounding the optimal angle to the closest tap position:
      * if the optimal angle is close to the limit between two tap positions, it will chose the one that maximizes the
-     * minimum margin on the 10 most limiting elements (pre-optim)
+     * minimum margin on all the optimized CNECs, estimated with the sensitivities of the previous iteration.
+     * The PSTs of a same group are moved together when their taps are evaluated, as they are aligned.
      * Exception: if choosing the tap that is not the closest one to the optimal angle does not improve the margin
      * enough (current threshold of 10%), then the closest tap is kept
      *
@@ -46,25 +44,23 @@ public final class BestTapFinder {
      */
     public static RangeActionResult find(RangeActionResult rangeActionResult,
                                          Network network,
-                                         List<FlowCnec> mostLimitingCnecs,
+                                         Set<FlowCnec> optimizedCnecs,
                                          FlowResult flowResult,
                                          SensitivityResult sensitivityResult) {
-        // TODO: network could be replaced by the previous RangeActionResult
         Map<PstRangeAction, Integer> bestTaps = new HashMap<>();
         Map<PstRangeAction, Map<Integer, Double>> minMarginPerTap = new HashMap<>();
 
         Set<PstRangeAction> pstRangeActions = rangeActionResult.getOptimizedTaps().keySet();
+        LinearizedFlows linearizedFlows = new LinearizedFlows(optimizedCnecs, network, flowResult, sensitivityResult);
 
         pstRangeActions.forEach(pstRangeAction ->
                 minMarginPerTap.put(
                         pstRangeAction,
                         computeMinMarginsForBestTaps(
-                                network,
                                 pstRangeAction,
                                 rangeActionResult.getOptimizedSetPoint(pstRangeAction),
-                                mostLimitingCnecs,
-                                flowResult,
-                                sensitivityResult)));
+                                getAlignedPsts(pstRangeAction, pstRangeActions),
+                                linearizedFlows)));
 
         Map<String, Integer> bestTapPerPstGroup = computeBestTapPerPstGroup(minMarginPerTap);
 
@@ -85,6 +81,19 @@ public final class BestTapFinder {
         return new RangeActionResultImpl(roundedSetPoints);
     }
 
+    /**
+     * PSTs which are moved together with the given one: the PSTs of its group, or only itself if it has no group.
+     */
+    private static Set<PstRangeAction> getAlignedPsts(PstRangeAction pstRangeAction, Set<PstRangeAction> pstRangeActions) {
+        Optional<String> optGroupId = pstRangeAction.getGroupId();
+        if (optGroupId.isEmpty()) {
+            return Set.of(pstRangeAction);
+        }
+        return pstRangeActions.stream()
+                .filter(otherPstRangeAction -> optGroupId.equals(otherPstRangeAction.getGroupId()))
+                .collect(Collectors.toSet());
+    }
+
     /**
      * This function computes, for every group of PSTs, the common tap position that maximizes the minimum margin
      *
@@ -122,7 +131,7 @@ public final class BestTapFinder {
      * computed by the linear problem
      * It first chooses the closest tap position to the angle, then the second closest one, if the angle is close enough
      * (15% threshold) to the limit between two tap positions
-     * It computes the minimum margin among the most limiting cnecs for both tap positions and returns them in a map
+     * It computes the minimum margin among the optimized cnecs for both tap positions and returns them in a map
      * Exceptions:
      * - if the closest tap position is at a min or max limit, and the angle is close to the angle limit, then only
      * the closest tap is returned. The margin is not computed but replaced with Double.MAX_VALUE
@@ -130,38 +139,31 @@ public final class BestTapFinder {
      * with a Double.MAX_VALUE margin
      * - if the second closest tap position does not improve the margin enough (10% threshold), then only the closest
      * tap is returned with a Double.MAX_VALUE margin
+     * The taps are limited to the ones which are common to all the aligned PSTs, as they are moved to the same tap.
      *
-     * @param pstRangeAction:    the PstRangeAction for which we need the best taps and margins
-     * @param angle:             the optimal angle computed by the linear problem
-     * @param mostLimitingCnecs: the cnecs upon which we compute the minimum margin
+     * @param pstRangeAction:  the PstRangeAction for which we need the best taps and margins
+     * @param angle:           the optimal angle computed by the linear problem
+     * @param alignedPsts:     the PSTs moved to the same tap as the PstRangeAction, including itself
+     * @param linearizedFlows: the flows and thresholds of the cnecs upon which we compute the minimum margin
      * @return a map containing the minimum margin for each best tap position (one or two taps)
      */
-    static Map<Integer, Double> computeMinMarginsForBestTaps(Network network,
-                                                             PstRangeAction pstRangeAction,
+    static Map<Integer, Double> computeMinMarginsForBestTaps(PstRangeAction pstRangeAction,
                                                              double angle,
-                                                             List<FlowCnec> mostLimitingCnecs,
-                                                             FlowResult flowResult,
-                                                             SensitivityResult sensitivityResult) {
-        int closestTap = pstRangeAction.convertAngleToTap(angle);
+                                                             Set<PstRangeAction> alignedPsts,
+                                                             LinearizedFlows linearizedFlows) {
+        int lowTap = alignedPsts.stream().mapToInt(PstRangeAction::getLowTapPosition).max().orElse(pstRangeAction.getLowTapPosition());
+        int highTap = alignedPsts.stream().mapToInt(PstRangeAction::getHighTapPosition).min().orElse(pstRangeAction.getHighTapPosition());
+        if (lowTap > highTap) {
+            // The aligned PSTs have no tap in common, the closest tap cannot be improved
+            return Map.of(pstRangeAction.convertAngleToTap(angle), Double.MAX_VALUE);
+        }
+        int closestTap = Math.max(lowTap, Math.min(highTap, pstRangeAction.convertAngleToTap(angle)));
         double closestAngle = pstRangeAction.convertTapToAngle(closestTap);
 
         Integer otherTap = null;
 
-        // We don't have access to min and max tap positions directly
-        // We have access to min and max angles, but angles and taps do not necessarily increase/decrese in the same direction
-        // So we have to try/catch in order to know if we're at the tap limits
-        boolean testTapPlus1 = true;
-        try {
-            pstRangeAction.convertTapToAngle(closestTap + 1);
-        } catch (FaraoException | ValidationException e) {
-            testTapPlus1 = false;
-        }
-        boolean testTapMinus1 = true;
-        try {
-            pstRangeAction.convertTapToAngle(closestTap - 1);
-        } catch (FaraoException | ValidationException e) {
-            testTapMinus1 = false;
-        }
+        boolean testTapPlus1 = closestTap < highTap;
+        boolean testTapMinus1 = closestTap > lowTap;
 
         if (testTapPlus1 && testTapMinus1) {
             // We can test tap+1 and tap-1
@@ -190,14 +192,15 @@ public final class BestTapFinder {
         double approxLimitAngle = 0.5 * (closestAngle + otherAngle);
         if (Math.abs(angle - approxLimitAngle) / Math.abs(closestAngle - otherAngle) < 0.15) {
             // Angle is too close to the limit between two tap positions
-            // Chose the tap that maximizes the margin on the most limiting element
-            Pair<Double, Double> margins = computeMinMargins(network, pstRangeAction, mostLimitingCnecs, closestAngle, otherAngle, flowResult, sensitivityResult);
+            // Chose the tap that maximizes the margin on the optimized cnecs
+            double closestTapMargin = linearizedFlows.computeMinMargin(alignedPsts, closestTap);
+            double otherTapMargin = linearizedFlows.computeMinMargin(alignedPsts, otherTap);
             // Exception: if choosing the tap that is not the closest one to the optimal angle does not improve the margin
             // enough (current threshold of 10%), then only the closest tap is kept
             // This is actually a workaround that mitigates adverse effects of this rounding on virtual costs
             // TODO : we can remove it when we use cost evaluators directly here
-            if (margins.getRight() > margins.getLeft() + 0.1 * Math.abs(margins.getLeft())) {
-                return Map.of(closestTap, margins.getLeft(), otherTap, margins.getRight());
+            if (otherTapMargin > closestTapMargin + 0.1 * Math.abs(closestTapMargin)) {
+                return Map.of(closestTap, closestTapMargin, otherTap, otherTapMargin);
             }
         }
 
@@ -206,34 +209,71 @@ public final class BestTapFinder {
     }
 
     /**
-     * This method estimates the minimum margin upon a given set of cnecs, for two angles of a given PST
-     *
-     * @param pstRangeAction: the PstRangeAction that we should test on two angles
-     * @param flowCnecs:          the set of cnecs to compute the minimum margin
-     * @param angle1:         the first angle for the PST
-     * @param angle2:         the second angle for the PST
-     * @return a pair of two minimum margins (margin for angle1, margin for angle2)
+     * Flows of the cnecs, linearized around the current set points of the PSTs, and thresholds of the cnecs, all
+     * in MEGAWATT. They are stored in arrays indexed by cnec, so that the minimum margin of a candidate tap is
+     * evaluated on all the cnecs with a few scans of these arrays. The sensitivities and set point of a PST are
+     * only fetched when one of its taps is evaluated.
      */
-    static Pair<Double, Double> computeMinMargins(Network network,
-                                                  PstRangeAction pstRangeAction,
-                                                  List<FlowCnec> flowCnecs,
-                                                  double angle1,
-                                                  double angle2,
-                                                  FlowResult flowResult,
-                                                  SensitivityResult sensitivityResult) {
-        double minMargin1 = Double.MAX_VALUE;
-        double minMargin2 = Double.MAX_VALUE;
-        for (FlowCnec flowCnec : flowCnecs) {
-            double sensitivity = sensitivityResult.getSensitivityValue(flowCnec, pstRangeAction, MEGAWATT);
-            double currentSetPoint = pstRangeAction.getCurrentSetpoint(network);
-            double referenceFlow = flowResult.getFlow(flowCnec, MEGAWATT);
-
-            double flow1 = sensitivity * (angle1 - currentSetPoint) + referenceFlow;
-            double flow2 = sensitivity * (angle2 - currentSetPoint) + referenceFlow;
-
-            minMargin1 = Math.min(minMargin1, flowCnec.computeMargin(flow1, Side.LEFT, MEGAWATT));
-            minMargin2 = Math.min(minMargin2, flowCnec.computeMargin(flow2, Side.LEFT, MEGAWATT));
+    static final class LinearizedFlows {
+        private final List<FlowCnec> cnecs;
+        private final Network network;
+        private final SensitivityResult sensitivityResult;
+        private final double[] referenceFlows;
+        private final double[] minFlows;
+        private final double[] maxFlows;
+        private final Map<PstRangeAction, double[]> sensitivities = new HashMap<>();
+        private final Map<PstRangeAction, Double> currentSetPoints = new HashMap<>();
+
+        LinearizedFlows(Set<FlowCnec> flowCnecs,
+                        Network network,
+                        FlowResult flowResult,
+                        SensitivityResult sensitivityResult) {
+            this.cnecs = new ArrayList<>(flowCnecs);
+            this.network = network;
+            this.sensitivityResult = sensitivityResult;
+            referenceFlows = new double[cnecs.size()];
+            minFlows = new double[cnecs.size()];
+            maxFlows = new double[cnecs.size()];
+            for (int i = 0; i < cnecs.size(); i++) {
+                FlowCnec flowCnec = cnecs.get(i);
+                referenceFlows[i] = flowResult.getFlow(flowCnec, MEGAWATT);
+                minFlows[i] = flowCnec.getLowerBound(Side.LEFT, MEGAWATT).orElse(Double.NEGATIVE_INFINITY);
+                maxFlows[i] = flowCnec.getUpperBound(Side.LEFT, MEGAWATT).orElse(Double.POSITIVE_INFINITY);
+            }
+        }
+
+        private double[] getSensitivities(PstRangeAction pstRangeAction) {
+            return sensitivities.computeIfAbsent(pstRangeAction, pst -> {
+                double[] pstSensitivities = new double[cnecs.size()];
+                for (int i = 0; i < cnecs.size(); i++) {
+                    pstSensitivities[i] = sensitivityResult.getSensitivityValue(cnecs.get(i), pst, MEGAWATT);
+                }
+                return pstSensitivities;
+            });
+        }
+
+        /**
+         * Estimates the minimum margin on the cnecs, in MEGAWATT, when the PSTs are all moved to the given tap.
+         * The cnecs whose flow cannot be estimated, because their flow or a sensitivity is missing, are ignored.
+         */
+        double computeMinMargin(Set<PstRangeAction> movedPsts, int tap) {
+            double[] flows = referenceFlows.clone();
+            for (PstRangeAction pstRangeAction : movedPsts) {
+                double setPointVariation = pstRangeAction.convertTapToAngle(tap)
+                    - currentSetPoints.computeIfAbsent(pstRangeAction, pst -> pst.getCurrentSetpoint(network));
+                double[] pstSensitivities = getSensitivities(pstRangeAction);
+                for (int i = 0; i < flows.length; i++) {
+                    flows[i] += pstSensitivities[i] * setPointVariation;
+                }
+            }
+            double minMargin = Double.MAX_VALUE;
+            for (int i = 0; i < flows.length; i++) {
+                if (Double.isNaN(flows[i])) {
+                    continue;
+                }
+                minMargin = Math.min(minMargin, Math.min(flows[i] - minFlows[i], maxFlows[i] - flows[i]));
+            }
+            return minMargin;
         }
-        return Pair.of(minMargin1, minMargin2);
     }
 }
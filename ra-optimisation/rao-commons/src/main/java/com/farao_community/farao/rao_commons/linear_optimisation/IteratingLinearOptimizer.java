@@ -7,6 +7,7 @@
 
 package com.farao_community.farao.rao_commons.linear_optimisation;
 
+import com.farao_community.farao.data.crac_api.cnec.Cnec;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
 import com.farao_community.farao.rao_commons.SensitivityComputer;
 import com.farao_community.farao.rao_commons.objective_function_evaluator.ObjectiveFunction;
@@ -17,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * @author Joris Mancini {@literal <joris.mancini at rte-france.com>}
@@ -25,6 +27,8 @@ public class IteratingLinearOptimizer {
     protected static final Logger LOGGER = LoggerFactory.getLogger(IteratingLinearOptimizer.class);
     private static final String BETTER_RESULT = "Iteration {} - Better solution found with a functional cost of {} (optimisation criterion : {})";
     private static final String WORSE_RESULT = "Iteration {} - Linear Optimization found a worse result than previous iteration, with a functional cost from {} to {} (optimisation criterion : from {} to {})";
+    private static final String SOLVE_TIME = "Iteration {} - linear problem solved in {} ms";
+    private static final String INCREMENTAL_SOLVE_TIME = "Iteration {} - linear problem solved in {} ms, after an update of {} coefficients and {} constraint bounds";
     private static final String LINEAR_OPTIMIZATION_FAILED = "Linear optimization failed at iteration {}";
 
     private final ObjectiveFunction objectiveFunction;
@@ -54,7 +58,7 @@ public class IteratingLinearOptimizer {
                 return bestResult;
             }
 
-            RangeActionResult currentRangeActionResult = roundResult(linearProblem.getResults(), network, bestResult);
+            RangeActionResult currentRangeActionResult = roundResult(linearProblem, network, bestResult);
 
             if (!hasRemedialActionsChanged(currentRangeActionResult, bestResult)) {
                 // If the solution has not changed, no need to run a new sensitivity computation and iteration can stop
@@ -92,8 +96,15 @@ public class IteratingLinearOptimizer {
 
     private static void solveLinearProblem(LinearProblem linearProblem, int iteration) {
         LOGGER.debug("Iteration {} - linear optimization [start]", iteration);
+        long start = System.nanoTime();
         linearProblem.solve();
+        long solveTimeInMs = (System.nanoTime() - start) / 1_000_000;
         LOGGER.debug("Iteration {} - linear optimization [end]", iteration);
+        if (iteration == 1) {
+            LOGGER.info(SOLVE_TIME, iteration, solveTimeInMs);
+        } else {
+            LOGGER.info(INCREMENTAL_SOLVE_TIME, iteration, solveTimeInMs, linearProblem.getUpdatedCoefficients(), linearProblem.getUpdatedBounds());
+        }
     }
 
     static boolean hasRemedialActionsChanged(RangeActionResult newRangeActionResult, RangeActionResult oldRangeActionResult) {
@@ -146,11 +157,11 @@ public class IteratingLinearOptimizer {
                 objectiveFunction.evaluate(flowResult, sensitivityResult.getSensitivityStatus()), sensitivityResult);
     }
 
-    private RangeActionResult roundResult(RangeActionResult rangeActionResult, Network network, IteratingLinearOptimizerResult previousResult) {
+    private RangeActionResult roundResult(LinearProblem linearProblem, Network network, IteratingLinearOptimizerResult previousResult) {
         return BestTapFinder.find(
-                rangeActionResult,
+                linearProblem.getResults(),
                 network,
-                previousResult.getObjectiveFunctionResult().getMostLimitingElements(10),
+                linearProblem.getCnecs().stream().filter(Cnec::isOptimized).collect(Collectors.toSet()),
                 previousResult.getBranchResult(),
                 previousResult.getSensitivityResult()
         );
@@ -9,6 +9,7 @@ package com.farao_community.farao.rao_commons.linear_optimisation;
 
 import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.rao_api.parameters.RaoParameters;
 import com.farao_community.farao.rao_commons.linear_optimisation.fillers.ProblemFiller;
 import com.farao_community.farao.rao_commons.result_api.LinearProblemStatus;
 import com.farao_community.farao.rao_commons.result_api.FlowResult;
@@ -18,12 +19,15 @@ import com.farao_community.farao.util.NativeLibraryLoader;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPObjective;
 import com.google.ortools.linearsolver.MPSolver;
+import com.google.ortools.linearsolver.MPSolverParameters;
 import com.google.ortools.linearsolver.MPVariable;
+import com.powsybl.iidm.network.Network;
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Supplier;
 
 import static com.farao_community.farao.rao_commons.linear_optimisation.LinearProblemIdGenerator.*;
 import static java.lang.String.format;
@@ -34,6 +38,9 @@ import static java.lang.String.format;
  */
 public final class LinearProblem {
     private static final Logger LOGGER = LoggerFactory.getLogger(LinearProblem.class);
+    // changes of coefficients and bounds below these tolerances are not passed to the solver on update
+    static final double COEFFICIENT_UPDATE_TOLERANCE = 1e-6;
+    static final double BOUND_UPDATE_TOLERANCE = 1e-6;
 
     static {
         try {
@@ -62,23 +69,87 @@ public final class LinearProblem {
     private final Set<FlowCnec> cnecs = new HashSet<>();
     private final Set<RangeAction> rangeActions = new HashSet<>();
     private final MPSolver solver;
+    private final boolean namedElements;
     private LinearProblemStatus status;
-
-    public LinearProblem(List<ProblemFiller> fillers, MPSolver mpSolver) {
+    private int updatedCoefficients;
+    private int updatedBounds;
+
+    // handles of the variables and constraints, indexed by the CNEC or range action they are defined for
+    private final Map<FlowCnec, MPVariable> flowVariables = new IdentityHashMap<>();
+    private final Map<FlowCnec, MPConstraint> flowConstraints = new IdentityHashMap<>();
+    private final Map<RangeAction, MPVariable> rangeActionSetPointVariables = new IdentityHashMap<>();
+    private final Map<String, MPVariable> rangeActionGroupSetPointVariables = new HashMap<>();
+    private final Map<RangeAction, MPConstraint> rangeActionGroupSetPointConstraints = new IdentityHashMap<>();
+    private final Map<RangeAction, MPVariable> absoluteRangeActionVariationVariables = new IdentityHashMap<>();
+    private final Map<AbsExtension, Map<RangeAction, MPConstraint>> absoluteRangeActionVariationConstraints = byExtension(AbsExtension.class);
+    private final Map<MarginExtension, Map<FlowCnec, MPConstraint>> minimumMarginConstraints = byExtension(MarginExtension.class);
+    private final Map<MarginExtension, Map<FlowCnec, MPConstraint>> minimumRelativeMarginConstraints = byExtension(MarginExtension.class);
+    private MPVariable minimumMarginVariable;
+    private MPVariable minimumRelativeMarginVariable;
+    private final Map<BoundExtension, Map<FlowCnec, MPConstraint>> maxLoopFlowConstraints = byExtension(BoundExtension.class);
+    private final Map<FlowCnec, MPVariable> loopflowViolationVariables = new IdentityHashMap<>();
+    private final Map<FlowCnec, MPVariable> mnecViolationVariables = new IdentityHashMap<>();
+    private final Map<MarginExtension, Map<FlowCnec, MPConstraint>> mnecFlowConstraints = byExtension(MarginExtension.class);
+    private final Map<FlowCnec, MPVariable> marginDecreaseBinaryVariables = new IdentityHashMap<>();
+    private final Map<MarginExtension, Map<FlowCnec, MPConstraint>> marginDecreaseConstraints = byExtension(MarginExtension.class);
+
+    public LinearProblem(List<ProblemFiller> fillers, MPSolver mpSolver, boolean namedElements) {
         solver = mpSolver;
         solver.objective().setMinimization();
         this.fillers = fillers;
+        this.namedElements = namedElements;
+    }
+
+    public LinearProblem(List<ProblemFiller> fillers, MPSolver mpSolver) {
+        this(fillers, mpSolver, true);
+    }
+
+    private LinearProblem(List<ProblemFiller> fillers, RaoParameters.Solver solver, boolean namedElements) {
+        this(fillers, new MPSolver("linear rao", toProblemType(solver)), namedElements);
+    }
+
+    /**
+     * Chooses the solver of the problem: the required one if it is able to handle the variables created by
+     * the fillers, or else the lightest one which is.
+     */
+    static RaoParameters.Solver getEffectiveSolver(RaoParameters.Solver solver, List<ProblemFiller> fillers) {
+        boolean mixedIntegerProblem = fillers.stream().anyMatch(ProblemFiller::createsIntegerVariables);
+        if (solver == RaoParameters.Solver.GLOP && mixedIntegerProblem) {
+            return RaoParameters.Solver.CBC;
+        }
+        if (solver == RaoParameters.Solver.SCIP && !isScipAvailable()) {
+            LOGGER.warn("SCIP is not available in this OR-Tools distribution, CBC is used instead");
+            return RaoParameters.Solver.CBC;
+        }
+        return solver;
     }
 
-    private LinearProblem(List<ProblemFiller> fillers) {
-        this(fillers, new MPSolver("linear rao", MPSolver.OptimizationProblemType.CBC_MIXED_INTEGER_PROGRAMMING));
+    private static boolean isScipAvailable() {
+        try {
+            return MPSolver.supportsProblemType(MPSolver.OptimizationProblemType.SCIP_MIXED_INTEGER_PROGRAMMING);
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    private static MPSolver.OptimizationProblemType toProblemType(RaoParameters.Solver solver) {
+        switch (solver) {
+            case GLOP:
+                return MPSolver.OptimizationProblemType.GLOP_LINEAR_PROGRAMMING;
+            case CBC:
+                return MPSolver.OptimizationProblemType.CBC_MIXED_INTEGER_PROGRAMMING;
+            case SCIP:
+                return MPSolver.OptimizationProblemType.SCIP_MIXED_INTEGER_PROGRAMMING;
+            default:
+                throw new NotImplementedException(format("Solver %s not handled.", solver));
+        }
     }
 
     final List<ProblemFiller> getFillers() {
         return Collections.unmodifiableList(fillers);
     }
 
-    public final Set<FlowCnec> getCnecs() {
+    public Set<FlowCnec> getCnecs() {
         return Collections.unmodifiableSet(cnecs);
     }
 
@@ -123,152 +194,245 @@ public final class LinearProblem {
 
     public MPVariable addFlowVariable(double lb, double ub, FlowCnec cnec) {
         cnecs.add(cnec);
-        return solver.makeNumVar(lb, ub, flowVariableId(cnec));
+        return register(flowVariables, cnec, solver.makeNumVar(lb, ub, name(() -> flowVariableId(cnec))));
     }
 
     public MPVariable getFlowVariable(FlowCnec cnec) {
-        return solver.lookupVariableOrNull(flowVariableId(cnec));
+        return flowVariables.get(cnec);
     }
 
     public MPConstraint addFlowConstraint(double lb, double ub, FlowCnec cnec) {
-        return solver.makeConstraint(lb, ub, flowConstraintId(cnec));
+        return register(flowConstraints, cnec, solver.makeConstraint(lb, ub, name(() -> flowConstraintId(cnec))));
     }
 
     public MPConstraint getFlowConstraint(FlowCnec cnec) {
-        return solver.lookupConstraintOrNull(flowConstraintId(cnec));
+        return flowConstraints.get(cnec);
     }
 
     public MPVariable addRangeActionSetPointVariable(double lb, double ub, RangeAction rangeAction) {
         rangeActions.add(rangeAction);
-        return solver.makeNumVar(lb, ub, rangeActionSetPointVariableId(rangeAction));
+        return register(rangeActionSetPointVariables, rangeAction, solver.makeNumVar(lb, ub, name(() -> rangeActionSetPointVariableId(rangeAction))));
     }
 
     public MPVariable getRangeActionSetPointVariable(RangeAction rangeAction) {
-        return solver.lookupVariableOrNull(rangeActionSetPointVariableId(rangeAction));
+        return rangeActionSetPointVariables.get(rangeAction);
     }
 
     public MPVariable addRangeActionGroupSetPointVariable(double lb, double ub, String rangeActionGroupId) {
-        return solver.makeNumVar(lb, ub, rangeActionGroupSetPointVariableId(rangeActionGroupId));
+        return register(rangeActionGroupSetPointVariables, rangeActionGroupId, solver.makeNumVar(lb, ub, name(() -> rangeActionGroupSetPointVariableId(rangeActionGroupId))));
     }
 
     public MPVariable getRangeActionGroupSetPointVariable(String rangeActionGroupId) {
-        return solver.lookupVariableOrNull(rangeActionGroupSetPointVariableId(rangeActionGroupId));
+        return rangeActionGroupSetPointVariables.get(rangeActionGroupId);
     }
 
     public MPConstraint addRangeActionGroupSetPointConstraint(double lb, double ub, RangeAction rangeAction) {
-        return solver.makeConstraint(lb, ub, rangeActionGroupSetPointConstraintId(rangeAction));
+        return register(rangeActionGroupSetPointConstraints, rangeAction, solver.makeConstraint(lb, ub, name(() -> rangeActionGroupSetPointConstraintId(rangeAction))));
     }
 
     public MPConstraint getRangeActionGroupSetPointConstraint(RangeAction rangeAction) {
-        return solver.lookupConstraintOrNull(rangeActionGroupSetPointConstraintId(rangeAction));
+        return rangeActionGroupSetPointConstraints.get(rangeAction);
     }
 
     public MPVariable addAbsoluteRangeActionVariationVariable(double lb, double ub, RangeAction rangeAction) {
-        return solver.makeNumVar(lb, ub, absoluteRangeActionVariationVariableId(rangeAction));
+        return register(absoluteRangeActionVariationVariables, rangeAction, solver.makeNumVar(lb, ub, name(() -> absoluteRangeActionVariationVariableId(rangeAction))));
     }
 
     public MPVariable getAbsoluteRangeActionVariationVariable(RangeAction rangeAction) {
-        return solver.lookupVariableOrNull(absoluteRangeActionVariationVariableId(rangeAction));
+        return absoluteRangeActionVariationVariables.get(rangeAction);
     }
 
     public MPConstraint addAbsoluteRangeActionVariationConstraint(double lb, double ub, RangeAction rangeAction, AbsExtension positiveOrNegative) {
-        return solver.makeConstraint(lb, ub, absoluteRangeActionVariationConstraintId(rangeAction, positiveOrNegative));
+        return register(absoluteRangeActionVariationConstraints.get(positiveOrNegative), rangeAction,
+            solver.makeConstraint(lb, ub, name(() -> absoluteRangeActionVariationConstraintId(rangeAction, positiveOrNegative))));
     }
 
     public MPConstraint getAbsoluteRangeActionVariationConstraint(RangeAction rangeAction, AbsExtension positiveOrNegative) {
-        return solver.lookupConstraintOrNull(absoluteRangeActionVariationConstraintId(rangeAction, positiveOrNegative));
+        return absoluteRangeActionVariationConstraints.get(positiveOrNegative).get(rangeAction);
     }
 
     public MPConstraint addMinimumMarginConstraint(double lb, double ub, FlowCnec cnec, MarginExtension belowOrAboveThreshold) {
-        return solver.makeConstraint(lb, ub, minimumMarginConstraintId(cnec, belowOrAboveThreshold));
+        return register(minimumMarginConstraints.get(belowOrAboveThreshold), cnec,
+            solver.makeConstraint(lb, ub, name(() -> minimumMarginConstraintId(cnec, belowOrAboveThreshold))));
     }
 
     public MPConstraint getMinimumMarginConstraint(FlowCnec cnec, MarginExtension belowOrAboveThreshold) {
-        return solver.lookupConstraintOrNull(minimumMarginConstraintId(cnec, belowOrAboveThreshold));
+        return minimumMarginConstraints.get(belowOrAboveThreshold).get(cnec);
     }
 
     public MPConstraint addMinimumRelativeMarginConstraint(double lb, double ub, FlowCnec cnec, MarginExtension belowOrAboveThreshold) {
-        return solver.makeConstraint(lb, ub, minimumRelativeMarginConstraintId(cnec, belowOrAboveThreshold));
+        return register(minimumRelativeMarginConstraints.get(belowOrAboveThreshold), cnec,
+            solver.makeConstraint(lb, ub, name(() -> minimumRelativeMarginConstraintId(cnec, belowOrAboveThreshold))));
     }
 
     public MPConstraint getMinimumRelativeMarginConstraint(FlowCnec cnec, MarginExtension belowOrAboveThreshold) {
-        return solver.lookupConstraintOrNull(minimumRelativeMarginConstraintId(cnec, belowOrAboveThreshold));
+        return minimumRelativeMarginConstraints.get(belowOrAboveThreshold).get(cnec);
     }
 
     public MPVariable addMinimumMarginVariable(double lb, double ub) {
-        return solver.makeNumVar(lb, ub, minimumMarginVariableId());
+        minimumMarginVariable = solver.makeNumVar(lb, ub, name(LinearProblemIdGenerator::minimumMarginVariableId));
+        return minimumMarginVariable;
     }
 
     public MPVariable getMinimumMarginVariable() {
-        return solver.lookupVariableOrNull(minimumMarginVariableId());
+        return minimumMarginVariable;
     }
 
     public MPVariable addMinimumRelativeMarginVariable(double lb, double ub) {
-        return solver.makeNumVar(lb, ub, minimumRelativeMarginVariableId());
+        minimumRelativeMarginVariable = solver.makeNumVar(lb, ub, name(LinearProblemIdGenerator::minimumRelativeMarginVariableId));
+        return minimumRelativeMarginVariable;
     }
 
     public MPVariable getMinimumRelativeMarginVariable() {
-        return solver.lookupVariableOrNull(minimumRelativeMarginVariableId());
+        return minimumRelativeMarginVariable;
     }
 
     //Begin MaxLoopFlowFiller section
     public MPConstraint addMaxLoopFlowConstraint(double lb, double ub, FlowCnec cnec, BoundExtension lbOrUb) {
-        return solver.makeConstraint(lb, ub, maxLoopFlowConstraintId(cnec, lbOrUb));
+        return register(maxLoopFlowConstraints.get(lbOrUb), cnec, solver.makeConstraint(lb, ub, name(() -> maxLoopFlowConstraintId(cnec, lbOrUb))));
     }
 
     public MPConstraint getMaxLoopFlowConstraint(FlowCnec cnec, BoundExtension lbOrUb) {
-        return solver.lookupConstraintOrNull(maxLoopFlowConstraintId(cnec, lbOrUb));
+        return maxLoopFlowConstraints.get(lbOrUb).get(cnec);
     }
 
     public MPVariable addLoopflowViolationVariable(double lb, double ub, FlowCnec cnec) {
-        return solver.makeNumVar(lb, ub, loopflowViolationVariableId(cnec));
+        return register(loopflowViolationVariables, cnec, solver.makeNumVar(lb, ub, name(() -> loopflowViolationVariableId(cnec))));
     }
 
     public MPVariable getLoopflowViolationVariable(FlowCnec cnec) {
-        return solver.lookupVariableOrNull(loopflowViolationVariableId(cnec));
+        return loopflowViolationVariables.get(cnec);
     }
 
     public MPVariable addMnecViolationVariable(double lb, double ub, FlowCnec mnec) {
-        return solver.makeNumVar(lb, ub, mnecViolationVariableId(mnec));
+        return register(mnecViolationVariables, mnec, solver.makeNumVar(lb, ub, name(() -> mnecViolationVariableId(mnec))));
     }
 
     public MPVariable getMnecViolationVariable(FlowCnec mnec) {
-        return solver.lookupVariableOrNull(mnecViolationVariableId(mnec));
+        return mnecViolationVariables.get(mnec);
     }
 
     public MPConstraint addMnecFlowConstraint(double lb, double ub, FlowCnec mnec, MarginExtension belowOrAboveThreshold) {
-        return solver.makeConstraint(lb, ub, mnecFlowConstraintId(mnec, belowOrAboveThreshold));
+        return register(mnecFlowConstraints.get(belowOrAboveThreshold), mnec, solver.makeConstraint(lb, ub, name(() -> mnecFlowConstraintId(mnec, belowOrAboveThreshold))));
     }
 
     public MPConstraint getMnecFlowConstraint(FlowCnec mnec, MarginExtension belowOrAboveThreshold) {
-        return solver.lookupConstraintOrNull(mnecFlowConstraintId(mnec, belowOrAboveThreshold));
+        return mnecFlowConstraints.get(belowOrAboveThreshold).get(mnec);
     }
 
     public MPVariable addMarginDecreaseBinaryVariable(FlowCnec cnec) {
-        return solver.makeIntVar(0, 1, marginDecreaseVariableId(cnec));
+        return register(marginDecreaseBinaryVariables, cnec, solver.makeIntVar(0, 1, name(() -> marginDecreaseVariableId(cnec))));
     }
 
     public MPVariable getMarginDecreaseBinaryVariable(FlowCnec cnec) {
-        return solver.lookupVariableOrNull(marginDecreaseVariableId(cnec));
+        return marginDecreaseBinaryVariables.get(cnec);
     }
 
     public MPConstraint addMarginDecreaseConstraint(double lb, double ub, FlowCnec cnec, MarginExtension belowOrAboveThreshold) {
-        return solver.makeConstraint(lb, ub, marginDecreaseConstraintId(cnec, belowOrAboveThreshold));
+        return register(marginDecreaseConstraints.get(belowOrAboveThreshold), cnec,
+            solver.makeConstraint(lb, ub, name(() -> marginDecreaseConstraintId(cnec, belowOrAboveThreshold))));
     }
 
     public MPConstraint getMarginDecreaseConstraint(FlowCnec cnec, MarginExtension belowOrAboveThreshold) {
-        return solver.lookupConstraintOrNull(marginDecreaseConstraintId(cnec, belowOrAboveThreshold));
+        return marginDecreaseConstraints.get(belowOrAboveThreshold).get(cnec);
+    }
+
+    /**
+     * Variables and constraints are only named when needed, to spare the building of their
+     * names on large problems. Unnamed elements are given an empty name.
+     */
+    private String name(Supplier<String> nameSupplier) {
+        return namedElements ? nameSupplier.get() : "";
+    }
+
+    private static <K, E> E register(Map<K, E> elements, K key, E element) {
+        elements.put(key, element);
+        return element;
+    }
+
+    private static <T extends Enum<T>, K, E> Map<T, Map<K, E>> byExtension(Class<T> extensionClass) {
+        Map<T, Map<K, E>> elementsByExtension = new EnumMap<>(extensionClass);
+        for (T extension : extensionClass.getEnumConstants()) {
+            elementsByExtension.put(extension, new IdentityHashMap<>());
+        }
+        return elementsByExtension;
     }
 
     public static double infinity() {
         return MPSolver.infinity();
     }
 
+    /**
+     * Solves the problem. The constraints left out of the problem by the fillers are added as long as the
+     * solution violates some of them, and the problem is then solved again.
+     */
     public LinearProblemStatus solve() {
-        status = convertResultStatus(solver.solve());
+        int addedConstraints;
+        do {
+            status = solveOnce();
+            addedConstraints = status == LinearProblemStatus.OPTIMAL ? addViolatedConstraints() : 0;
+            if (addedConstraints > 0) {
+                LOGGER.debug("{} violated constraints added to the linear problem", addedConstraints);
+            }
+        } while (addedConstraints > 0);
         return status;
     }
 
+    /**
+     * The solver keeps its state between two solves (incrementality on), so that a problem which has only
+     * been updated can be re-optimized from the previous basis, when the solver supports it.
+     */
+    private LinearProblemStatus solveOnce() {
+        MPSolverParameters solverParameters = new MPSolverParameters();
+        solverParameters.setIntegerParam(MPSolverParameters.IntegerParam.INCREMENTALITY, MPSolverParameters.IncrementalityValues.INCREMENTALITY_ON.swigValue());
+        return convertResultStatus(solver.solve(solverParameters));
+    }
+
+    int addViolatedConstraints() {
+        return fillers.stream().mapToInt(problemFiller -> problemFiller.addViolatedConstraints(this)).sum();
+    }
+
+    /**
+     * Sets the coefficient of a variable in a constraint, unless it differs from the current one by less
+     * than COEFFICIENT_UPDATE_TOLERANCE. Untouched coefficients spare the solver a reload of its matrix.
+     *
+     * @return the coefficient of the variable in the constraint after the update
+     */
+    public double updateCoefficient(MPConstraint constraint, MPVariable variable, double coefficient) {
+        double currentCoefficient = constraint.getCoefficient(variable);
+        if (Math.abs(coefficient - currentCoefficient) <= COEFFICIENT_UPDATE_TOLERANCE) {
+            return currentCoefficient;
+        }
+        constraint.setCoefficient(variable, coefficient);
+        updatedCoefficients++;
+        return coefficient;
+    }
+
+    /**
+     * Sets the bounds of a constraint, unless they differ from the current ones by less than
+     * BOUND_UPDATE_TOLERANCE.
+     */
+    public void updateBounds(MPConstraint constraint, double lb, double ub) {
+        if (Math.abs(lb - constraint.lb()) > BOUND_UPDATE_TOLERANCE || Math.abs(ub - constraint.ub()) > BOUND_UPDATE_TOLERANCE) {
+            constraint.setBounds(lb, ub);
+            updatedBounds++;
+        }
+    }
+
+    /**
+     * Number of coefficients changed by the last update of the problem.
+     */
+    public int getUpdatedCoefficients() {
+        return updatedCoefficients;
+    }
+
+    /**
+     * Number of constraints whose bounds were changed by the last update of the problem.
+     */
+    public int getUpdatedBounds() {
+        return updatedBounds;
+    }
+
     public RangeActionResult getResults() {
         return new LinearProblemResult(this);
     }
@@ -277,7 +441,20 @@ public final class LinearProblem {
         fillers.forEach(problemFiller -> problemFiller.fill(this, flowResult, sensitivityResult));
     }
 
+    /**
+     * Reuses the filled problem for another optimization with the same fillers, on another network. The
+     * fillers are bound to the network and the problem is updated with the pre-optimisation results, which
+     * is much cheaper than building a new problem. The solver state of the previous optimization is kept, so
+     * that the solver can start from it.
+     */
+    public void reuse(Network network, FlowResult preOptimFlowResult, SensitivityResult preOptimSensitivityResult) {
+        fillers.forEach(problemFiller -> problemFiller.rebind(this, network, preOptimFlowResult));
+        update(preOptimFlowResult, preOptimSensitivityResult);
+    }
+
     public void update(FlowResult flowResult, SensitivityResult sensitivityResult) {
+        updatedCoefficients = 0;
+        updatedBounds = 0;
         fillers.forEach(problemFiller -> problemFiller.update(this, flowResult, sensitivityResult));
     }
 
@@ -289,6 +466,8 @@ public final class LinearProblem {
         private final List<ProblemFiller> problemFillers = new ArrayList<>();
         private FlowResult flowResult;
         private SensitivityResult sensitivityResult;
+        private boolean namedElements = LOGGER.isDebugEnabled();
+        private RaoParameters.Solver solver = RaoParameters.DEFAULT_SOLVER;
 
         public LinearProblemBuilder withProblemFiller(ProblemFiller problemFiller) {
             problemFillers.add(problemFiller);
@@ -305,8 +484,22 @@ public final class LinearProblem {
             return this;
         }
 
+        /**
+         * Names the variables and constraints of the problem, which is only useful to export or debug it.
+         * By default, they are named only if the debug logs are enabled.
+         */
+        public LinearProblemBuilder withNamedElements(boolean namedElements) {
+            this.namedElements = namedElements;
+            return this;
+        }
+
+        public LinearProblemBuilder withSolver(RaoParameters.Solver solver) {
+            this.solver = solver;
+            return this;
+        }
+
         public LinearProblem build() {
-            LinearProblem linearProblem = new LinearProblem(problemFillers);
+            LinearProblem linearProblem = new LinearProblem(problemFillers, getEffectiveSolver(solver, problemFillers), namedElements);
             // TODO: add checks on fillers consistency
             linearProblem.fill(flowResult, sensitivityResult);
             return linearProblem;
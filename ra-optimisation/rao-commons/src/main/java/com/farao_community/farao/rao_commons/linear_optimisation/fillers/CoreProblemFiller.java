@@ -29,7 +29,7 @@ import static java.lang.String.format;
  * @author Baptiste Seguinot {@literal <baptiste.seguinot at rte-france.com>}
  */
 public class CoreProblemFiller implements ProblemFiller {
-    private final Network network;
+    private Network network;
     private final Set<FlowCnec> flowCnecs;
     private final Set<RangeAction> rangeActions;
     private final RangeActionResult prePerimeterRangeActionResult;
@@ -47,6 +47,12 @@ public class CoreProblemFiller implements ProblemFiller {
         this.pstSensitivityThreshold = pstSensitivityThreshold;
     }
 
+    @Override
+    public void rebind(LinearProblem linearProblem, Network network, FlowResult preOptimFlowResult) {
+        // the current set points of the range actions are read on the network by the next update
+        this.network = network;
+    }
+
     private Set<RangeAction> getRangeActions() {
         return rangeActions;
     }
@@ -143,21 +149,40 @@ public class CoreProblemFiller implements ProblemFiller {
      * Update the flow constraints, with the new reference flows and new sensitivities
      *
      * F[c] = f_ref[c] + sum{r in RangeAction} sensitivity[c,r] * (S[r] - currentSetPoint[r])
+     *
+     * The update is incremental: the coefficients whose sensitivity has not changed by more than the update
+     * tolerance of the LinearProblem are left untouched, and the bounds are computed with the coefficients
+     * actually kept in the constraint, so that the linearization remains exact at the current set points.
      */
     private void updateFlowConstraints(LinearProblem linearProblem, FlowResult flowResult, SensitivityResult sensitivityResult) {
+        Map<RangeAction, Double> currentSetPoints = new HashMap<>();
+        getRangeActions().forEach(rangeAction -> {
+            if (!(rangeAction instanceof PstRangeAction)) {
+                throw new FaraoException("Type of RangeAction not yet handled by the LinearRao.");
+            }
+            // care : might not be robust as getCurrentValue get the current setPoint from a network variant
+            //        we need to be sure that this variant has been properly set
+            currentSetPoints.put(rangeAction, rangeAction.getCurrentSetpoint(network));
+        });
+
         flowCnecs.forEach(cnec -> {
-            double referenceFlow = flowResult.getFlow(cnec, Unit.MEGAWATT);
             MPConstraint flowConstraint = linearProblem.getFlowConstraint(cnec);
             if (flowConstraint == null) {
                 throw new FaraoException(format("Flow constraint on %s has not been defined yet.", cnec.getId()));
             }
 
-            //reset bounds
-            flowConstraint.setUb(referenceFlow);
-            flowConstraint.setLb(referenceFlow);
-
-            //reset sensitivity coefficients
-            addImpactOfRangeActionOnCnec(linearProblem, sensitivityResult, cnec);
+            double bound = flowResult.getFlow(cnec, Unit.MEGAWATT);
+            for (Map.Entry<RangeAction, Double> currentSetPoint : currentSetPoints.entrySet()) {
+                RangeAction rangeAction = currentSetPoint.getKey();
+                MPVariable setPointVariable = linearProblem.getRangeActionSetPointVariable(rangeAction);
+                if (setPointVariable == null) {
+                    throw new FaraoException(format("Range action variable for %s has not been defined yet.", rangeAction.getId()));
+                }
+                double sensitivity = sensitivityResult.getSensitivityValue(cnec, rangeAction, Unit.MEGAWATT);
+                double coefficient = Math.abs(sensitivity) >= pstSensitivityThreshold ? -sensitivity : 0;
+                bound += linearProblem.updateCoefficient(flowConstraint, setPointVariable, coefficient) * currentSetPoint.getValue();
+            }
+            linearProblem.updateBounds(flowConstraint, bound, bound);
         });
     }
 
@@ -21,8 +21,11 @@ import com.farao_community.farao.rao_commons.result_api.SensitivityResult;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPVariable;
 
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.farao_community.farao.commons.Unit.MEGAWATT;
 
@@ -31,13 +34,31 @@ import static com.farao_community.farao.commons.Unit.MEGAWATT;
  * @author Baptiste Seguinot {@literal <baptiste.seguinot at rte-france.com>}
  */
 public class MaxMinMarginFiller implements ProblemFiller {
+    // tolerance, in MEGAWATT, on the violation of the minimum margin constraints which have not been created
+    static final double VIOLATION_TOLERANCE = 1e-3;
+
     protected final Set<FlowCnec> optimizedCnecs;
+    // optimized CNECs whose minimum margin constraints have been created
+    protected final Set<FlowCnec> constrainedCnecs;
     private final Set<RangeAction> rangeActions;
     private final Unit unit;
     protected double pstPenaltyCost;
 
     public MaxMinMarginFiller(Set<FlowCnec> optimizedCnecs, Set<RangeAction> rangeActions, Unit unit, MaxMinMarginParameters maxMinMarginParameters) {
+        this(optimizedCnecs, optimizedCnecs, rangeActions, unit, maxMinMarginParameters);
+    }
+
+    /**
+     * The minimum margin constraints are only created upfront for the initially constrained CNECs. The
+     * constraints of the other optimized CNECs are added when the solution of the problem violates them.
+     */
+    public MaxMinMarginFiller(Set<FlowCnec> optimizedCnecs, Set<FlowCnec> initiallyConstrainedCnecs, Set<RangeAction> rangeActions, Unit unit, MaxMinMarginParameters maxMinMarginParameters) {
         this.optimizedCnecs = optimizedCnecs;
+        this.constrainedCnecs = optimizedCnecs.stream().filter(initiallyConstrainedCnecs::contains).collect(Collectors.toCollection(HashSet::new));
+        if (constrainedCnecs.isEmpty()) {
+            // the minimum margin would be unbounded
+            constrainedCnecs.addAll(optimizedCnecs);
+        }
         this.rangeActions = rangeActions;
         this.unit = unit;
         this.pstPenaltyCost = maxMinMarginParameters.getPstPenaltyCost();
@@ -61,6 +82,53 @@ public class MaxMinMarginFiller implements ProblemFiller {
         // Objective does not change, nothing to do
     }
 
+    /**
+     * Adds the minimum margin constraints of the optimized CNECs whose margin, with the flows of the current
+     * solution of the problem, is below the minimum margin of this solution.
+     */
+    @Override
+    public int addViolatedConstraints(LinearProblem linearProblem) {
+        if (constrainedCnecs.size() == optimizedCnecs.size()) {
+            return 0;
+        }
+        List<FlowCnec> violatedCnecs = optimizedCnecs.stream()
+            .filter(cnec -> !constrainedCnecs.contains(cnec) && isMinimumMarginViolated(linearProblem, cnec))
+            .collect(Collectors.toList());
+        violatedCnecs.forEach(cnec -> buildCnecConstraints(linearProblem, cnec));
+        constrainedCnecs.addAll(violatedCnecs);
+        return violatedCnecs.size();
+    }
+
+    /**
+     * Builds the constraints of the filler related to the CNEC.
+     */
+    protected void buildCnecConstraints(LinearProblem linearProblem, FlowCnec cnec) {
+        buildMinimumMarginConstraints(linearProblem, cnec);
+    }
+
+    protected boolean isMinimumMarginViolated(LinearProblem linearProblem, FlowCnec cnec) {
+        double unitConversionCoefficient = RaoUtil.getFlowUnitMultiplier(cnec, Side.LEFT, unit, MEGAWATT);
+        double minimumMargin = linearProblem.getMinimumMarginVariable().solutionValue();
+        return getMarginInSolution(linearProblem, cnec) < unitConversionCoefficient * minimumMargin - VIOLATION_TOLERANCE;
+    }
+
+    /**
+     * Margin of the CNEC in MEGAWATT, with its flow in the current solution of the problem.
+     */
+    protected static double getMarginInSolution(LinearProblem linearProblem, FlowCnec cnec) {
+        double flow = linearProblem.getFlowVariable(cnec).solutionValue();
+        double margin = Double.POSITIVE_INFINITY;
+        Optional<Double> minFlow = cnec.getLowerBound(Side.LEFT, MEGAWATT);
+        Optional<Double> maxFlow = cnec.getUpperBound(Side.LEFT, MEGAWATT);
+        if (minFlow.isPresent()) {
+            margin = Math.min(margin, flow - minFlow.get());
+        }
+        if (maxFlow.isPresent()) {
+            margin = Math.min(margin, maxFlow.get() - flow);
+        }
+        return margin;
+    }
+
     /**
      * Build the minimum margin variable MM.
      * This variable represents the smallest margin of all Cnecs.
@@ -91,38 +159,42 @@ public class MaxMinMarginFiller implements ProblemFiller {
      * <p>
      * MM <= (fmax[c] - F[c]) * 1000 / (Unom * sqrt(3))     (ABOVE_THRESHOLD)
      * MM <= (F[c] - fmin[c]) * 1000 / (Unom * sqrt(3))     (BELOW_THRESHOLD)
+     * <p>
+     * They are only built for the initially constrained CNECs, the other ones are built if they are violated.
      */
     private void buildMinimumMarginConstraints(LinearProblem linearProblem) {
+        constrainedCnecs.forEach(cnec -> buildMinimumMarginConstraints(linearProblem, cnec));
+    }
+
+    private void buildMinimumMarginConstraints(LinearProblem linearProblem, FlowCnec cnec) {
         MPVariable minimumMarginVariable = linearProblem.getMinimumMarginVariable();
         if (minimumMarginVariable == null) {
             throw new FaraoException("Minimum margin variable has not yet been created");
         }
-        optimizedCnecs.forEach(cnec -> {
-            MPVariable flowVariable = linearProblem.getFlowVariable(cnec);
+        MPVariable flowVariable = linearProblem.getFlowVariable(cnec);
 
-            if (flowVariable == null) {
-                throw new FaraoException(String.format("Flow variable has not yet been created for Cnec %s", cnec.getId()));
-            }
+        if (flowVariable == null) {
+            throw new FaraoException(String.format("Flow variable has not yet been created for Cnec %s", cnec.getId()));
+        }
 
-            Optional<Double> minFlow;
-            Optional<Double> maxFlow;
-            minFlow = cnec.getLowerBound(Side.LEFT, MEGAWATT);
-            maxFlow = cnec.getUpperBound(Side.LEFT, MEGAWATT);
-            double unitConversionCoefficient = RaoUtil.getFlowUnitMultiplier(cnec, Side.LEFT, unit, MEGAWATT);
-            //TODO : check that using only Side.LEFT is sufficient
-
-            if (minFlow.isPresent()) {
-                MPConstraint minimumMarginNegative = linearProblem.addMinimumMarginConstraint(-LinearProblem.infinity(), -minFlow.get(), cnec, LinearProblem.MarginExtension.BELOW_THRESHOLD);
-                minimumMarginNegative.setCoefficient(minimumMarginVariable, unitConversionCoefficient);
-                minimumMarginNegative.setCoefficient(flowVariable, -1);
-            }
+        Optional<Double> minFlow;
+        Optional<Double> maxFlow;
+        minFlow = cnec.getLowerBound(Side.LEFT, MEGAWATT);
+        maxFlow = cnec.getUpperBound(Side.LEFT, MEGAWATT);
+        double unitConversionCoefficient = RaoUtil.getFlowUnitMultiplier(cnec, Side.LEFT, unit, MEGAWATT);
+        //TODO : check that using only Side.LEFT is sufficient
+
+        if (minFlow.isPresent()) {
+            MPConstraint minimumMarginNegative = linearProblem.addMinimumMarginConstraint(-LinearProblem.infinity(), -minFlow.get(), cnec, LinearProblem.MarginExtension.BELOW_THRESHOLD);
+            minimumMarginNegative.setCoefficient(minimumMarginVariable, unitConversionCoefficient);
+            minimumMarginNegative.setCoefficient(flowVariable, -1);
+        }
 
-            if (maxFlow.isPresent()) {
-                MPConstraint minimumMarginPositive = linearProblem.addMinimumMarginConstraint(-LinearProblem.infinity(), maxFlow.get(), cnec, LinearProblem.MarginExtension.ABOVE_THRESHOLD);
-                minimumMarginPositive.setCoefficient(minimumMarginVariable, unitConversionCoefficient);
-                minimumMarginPositive.setCoefficient(flowVariable, 1);
-            }
-        });
+        if (maxFlow.isPresent()) {
+            MPConstraint minimumMarginPositive = linearProblem.addMinimumMarginConstraint(-LinearProblem.infinity(), maxFlow.get(), cnec, LinearProblem.MarginExtension.ABOVE_THRESHOLD);
+            minimumMarginPositive.setCoefficient(minimumMarginVariable, unitConversionCoefficient);
+            minimumMarginPositive.setCoefficient(flowVariable, 1);
+        }
     }
 
     /**
@@ -19,6 +19,7 @@ import com.farao_community.farao.rao_commons.result_api.SensitivityResult;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPObjective;
 import com.google.ortools.linearsolver.MPVariable;
+import com.powsybl.iidm.network.Network;
 
 import java.util.Optional;
 import java.util.Set;
@@ -29,7 +30,7 @@ import static com.farao_community.farao.commons.Unit.MEGAWATT;
  * @author Peter Mitri {@literal <peter.mitri at rte-france.com>}
  */
 public class MaxMinRelativeMarginFiller extends MaxMinMarginFiller {
-    private final FlowResult initialFlowResult;
+    private FlowResult initialFlowResult;
     private final Unit unit;
     private final double ptdfSumLowerBound;
     private final double negativeMarginObjectiveCoefficient;
@@ -39,7 +40,20 @@ public class MaxMinRelativeMarginFiller extends MaxMinMarginFiller {
                                       Set<RangeAction> rangeActions,
                                       Unit unit,
                                       MaxMinRelativeMarginParameters maxMinRelativeMarginParameters) {
-        super(optimizedCnecs, rangeActions, unit, maxMinRelativeMarginParameters);
+        this(optimizedCnecs, optimizedCnecs, initialFlowResult, rangeActions, unit, maxMinRelativeMarginParameters);
+    }
+
+    /**
+     * The minimum margin constraints are only created upfront for the initially constrained CNECs. The
+     * constraints of the other optimized CNECs are added when the solution of the problem violates them.
+     */
+    public MaxMinRelativeMarginFiller(Set<FlowCnec> optimizedCnecs,
+                                      Set<FlowCnec> initiallyConstrainedCnecs,
+                                      FlowResult initialFlowResult,
+                                      Set<RangeAction> rangeActions,
+                                      Unit unit,
+                                      MaxMinRelativeMarginParameters maxMinRelativeMarginParameters) {
+        super(optimizedCnecs, initiallyConstrainedCnecs, rangeActions, unit, maxMinRelativeMarginParameters);
         this.initialFlowResult = initialFlowResult;
         this.unit = unit;
         this.ptdfSumLowerBound = maxMinRelativeMarginParameters.getPtdfSumLowerBound();
@@ -55,6 +69,25 @@ public class MaxMinRelativeMarginFiller extends MaxMinMarginFiller {
         fillObjectiveWithMinRelMargin(linearProblem);
     }
 
+    /**
+     * The relative margin coefficients of the constrained CNECs are recomputed with the new pre-optimisation
+     * PTDF sums.
+     */
+    @Override
+    public void rebind(LinearProblem linearProblem, Network network, FlowResult preOptimFlowResult) {
+        this.initialFlowResult = preOptimFlowResult;
+        MPVariable minRelMarginVariable = linearProblem.getMinimumRelativeMarginVariable();
+        constrainedCnecs.forEach(cnec -> {
+            double coefficient = RaoUtil.getFlowUnitMultiplier(cnec, Side.LEFT, unit, MEGAWATT) * getRelativeMarginCoefficient(cnec);
+            for (LinearProblem.MarginExtension marginExtension : LinearProblem.MarginExtension.values()) {
+                MPConstraint constraint = linearProblem.getMinimumRelativeMarginConstraint(cnec, marginExtension);
+                if (constraint != null) {
+                    linearProblem.updateCoefficient(constraint, minRelMarginVariable, coefficient);
+                }
+            }
+        });
+    }
+
     /**
      * Force the minimum margin variable (absolute margin) to be negative (unsecured case)
      * Add a big coefficient to it in the objective function, in order to render it the primary objective
@@ -81,37 +114,57 @@ public class MaxMinRelativeMarginFiller extends MaxMinMarginFiller {
      * Define the minimum relative margin (like absolute margin but by dividing by sum of PTDFs)
      */
     private void buildMinimumRelativeMarginConstraints(LinearProblem linearProblem) {
+        constrainedCnecs.forEach(cnec -> buildMinimumRelativeMarginConstraints(linearProblem, cnec));
+    }
+
+    private void buildMinimumRelativeMarginConstraints(LinearProblem linearProblem, FlowCnec cnec) {
         MPVariable minRelMarginVariable = linearProblem.getMinimumRelativeMarginVariable();
         if (minRelMarginVariable == null) {
             throw new FaraoException("Minimum relative margin variable has not yet been created");
         }
-        optimizedCnecs.forEach(cnec -> {
-            double relMarginCoef = Math.max(initialFlowResult.getPtdfZonalSum(cnec), ptdfSumLowerBound);
-            MPVariable flowVariable = linearProblem.getFlowVariable(cnec);
+        double relMarginCoef = getRelativeMarginCoefficient(cnec);
+        MPVariable flowVariable = linearProblem.getFlowVariable(cnec);
 
-            if (flowVariable == null) {
-                throw new FaraoException(String.format("Flow variable has not yet been created for Cnec %s", cnec.getId()));
-            }
+        if (flowVariable == null) {
+            throw new FaraoException(String.format("Flow variable has not yet been created for Cnec %s", cnec.getId()));
+        }
 
-            Optional<Double> minFlow;
-            Optional<Double> maxFlow;
-            minFlow = cnec.getLowerBound(Side.LEFT, MEGAWATT);
-            maxFlow = cnec.getUpperBound(Side.LEFT, MEGAWATT);
-            double unitConversionCoefficient = RaoUtil.getFlowUnitMultiplier(cnec, Side.LEFT, unit, MEGAWATT);
-            //TODO : check that using only Side.LEFT is sufficient
-
-            if (minFlow.isPresent()) {
-                MPConstraint minimumMarginNegative = linearProblem.addMinimumRelativeMarginConstraint(-LinearProblem.infinity(), -minFlow.get(), cnec, LinearProblem.MarginExtension.BELOW_THRESHOLD);
-                minimumMarginNegative.setCoefficient(minRelMarginVariable, unitConversionCoefficient * relMarginCoef);
-                minimumMarginNegative.setCoefficient(flowVariable, -1);
-            }
+        Optional<Double> minFlow;
+        Optional<Double> maxFlow;
+        minFlow = cnec.getLowerBound(Side.LEFT, MEGAWATT);
+        maxFlow = cnec.getUpperBound(Side.LEFT, MEGAWATT);
+        double unitConversionCoefficient = RaoUtil.getFlowUnitMultiplier(cnec, Side.LEFT, unit, MEGAWATT);
+        //TODO : check that using only Side.LEFT is sufficient
 
-            if (maxFlow.isPresent()) {
-                MPConstraint minimumMarginPositive = linearProblem.addMinimumRelativeMarginConstraint(-LinearProblem.infinity(), maxFlow.get(), cnec, LinearProblem.MarginExtension.ABOVE_THRESHOLD);
-                minimumMarginPositive.setCoefficient(minRelMarginVariable, unitConversionCoefficient * relMarginCoef);
-                minimumMarginPositive.setCoefficient(flowVariable, 1);
-            }
-        });
+        if (minFlow.isPresent()) {
+            MPConstraint minimumMarginNegative = linearProblem.addMinimumRelativeMarginConstraint(-LinearProblem.infinity(), -minFlow.get(), cnec, LinearProblem.MarginExtension.BELOW_THRESHOLD);
+            minimumMarginNegative.setCoefficient(minRelMarginVariable, unitConversionCoefficient * relMarginCoef);
+            minimumMarginNegative.setCoefficient(flowVariable, -1);
+        }
+
+        if (maxFlow.isPresent()) {
+            MPConstraint minimumMarginPositive = linearProblem.addMinimumRelativeMarginConstraint(-LinearProblem.infinity(), maxFlow.get(), cnec, LinearProblem.MarginExtension.ABOVE_THRESHOLD);
+            minimumMarginPositive.setCoefficient(minRelMarginVariable, unitConversionCoefficient * relMarginCoef);
+            minimumMarginPositive.setCoefficient(flowVariable, 1);
+        }
+    }
+
+    private double getRelativeMarginCoefficient(FlowCnec cnec) {
+        return Math.max(initialFlowResult.getPtdfZonalSum(cnec), ptdfSumLowerBound);
+    }
+
+    @Override
+    protected void buildCnecConstraints(LinearProblem linearProblem, FlowCnec cnec) {
+        super.buildCnecConstraints(linearProblem, cnec);
+        buildMinimumRelativeMarginConstraints(linearProblem, cnec);
+    }
+
+    @Override
+    protected boolean isMinimumMarginViolated(LinearProblem linearProblem, FlowCnec cnec) {
+        double unitConversionCoefficient = RaoUtil.getFlowUnitMultiplier(cnec, Side.LEFT, unit, MEGAWATT);
+        double minimumRelativeMargin = linearProblem.getMinimumRelativeMarginVariable().solutionValue();
+        return super.isMinimumMarginViolated(linearProblem, cnec)
+            || getMarginInSolution(linearProblem, cnec) < unitConversionCoefficient * getRelativeMarginCoefficient(cnec) * minimumRelativeMargin - VIOLATION_TOLERANCE;
     }
 
     private void fillObjectiveWithMinRelMargin(LinearProblem linearProblem) {
@@ -10,6 +10,7 @@ package com.farao_community.farao.rao_commons.linear_optimisation.fillers;
 import com.farao_community.farao.rao_commons.linear_optimisation.LinearProblem;
 import com.farao_community.farao.rao_commons.result_api.FlowResult;
 import com.farao_community.farao.rao_commons.result_api.SensitivityResult;
+import com.powsybl.iidm.network.Network;
 
 /**
  * @author Pengbo Wang {@literal <pengbo.wang at rte-international.com>}
@@ -19,4 +20,30 @@ public interface ProblemFiller {
     void fill(LinearProblem linearProblem, FlowResult flowResult, SensitivityResult sensitivityResult);
 
     void update(LinearProblem linearProblem, FlowResult flowResult, SensitivityResult sensitivityResult);
+
+    /**
+     * Adds to the problem the constraints which the filler has left out of it and which are violated by the
+     * current solution of the problem.
+     *
+     * @return the number of added constraints
+     */
+    default int addViolatedConstraints(LinearProblem linearProblem) {
+        return 0;
+    }
+
+    /**
+     * Binds the filler of an already filled problem to another network and to its pre-optimisation flows, so
+     * that the problem can be reused for another optimization with the same structure. The fillers whose
+     * coefficients depend on these inputs, and not on the results given to update, refresh them here.
+     */
+    default void rebind(LinearProblem linearProblem, Network network, FlowResult preOptimFlowResult) {
+        // nothing depends on the network or on the pre-optimisation flows by default
+    }
+
+    /**
+     * Whether the filler adds integer variables to the problem, which then cannot be solved by an LP solver.
+     */
+    default boolean createsIntegerVariables() {
+        return false;
+    }
 }
@@ -51,6 +51,11 @@ public class UnoptimizedCnecFiller implements ProblemFiller {
                 .collect(Collectors.toSet());
     }
 
+    @Override
+    public boolean createsIntegerVariables() {
+        return !getFlowCnecs().isEmpty();
+    }
+
     @Override
     public void update(LinearProblem linearProblem, FlowResult flowResult, SensitivityResult sensitivityResult) {
         // nothing to do
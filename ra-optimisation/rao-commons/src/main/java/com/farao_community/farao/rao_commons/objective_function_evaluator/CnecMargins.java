@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.rao_commons.objective_function_evaluator;
+
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Margins of a set of cnecs for a given flow result, computed once and stored in an array indexed by cnec.
+ * The most limiting element is found while the margins are computed, and the most limiting elements are
+ * selected with a bounded heap, so that the cnecs never have to be fully sorted.
+ * Cnecs with equal margins are ranked in the order they were given.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+final class CnecMargins {
+    private final FlowCnec[] flowCnecs;
+    private final double[] margins;
+    private final int mostLimitingIndex;
+
+    CnecMargins(List<FlowCnec> flowCnecs, ToDoubleFunction<FlowCnec> marginFunction) {
+        this.flowCnecs = flowCnecs.toArray(new FlowCnec[0]);
+        this.margins = new double[this.flowCnecs.length];
+        int minIndex = -1;
+        for (int i = 0; i < this.flowCnecs.length; i++) {
+            margins[i] = marginFunction.applyAsDouble(this.flowCnecs[i]);
+            if (minIndex < 0 || Double.compare(margins[i], margins[minIndex]) < 0) {
+                minIndex = i;
+            }
+        }
+        this.mostLimitingIndex = minIndex;
+    }
+
+    /**
+     * @return the cnec with the lowest margin, or null if there is no cnec
+     */
+    FlowCnec getMostLimitingElement() {
+        return mostLimitingIndex < 0 ? null : flowCnecs[mostLimitingIndex];
+    }
+
+    /**
+     * @return the lowest margin, or NaN if there is no cnec
+     */
+    double getMinMargin() {
+        return mostLimitingIndex < 0 ? Double.NaN : margins[mostLimitingIndex];
+    }
+
+    /**
+     * @return the cnecs with the lowest margins, sorted by increasing margin
+     */
+    List<FlowCnec> getMostLimitingElements(int numberOfElements) {
+        if (numberOfElements <= 0 || mostLimitingIndex < 0) {
+            return Collections.emptyList();
+        }
+        if (numberOfElements == 1) {
+            return List.of(flowCnecs[mostLimitingIndex]);
+        }
+        Comparator<Integer> byMargin = this::compare;
+        // The head of the heap is the least limiting of the elements kept so far
+        PriorityQueue<Integer> mostLimitingIndices = new PriorityQueue<>(Math.min(numberOfElements, flowCnecs.length), byMargin.reversed());
+        for (int i = 0; i < flowCnecs.length; i++) {
+            if (mostLimitingIndices.size() < numberOfElements) {
+                mostLimitingIndices.add(i);
+            } else if (compare(i, mostLimitingIndices.peek()) < 0) {
+                mostLimitingIndices.poll();
+                mostLimitingIndices.add(i);
+            }
+        }
+        List<Integer> sortedIndices = new ArrayList<>(mostLimitingIndices);
+        sortedIndices.sort(byMargin);
+        List<FlowCnec> mostLimitingElements = new ArrayList<>(sortedIndices.size());
+        sortedIndices.forEach(i -> mostLimitingElements.add(flowCnecs[i]));
+        return mostLimitingElements;
+    }
+
+    private int compare(int index1, int index2) {
+        int marginComparison = Double.compare(margins[index1], margins[index2]);
+        return marginComparison != 0 ? marginComparison : Integer.compare(index1, index2);
+    }
+}
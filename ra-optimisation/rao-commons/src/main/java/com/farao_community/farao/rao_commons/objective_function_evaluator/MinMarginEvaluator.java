@@ -20,12 +20,14 @@ import java.util.stream.Collectors;
  * @author Joris Mancini {@literal <joris.mancini at rte-france.com>}
  */
 public class MinMarginEvaluator implements CostEvaluator {
-    private final Set<FlowCnec> flowCnecs;
+    private final List<FlowCnec> optimizedCnecs;
     private final Unit unit;
     private final MarginEvaluator marginEvaluator;
+    // The margins of a flow result are computed once, and shared by the cost and the costly elements computations
+    private final Map<FlowResult, CnecMargins> marginsPerFlowResult = Collections.synchronizedMap(new WeakHashMap<>());
 
     public MinMarginEvaluator(Set<FlowCnec> flowCnecs, Unit unit, MarginEvaluator marginEvaluator) {
-        this.flowCnecs = flowCnecs;
+        this.optimizedCnecs = flowCnecs.stream().filter(Cnec::isOptimized).collect(Collectors.toList());
         this.unit = unit;
         this.marginEvaluator = marginEvaluator;
     }
@@ -42,28 +44,29 @@ public class MinMarginEvaluator implements CostEvaluator {
 
     @Override
     public List<FlowCnec> getCostlyElements(FlowResult flowResult, int numberOfElements) {
-        List<FlowCnec> sortedElements = flowCnecs.stream()
-                .filter(Cnec::isOptimized)
-                .sorted(Comparator.comparing(flowCnec -> marginEvaluator.getMargin(flowResult, flowCnec, unit)))
-                .collect(Collectors.toList());
-
-        return sortedElements.subList(0, Math.min(sortedElements.size(), numberOfElements));
+        return getMargins(flowResult).getMostLimitingElements(numberOfElements);
     }
 
     public FlowCnec getMostLimitingElement(FlowResult flowResult) {
-        List<FlowCnec> costlyElements = getCostlyElements(flowResult, 1);
-        if (costlyElements.isEmpty()) {
-            return null;
-        }
-        return costlyElements.get(0);
+        return getMargins(flowResult).getMostLimitingElement();
     }
 
     @Override
     public double computeCost(FlowResult flowResult, ComputationStatus sensitivityStatus) {
-        FlowCnec limitingElement = getMostLimitingElement(flowResult);
-        if (limitingElement == null) {
+        CnecMargins margins = getMargins(flowResult);
+        if (margins.getMostLimitingElement() == null) {
             return 0;
         }
-        return -marginEvaluator.getMargin(flowResult, limitingElement, unit);
+        return -margins.getMinMargin();
+    }
+
+    private CnecMargins getMargins(FlowResult flowResult) {
+        CnecMargins margins = marginsPerFlowResult.get(flowResult);
+        if (margins == null) {
+            // Computed outside of the lock, the leaves of a search tree being evaluated in parallel
+            margins = new CnecMargins(optimizedCnecs, flowCnec -> marginEvaluator.getMargin(flowResult, flowCnec, unit));
+            marginsPerFlowResult.put(flowResult, margins);
+        }
+        return margins;
     }
 }
@@ -17,13 +17,23 @@ import com.farao_community.farao.data.refprog.reference_program.ReferenceProgram
 import com.farao_community.farao.loopflow_computation.LoopFlowComputation;
 import com.farao_community.farao.rao_api.parameters.RaoParameters;
 import com.farao_community.farao.sensitivity_analysis.SystematicSensitivityInterface;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.google.auto.service.AutoService;
+import com.powsybl.commons.extensions.AbstractExtension;
 import com.powsybl.iidm.network.Country;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.sensitivity.SensitivityAnalysisParameters;
+import com.powsybl.sensitivity.json.JsonSensitivityAnalysisParameters;
 import com.powsybl.sensitivity.factors.variables.LinearGlsk;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -147,4 +157,71 @@ public class ToolProviderTest {
         assertEquals(Set.of(cnec1), toolProvider.getLoopFlowCnecs(Set.of(cnec1, cnec2)));
     }
 
+    @Test
+    public void testDcParametersAreACopyOfRaoParameters() {
+        ToolProvider toolProvider = ToolProvider.create()
+                .withNetwork(network)
+                .withRaoParameters(raoParameters)
+                .build();
+        SensitivityAnalysisParameters sensitivityAnalysisParameters = raoParameters.getDefaultSensitivityAnalysisParameters();
+        sensitivityAnalysisParameters.getLoadFlowParameters().setDc(false);
+        sensitivityAnalysisParameters.getLoadFlowParameters().setDistributedSlack(false);
+        sensitivityAnalysisParameters.addExtension(DummyExtension.class, new DummyExtension(3));
+
+        SensitivityAnalysisParameters dcParameters = toolProvider.getDcSensitivityAnalysisParameters();
+        assertTrue(dcParameters.getLoadFlowParameters().isDc());
+        assertFalse(dcParameters.getLoadFlowParameters().isDistributedSlack());
+        assertNotSame(sensitivityAnalysisParameters.getExtension(DummyExtension.class), dcParameters.getExtension(DummyExtension.class));
+        assertEquals(3, dcParameters.getExtension(DummyExtension.class).getValue());
+        assertFalse(sensitivityAnalysisParameters.getLoadFlowParameters().isDc());
+    }
+
+    static class DummyExtension extends AbstractExtension<SensitivityAnalysisParameters> {
+        private final int value;
+
+        DummyExtension(int value) {
+            this.value = value;
+        }
+
+        int getValue() {
+            return value;
+        }
+
+        @Override
+        public String getName() {
+            return "dummy-extension";
+        }
+    }
+
+    @AutoService(JsonSensitivityAnalysisParameters.ExtensionSerializer.class)
+    public static class DummySerializer implements JsonSensitivityAnalysisParameters.ExtensionSerializer<DummyExtension> {
+
+        @Override
+        public void serialize(DummyExtension extension, JsonGenerator jsonGenerator, SerializerProvider serializerProvider) throws IOException {
+            jsonGenerator.writeStartObject();
+            jsonGenerator.writeNumberField("value", extension.getValue());
+            jsonGenerator.writeEndObject();
+        }
+
+        @Override
+        public DummyExtension deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+            JsonNode node = jsonParser.getCodec().readTree(jsonParser);
+            return new DummyExtension(node.get("value").asInt());
+        }
+
+        @Override
+        public String getExtensionName() {
+            return "dummy-extension";
+        }
+
+        @Override
+        public String getCategoryName() {
+            return "sensitivity-parameters";
+        }
+
+        @Override
+        public Class<? super DummyExtension> getExtensionClass() {
+            return DummyExtension.class;
+        }
+    }
 }
@@ -7,6 +7,7 @@
 
 package com.farao_community.farao.rao_commons.linear_optimisation;
 
+import com.farao_community.farao.commons.FaraoException;
 import com.farao_community.farao.commons.Unit;
 import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
 import com.farao_community.farao.data.crac_api.cnec.Side;
@@ -23,9 +24,10 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.util.HashMap;
-import java.util.List;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.when;
@@ -49,6 +51,10 @@ public class BestTapFinderTest {
     private FlowCnec cnec2;
     private PstRangeAction pstRangeAction;
 
+    // Linearized flows of an isolated PST, from tap -2 to tap 2:
+    // - on cnec1: 63, 80.5, 88, 95.5, 113
+    // - on cnec2: -252, -322, -352, -382, -452
+
     @Before
     public void setUp() {
         sensitivityResult = Mockito.mock(SensitivityResult.class);
@@ -71,6 +77,8 @@ public class BestTapFinderTest {
     }
 
     private void mockPstRangeAction(PstRangeAction pstRangeAction) {
+        when(pstRangeAction.getLowTapPosition()).thenReturn(-2);
+        when(pstRangeAction.getHighTapPosition()).thenReturn(2);
         when(pstRangeAction.convertTapToAngle(-3)).thenThrow(new ValidationException(() -> "header", "Out of bound"));
         when(pstRangeAction.convertTapToAngle(-2)).thenReturn(-2.5);
         when(pstRangeAction.convertTapToAngle(-1)).thenReturn(-0.75);
@@ -84,29 +92,17 @@ public class BestTapFinderTest {
         when(pstRangeAction.convertAngleToTap(setPoint)).thenReturn(tapPosition);
     }
 
-    private void setMarginsForTap(PstRangeAction pstRangeAction, int tap, double marginForCnec1, double marginForCnec2) {
-        mockMarginOnCnec1(pstRangeAction, tap, marginForCnec1);
-        mockMarginOnCnec2(pstRangeAction, tap, marginForCnec2);
-    }
-
-    private void mockMarginOnCnec1(PstRangeAction pstRangeAction, int tap, double margin) {
-        double flow = REF_FLOW_1 + (pstRangeAction.convertTapToAngle(tap) - INITIAL_PST_SET_POINT) * SENSI_1;
-        when(cnec1.computeMargin(flow, Side.LEFT, Unit.MEGAWATT)).thenReturn(margin);
-    }
-
-    private void mockMarginOnCnec2(PstRangeAction pstRangeAction, int tap, double margin) {
-        double flow = REF_FLOW_2 + (pstRangeAction.convertTapToAngle(tap) - INITIAL_PST_SET_POINT) * SENSI_2;
-        when(cnec2.computeMargin(flow, Side.LEFT, Unit.MEGAWATT)).thenReturn(margin);
+    private void setThresholds(FlowCnec cnec, Double min, Double max) {
+        when(cnec.getLowerBound(Side.LEFT, Unit.MEGAWATT)).thenReturn(Optional.ofNullable(min));
+        when(cnec.getUpperBound(Side.LEFT, Unit.MEGAWATT)).thenReturn(Optional.ofNullable(max));
     }
 
     private Map<Integer, Double> computeMinMarginsForBestTaps(double startingSetPoint) {
         return BestTapFinder.computeMinMarginsForBestTaps(
-                network,
                 pstRangeAction,
                 startingSetPoint,
-                List.of(cnec1, cnec2),
-                flowResult,
-                sensitivityResult
+                Set.of(pstRangeAction),
+                new BestTapFinder.LinearizedFlows(Set.of(cnec1, cnec2), network, flowResult, sensitivityResult)
         );
     }
 
@@ -114,7 +110,7 @@ public class BestTapFinderTest {
         return BestTapFinder.find(
                 rangeActionResult,
                 network,
-                List.of(cnec1, cnec2),
+                Set.of(cnec1, cnec2),
                 flowResult,
                 sensitivityResult
         );
@@ -139,8 +135,7 @@ public class BestTapFinderTest {
         // Set point is really close to tap 1, so there is no computation and margin is considered the best for tap 1
         double startingSetPoint = 0.8;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 1);
-        setMarginsForTap(pstRangeAction, 1, 100, 120);
-        setMarginsForTap(pstRangeAction, 2, 150, 50);
+        setThresholds(cnec1, null, 200.);
 
         Map<Integer, Double> marginsForBestTaps = computeMinMarginsForBestTaps(startingSetPoint);
 
@@ -154,8 +149,7 @@ public class BestTapFinderTest {
         // The closest tap is still 1, and the next tap worsen the margin so it is not considered
         double startingSetPoint = 1.5;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 1);
-        setMarginsForTap(pstRangeAction, 1, 100, 120);
-        setMarginsForTap(pstRangeAction, 2, 150, 50);
+        setThresholds(cnec1, null, 200.); // margins of 104.5 for tap 1 and 87 for tap 2
 
         Map<Integer, Double> marginsForBestTaps = computeMinMarginsForBestTaps(startingSetPoint);
 
@@ -169,8 +163,8 @@ public class BestTapFinderTest {
         // The closest tap is still 1, and the next tap increase the margin but not enough (>10%) so it is not considered
         double startingSetPoint = 1.5;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 1);
-        setMarginsForTap(pstRangeAction, 1, 100, 120);
-        setMarginsForTap(pstRangeAction, 2, 150, 110);
+        setThresholds(cnec1, null, 218.); // margins of 122.5 for tap 1 and 105 for tap 2
+        setThresholds(cnec2, null, -282.); // margins of 100 for tap 1 and 170 for tap 2
 
         Map<Integer, Double> marginsForBestTaps = computeMinMarginsForBestTaps(startingSetPoint);
 
@@ -184,8 +178,8 @@ public class BestTapFinderTest {
         // The closest tap is still 1, and the other tap increases the margin enough (>10%) so it is considered
         double startingSetPoint = 1.5;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 1);
-        setMarginsForTap(pstRangeAction, 1, 100, 120);
-        setMarginsForTap(pstRangeAction, 2, 150, 120);
+        setThresholds(cnec1, null, 233.); // margins of 137.5 for tap 1 and 120 for tap 2
+        setThresholds(cnec2, null, -282.); // margins of 100 for tap 1 and 170 for tap 2
 
         Map<Integer, Double> marginsForBestTaps = computeMinMarginsForBestTaps(startingSetPoint);
 
@@ -200,14 +194,14 @@ public class BestTapFinderTest {
         // The closest tap is still 1, and the next tap increase the margin but not enough (>10%) so it is not considered
         double startingSetPoint = 1.5;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 1);
-        setMarginsForTap(pstRangeAction, 1, -200, -250);
-        setMarginsForTap(pstRangeAction, 2, 100, -120);
+        setThresholds(cnec1, null, -10.); // margins of -105.5 for tap 1 and -123 for tap 2
+        setThresholds(cnec2, null, -632.); // margins of -250 for tap 1 and -180 for tap 2
 
         Map<Integer, Double> marginsForBestTaps = computeMinMarginsForBestTaps(startingSetPoint);
 
         assertEquals(2, marginsForBestTaps.size());
         assertEquals(-250, marginsForBestTaps.get(1), DOUBLE_TOLERANCE);
-        assertEquals(-120, marginsForBestTaps.get(2), DOUBLE_TOLERANCE);
+        assertEquals(-180, marginsForBestTaps.get(2), DOUBLE_TOLERANCE);
     }
 
     @Test
@@ -216,14 +210,13 @@ public class BestTapFinderTest {
         // The closest tap is 2 which is the upper bound, and the other tap increases the margin enough (>10%) so it is considered
         double startingSetPoint = 1.7;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 2);
-        setMarginsForTap(pstRangeAction, 1, 140, 150);
-        setMarginsForTap(pstRangeAction, 2, 150, 120);
+        setThresholds(cnec1, null, 235.); // margins of 139.5 for tap 1 and 122 for tap 2
 
         Map<Integer, Double> marginsForBestTaps = computeMinMarginsForBestTaps(startingSetPoint);
 
         assertEquals(2, marginsForBestTaps.size());
-        assertEquals(140, marginsForBestTaps.get(1), DOUBLE_TOLERANCE);
-        assertEquals(120, marginsForBestTaps.get(2), DOUBLE_TOLERANCE);
+        assertEquals(139.5, marginsForBestTaps.get(1), DOUBLE_TOLERANCE);
+        assertEquals(122, marginsForBestTaps.get(2), DOUBLE_TOLERANCE);
     }
 
     @Test
@@ -232,14 +225,13 @@ public class BestTapFinderTest {
         // The closest tap is -2 which is the lower bound, and the other tap increases the margin enough (>10%) so it is considered
         double startingSetPoint = -1.7;
         setClosestTapPosition(pstRangeAction, startingSetPoint, -2);
-        setMarginsForTap(pstRangeAction, -1, 140, 150);
-        setMarginsForTap(pstRangeAction, -2, 150, 120);
+        setThresholds(cnec1, -60., null); // margins of 140.5 for tap -1 and 123 for tap -2
 
         Map<Integer, Double> marginsForBestTaps = computeMinMarginsForBestTaps(startingSetPoint);
 
         assertEquals(2, marginsForBestTaps.size());
-        assertEquals(140, marginsForBestTaps.get(-1), DOUBLE_TOLERANCE);
-        assertEquals(120, marginsForBestTaps.get(-2), DOUBLE_TOLERANCE);
+        assertEquals(140.5, marginsForBestTaps.get(-1), DOUBLE_TOLERANCE);
+        assertEquals(123, marginsForBestTaps.get(-2), DOUBLE_TOLERANCE);
     }
 
     @Test
@@ -273,8 +265,7 @@ public class BestTapFinderTest {
     public void testUpdatedRangeActionResultWithOtherTapSelected() {
         double startingSetPoint = 1.7;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 2);
-        setMarginsForTap(pstRangeAction, 1, 140, 150); // Tap 1 should be selected because min margin is 140
-        setMarginsForTap(pstRangeAction, 2, 150, 120);
+        setThresholds(cnec1, null, 235.); // Tap 1 should be selected because its margin is 139.5, against 122 for tap 2
 
         RangeAction activatedRangeActionOtherThanPst = Mockito.mock(RangeAction.class);
         rangeActionResult = new RangeActionResultImpl(
@@ -293,8 +284,7 @@ public class BestTapFinderTest {
     public void testUpdatedRangeActionResultWithClosestTapSelected() {
         double startingSetPoint = 1.7;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 2);
-        setMarginsForTap(pstRangeAction, 1, 120, 150);
-        setMarginsForTap(pstRangeAction, 2, 150, 140); // Tap 2 should be selected because min margin is 140
+        setThresholds(cnec2, null, -312.); // Tap 2 should be selected because its margin is 140, against 70 for tap 1
 
         RangeAction activatedRangeActionOtherThanPst = Mockito.mock(RangeAction.class);
         rangeActionResult = new RangeActionResultImpl(
@@ -314,8 +304,7 @@ public class BestTapFinderTest {
         double startingSetPoint = 0.8;
         // Starting point is really close to set point of tap 1 so it will be set to tap 1
         setClosestTapPosition(pstRangeAction, startingSetPoint, 1);
-        setMarginsForTap(pstRangeAction, 1, 120, 150);
-        setMarginsForTap(pstRangeAction, 2, 150, 140); // Tap 2 would be ignored even if result is better
+        setThresholds(cnec2, null, -312.); // Tap 2 would be ignored even if its margin is better
 
         RangeAction activatedRangeActionOtherThanPst = Mockito.mock(RangeAction.class);
         rangeActionResult = new RangeActionResultImpl(
@@ -334,18 +323,15 @@ public class BestTapFinderTest {
     public void testUpdatedRangeActionResultWithGroups() {
         double startingSetPoint = 1.7;
         setClosestTapPosition(pstRangeAction, startingSetPoint, 2);
-        setMarginsForTap(pstRangeAction, 1, 120, 150);
-        setMarginsForTap(pstRangeAction, 2, 150, 140); // Tap 2 should be selected because min margin is 140
+        setThresholds(cnec2, null, -312.); // Tap 2 should be selected because its margin is 140, against 70 for tap 1
 
+        // The PSTs of the group move together, so their flow variations add up on the cnecs
+        // Tap 0 should be selected because the margin on cnec2 is -8, against -68 for tap -1
         PstRangeAction pstGroup1 = createPstWithGroupId("group1");
         PstRangeAction pstGroup2 = createPstWithGroupId("group1");
         double groupStartingSetPoint = -0.4;
         setClosestTapPosition(pstGroup1, groupStartingSetPoint, -1);
-        setMarginsForTap(pstGroup1, -1, 120, 150);
-        setMarginsForTap(pstGroup1, 0, 150, 140); // Tap 0 should be selected because min margin is 140
         setClosestTapPosition(pstGroup2, groupStartingSetPoint, -1);
-        setMarginsForTap(pstGroup2, -1, 120, 150);
-        setMarginsForTap(pstGroup2, 0, 150, 140); // Tap 0 should be selected because min margin is 140
 
         rangeActionResult = new RangeActionResultImpl(
                 Map.of(
@@ -360,4 +346,68 @@ public class BestTapFinderTest {
         assertEquals(0, updatedRangeActionResult.getOptimizedSetPoint(pstGroup1), DOUBLE_TOLERANCE);
         assertEquals(0, updatedRangeActionResult.getOptimizedSetPoint(pstGroup2), DOUBLE_TOLERANCE);
     }
+
+    @Test
+    public void testCnecWithoutFlowIsIgnored() {
+        // Same margins as testMarginsWithOtherTapIncreasingEnoughTheMinMargin on cnec2, cnec1 has no flow
+        double startingSetPoint = 1.5;
+        setClosestTapPosition(pstRangeAction, startingSetPoint, 1);
+        when(flowResult.getFlow(cnec1, Unit.MEGAWATT)).thenReturn(Double.NaN);
+        setThresholds(cnec1, null, 233.);
+        setThresholds(cnec2, null, -282.); // margins of 100 for tap 1 and 170 for tap 2
+
+        Map<Integer, Double> marginsForBestTaps = computeMinMarginsForBestTaps(startingSetPoint);
+
+        assertEquals(2, marginsForBestTaps.size());
+        assertEquals(100, marginsForBestTaps.get(1), DOUBLE_TOLERANCE);
+        assertEquals(170, marginsForBestTaps.get(2), DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    public void testLimitingCnecOutsideTheTenMostLimitingCnecs() {
+        double startingSetPoint = 1.7;
+        setClosestTapPosition(pstRangeAction, startingSetPoint, 2);
+        Set<FlowCnec> optimizedCnecs = new HashSet<>();
+        // The ten most limiting cnecs, with a margin of 100, prefer tap 1: margins of 104.5 for tap 1 and 87 for tap 2
+        for (int i = 0; i < 10; i++) {
+            FlowCnec cnec = Mockito.mock(FlowCnec.class);
+            when(flowResult.getFlow(cnec, Unit.MEGAWATT)).thenReturn(0.);
+            when(sensitivityResult.getSensitivityValue(cnec, pstRangeAction, Unit.MEGAWATT)).thenReturn(10.);
+            setThresholds(cnec, null, 100.);
+            optimizedCnecs.add(cnec);
+        }
+        // A cnec with a margin of 150 becomes the most limiting one with tap 1: margins of 60 for tap 1 and 410 for tap 2
+        FlowCnec cnec = Mockito.mock(FlowCnec.class);
+        when(flowResult.getFlow(cnec, Unit.MEGAWATT)).thenReturn(0.);
+        when(sensitivityResult.getSensitivityValue(cnec, pstRangeAction, Unit.MEGAWATT)).thenReturn(-200.);
+        setThresholds(cnec, null, 150.);
+        optimizedCnecs.add(cnec);
+        rangeActionResult = new RangeActionResultImpl(Map.of(pstRangeAction, startingSetPoint));
+
+        RangeActionResult updatedRangeActionResult = BestTapFinder.find(rangeActionResult, network, optimizedCnecs, flowResult, sensitivityResult);
+
+        // Tap 2 is kept, as tap 1 would decrease the minimum margin on all the cnecs from 87 to 60
+        assertEquals(2.5, updatedRangeActionResult.getOptimizedSetPoint(pstRangeAction), DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    public void testUpdatedRangeActionResultWithGroupsOfDifferentTapRanges() {
+        // The second PST of the group has no tap 2, the PSTs are moved together to their highest common tap
+        double startingSetPoint = 1.7;
+        PstRangeAction pstGroup1 = createPstWithGroupId("group1");
+        PstRangeAction pstGroup2 = createPstWithGroupId("group1");
+        when(pstGroup2.getLowTapPosition()).thenReturn(-1);
+        when(pstGroup2.getHighTapPosition()).thenReturn(1);
+        when(pstGroup2.convertTapToAngle(2)).thenThrow(new FaraoException("Out of bound"));
+        setClosestTapPosition(pstGroup1, startingSetPoint, 2);
+        setClosestTapPosition(pstGroup2, startingSetPoint, 1);
+        setThresholds(cnec2, null, -312.);
+
+        rangeActionResult = new RangeActionResultImpl(Map.of(pstGroup1, startingSetPoint, pstGroup2, startingSetPoint));
+
+        RangeActionResult updatedRangeActionResult = computeUpdatedRangeActionResult();
+
+        assertEquals(0.75, updatedRangeActionResult.getOptimizedSetPoint(pstGroup1), DOUBLE_TOLERANCE);
+        assertEquals(0.75, updatedRangeActionResult.getOptimizedSetPoint(pstGroup2), DOUBLE_TOLERANCE);
+    }
 }
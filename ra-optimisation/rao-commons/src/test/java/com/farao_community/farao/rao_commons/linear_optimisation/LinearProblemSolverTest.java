@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.rao_commons.linear_optimisation;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.data.crac_impl.utils.NetworkImportsUtil;
+import com.farao_community.farao.data.crac_io_api.CracImporters;
+import com.farao_community.farao.rao_api.parameters.MaxMinMarginParameters;
+import com.farao_community.farao.rao_api.parameters.RaoParameters;
+import com.farao_community.farao.rao_api.parameters.UnoptimizedCnecParameters;
+import com.farao_community.farao.rao_commons.linear_optimisation.fillers.CoreProblemFiller;
+import com.farao_community.farao.rao_commons.linear_optimisation.fillers.MaxMinMarginFiller;
+import com.farao_community.farao.rao_commons.linear_optimisation.fillers.UnoptimizedCnecFiller;
+import com.farao_community.farao.rao_commons.result.RangeActionResultImpl;
+import com.farao_community.farao.rao_commons.result_api.FlowResult;
+import com.farao_community.farao.rao_commons.result_api.LinearProblemStatus;
+import com.farao_community.farao.rao_commons.result_api.RangeActionResult;
+import com.farao_community.farao.rao_commons.result_api.SensitivityResult;
+import com.powsybl.iidm.network.Network;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Solves the same linear problems with all the solvers. These tests are only run if the
+ * OR-Tools native library is available.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class LinearProblemSolverTest {
+    private static final double DOUBLE_TOLERANCE = 1e-3;
+    private static final String RANGE_ACTION_ELEMENT_ID = "BBE2AA1  BBE3AA1  1";
+
+    private static boolean nativeLibraryAvailable;
+
+    private Network network;
+    private Set<FlowCnec> cnecs;
+    private RangeAction rangeAction;
+    private RangeActionResult initialRangeActionResult;
+    private FlowResult flowResult;
+    private SensitivityResult sensitivityResult;
+
+    @BeforeClass
+    public static void checkNativeLibrary() {
+        try {
+            LinearProblem.infinity();
+            nativeLibraryAvailable = true;
+        } catch (LinkageError e) {
+            nativeLibraryAvailable = false;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Assume.assumeTrue(nativeLibraryAvailable);
+        Crac crac = CracImporters.importCrac("small-crac.json", getClass().getResourceAsStream("/small-crac.json"));
+        network = NetworkImportsUtil.import12NodesNetwork();
+        network.getTwoWindingsTransformer(RANGE_ACTION_ELEMENT_ID).getPhaseTapChanger().setTapPosition(5);
+        cnecs = crac.getFlowCnecs();
+        rangeAction = crac.getRangeAction("PRA_PST_BE");
+        initialRangeActionResult = new RangeActionResultImpl(Map.of(rangeAction, rangeAction.getCurrentSetpoint(network)));
+
+        flowResult = Mockito.mock(FlowResult.class);
+        sensitivityResult = Mockito.mock(SensitivityResult.class);
+        double referenceFlow = 500;
+        double sensitivity = 20;
+        for (FlowCnec cnec : cnecs) {
+            when(flowResult.getFlow(cnec, Unit.MEGAWATT)).thenReturn(referenceFlow);
+            when(flowResult.getMargin(cnec, Unit.MEGAWATT)).thenReturn(100.);
+            when(sensitivityResult.getSensitivityValue(cnec, rangeAction, Unit.MEGAWATT)).thenReturn(sensitivity);
+            referenceFlow -= 150;
+            sensitivity = -sensitivity / 2;
+        }
+    }
+
+    private double optimalSetPoint(RaoParameters.Solver solver, boolean withUnoptimizedCnecs) {
+        LinearProblem.LinearProblemBuilder builder = LinearProblem.create()
+            .withSolver(solver)
+            .withProblemFiller(new CoreProblemFiller(network, cnecs, Set.of(rangeAction), initialRangeActionResult, 0.))
+            .withProblemFiller(new MaxMinMarginFiller(cnecs, Set.of(rangeAction), Unit.MEGAWATT, new MaxMinMarginParameters(0.01)))
+            .withBranchResult(flowResult)
+            .withSensitivityResult(sensitivityResult);
+        if (withUnoptimizedCnecs) {
+            String operator = cnecs.iterator().next().getOperator();
+            builder.withProblemFiller(new UnoptimizedCnecFiller(cnecs, flowResult, new UnoptimizedCnecParameters(Set.of(operator), 10000)));
+        }
+        LinearProblem linearProblem = builder.build();
+        assertEquals(LinearProblemStatus.OPTIMAL, linearProblem.solve());
+        return linearProblem.getResults().getOptimizedSetPoint(rangeAction);
+    }
+
+    @Test
+    public void allSolversFindTheSameSetPoint() {
+        double glopSetPoint = optimalSetPoint(RaoParameters.Solver.GLOP, false);
+        assertEquals(glopSetPoint, optimalSetPoint(RaoParameters.Solver.CBC, false), DOUBLE_TOLERANCE);
+        assertEquals(glopSetPoint, optimalSetPoint(RaoParameters.Solver.SCIP, false), DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    public void allSolversFindTheSameSetPointWithIntegerVariables() {
+        double glopSetPoint = optimalSetPoint(RaoParameters.Solver.GLOP, true);
+        assertEquals(glopSetPoint, optimalSetPoint(RaoParameters.Solver.CBC, true), DOUBLE_TOLERANCE);
+        assertEquals(glopSetPoint, optimalSetPoint(RaoParameters.Solver.SCIP, true), DOUBLE_TOLERANCE);
+    }
+}
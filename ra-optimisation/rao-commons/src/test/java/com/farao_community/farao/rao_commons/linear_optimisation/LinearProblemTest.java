@@ -9,13 +9,23 @@ package com.farao_community.farao.rao_commons.linear_optimisation;
 
 import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.rao_api.parameters.RaoParameters;
+import com.farao_community.farao.rao_commons.linear_optimisation.fillers.ProblemFiller;
 import com.farao_community.farao.rao_commons.linear_optimisation.mocks.MPSolverMock;
+import com.farao_community.farao.rao_commons.result_api.FlowResult;
+import com.farao_community.farao.rao_commons.result_api.SensitivityResult;
+import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPSolver;
+import com.google.ortools.linearsolver.MPVariable;
+import com.powsybl.iidm.network.Network;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 
@@ -57,6 +67,87 @@ public class LinearProblemTest {
         assertEquals(UB, linearProblem.getFlowVariable(cnec).ub(), DOUBLE_TOLERANCE);
     }
 
+    @Test
+    public void elementsAreNamedOnlyIfRequired() {
+        linearProblem.addFlowVariable(LB, UB, cnec);
+        assertEquals(LinearProblemIdGenerator.flowVariableId(cnec), linearProblem.getFlowVariable(cnec).name());
+
+        LinearProblem unnamedLinearProblem = new LinearProblem(Collections.emptyList(), new MPSolverMock(), false);
+        unnamedLinearProblem.addFlowVariable(LB, UB, cnec);
+        unnamedLinearProblem.addMinimumMarginConstraint(LB, UB, cnec, LinearProblem.MarginExtension.BELOW_THRESHOLD);
+        assertEquals("", unnamedLinearProblem.getFlowVariable(cnec).name());
+        assertEquals(LB, unnamedLinearProblem.getMinimumMarginConstraint(cnec, LinearProblem.MarginExtension.BELOW_THRESHOLD).lb(), DOUBLE_TOLERANCE);
+        assertNull(unnamedLinearProblem.getMinimumMarginConstraint(cnec, LinearProblem.MarginExtension.ABOVE_THRESHOLD));
+    }
+
+    @Test
+    public void updateOnlyChangedCoefficientsAndBounds() {
+        linearProblem.addFlowVariable(LB, UB, cnec);
+        MPVariable flowVariable = linearProblem.getFlowVariable(cnec);
+        MPConstraint flowConstraint = linearProblem.addFlowConstraint(LB, UB, cnec);
+        flowConstraint.setCoefficient(flowVariable, 2.);
+
+        assertEquals(2., linearProblem.updateCoefficient(flowConstraint, flowVariable, 2. + 1e-9), 0.);
+        linearProblem.updateBounds(flowConstraint, LB, UB + 1e-9);
+        assertEquals(0, linearProblem.getUpdatedCoefficients());
+        assertEquals(0, linearProblem.getUpdatedBounds());
+
+        assertEquals(3., linearProblem.updateCoefficient(flowConstraint, flowVariable, 3.), 0.);
+        linearProblem.updateBounds(flowConstraint, LB, UB + 1);
+        assertEquals(3., flowConstraint.getCoefficient(flowVariable), 0.);
+        assertEquals(UB + 1, flowConstraint.ub(), DOUBLE_TOLERANCE);
+        assertEquals(1, linearProblem.getUpdatedCoefficients());
+        assertEquals(1, linearProblem.getUpdatedBounds());
+
+        // counters are reset on each update of the problem
+        linearProblem.update(null, null);
+        assertEquals(0, linearProblem.getUpdatedCoefficients());
+        assertEquals(0, linearProblem.getUpdatedBounds());
+    }
+
+    @Test
+    public void solverFitsTheFillers() {
+        ProblemFiller linearFiller = Mockito.mock(ProblemFiller.class);
+        ProblemFiller integerFiller = Mockito.mock(ProblemFiller.class);
+        Mockito.when(integerFiller.createsIntegerVariables()).thenReturn(true);
+
+        assertEquals(RaoParameters.Solver.GLOP, LinearProblem.getEffectiveSolver(RaoParameters.Solver.GLOP, List.of(linearFiller)));
+        assertEquals(RaoParameters.Solver.CBC, LinearProblem.getEffectiveSolver(RaoParameters.Solver.GLOP, List.of(linearFiller, integerFiller)));
+        assertEquals(RaoParameters.Solver.CBC, LinearProblem.getEffectiveSolver(RaoParameters.Solver.CBC, List.of(linearFiller)));
+        // SCIP falls back on CBC when it is not available
+        assertTrue(Set.of(RaoParameters.Solver.SCIP, RaoParameters.Solver.CBC)
+            .contains(LinearProblem.getEffectiveSolver(RaoParameters.Solver.SCIP, List.of(integerFiller))));
+    }
+
+    @Test
+    public void violatedConstraintsOfAllFillersAreAdded() {
+        ProblemFiller filler1 = Mockito.mock(ProblemFiller.class);
+        ProblemFiller filler2 = Mockito.mock(ProblemFiller.class);
+        LinearProblem lazyLinearProblem = new LinearProblem(List.of(filler1, filler2), new MPSolverMock());
+        Mockito.when(filler1.addViolatedConstraints(lazyLinearProblem)).thenReturn(2);
+        Mockito.when(filler2.addViolatedConstraints(lazyLinearProblem)).thenReturn(1);
+
+        assertEquals(3, lazyLinearProblem.addViolatedConstraints());
+        Mockito.verify(filler1).addViolatedConstraints(lazyLinearProblem);
+        Mockito.verify(filler2).addViolatedConstraints(lazyLinearProblem);
+    }
+
+    @Test
+    public void reuseRebindsTheFillersBeforeUpdatingThem() {
+        ProblemFiller filler = Mockito.mock(ProblemFiller.class);
+        LinearProblem reusedLinearProblem = new LinearProblem(List.of(filler), new MPSolverMock());
+        Network network = Mockito.mock(Network.class);
+        FlowResult flowResult = Mockito.mock(FlowResult.class);
+        SensitivityResult sensitivityResult = Mockito.mock(SensitivityResult.class);
+
+        reusedLinearProblem.reuse(network, flowResult, sensitivityResult);
+
+        InOrder inOrder = Mockito.inOrder(filler);
+        inOrder.verify(filler).rebind(reusedLinearProblem, network, flowResult);
+        inOrder.verify(filler).update(reusedLinearProblem, flowResult, sensitivityResult);
+        Mockito.verify(filler, Mockito.never()).fill(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
     @Test
     public void flowConstraintTest() {
         assertNull(linearProblem.getFlowConstraint(cnec));
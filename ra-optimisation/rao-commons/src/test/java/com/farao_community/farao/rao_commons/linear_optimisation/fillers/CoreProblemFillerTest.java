@@ -18,6 +18,7 @@ import com.farao_community.farao.rao_commons.result.RangeActionResultImpl;
 import com.farao_community.farao.rao_commons.result_api.RangeActionResult;
 import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPVariable;
+import com.powsybl.iidm.network.Network;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -359,6 +360,61 @@ public class CoreProblemFillerTest extends AbstractFillerTest {
         assertEquals(3, linearProblem.numConstraints());
     }
 
+    @Test
+    public void updateIsIncremental() {
+        initializeForPreventive(0);
+        updateLinearProblem();
+        assertEquals(1, linearProblem.getUpdatedCoefficients());
+        assertEquals(1, linearProblem.getUpdatedBounds());
+
+        // the same data does not change the problem
+        linearProblem.update(flowResult, sensitivityResult);
+        assertEquals(0, linearProblem.getUpdatedCoefficients());
+        assertEquals(0, linearProblem.getUpdatedBounds());
+
+        // a new reference flow only changes the bounds
+        when(flowResult.getFlow(cnec1, Unit.MEGAWATT)).thenReturn(REF_FLOW_CNEC1_IT1);
+        linearProblem.update(flowResult, sensitivityResult);
+        assertEquals(0, linearProblem.getUpdatedCoefficients());
+        assertEquals(1, linearProblem.getUpdatedBounds());
+        final double currentAlpha = ((PstRangeAction) rangeAction).convertTapToAngle(network.getTwoWindingsTransformer(RANGE_ACTION_ELEMENT_ID).getPhaseTapChanger().getTapPosition());
+        assertEquals(REF_FLOW_CNEC1_IT1 - currentAlpha * SENSI_CNEC1_IT2, linearProblem.getFlowConstraint(cnec1).lb(), DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    public void updateRemovesSensitivitiesBelowThreshold() {
+        initializeForPreventive(2.5);
+        updateLinearProblem();
+        MPConstraint flowConstraint = linearProblem.getFlowConstraint(cnec1);
+        MPVariable setPointVariable = linearProblem.getRangeActionSetPointVariable(rangeAction);
+        assertEquals(-SENSI_CNEC1_IT2, flowConstraint.getCoefficient(setPointVariable), DOUBLE_TOLERANCE);
+
+        when(sensitivityResult.getSensitivityValue(cnec1, rangeAction, Unit.MEGAWATT)).thenReturn(SENSI_CNEC1_IT1);
+        linearProblem.update(flowResult, sensitivityResult);
+        assertEquals(0, flowConstraint.getCoefficient(setPointVariable), DOUBLE_TOLERANCE);
+        assertEquals(REF_FLOW_CNEC1_IT2, flowConstraint.lb(), DOUBLE_TOLERANCE);
+        assertEquals(REF_FLOW_CNEC1_IT2, flowConstraint.ub(), DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    public void reuseOnAnotherNetwork() {
+        initializeForPreventive(0);
+        Network otherNetwork = NetworkImportsUtil.import12NodesNetwork();
+        otherNetwork.getTwoWindingsTransformer(RANGE_ACTION_ELEMENT_ID).getPhaseTapChanger().setTapPosition(TAP_IT2);
+        when(flowResult.getFlow(cnec1, Unit.MEGAWATT)).thenReturn(REF_FLOW_CNEC1_IT2);
+        when(sensitivityResult.getSensitivityValue(cnec1, rangeAction, Unit.MEGAWATT)).thenReturn(SENSI_CNEC1_IT2);
+
+        linearProblem.reuse(otherNetwork, flowResult, sensitivityResult);
+
+        // the flow constraint is linearized around the set point of the other network
+        MPConstraint flowConstraint = linearProblem.getFlowConstraint(cnec1);
+        double otherAlpha = rangeAction.getCurrentSetpoint(otherNetwork);
+        assertNotEquals(initialAlpha, otherAlpha, DOUBLE_TOLERANCE);
+        assertEquals(-SENSI_CNEC1_IT2, flowConstraint.getCoefficient(linearProblem.getRangeActionSetPointVariable(rangeAction)), DOUBLE_TOLERANCE);
+        assertEquals(REF_FLOW_CNEC1_IT2 - SENSI_CNEC1_IT2 * otherAlpha, flowConstraint.lb(), DOUBLE_TOLERANCE);
+        assertEquals(REF_FLOW_CNEC1_IT2 - SENSI_CNEC1_IT2 * otherAlpha, flowConstraint.ub(), DOUBLE_TOLERANCE);
+    }
+
     @Test
     public void testFillerWithRangeActionGroup() {
         crac.newPstRangeAction()
@@ -8,7 +8,9 @@ package com.farao_community.farao.rao_commons.linear_optimisation.fillers;
 
 import com.farao_community.farao.commons.FaraoException;
 import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.cnec.Side;
 import com.farao_community.farao.rao_commons.linear_optimisation.LinearProblem;
+import com.farao_community.farao.rao_commons.linear_optimisation.mocks.MPVariableMock;
 import com.farao_community.farao.rao_api.parameters.MaxMinMarginParameters;
 import com.farao_community.farao.rao_commons.result.RangeActionResultImpl;
 import com.farao_community.farao.rao_commons.result_api.RangeActionResult;
@@ -173,5 +175,38 @@ public class MaxMinMarginFillerTest extends AbstractFillerTest {
         linearProblem.addFlowVariable(0.0, 0.0, cnec2);
         linearProblem.fill(flowResult, sensitivityResult);
     }
-}
 
+    @Test
+    public void addViolatedMinimumMarginConstraints() {
+        RangeActionResult initialRangeActionResult = new RangeActionResultImpl(Map.of(rangeAction, 0.));
+        coreProblemFiller = new CoreProblemFiller(network, Set.of(cnec1, cnec2), Set.of(rangeAction), initialRangeActionResult, 0.);
+        maxMinMarginFiller = new MaxMinMarginFiller(Set.of(cnec1, cnec2), Set.of(cnec1), Set.of(rangeAction), Unit.MEGAWATT, maxMinMarginParameters);
+        buildLinearProblem();
+
+        // only the constraints of cnec1 are created upfront
+        assertNotNull(linearProblem.getMinimumMarginConstraint(cnec1, LinearProblem.MarginExtension.ABOVE_THRESHOLD));
+        assertNull(linearProblem.getMinimumMarginConstraint(cnec2, LinearProblem.MarginExtension.ABOVE_THRESHOLD));
+        assertNull(linearProblem.getMinimumMarginConstraint(cnec2, LinearProblem.MarginExtension.BELOW_THRESHOLD));
+
+        double maxFlow2 = cnec2.getUpperBound(Side.LEFT, Unit.MEGAWATT).orElseThrow();
+        ((MPVariableMock) linearProblem.getFlowVariable(cnec1)).setSolutionValue(0.);
+        ((MPVariableMock) linearProblem.getFlowVariable(cnec2)).setSolutionValue(maxFlow2 - 50.);
+
+        // the margin of cnec2 is above the minimum margin of the solution
+        ((MPVariableMock) linearProblem.getMinimumMarginVariable()).setSolutionValue(40.);
+        assertEquals(0, maxMinMarginFiller.addViolatedConstraints(linearProblem));
+        assertNull(linearProblem.getMinimumMarginConstraint(cnec2, LinearProblem.MarginExtension.ABOVE_THRESHOLD));
+
+        // the margin of cnec2 is below the minimum margin of the solution
+        ((MPVariableMock) linearProblem.getMinimumMarginVariable()).setSolutionValue(60.);
+        assertEquals(1, maxMinMarginFiller.addViolatedConstraints(linearProblem));
+        MPConstraint cnec2AboveThreshold = linearProblem.getMinimumMarginConstraint(cnec2, LinearProblem.MarginExtension.ABOVE_THRESHOLD);
+        assertNotNull(cnec2AboveThreshold);
+        assertEquals(maxFlow2, cnec2AboveThreshold.ub(), DOUBLE_TOLERANCE);
+        assertEquals(1, cnec2AboveThreshold.getCoefficient(linearProblem.getFlowVariable(cnec2)), DOUBLE_TOLERANCE);
+        assertEquals(1, cnec2AboveThreshold.getCoefficient(linearProblem.getMinimumMarginVariable()), DOUBLE_TOLERANCE);
+
+        // the constraints of cnec2 are not added twice
+        assertEquals(0, maxMinMarginFiller.addViolatedConstraints(linearProblem));
+    }
+}
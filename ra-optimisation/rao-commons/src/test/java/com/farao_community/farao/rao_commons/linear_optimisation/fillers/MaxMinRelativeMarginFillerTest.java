@@ -8,7 +8,9 @@
 package com.farao_community.farao.rao_commons.linear_optimisation.fillers;
 
 import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.cnec.Side;
 import com.farao_community.farao.rao_commons.linear_optimisation.LinearProblem;
+import com.farao_community.farao.rao_commons.linear_optimisation.mocks.MPVariableMock;
 import com.farao_community.farao.rao_api.parameters.MaxMinRelativeMarginParameters;
 import com.farao_community.farao.rao_commons.result.RangeActionResultImpl;
 import com.farao_community.farao.rao_commons.result_api.FlowResult;
@@ -30,6 +32,7 @@ import static com.farao_community.farao.commons.Unit.MEGAWATT;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.when;
 
 /**
@@ -167,4 +170,49 @@ public class MaxMinRelativeMarginFillerTest extends AbstractFillerTest {
         assertEquals(5, linearProblem.numVariables());
         assertEquals(7, linearProblem.numConstraints());
     }
+
+    @Test
+    public void addViolatedMinimumRelativeMarginConstraints() {
+        RangeActionResult initialRangeActionResult = new RangeActionResultImpl(Map.of(rangeAction, 0.));
+        coreProblemFiller = new CoreProblemFiller(network, Set.of(cnec1, cnec2), Set.of(rangeAction), initialRangeActionResult, 0.);
+        FlowResult initialFlowResult = Mockito.mock(FlowResult.class);
+        when(initialFlowResult.getPtdfZonalSum(cnec1)).thenReturn(0.5);
+        when(initialFlowResult.getPtdfZonalSum(cnec2)).thenReturn(0.5);
+        maxMinRelativeMarginFiller = new MaxMinRelativeMarginFiller(Set.of(cnec1, cnec2), Set.of(cnec1), initialFlowResult, Set.of(rangeAction), MEGAWATT, parameters);
+        buildLinearProblem();
+
+        assertNotNull(linearProblem.getMinimumRelativeMarginConstraint(cnec1, LinearProblem.MarginExtension.ABOVE_THRESHOLD));
+        assertNull(linearProblem.getMinimumRelativeMarginConstraint(cnec2, LinearProblem.MarginExtension.ABOVE_THRESHOLD));
+
+        double maxFlow2 = cnec2.getUpperBound(Side.LEFT, MEGAWATT).orElseThrow();
+        ((MPVariableMock) linearProblem.getFlowVariable(cnec1)).setSolutionValue(0.);
+        ((MPVariableMock) linearProblem.getFlowVariable(cnec2)).setSolutionValue(maxFlow2 - 50.);
+        ((MPVariableMock) linearProblem.getMinimumMarginVariable()).setSolutionValue(40.);
+
+        // the relative margin of cnec2, 50 / 0.5 = 100, is above the minimum relative margin of the solution
+        ((MPVariableMock) linearProblem.getMinimumRelativeMarginVariable()).setSolutionValue(90.);
+        assertEquals(0, maxMinRelativeMarginFiller.addViolatedConstraints(linearProblem));
+
+        // the relative margin of cnec2 is below the minimum relative margin of the solution
+        ((MPVariableMock) linearProblem.getMinimumRelativeMarginVariable()).setSolutionValue(110.);
+        assertEquals(1, maxMinRelativeMarginFiller.addViolatedConstraints(linearProblem));
+        assertNotNull(linearProblem.getMinimumMarginConstraint(cnec2, LinearProblem.MarginExtension.ABOVE_THRESHOLD));
+        MPConstraint cnec2AboveThresholdRelative = linearProblem.getMinimumRelativeMarginConstraint(cnec2, LinearProblem.MarginExtension.ABOVE_THRESHOLD);
+        assertNotNull(cnec2AboveThresholdRelative);
+        assertEquals(0.5, cnec2AboveThresholdRelative.getCoefficient(linearProblem.getMinimumRelativeMarginVariable()), DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    public void rebindUpdatesRelativeMarginCoefficients() {
+        createMaxMinRelativeMarginFiller(MEGAWATT, 0.9);
+        buildLinearProblem();
+
+        FlowResult otherPreOptimFlowResult = Mockito.mock(FlowResult.class);
+        when(otherPreOptimFlowResult.getPtdfZonalSum(cnec1)).thenReturn(0.6);
+        linearProblem.reuse(network, otherPreOptimFlowResult, sensitivityResult);
+
+        MPVariable minimumRelativeMargin = linearProblem.getMinimumRelativeMarginVariable();
+        assertEquals(0.6, linearProblem.getMinimumRelativeMarginConstraint(cnec1, LinearProblem.MarginExtension.ABOVE_THRESHOLD).getCoefficient(minimumRelativeMargin), DOUBLE_TOLERANCE);
+        assertEquals(0.6, linearProblem.getMinimumRelativeMarginConstraint(cnec1, LinearProblem.MarginExtension.BELOW_THRESHOLD).getCoefficient(minimumRelativeMargin), DOUBLE_TOLERANCE);
+    }
 }
@@ -119,6 +119,14 @@ public class UnoptimizedCnecFillerTest extends AbstractFillerTest {
         linearProblem.fill(flowResult, sensitivityResult);
     }
 
+    @Test
+    public void createsIntegerVariablesOnlyForUnoptimizedCnecs() {
+        FlowResult initialFlowResult = Mockito.mock(FlowResult.class);
+        assertTrue(new UnoptimizedCnecFiller(Set.of(cnecNl, cnecFr), initialFlowResult, new UnoptimizedCnecParameters(Set.of("NL"), MAX_ABS_THRESHOLD)).createsIntegerVariables());
+        assertFalse(new UnoptimizedCnecFiller(Set.of(cnecNl, cnecFr), initialFlowResult, new UnoptimizedCnecParameters(Set.of("DE"), MAX_ABS_THRESHOLD)).createsIntegerVariables());
+        assertFalse(coreProblemFiller.createsIntegerVariables());
+    }
+
     @Test
     public void testCnecsNotToOptimizeBinaryVar() {
         buildLinearProblemWithMaxMinMargin();
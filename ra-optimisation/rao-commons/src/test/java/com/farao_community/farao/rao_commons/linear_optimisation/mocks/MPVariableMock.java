@@ -68,4 +68,8 @@ public class MPVariableMock extends MPVariable {
             this.solutionValue = Math.random() * (ub - lb) + lb;
         }
     }
+
+    public void setSolutionValue(double solutionValue) {
+        this.solutionValue = solutionValue;
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+
+package com.farao_community.farao.rao_commons.objective_function_evaluator;
+
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class CnecMarginsTest {
+    private static final double DOUBLE_TOLERANCE = 0.01;
+
+    private FlowCnec cnec1;
+    private FlowCnec cnec2;
+    private FlowCnec cnec3;
+    private FlowCnec cnec4;
+    private CnecMargins cnecMargins;
+
+    @Before
+    public void setUp() {
+        cnec1 = Mockito.mock(FlowCnec.class);
+        cnec2 = Mockito.mock(FlowCnec.class);
+        cnec3 = Mockito.mock(FlowCnec.class);
+        cnec4 = Mockito.mock(FlowCnec.class);
+        Map<FlowCnec, Double> margins = Map.of(cnec1, 50., cnec2, -20., cnec3, 50., cnec4, 10.);
+        cnecMargins = new CnecMargins(List.of(cnec1, cnec2, cnec3, cnec4), margins::get);
+    }
+
+    @Test
+    public void mostLimitingElement() {
+        assertSame(cnec2, cnecMargins.getMostLimitingElement());
+        assertEquals(-20., cnecMargins.getMinMargin(), DOUBLE_TOLERANCE);
+    }
+
+    @Test
+    public void mostLimitingElementsAreSortedByIncreasingMargin() {
+        assertEquals(List.of(cnec2), cnecMargins.getMostLimitingElements(1));
+        assertEquals(List.of(cnec2, cnec4), cnecMargins.getMostLimitingElements(2));
+        // cnecs with equal margins keep their initial order
+        assertEquals(List.of(cnec2, cnec4, cnec1), cnecMargins.getMostLimitingElements(3));
+        assertEquals(List.of(cnec2, cnec4, cnec1, cnec3), cnecMargins.getMostLimitingElements(10));
+        assertTrue(cnecMargins.getMostLimitingElements(0).isEmpty());
+    }
+
+    @Test
+    public void noCnec() {
+        CnecMargins emptyMargins = new CnecMargins(List.of(), flowCnec -> 0.);
+        assertNull(emptyMargins.getMostLimitingElement());
+        assertTrue(Double.isNaN(emptyMargins.getMinMargin()));
+        assertTrue(emptyMargins.getMostLimitingElements(5).isEmpty());
+    }
+}
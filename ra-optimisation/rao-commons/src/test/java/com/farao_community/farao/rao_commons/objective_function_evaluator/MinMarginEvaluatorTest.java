@@ -30,6 +30,7 @@ public class MinMarginEvaluatorTest {
     private FlowCnec cnec2;
     private FlowCnec cnec3;
     private FlowResult flowResult;
+    private MarginEvaluator marginEvaluator;
     private MinMarginEvaluator minMarginEvaluator;
 
     @Before
@@ -47,7 +48,7 @@ public class MinMarginEvaluatorTest {
         when(pureMnec.isMonitored()).thenReturn(true);
         when(pureMnec.isOptimized()).thenReturn(false);
 
-        MarginEvaluator marginEvaluator = Mockito.mock(MarginEvaluator.class);
+        marginEvaluator = Mockito.mock(MarginEvaluator.class);
         flowResult = Mockito.mock(FlowResult.class);
         when(marginEvaluator.getMargin(flowResult, cnec1, MEGAWATT)).thenReturn(-150.);
         when(marginEvaluator.getMargin(flowResult, cnec2, MEGAWATT)).thenReturn(200.);
@@ -94,6 +95,19 @@ public class MinMarginEvaluatorTest {
         assertEquals(250., minMarginEvaluator.computeCost(flowResult, Mockito.mock(ComputationStatus.class)), DOUBLE_TOLERANCE);
     }
 
+    @Test
+    public void marginsAreComputedOncePerFlowResult() {
+        minMarginEvaluator.computeCost(flowResult, Mockito.mock(ComputationStatus.class));
+        minMarginEvaluator.getCostlyElements(flowResult, 2);
+        minMarginEvaluator.getMostLimitingElement(flowResult);
+        Mockito.verify(marginEvaluator, Mockito.times(1)).getMargin(flowResult, cnec1, MEGAWATT);
+        Mockito.verify(marginEvaluator, Mockito.times(1)).getMargin(flowResult, cnec3, MEGAWATT);
+
+        FlowResult otherFlowResult = Mockito.mock(FlowResult.class);
+        when(marginEvaluator.getMargin(otherFlowResult, cnec1, MEGAWATT)).thenReturn(-300.);
+        assertSame(cnec1, minMarginEvaluator.getMostLimitingElement(otherFlowResult));
+    }
+
     @Test
     public void testWithPureMnecs() {
         FlowCnec mnec1 = Mockito.mock(FlowCnec.class);
@@ -103,7 +117,7 @@ public class MinMarginEvaluatorTest {
         when(mnec2.isMonitored()).thenReturn(true);
         when(mnec2.isOptimized()).thenReturn(false);
 
-        MarginEvaluator marginEvaluator = Mockito.mock(MarginEvaluator.class);
+        marginEvaluator = Mockito.mock(MarginEvaluator.class);
         flowResult = Mockito.mock(FlowResult.class);
         when(marginEvaluator.getMargin(flowResult, mnec1, MEGAWATT)).thenReturn(-150.);
         when(marginEvaluator.getMargin(flowResult, mnec2, MEGAWATT)).thenReturn(200.);
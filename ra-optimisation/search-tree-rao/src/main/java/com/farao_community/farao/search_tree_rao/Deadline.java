@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall-clock time limit of a computation, starting when the deadline is created.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public final class Deadline {
+    private static final Deadline UNLIMITED = new Deadline(0, Long.MAX_VALUE);
+
+    private final long startNanos;
+    private final long durationNanos;
+
+    private Deadline(long startNanos, long durationNanos) {
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+    }
+
+    public static Deadline unlimited() {
+        return UNLIMITED;
+    }
+
+    /**
+     * @param seconds: time limit from now, Integer.MAX_VALUE meaning no time limit.
+     */
+    public static Deadline inSeconds(int seconds) {
+        if (seconds == Integer.MAX_VALUE) {
+            return UNLIMITED;
+        }
+        return new Deadline(System.nanoTime(), TimeUnit.SECONDS.toNanos(Math.max(seconds, 0)));
+    }
+
+    public boolean isUnlimited() {
+        return durationNanos == Long.MAX_VALUE;
+    }
+
+    public long getRemainingNanos() {
+        if (isUnlimited()) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(durationNanos - (System.nanoTime() - startNanos), 0);
+    }
+
+    public boolean isReached() {
+        return getRemainingNanos() == 0;
+    }
+
+    /**
+     * Returns the deadline which will be reached first between this one and the other one.
+     */
+    public Deadline earliest(Deadline other) {
+        return other.getRemainingNanos() < getRemainingNanos() ? other : this;
+    }
+}
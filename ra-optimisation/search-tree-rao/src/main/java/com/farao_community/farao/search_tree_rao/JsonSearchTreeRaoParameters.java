@@ -44,6 +44,14 @@ public class JsonSearchTreeRaoParameters implements JsonRaoParameters.ExtensionS
         jsonGenerator.writeObjectField("max-curative-ra-per-tso", searchTreeRaoParameters.getMaxCurativeRaPerTso());
         jsonGenerator.writeBooleanField("curative-rao-optimize-operators-not-sharing-cras", searchTreeRaoParameters.getCurativeRaoOptimizeOperatorsNotSharingCras());
         jsonGenerator.writeBooleanField("with-second-preventive-optimization", searchTreeRaoParameters.getWithSecondPreventiveOptimization());
+        jsonGenerator.writeObjectField("leaf-network-mode", searchTreeRaoParameters.getLeafNetworkMode());
+        jsonGenerator.writeNumberField("rao-time-limit-in-seconds", searchTreeRaoParameters.getRaoTimeLimitInSeconds());
+        jsonGenerator.writeNumberField("perimeter-time-limit-in-seconds", searchTreeRaoParameters.getPerimeterTimeLimitInSeconds());
+        jsonGenerator.writeObjectField("search-strategy", searchTreeRaoParameters.getSearchStrategy());
+        jsonGenerator.writeNumberField("beam-width", searchTreeRaoParameters.getBeamWidth());
+        jsonGenerator.writeObjectField("network-action-pre-screening", searchTreeRaoParameters.getNetworkActionPreScreening());
+        jsonGenerator.writeNumberField("pre-screening-max-network-actions", searchTreeRaoParameters.getPreScreeningMaxNetworkActions());
+        jsonGenerator.writeNumberField("pre-screening-safety-margin", searchTreeRaoParameters.getPreScreeningSafetyMargin());
         jsonGenerator.writeEndObject();
     }
 
@@ -112,6 +120,35 @@ public class JsonSearchTreeRaoParameters implements JsonRaoParameters.ExtensionS
                 case "with-second-preventive-optimization":
                     parameters.setWithSecondPreventiveOptimization(jsonParser.getValueAsBoolean());
                     break;
+                case "leaf-network-mode":
+                    parameters.setLeafNetworkMode(getLeafNetworkModeFromString(jsonParser.nextTextValue()));
+                    break;
+                case "rao-time-limit-in-seconds":
+                    jsonParser.nextToken();
+                    parameters.setRaoTimeLimitInSeconds(jsonParser.getValueAsInt());
+                    break;
+                case "perimeter-time-limit-in-seconds":
+                    jsonParser.nextToken();
+                    parameters.setPerimeterTimeLimitInSeconds(jsonParser.getValueAsInt());
+                    break;
+                case "search-strategy":
+                    parameters.setSearchStrategy(getSearchStrategyFromString(jsonParser.nextTextValue()));
+                    break;
+                case "beam-width":
+                    jsonParser.nextToken();
+                    parameters.setBeamWidth(jsonParser.getValueAsInt());
+                    break;
+                case "network-action-pre-screening":
+                    parameters.setNetworkActionPreScreening(getNetworkActionPreScreeningFromString(jsonParser.nextTextValue()));
+                    break;
+                case "pre-screening-max-network-actions":
+                    jsonParser.nextToken();
+                    parameters.setPreScreeningMaxNetworkActions(jsonParser.getValueAsInt());
+                    break;
+                case "pre-screening-safety-margin":
+                    jsonParser.nextToken();
+                    parameters.setPreScreeningSafetyMargin(jsonParser.getValueAsDouble());
+                    break;
                 default:
                     throw new FaraoException("Unexpected field: " + jsonParser.getCurrentName());
             }
@@ -164,4 +201,28 @@ public class JsonSearchTreeRaoParameters implements JsonRaoParameters.ExtensionS
             throw new FaraoException(String.format("Unknown curative RAO stop criterion: %s", string));
         }
     }
+
+    private SearchTreeRaoParameters.LeafNetworkMode getLeafNetworkModeFromString(String string) {
+        try {
+            return SearchTreeRaoParameters.LeafNetworkMode.valueOf(string);
+        } catch (IllegalArgumentException e) {
+            throw new FaraoException(String.format("Unknown leaf network mode: %s", string));
+        }
+    }
+
+    private SearchTreeRaoParameters.SearchStrategy getSearchStrategyFromString(String string) {
+        try {
+            return SearchTreeRaoParameters.SearchStrategy.valueOf(string);
+        } catch (IllegalArgumentException e) {
+            throw new FaraoException(String.format("Unknown search strategy: %s", string));
+        }
+    }
+
+    private SearchTreeRaoParameters.NetworkActionPreScreening getNetworkActionPreScreeningFromString(String string) {
+        try {
+            return SearchTreeRaoParameters.NetworkActionPreScreening.valueOf(string);
+        } catch (IllegalArgumentException e) {
+            throw new FaraoException(String.format("Unknown network action pre-screening: %s", string));
+        }
+    }
 }
@@ -60,7 +60,7 @@ class Leaf implements OptimizationResult {
      * this leaf), can be empty for root leaf
      */
     private final Set<NetworkAction> networkActions;
-    private final Network network;
+    private Network network;
     private final RangeActionResult preOptimRangeActionResult;
 
     /**
@@ -154,7 +154,8 @@ class Leaf implements OptimizationResult {
             LinearProblem linearProblem = leafProblem.getLinearProblem(
                     network,
                     preOptimFlowResult,
-                    preOptimSensitivityResult
+                    preOptimSensitivityResult,
+                    preOptimObjectiveFunctionResult
             );
             postOptimResult = iteratingLinearOptimizer.optimize(
                     linearProblem,
@@ -164,6 +165,7 @@ class Leaf implements OptimizationResult {
                     preOptimRangeActionResult,
                     sensitivityComputer
             );
+            leafProblem.releaseLinearProblem(linearProblem);
             status = Status.OPTIMIZED;
         } else if (status.equals(Status.ERROR)) {
             LOGGER.warn("Impossible to optimize leaf: {}\n because evaluation failed", this);
@@ -172,6 +174,17 @@ class Leaf implements OptimizationResult {
         }
     }
 
+    /**
+     * Moves the leaf on another network, on which its initial range action set-points and its network actions are
+     * applied. It enables to optimize a leaf which has been evaluated on a network that has been released since then,
+     * the results of the evaluation remaining valid on the new network.
+     */
+    void moveTo(Network otherNetwork) {
+        network = otherNetwork;
+        resetPreOptimRangeActionsSetpoints();
+        networkActions.forEach(na -> na.apply(network));
+    }
+
     private void resetPreOptimRangeActionsSetpoints() {
         preOptimRangeActionResult.getRangeActions().forEach(rangeAction ->  rangeAction.apply(network, preOptimRangeActionResult.getOptimizedSetPoint(rangeAction)));
     }
@@ -11,11 +11,13 @@ import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
 import com.farao_community.farao.rao_api.parameters.LinearOptimizerParameters;
 import com.farao_community.farao.rao_commons.result_api.FlowResult;
+import com.farao_community.farao.rao_commons.result_api.ObjectiveFunctionResult;
 import com.farao_community.farao.rao_commons.result_api.RangeActionResult;
 import com.farao_community.farao.rao_commons.result_api.SensitivityResult;
 import com.farao_community.farao.rao_commons.linear_optimisation.LinearProblem;
 import com.powsybl.iidm.network.Network;
 
+import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
@@ -25,25 +27,41 @@ import java.util.Set;
 public class LeafProblem extends SearchTreeProblem {
     private final Set<RangeAction> rangeActions;
 
-    public LeafProblem(FlowResult initialFlowResult,
-                       FlowResult prePerimeterFlowResult,
-                       RangeActionResult prePerimeterSetPoints,
-                       Set<FlowCnec> flowCnecs,
-                       Set<FlowCnec> loopFlowCnecs,
-                       LinearOptimizerParameters linearOptimizerParameters,
-                       Set<RangeAction> rangeActions) {
-        super(initialFlowResult, prePerimeterFlowResult, prePerimeterSetPoints, flowCnecs, loopFlowCnecs, linearOptimizerParameters);
+    LeafProblem(FlowResult initialFlowResult,
+                FlowResult prePerimeterFlowResult,
+                RangeActionResult prePerimeterSetPoints,
+                Set<FlowCnec> flowCnecs,
+                Set<FlowCnec> loopFlowCnecs,
+                LinearOptimizerParameters linearOptimizerParameters,
+                LinearProblemPool linearProblemPool,
+                Set<RangeAction> rangeActions) {
+        super(initialFlowResult, prePerimeterFlowResult, prePerimeterSetPoints, flowCnecs, loopFlowCnecs, linearOptimizerParameters, linearProblemPool);
         this.rangeActions = rangeActions;
     }
 
-    public LinearProblem getLinearProblem(Network network, FlowResult preOptimFlowResult, SensitivityResult preOptimSensitivityResult) {
+    /**
+     * Gives the linear problem of the leaf. The problem of a leaf already optimized with the same range actions
+     * is reused if one is available in the pool of the search tree, otherwise a new problem is built.
+     */
+    public LinearProblem getLinearProblem(Network network,
+                                          FlowResult preOptimFlowResult,
+                                          SensitivityResult preOptimSensitivityResult,
+                                          ObjectiveFunctionResult preOptimObjectiveFunctionResult) {
+        LinearProblem pooledLinearProblem = linearProblemPool.take(rangeActions);
+        if (pooledLinearProblem != null) {
+            SearchTree.LOGGER.debug("Reusing the linear problem of a previously optimized leaf");
+            pooledLinearProblem.reuse(network, preOptimFlowResult, preOptimSensitivityResult);
+            return pooledLinearProblem;
+        }
+        Set<FlowCnec> initiallyConstrainedCnecs = getInitiallyConstrainedCnecs(preOptimObjectiveFunctionResult);
         LinearProblem.LinearProblemBuilder linearProblemBuilder =  LinearProblem.create()
+                .withSolver(linearOptimizerParameters.getSolver())
                 .withProblemFiller(createCoreProblemFiller(network, flowCnecs, rangeActions));
 
         if (linearOptimizerParameters.getObjectiveFunction().relativePositiveMargins()) {
-            linearProblemBuilder.withProblemFiller(createMaxMinRelativeMarginFiller(flowCnecs, rangeActions, preOptimFlowResult));
+            linearProblemBuilder.withProblemFiller(createMaxMinRelativeMarginFiller(flowCnecs, initiallyConstrainedCnecs, rangeActions, preOptimFlowResult));
         } else {
-            linearProblemBuilder.withProblemFiller(createMaxMinMarginFiller(flowCnecs, rangeActions));
+            linearProblemBuilder.withProblemFiller(createMaxMinMarginFiller(flowCnecs, initiallyConstrainedCnecs, rangeActions));
         }
 
         if (linearOptimizerParameters.isRaoWithMnecLimitation()) {
@@ -60,4 +78,23 @@ public class LeafProblem extends SearchTreeProblem {
         linearProblemBuilder.withSensitivityResult(preOptimSensitivityResult);
         return linearProblemBuilder.build();
     }
+
+    /**
+     * Gives back the linear problem of the leaf once its optimization is over, so that other leaves can reuse it.
+     */
+    public void releaseLinearProblem(LinearProblem linearProblem) {
+        linearProblemPool.release(rangeActions, linearProblem);
+    }
+
+    /**
+     * CNECs whose minimum margin constraints are created upfront: the most limiting ones if the constraints are
+     * generated lazily, all of them otherwise. The constraints of the CNECs of operators not to optimize are
+     * relaxed by the UnoptimizedCnecFiller, so they cannot be generated lazily.
+     */
+    Set<FlowCnec> getInitiallyConstrainedCnecs(ObjectiveFunctionResult preOptimObjectiveFunctionResult) {
+        if (linearOptimizerParameters.getLazyMinMarginCnecs() <= 0 || !Objects.isNull(linearOptimizerParameters.getUnoptimizedCnecParameters())) {
+            return flowCnecs;
+        }
+        return new HashSet<>(preOptimObjectiveFunctionResult.getMostLimitingElements(linearOptimizerParameters.getLazyMinMarginCnecs()));
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.rao_commons.linear_optimisation.LinearProblem;
+import com.farao_community.farao.rao_commons.result_api.LinearProblemStatus;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Pool of the linear problems built for the leaves of a search tree. The variables and constraints of the
+ * linear problem of a leaf only depend on the range actions it optimizes, so once a leaf has been optimized
+ * its problem can be taken by another leaf optimizing the same range actions, which then only updates its
+ * coefficients and bounds.
+ *
+ * The pool is shared by the leaves optimized in parallel: each linear problem is used by one leaf at a time.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+class LinearProblemPool {
+    private final Map<Set<RangeAction>, Queue<LinearProblem>> linearProblems = new ConcurrentHashMap<>();
+
+    /**
+     * Takes a linear problem built for the range actions out of the pool.
+     *
+     * @return the linear problem, or null if none is available
+     */
+    LinearProblem take(Set<RangeAction> rangeActions) {
+        Queue<LinearProblem> available = linearProblems.get(rangeActions);
+        return available == null ? null : available.poll();
+    }
+
+    /**
+     * Gives back a linear problem built for the range actions, once its optimization is over. Problems whose
+     * last solve failed are dropped, as the state of their solver cannot be trusted.
+     */
+    void release(Set<RangeAction> rangeActions, LinearProblem linearProblem) {
+        if (linearProblem.getStatus() == LinearProblemStatus.OPTIMAL) {
+            linearProblems.computeIfAbsent(Set.copyOf(rangeActions), k -> new ConcurrentLinkedQueue<>()).add(linearProblem);
+        }
+    }
+}
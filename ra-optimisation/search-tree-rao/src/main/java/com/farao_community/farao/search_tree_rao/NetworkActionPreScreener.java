@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.cnec.Side;
+import com.farao_community.farao.data.crac_api.network_action.*;
+import com.farao_community.farao.sensitivity_analysis.LinearImpactResult;
+import com.powsybl.iidm.network.Branch;
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.Network;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Pre-screening of the network actions bloomed from a leaf, before their full evaluation.
+ * <p>
+ * The impact of the network actions on the most limiting CNECs of the parent leaf is estimated linearly, with a
+ * single DC sensitivity analysis on the network of the parent leaf: the flows after the opening of branches are
+ * given by the LODFs of the network, and the impact of generator setpoints by the PTDFs. The estimated flow
+ * variations are added to the flows of the parent leaf to estimate the margins after each network action. Network
+ * actions are ranked according to the smallest of these margins, and only the most promising ones are fully evaluated.
+ * <p>
+ * The impact of the other network actions (closing of branches, PST or load setpoints...) cannot be estimated this
+ * way. The CNECs of the states with curative remedial actions already applied are not monitored, as the DC
+ * sensitivity analysis does not take these remedial actions into account.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+class NetworkActionPreScreener {
+    static final int NUMBER_OF_MONITORED_CNECS = 10;
+
+    private final SearchTreeComputer searchTreeComputer;
+    private final int maxNetworkActions;
+    private final double safetyMargin;
+
+    NetworkActionPreScreener(SearchTreeComputer searchTreeComputer, int maxNetworkActions, double safetyMargin) {
+        this.searchTreeComputer = searchTreeComputer;
+        this.maxNetworkActions = maxNetworkActions;
+        this.safetyMargin = safetyMargin;
+    }
+
+    int getMaxNetworkActions() {
+        return maxNetworkActions;
+    }
+
+    Set<FlowCnec> getMonitoredCnecs(Leaf parentLeaf) {
+        Set<State> statesWithAppliedRemedialActions = searchTreeComputer.getStatesWithAppliedRemedialActions();
+        return parentLeaf.getMostLimitingElements(NUMBER_OF_MONITORED_CNECS).stream()
+            .filter(cnec -> !statesWithAppliedRemedialActions.contains(cnec.getState()))
+            .collect(Collectors.toSet());
+    }
+
+    /**
+     * Estimates the smallest margin, in MW, on the monitored CNECs once each network action is applied on the parent
+     * leaf. The network must be in the state of the parent leaf.
+     *
+     * @return the estimated margin of each network action, NaN if it cannot be estimated
+     */
+    Map<NetworkAction, Double> estimateMinMargins(Network network, Leaf parentLeaf, Set<NetworkAction> networkActions) {
+        Set<FlowCnec> monitoredCnecs = getMonitoredCnecs(parentLeaf);
+        Map<String, Set<String>> outages = new HashMap<>();
+        Map<NetworkAction, Map<String, Double>> injectionVariations = new HashMap<>();
+        networkActions.forEach(networkAction -> {
+            getOpenedBranches(network, networkAction).ifPresent(branches -> outages.put(networkAction.getId(), branches));
+            getGeneratorVariations(network, networkAction).ifPresent(variations -> injectionVariations.put(networkAction, variations));
+        });
+
+        Map<NetworkAction, Double> estimatedMargins = new HashMap<>();
+        networkActions.forEach(networkAction -> estimatedMargins.put(networkAction, Double.NaN));
+        if (monitoredCnecs.isEmpty() || outages.isEmpty() && injectionVariations.isEmpty()) {
+            return estimatedMargins;
+        }
+        Set<String> generators = injectionVariations.values().stream().flatMap(variations -> variations.keySet().stream()).collect(Collectors.toSet());
+        LinearImpactResult linearImpacts = searchTreeComputer.computeLinearImpacts(network, monitoredCnecs, outages, generators);
+        networkActions.forEach(networkAction -> {
+            Map<FlowCnec, Double> flowVariations = new HashMap<>();
+            if (outages.containsKey(networkAction.getId())) {
+                monitoredCnecs.forEach(cnec -> flowVariations.put(cnec, linearImpacts.getFlowAfterOutage(cnec, networkAction.getId()) - linearImpacts.getReferenceFlow(cnec)));
+            } else if (injectionVariations.containsKey(networkAction)) {
+                monitoredCnecs.forEach(cnec -> flowVariations.put(cnec, injectionVariations.get(networkAction).entrySet().stream()
+                    .mapToDouble(variation -> linearImpacts.getInjectionSensitivity(cnec, variation.getKey()) * variation.getValue())
+                    .sum()));
+            }
+            estimatedMargins.put(networkAction, estimateMinMargin(parentLeaf, flowVariations));
+        });
+        return estimatedMargins;
+    }
+
+    /**
+     * Estimates the smallest margin, in MW, on the CNECs once their flows in the parent leaf vary as given.
+     *
+     * @return the estimated margin, or NaN if one of the flow variations is unknown
+     */
+    double estimateMinMargin(Leaf parentLeaf, Map<FlowCnec, Double> flowVariations) {
+        if (flowVariations.isEmpty() || flowVariations.values().stream().anyMatch(variation -> Double.isNaN(variation))) {
+            return Double.NaN;
+        }
+        return flowVariations.entrySet().stream()
+            .mapToDouble(entry -> entry.getKey().computeMargin(parentLeaf.getFlow(entry.getKey(), Unit.MEGAWATT) + entry.getValue(), Side.LEFT, Unit.MEGAWATT))
+            .min()
+            .orElse(Double.NaN);
+    }
+
+    /**
+     * Returns the branches disconnected by the network action, if it only opens branches which are connected.
+     */
+    static Optional<Set<String>> getOpenedBranches(Network network, NetworkAction networkAction) {
+        Set<String> openedBranches = new HashSet<>();
+        for (ElementaryAction elementaryAction : networkAction.getElementaryActions()) {
+            if (!(elementaryAction instanceof TopologicalAction) || ((TopologicalAction) elementaryAction).getActionType() != ActionType.OPEN) {
+                return Optional.empty();
+            }
+            Branch<?> branch = network.getBranch(elementaryAction.getNetworkElement().getId());
+            if (branch == null || !branch.getTerminal1().isConnected() || !branch.getTerminal2().isConnected()) {
+                return Optional.empty();
+            }
+            openedBranches.add(branch.getId());
+        }
+        return openedBranches.isEmpty() ? Optional.empty() : Optional.of(openedBranches);
+    }
+
+    /**
+     * Returns the variation of the injection of each generator, in MW, if the network action only changes the
+     * setpoints of generators.
+     */
+    static Optional<Map<String, Double>> getGeneratorVariations(Network network, NetworkAction networkAction) {
+        Map<String, Double> variations = new HashMap<>();
+        for (ElementaryAction elementaryAction : networkAction.getElementaryActions()) {
+            Generator generator = network.getGenerator(elementaryAction.getNetworkElement().getId());
+            if (!(elementaryAction instanceof InjectionSetpoint) || generator == null) {
+                return Optional.empty();
+            }
+            variations.put(generator.getId(), ((InjectionSetpoint) elementaryAction).getSetpoint() - generator.getTargetP());
+        }
+        return variations.isEmpty() ? Optional.empty() : Optional.of(variations);
+    }
+
+    /**
+     * Selects the network actions with the best estimated margins. Besides the maxNetworkActions best ones, the
+     * network actions estimated within the safety margin of the last selected one are kept, as well as the ones
+     * which could not be estimated.
+     */
+    Set<NetworkAction> selectMostPromising(Map<NetworkAction, Double> estimatedMargins) {
+        List<NetworkAction> ranking = rank(estimatedMargins);
+        if (ranking.size() <= maxNetworkActions) {
+            return new HashSet<>(estimatedMargins.keySet());
+        }
+        double lastSelectedMargin = estimatedMargins.get(ranking.get(maxNetworkActions - 1));
+        Set<NetworkAction> selectedNetworkActions = ranking.stream()
+            .filter(na -> estimatedMargins.get(na) >= lastSelectedMargin - safetyMargin)
+            .collect(Collectors.toSet());
+        estimatedMargins.forEach((na, margin) -> {
+            if (Double.isNaN(margin)) {
+                selectedNetworkActions.add(na);
+            }
+        });
+        return selectedNetworkActions;
+    }
+
+    /**
+     * Compares the ranking of the network actions estimated by the pre-screening with the actual ranking of the
+     * leaves, and logs the Spearman correlation between both rankings as well as the number of actual best network
+     * actions which would have been selected.
+     */
+    void logRankingComparison(Map<NetworkAction, Double> estimatedMargins, Map<NetworkAction, Leaf> leaves) {
+        Map<NetworkAction, Double> comparedMargins = estimatedMargins.entrySet().stream()
+            .filter(entry -> leaves.containsKey(entry.getKey()))
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        List<NetworkAction> estimatedRanking = rank(comparedMargins);
+        List<NetworkAction> actualRanking = comparedMargins.keySet().stream()
+            .sorted(Comparator.comparingDouble(na -> leaves.get(na).getCost()))
+            .collect(Collectors.toList());
+        int n = estimatedRanking.size();
+        if (n < 2) {
+            return;
+        }
+        double sumOfSquaredRankDifferences = 0;
+        for (int i = 0; i < n; i++) {
+            int rankDifference = i - actualRanking.indexOf(estimatedRanking.get(i));
+            sumOfSquaredRankDifferences += rankDifference * rankDifference;
+        }
+        double spearmanCorrelation = 1 - 6 * sumOfSquaredRankDifferences / (n * ((double) n * n - 1));
+        int comparedCount = Math.min(maxNetworkActions, n);
+        long foundBestNetworkActions = actualRanking.subList(0, comparedCount).stream()
+            .filter(estimatedRanking.subList(0, comparedCount)::contains)
+            .count();
+        SearchTree.LOGGER.info("Pre-screening ranking of {} network actions: Spearman correlation {}, {} of the {} best network actions would have been selected",
+            n, String.format("%.2f", spearmanCorrelation), foundBestNetworkActions, comparedCount);
+    }
+
+    /**
+     * Ranks the network actions which could be estimated, from the best estimated margin to the worst one.
+     */
+    private static List<NetworkAction> rank(Map<NetworkAction, Double> estimatedMargins) {
+        return estimatedMargins.entrySet().stream()
+            .filter(entry -> !Double.isNaN(entry.getValue()))
+            .sorted(Map.Entry.<NetworkAction, Double>comparingByValue().reversed())
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+}
@@ -32,6 +32,7 @@ class RangeActionFilter {
     private final TreeParameters treeParameters;
     private final Map<RangeAction, Double> prePerimeterSetPoints;
     private final Set<RangeAction> leastPriorityRangeActions;
+    private FlowCnec mostLimitingElement;
 
     public RangeActionFilter(Leaf leaf, Set<RangeAction> availableRangeActions, State optimizedState, TreeParameters treeParameters, Map<RangeAction, Double> prePerimeterSetPoints, boolean deprioritizeIgnoredRangeActions) {
         this.leaf = leaf;
@@ -102,7 +103,7 @@ class RangeActionFilter {
         Set<String> tsosToKeep = new HashSet<>(activatedTsos);
 
         List<RangeAction> rangeActionsSortedBySensitivity = rangeActionsToOptimize.stream()
-                .sorted((ra1, ra2) -> -compareAbsoluteSensitivities(ra1, ra2, leaf.getMostLimitingElements(1).get(0), leaf))
+                .sorted((ra1, ra2) -> -compareAbsoluteSensitivities(ra1, ra2, getMostLimitingElement(), leaf))
                 .collect(Collectors.toList());
         for (RangeAction rangeAction : rangeActionsSortedBySensitivity) {
             if (tsosToKeep.size() >= maxTso) {
@@ -146,13 +147,24 @@ class RangeActionFilter {
         } else {
             rangeActionsToRemove.removeAll(appliedRangeActions);
             List<RangeAction> rangeActionsSortedBySensitivity = rangeActionsToRemove.stream()
-                .sorted((ra1, ra2) -> comparePrioritiesAndSensitivities(ra1, ra2, leaf.getMostLimitingElements(1).get(0), leaf))
+                .sorted((ra1, ra2) -> comparePrioritiesAndSensitivities(ra1, ra2, getMostLimitingElement(), leaf))
                 .collect(Collectors.toList());
             rangeActionsToRemove.removeAll(rangeActionsSortedBySensitivity.subList(0, updatedNumberOfRangeActionsToKeep));
             return rangeActionsToRemove;
         }
     }
 
+    /**
+     * The most limiting element of the leaf, which the range actions are sorted against. It is only fetched
+     * once, rather than in each comparison.
+     */
+    private FlowCnec getMostLimitingElement() {
+        if (mostLimitingElement == null) {
+            mostLimitingElement = leaf.getMostLimitingElements(1).get(0);
+        }
+        return mostLimitingElement;
+    }
+
     /**
      * First compares priority then sensi
      * If a range action has more priority (depending on the contents of leastPriorityRangeActions) than the other, then
@@ -22,16 +22,19 @@ import com.farao_community.farao.rao_commons.result_api.FlowResult;
 import com.farao_community.farao.rao_commons.result_api.OptimizationResult;
 import com.farao_community.farao.rao_commons.result_api.PrePerimeterResult;
 import com.farao_community.farao.util.FaraoNetworkPool;
+import com.farao_community.farao.util.FaraoVariantsPool;
+import com.farao_community.farao.util.NetworkPool;
 import com.powsybl.iidm.network.Network;
 import org.apache.commons.lang3.NotImplementedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -45,6 +48,14 @@ import java.util.stream.Collectors;
  * minimum of the objective function.
  * <p>
  * The leaves of a same depth can be evaluated simultaneously.
+ * <p>
+ * The exploration strategy is set in the parameters: the tree can be explored depth by depth, expanding the best
+ * leaf (DEPTH_BY_DEPTH) or the beam-width best leaves (BEAM) of each depth, or best leaf first (BEST_FIRST), the
+ * evaluated leaves waiting for their optimization in a bounded priority queue.
+ * <p>
+ * The search can be stopped before its end, either because a leaf reaches the target objective value, or because
+ * the time limit of the perimeter (or of the whole RAO) is reached. In-flight leaves are then cancelled at their
+ * next checkpoint and the best leaf found so far is returned.
  *
  * @author Joris Mancini {@literal <joris.mancini at rte-france.com>}
  * @author Baptiste Seguinot {@literal <baptiste.seguinot at rte-france.com>}
@@ -67,6 +78,13 @@ public class SearchTree {
 
     private Map<RangeAction, Double> prePerimeterRangeActionSetPoints;
 
+    private NetworkPool networkPool;
+    private TranspositionTable transpositionTable;
+    private NetworkActionPreScreener preScreener;
+    private Deadline deadline;
+    private final AtomicBoolean cancelled = new AtomicBoolean(false);
+    private final AtomicBoolean truncated = new AtomicBoolean(false);
+
     private Leaf rootLeaf;
     private Leaf optimalLeaf;
     private Leaf previousDepthOptimalLeaf;
@@ -118,6 +136,10 @@ public class SearchTree {
         setTreeParameters(treeParameters);
         this.linearOptimizerParameters = linearOptimizerParameters;
         initLeaves();
+        this.transpositionTable = new TranspositionTable();
+        this.preScreener = makePreScreener();
+        Deadline raoDeadline = Objects.isNull(searchTreeInput.getRaoDeadline()) ? Deadline.unlimited() : searchTreeInput.getRaoDeadline();
+        this.deadline = Deadline.inSeconds(treeParameters.getTimeLimitInSeconds()).earliest(raoDeadline);
 
         this.prePerimeterRangeActionSetPoints = new HashMap<>();
         rootLeaf.getRangeActions().stream().forEach(rangeAction -> prePerimeterRangeActionSetPoints.put(rangeAction, prePerimeterOutput.getOptimizedSetPoint(rangeAction)));
@@ -125,6 +147,7 @@ public class SearchTree {
         LOGGER.info("Evaluate root leaf");
         rootLeaf.evaluate(objectiveFunction, getSensitivityComputerForEvaluationBasedOn(prePerimeterOutput, availableRangeActions));
         LOGGER.info("{}", rootLeaf);
+        transpositionTable.store(rootLeaf);
         if (rootLeaf.getStatus().equals(Leaf.Status.ERROR)) {
             //TODO : improve error messages depending on leaf error (infeasible optimisation, time-out, ...)
             return CompletableFuture.completedFuture(rootLeaf);
@@ -137,6 +160,10 @@ public class SearchTree {
                 linearOptimizerParameters.hasRelativeMargins(), NUMBER_LOGGED_ELEMENTS_DURING_TREE);
         }
 
+        if (isCancelled()) {
+            return CompletableFuture.completedFuture(rootLeaf);
+        }
+
         LOGGER.info("Linear optimization on root leaf");
         optimizeLeaf(rootLeaf, prePerimeterOutput);
         LOGGER.info("{}", rootLeaf);
@@ -149,6 +176,7 @@ public class SearchTree {
         }
 
         iterateOnTree();
+        SearchTreeRaoLogger.logTranspositionTableStatistics(transpositionTable);
 
         LOGGER.info("Search-tree RAO completed with status {}", optimalLeaf.getSensitivityStatus());
         LOGGER.info("Best leaf - {}", optimalLeaf);
@@ -159,22 +187,47 @@ public class SearchTree {
     }
 
     private void iterateOnTree() {
+        try {
+            iterateOnTreeDepths();
+        } finally {
+            if (networkPool != null) {
+                networkPool.close();
+                networkPool = null;
+            }
+        }
+    }
+
+    private void iterateOnTreeDepths() {
+        if (treeParameters.getSearchStrategy() == SearchTreeRaoParameters.SearchStrategy.BEST_FIRST) {
+            iterateBestFirst();
+        } else {
+            iterateDepthByDepth();
+        }
+    }
+
+    /**
+     * Explores the tree depth by depth. At each depth, the children of the leaves of the beam are evaluated and
+     * optimized, and the best of them which improve enough their parent leaf make the beam of the next depth.
+     * With the DEPTH_BY_DEPTH strategy, the beam only contains the best leaf found so far.
+     */
+    private void iterateDepthByDepth() {
+        int beamWidth = treeParameters.getSearchStrategy() == SearchTreeRaoParameters.SearchStrategy.BEAM ? getBeamWidth() : 1;
+        List<Leaf> beam = Collections.singletonList(optimalLeaf);
         int depth = 0;
-        boolean hasImproved = true;
-        while (depth < treeParameters.getMaximumSearchDepth() && hasImproved && !stopCriterionReached(optimalLeaf)) {
+        while (depth < treeParameters.getMaximumSearchDepth() && !beam.isEmpty() && !stopCriterionReached(optimalLeaf) && !isCancelled()) {
             LOGGER.info("Research depth: {} - [start]", depth + 1);
             previousDepthOptimalLeaf = optimalLeaf;
-            updateOptimalLeafWithNextDepthBestLeaf();
-            hasImproved = previousDepthOptimalLeaf != optimalLeaf; // It means this depth evaluation has improved the global cost
-            if (hasImproved) {
+            beam = selectBestLeaves(computeChildLeaves(beam, true), beamWidth);
+            if (previousDepthOptimalLeaf != optimalLeaf) { // It means this depth evaluation has improved the global cost
                 LOGGER.info("Research depth: {} - [end]", depth + 1);
                 LOGGER.info("Best leaf so far - {}", optimalLeaf);
                 SearchTreeRaoLogger.logRangeActions(optimalLeaf, availableRangeActions, "Best leaf so far");
                 SearchTreeRaoLogger.logMostLimitingElementsResults(optimalLeaf, linearOptimizerParameters.getUnit(),
                     linearOptimizerParameters.hasRelativeMargins(), NUMBER_LOGGED_ELEMENTS_DURING_TREE);
-
-            } else {
+            } else if (beam.isEmpty()) {
                 LOGGER.info("End of search tree : no network action of depth {} improve the objective function", depth + 1);
+            } else {
+                LOGGER.info("Research depth: {} - [end], best leaf has not changed but {} leaves are kept in the beam", depth + 1, beam.size());
             }
             depth += 1;
             if (depth >= treeParameters.getMaximumSearchDepth()) {
@@ -184,76 +237,376 @@ public class SearchTree {
     }
 
     /**
-     * Evaluate all the leaves. We use FaraoNetworkPool to parallelize the computation
+     * Explores the tree best leaf first. The children of the expanded leaves are only evaluated, and wait for their
+     * optimization in a priority queue ordered by cost, which keeps at most beam-width leaves. At each iteration,
+     * the best leaves of the queue are optimized in parallel, and expanded if they improve enough their parent leaf.
      */
-    private void updateOptimalLeafWithNextDepthBestLeaf() {
-        // Recompute the list of available network actions with last margin results
-        Set<NetworkAction> availableActionsOnNewMargins = availableNetworkActions.stream().filter(na -> isRemedialActionAvailable(na, optimizedState, optimalLeaf)).collect(Collectors.toSet());
-        // Bloom
-        final Set<NetworkAction> networkActions = bloomer.bloom(optimalLeaf, availableActionsOnNewMargins);
-        if (networkActions.isEmpty()) {
+    private void iterateBestFirst() {
+        int queueCapacity = getBeamWidth();
+        PriorityQueue<Leaf> leavesToOptimize = new PriorityQueue<>(Comparator.comparingDouble(Leaf::getCost));
+        Map<Leaf, Leaf> parentLeaves = new HashMap<>();
+        List<Leaf> leavesToExpand = canBeExpanded(optimalLeaf) ? Collections.singletonList(optimalLeaf) : Collections.emptyList();
+        int iteration = 0;
+        while (!stopCriterionReached(optimalLeaf) && !isCancelled()) {
+            if (!leavesToExpand.isEmpty()) {
+                Map<Leaf, Leaf> childLeaves = computeChildLeaves(leavesToExpand, false);
+                parentLeaves.putAll(childLeaves);
+                leavesToOptimize.addAll(childLeaves.keySet());
+                keepBestLeaves(leavesToOptimize, queueCapacity);
+            }
+            if (leavesToOptimize.isEmpty()) {
+                LOGGER.info("End of search tree : no more leaf to optimize");
+                break;
+            }
+            iteration += 1;
+            LOGGER.info("Research iteration: {} - [start]", iteration);
+            previousDepthOptimalLeaf = optimalLeaf;
+            List<Leaf> bestLeaves = new ArrayList<>();
+            while (!leavesToOptimize.isEmpty() && bestLeaves.size() < Math.max(treeParameters.getLeavesInParallel(), 1)) {
+                bestLeaves.add(leavesToOptimize.poll());
+            }
+            optimizeLeaves(bestLeaves);
+            leavesToExpand = bestLeaves.stream()
+                .filter(leaf -> leaf.getStatus().equals(Leaf.Status.OPTIMIZED))
+                .filter(leaf -> improvedEnough(leaf, parentLeaves.get(leaf)))
+                .filter(this::canBeExpanded)
+                .collect(Collectors.toList());
+            if (previousDepthOptimalLeaf != optimalLeaf) {
+                LOGGER.info("Research iteration: {} - [end]", iteration);
+                LOGGER.info("Best leaf so far - {}", optimalLeaf);
+                SearchTreeRaoLogger.logRangeActions(optimalLeaf, availableRangeActions, "Best leaf so far");
+                SearchTreeRaoLogger.logMostLimitingElementsResults(optimalLeaf, linearOptimizerParameters.getUnit(),
+                    linearOptimizerParameters.hasRelativeMargins(), NUMBER_LOGGED_ELEMENTS_DURING_TREE);
+            } else {
+                LOGGER.info("Research iteration: {} - [end], best leaf has not changed", iteration);
+            }
+        }
+    }
+
+    private NetworkActionPreScreener makePreScreener() {
+        if (Objects.isNull(treeParameters.getNetworkActionPreScreening())
+            || treeParameters.getNetworkActionPreScreening() == SearchTreeRaoParameters.NetworkActionPreScreening.DISABLED) {
+            return null;
+        }
+        return new NetworkActionPreScreener(searchTreeComputer, treeParameters.getPreScreeningMaxNetworkActions(), treeParameters.getPreScreeningSafetyMargin());
+    }
+
+    private boolean isRankingLogged() {
+        return treeParameters.getNetworkActionPreScreening() == SearchTreeRaoParameters.NetworkActionPreScreening.LOG_RANKING;
+    }
+
+    private int getBeamWidth() {
+        return Math.max(treeParameters.getBeamWidth(), 1);
+    }
+
+    private boolean canBeExpanded(Leaf leaf) {
+        return leaf.getActivatedNetworkActions().size() < treeParameters.getMaximumSearchDepth();
+    }
+
+    /**
+     * Selects, among the child leaves which improve enough their parent leaf, the ones with the lowest cost.
+     */
+    private List<Leaf> selectBestLeaves(Map<Leaf, Leaf> childLeaves, int leavesCount) {
+        return childLeaves.entrySet().stream()
+            .filter(childAndParent -> improvedEnough(childAndParent.getKey(), childAndParent.getValue()))
+            .map(Map.Entry::getKey)
+            .sorted(Comparator.comparingDouble(Leaf::getCost))
+            .limit(leavesCount)
+            .collect(Collectors.toList());
+    }
+
+    private static void keepBestLeaves(PriorityQueue<Leaf> leaves, int leavesCount) {
+        if (leaves.size() > leavesCount) {
+            LOGGER.debug("{} evaluated leaves are dropped", leaves.size() - leavesCount);
+            List<Leaf> bestLeaves = new ArrayList<>();
+            while (bestLeaves.size() < leavesCount) {
+                bestLeaves.add(leaves.poll());
+            }
+            leaves.clear();
+            leaves.addAll(bestLeaves);
+        }
+    }
+
+    /**
+     * Computes the children of some leaves, each child combining the network actions of its parent leaf with one of
+     * the network actions bloomed from it. The children are evaluated in parallel, and optimized if required.
+     *
+     * @return the child leaves which have been successfully computed, mapped to their parent leaf
+     */
+    private Map<Leaf, Leaf> computeChildLeaves(List<Leaf> parentLeaves, boolean optimize) {
+        Map<Leaf, Leaf> childLeaves = new ConcurrentHashMap<>();
+        Map<Leaf, Map<NetworkAction, Double>> estimatedMargins = new HashMap<>();
+        List<LeafComputation> computations = new ArrayList<>();
+        parentLeaves.forEach(parentLeaf -> bloom(parentLeaf, estimatedMargins).forEach(networkAction ->
+            computations.add(new LeafComputation(getCombination(parentLeaf, networkAction), networkClone -> {
+                // Apply range actions that has been changed by the parent leaf on the network to start its children
+                // from the parent leaf starting point
+                applyParentLeafRangeActions(parentLeaf, networkClone);
+                Leaf leaf;
+                if (optimize) {
+                    leaf = optimizeNextLeafAndUpdate(networkAction, parentLeaf, networkClone);
+                } else {
+                    leaf = evaluateNextLeaf(networkAction, parentLeaf, networkClone);
+                    transpositionTable.store(leaf);
+                }
+                if (!leaf.getStatus().equals(Leaf.Status.ERROR)) {
+                    childLeaves.put(leaf, parentLeaf);
+                }
+            }))));
+        if (computations.isEmpty()) {
             LOGGER.info("No more network action available");
-            return;
         } else {
-            LOGGER.info("Leaves to evaluate: {}", networkActions.size());
+            LOGGER.info("Leaves to evaluate: {}", computations.size());
+            computeOnNetworkPool(computations);
+        }
+        if (isRankingLogged()) {
+            estimatedMargins.forEach((parentLeaf, margins) -> preScreener.logRankingComparison(margins, getChildLeavesPerNetworkAction(parentLeaf, childLeaves)));
+        }
+        return childLeaves;
+    }
+
+    private static Map<NetworkAction, Leaf> getChildLeavesPerNetworkAction(Leaf parentLeaf, Map<Leaf, Leaf> childLeaves) {
+        Map<NetworkAction, Leaf> childLeavesPerNetworkAction = new HashMap<>();
+        childLeaves.forEach((childLeaf, parent) -> {
+            if (parent == parentLeaf) {
+                childLeaf.getActivatedNetworkActions().stream()
+                    .filter(na -> !parentLeaf.getActivatedNetworkActions().contains(na))
+                    .forEach(na -> childLeavesPerNetworkAction.put(na, childLeaf));
+            }
+        });
+        return childLeavesPerNetworkAction;
+    }
+
+    /**
+     * Optimizes in parallel some leaves which have already been evaluated, on networks borrowed from the pool.
+     */
+    private void optimizeLeaves(List<Leaf> leaves) {
+        List<LeafComputation> computations = new ArrayList<>();
+        leaves.forEach(leaf -> computations.add(new LeafComputation(leaf.getActivatedNetworkActions(), networkClone -> {
+            leaf.moveTo(networkClone);
+            if (!stopCriterionReached(leaf) && !isCancelled()) {
+                optimizeLeaf(leaf, leaf.getPreOptimBranchResult());
+                LOGGER.info("{}", leaf);
+            }
+            updateOptimalLeaf(leaf);
+        })));
+        computeOnNetworkPool(computations);
+    }
+
+    @FunctionalInterface
+    private interface NetworkComputation {
+        void compute(Network network) throws InterruptedException;
+    }
+
+    /**
+     * Computation of the leaf with the given network actions, on a network borrowed from the NetworkPool.
+     */
+    private static final class LeafComputation {
+        private final Set<NetworkAction> networkActions;
+        private final NetworkComputation computation;
+
+        private LeafComputation(Set<NetworkAction> networkActions, NetworkComputation computation) {
+            this.networkActions = networkActions;
+            this.computation = computation;
+        }
+
+        private String getName() {
+            return networkActions.stream().map(NetworkAction::getId).collect(Collectors.joining(", "));
         }
-        AtomicInteger remainingLeaves = new AtomicInteger(networkActions.size());
-        // Apply range actions that has been changed by the previous leaf on the network to start next depth leaves
-        // from previous optimal leaf starting point
-        // TODO: we can wonder if it's better to do this here or at creation of each leaves or at each evaluation/optimization
-        previousDepthOptimalLeaf.getRangeActions()
-            .forEach(ra -> ra.apply(network, previousDepthOptimalLeaf.getOptimizedSetPoint(ra)));
-        int leavesInParallel = Math.min(networkActions.size(), treeParameters.getLeavesInParallel());
+    }
+
+    /**
+     * Runs leaf computations in parallel. We use a NetworkPool to parallelize them. The pool is created at the first
+     * call, and its network copies or variants are reused for the following ones.
+     */
+    private void computeOnNetworkPool(List<LeafComputation> computations) {
+        AtomicInteger remainingLeaves = new AtomicInteger(computations.size());
+        int leavesInParallel = Math.min(computations.size(), treeParameters.getLeavesInParallel());
         LOGGER.debug("Evaluating {} leaves in parallel", leavesInParallel);
-        try (FaraoNetworkPool networkPool = makeFaraoNetworkPool(network, leavesInParallel)) {
-            networkActions.forEach(networkAction ->
-                networkPool.submit(() -> {
+        try {
+            prepareNetworkPool(leavesInParallel);
+            List<ForkJoinTask<?>> leafTasks = new ArrayList<>();
+            computations.forEach(leafComputation ->
+                leafTasks.add(networkPool.submit(() -> {
+                    if (isCancelled()) {
+                        LOGGER.debug("Leaf with network action(s) {} is cancelled", leafComputation.getName());
+                        remainingLeaves.decrementAndGet();
+                        return;
+                    }
+                    Network networkClone;
+                    try {
+                        networkClone = networkPool.getAvailableNetwork();
+                    } catch (InterruptedException e) {
+                        LOGGER.error("No network available for remedial action(s) {}", leafComputation.getName());
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    boolean interrupted = false;
                     try {
-                        Network networkClone = networkPool.getAvailableNetwork();
-                        optimizeNextLeafAndUpdate(networkAction, networkClone, networkPool);
-                        networkPool.releaseUsedNetwork(networkClone);
+                        leafComputation.computation.compute(networkClone);
                         LOGGER.info("Remaining leaves to evaluate: {}", remainingLeaves.decrementAndGet());
                     } catch (InterruptedException | NotImplementedException e) {
-                        LOGGER.error("Cannot apply remedial action {}", networkAction.getId());
+                        LOGGER.error("Cannot apply remedial action(s) {}", leafComputation.getName());
+                        interrupted = true;
+                    } finally {
+                        // the network is given back even if the leaf failed, otherwise the next leaves would wait for it forever
+                        releaseNetwork(networkClone);
+                    }
+                    if (interrupted) {
                         Thread.currentThread().interrupt();
                     }
-                }));
-            networkPool.shutdown();
-            networkPool.awaitTermination(24, TimeUnit.HOURS);
+                })));
+            for (ForkJoinTask<?> leafTask : leafTasks) {
+                waitForLeaf(leafTask);
+            }
         } catch (InterruptedException e) {
             LOGGER.error("A computation thread was interrupted");
             Thread.currentThread().interrupt();
         }
     }
 
-    FaraoNetworkPool makeFaraoNetworkPool(Network network, int leavesInParallel) {
-        return new FaraoNetworkPool(network, network.getVariantManager().getWorkingVariantId(), leavesInParallel);
+    /**
+     * Blooms the network actions to combine with the ones of the parent leaf, and checks in the transposition table
+     * whether each combination has already been explored. If it has, it is not computed again. The leaf of this
+     * combination has already been compared to the optimal leaf and to the parent leaf it was computed from, so it
+     * is neither selected nor expanded again from this other parent leaf.
+     * <p>
+     * If the pre-screening is activated, the impact of the new combinations is estimated first, and in FILTER mode
+     * only the most promising ones are kept.
+     */
+    private Set<NetworkAction> bloom(Leaf parentLeaf, Map<Leaf, Map<NetworkAction, Double>> estimatedMargins) {
+        // Recompute the list of available network actions with last margin results
+        Set<NetworkAction> availableActionsOnNewMargins = availableNetworkActions.stream().filter(na -> isRemedialActionAvailable(na, optimizedState, parentLeaf)).collect(Collectors.toSet());
+        Set<NetworkAction> bloomedNetworkActions = bloomer.bloom(parentLeaf, availableActionsOnNewMargins);
+        if (preScreener != null) {
+            bloomedNetworkActions = preScreen(parentLeaf, bloomedNetworkActions, estimatedMargins);
+        }
+        Set<NetworkAction> networkActions = new HashSet<>();
+        for (NetworkAction networkAction : bloomedNetworkActions) {
+            Set<NetworkAction> combination = getCombination(parentLeaf, networkAction);
+            if (transpositionTable.register(combination)) {
+                networkActions.add(networkAction);
+            } else if (LOGGER.isDebugEnabled()) {
+                Set<String> combinationIds = combination.stream().map(NetworkAction::getId).collect(Collectors.toSet());
+                transpositionTable.getOutcome(combination).ifPresentOrElse(
+                    outcome -> LOGGER.debug("Network action combination {} has already been explored, status: {}, cost: {}", combinationIds, outcome.getStatus(), outcome.getCost()),
+                    () -> LOGGER.debug("Network action combination {} is already being explored", combinationIds));
+            }
+        }
+        return networkActions;
+    }
+
+    /**
+     * Estimates the impact of the network actions which lead to new combinations. In FILTER mode, the network
+     * actions with the worst estimated impact are removed, otherwise all network actions are kept.
+     */
+    private Set<NetworkAction> preScreen(Leaf parentLeaf, Set<NetworkAction> networkActions, Map<Leaf, Map<NetworkAction, Double>> estimatedMargins) {
+        Set<NetworkAction> networkActionsToScreen = networkActions.stream()
+            .filter(na -> !transpositionTable.isRegistered(getCombination(parentLeaf, na)))
+            .collect(Collectors.toSet());
+        if (networkActionsToScreen.size() <= (isRankingLogged() ? 1 : preScreener.getMaxNetworkActions())) {
+            return networkActions;
+        }
+        LOGGER.info("Pre-screening of {} network actions", networkActionsToScreen.size());
+        Map<NetworkAction, Double> margins = new HashMap<>();
+        networkActionsToScreen.forEach(na -> margins.put(na, Double.NaN));
+        // a single linear computation on the network of the parent leaf estimates the impact of all the network actions
+        computeOnNetworkPool(Collections.singletonList(new LeafComputation(parentLeaf.getActivatedNetworkActions(), networkClone -> {
+            applyParentLeafRangeActions(parentLeaf, networkClone);
+            parentLeaf.getActivatedNetworkActions().forEach(na -> na.apply(networkClone));
+            margins.putAll(preScreener.estimateMinMargins(networkClone, parentLeaf, networkActionsToScreen));
+        })));
+        if (isRankingLogged()) {
+            estimatedMargins.put(parentLeaf, margins);
+            return networkActions;
+        }
+        Set<NetworkAction> selectedNetworkActions = preScreener.selectMostPromising(margins);
+        LOGGER.info("{} network actions have been filtered out by the pre-screening", networkActionsToScreen.size() - selectedNetworkActions.size());
+        return networkActions.stream()
+            .filter(na -> !networkActionsToScreen.contains(na) || selectedNetworkActions.contains(na))
+            .collect(Collectors.toSet());
     }
 
-    void optimizeNextLeafAndUpdate(NetworkAction networkAction, Network network, FaraoNetworkPool networkPool) throws InterruptedException {
-        Leaf leaf;
+    private static Set<NetworkAction> getCombination(Leaf parentLeaf, NetworkAction networkAction) {
+        Set<NetworkAction> combination = new HashSet<>(parentLeaf.getActivatedNetworkActions());
+        combination.add(networkAction);
+        return combination;
+    }
+
+    private void prepareNetworkPool(int leavesInParallel) throws InterruptedException {
+        if (networkPool == null) {
+            networkPool = makeNetworkPool(network, leavesInParallel);
+        } else if (networkPool.getNetworkCount() < leavesInParallel) {
+            // the pool only grows, so that its networks are reused by the following computations
+            networkPool.resize(leavesInParallel);
+        }
+    }
+
+    private void releaseNetwork(Network networkClone) {
         try {
-            // We get initial range action results from the previous optimal leaf
-            leaf = createChildLeaf(network, networkAction);
-        } catch (NotImplementedException e) {
-            networkPool.releaseUsedNetwork(network);
-            throw e;
+            networkPool.releaseUsedNetwork(networkClone);
+        } catch (InterruptedException e) {
+            LOGGER.error("A network could not be given back to the pool");
+            Thread.currentThread().interrupt();
         }
-        // We evaluate the leaf with taking the results of the previous optimal leaf if we do not want to update some results
-        leaf.evaluate(objectiveFunction, getSensitivityComputerForEvaluationBasedOn(previousDepthOptimalLeaf, availableRangeActions));
-        LOGGER.debug("{}", leaf);
+    }
+
+    private void waitForLeaf(ForkJoinTask<?> leafTask) throws InterruptedException {
+        try {
+            leafTask.get();
+        } catch (ExecutionException e) {
+            LOGGER.error("A leaf could not be evaluated: {}", e.getCause().getMessage());
+        }
+    }
+
+    private void applyParentLeafRangeActions(Leaf parentLeaf, Network networkClone) {
+        availableRangeActions.forEach(ra -> ra.apply(networkClone, parentLeaf.getOptimizedSetPoint(ra)));
+    }
+
+    private NetworkPool makeNetworkPool(Network network, int leavesInParallel) {
+        if (treeParameters.getLeafNetworkMode() == SearchTreeRaoParameters.LeafNetworkMode.VARIANTS) {
+            if (!searchTreeComputer.hasAppliedRemedialActions()) {
+                return makeFaraoVariantsPool(network, leavesInParallel);
+            }
+            // the variants of a network cannot be created while other variants of this network are in use
+            LOGGER.warn("Leaves are evaluated on copies of the network, as the sensitivity analyses with applied remedial actions create variants");
+        }
+        return makeFaraoNetworkPool(network, leavesInParallel);
+    }
+
+    FaraoVariantsPool makeFaraoVariantsPool(Network network, int leavesInParallel) {
+        return new FaraoVariantsPool(network, network.getVariantManager().getWorkingVariantId(), treeParameters.getLeavesInParallel(), leavesInParallel);
+    }
+
+    FaraoNetworkPool makeFaraoNetworkPool(Network network, int leavesInParallel) {
+        return new FaraoNetworkPool(network, network.getVariantManager().getWorkingVariantId(), treeParameters.getLeavesInParallel(), leavesInParallel);
+    }
+
+    Leaf optimizeNextLeafAndUpdate(NetworkAction networkAction, Leaf parentLeaf, Network network) {
+        Leaf leaf = evaluateNextLeaf(networkAction, parentLeaf, network);
         if (!leaf.getStatus().equals(Leaf.Status.ERROR)) {
-            if (!stopCriterionReached(leaf)) {
+            if (!stopCriterionReached(leaf) && !isCancelled()) {
                 // We base the results on the results of the evaluation of the leaf in case something has been updated
                 optimizeLeaf(leaf, leaf.getPreOptimBranchResult());
                 LOGGER.info("{}", leaf);
             }
             updateOptimalLeaf(leaf);
         }
+        transpositionTable.store(leaf);
+        return leaf;
     }
 
-    Leaf createChildLeaf(Network network, NetworkAction networkAction) {
-        return new Leaf(network, previousDepthOptimalLeaf.getActivatedNetworkActions(), networkAction, previousDepthOptimalLeaf);
+    private Leaf evaluateNextLeaf(NetworkAction networkAction, Leaf parentLeaf, Network network) {
+        // We get initial range action results from the parent leaf
+        Leaf leaf = createChildLeaf(network, networkAction, parentLeaf);
+        // We evaluate the leaf with taking the results of the parent leaf if we do not want to update some results
+        leaf.evaluate(objectiveFunction, getSensitivityComputerForEvaluationBasedOn(parentLeaf, availableRangeActions));
+        LOGGER.debug("{}", leaf);
+        return leaf;
+    }
+
+    Leaf createChildLeaf(Network network, NetworkAction networkAction, Leaf parentLeaf) {
+        return new Leaf(network, parentLeaf.getActivatedNetworkActions(), networkAction, parentLeaf);
     }
 
     private void optimizeLeaf(Leaf leaf, FlowResult baseFlowResult) {
@@ -262,7 +615,7 @@ public class SearchTree {
         Set<RangeAction> previousIterationRangeActions = null;
         Set<RangeAction> rangeActions = applyRangeActionsFilters(leaf, availableRangeActions, false);
         // Iterate on optimizer until the list of range actions stops changing
-        while (!rangeActions.equals(previousIterationRangeActions)) {
+        while (!rangeActions.equals(previousIterationRangeActions) && !(iteration > 0 && isCancelled())) {
             iteration++;
             if (iteration > 1) {
                 LOGGER.info("{}", leaf);
@@ -322,7 +675,31 @@ public class SearchTree {
     private synchronized void updateOptimalLeaf(Leaf leaf) {
         if (improvedEnough(leaf)) {
             optimalLeaf = leaf;
+            if (stopCriterionReached(optimalLeaf) && !cancelled.getAndSet(true)) {
+                LOGGER.info("Target objective value has been reached, remaining leaves are cancelled");
+            }
+        }
+    }
+
+    /**
+     * Says if the search has to be stopped, because the target objective has been reached by a leaf or because the
+     * time limit is reached. Computations which are running in parallel are expected to check it regularly.
+     */
+    private boolean isCancelled() {
+        if (!cancelled.get() && deadline.isReached()) {
+            if (!truncated.getAndSet(true)) {
+                LOGGER.warn("Time limit has been reached, the search tree is stopped with the best leaf found so far");
+            }
+            cancelled.set(true);
         }
+        return cancelled.get();
+    }
+
+    /**
+     * Returns true if the search tree has been stopped by its time limit before its end.
+     */
+    boolean isTruncated() {
+        return truncated.get();
     }
 
     /**
@@ -349,16 +726,22 @@ public class SearchTree {
      * @return True if the leaf cost diminution is enough compared to optimal leaf.
      */
     private boolean improvedEnough(Leaf leaf) {
+        return leaf.getCost() < optimalLeaf.getCost() && improvedEnough(leaf, previousDepthOptimalLeaf);
+    }
+
+    /**
+     * This method compares the leaf best cost to the best cost of a reference leaf, typically its parent leaf,
+     * taking into account the minimum impact thresholds (absolute and relative)
+     */
+    private boolean improvedEnough(Leaf leaf, Leaf referenceLeaf) {
         double relativeImpact = Math.max(treeParameters.getRelativeNetworkActionMinimumImpactThreshold(), 0);
         double absoluteImpact = Math.max(treeParameters.getAbsoluteNetworkActionMinimumImpactThreshold(), 0);
 
-        double currentBestCost = optimalLeaf.getCost();
-        double previousDepthBestCost = previousDepthOptimalLeaf.getCost();
+        double referenceCost = referenceLeaf.getCost();
         double newCost = leaf.getCost();
 
-        return newCost < currentBestCost
-            && previousDepthBestCost - absoluteImpact > newCost // enough absolute impact
-            && (1 - Math.signum(previousDepthBestCost) * relativeImpact) * previousDepthBestCost > newCost; // enough relative impact
+        return referenceCost - absoluteImpact > newCost // enough absolute impact
+            && (1 - Math.signum(referenceCost) * relativeImpact) * referenceCost > newCost; // enough relative impact
     }
 
     /**
@@ -7,13 +7,19 @@
 
 package com.farao_community.farao.search_tree_rao;
 
+import com.farao_community.farao.data.crac_api.State;
 import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
 import com.farao_community.farao.rao_commons.result_api.FlowResult;
 import com.farao_community.farao.rao_commons.SensitivityComputer;
 import com.farao_community.farao.rao_commons.ToolProvider;
 import com.farao_community.farao.sensitivity_analysis.AppliedRemedialActions;
+import com.farao_community.farao.sensitivity_analysis.LinearImpactComputation;
+import com.farao_community.farao.sensitivity_analysis.LinearImpactResult;
+import com.powsybl.iidm.network.Network;
 
+import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
@@ -50,6 +56,25 @@ public final class SearchTreeComputer {
         return getBuilder(rangeActions).build();
     }
 
+    /**
+     * Estimates linearly, with a single DC sensitivity analysis, the impact of outages of branches and of variations
+     * of generator injections on the flows of the CNECs.
+     */
+    LinearImpactResult computeLinearImpacts(Network network, Set<FlowCnec> cnecs, Map<String, Set<String>> outages, Set<String> generators) {
+        return LinearImpactComputation.run(network, cnecs, outages, generators, toolProvider.getDcSensitivityAnalysisParameters());
+    }
+
+    /**
+     * Sensitivity analyses with applied remedial actions create temporary variants of the network.
+     */
+    boolean hasAppliedRemedialActions() {
+        return appliedRemedialActions != null && !appliedRemedialActions.isEmpty();
+    }
+
+    Set<State> getStatesWithAppliedRemedialActions() {
+        return hasAppliedRemedialActions() ? appliedRemedialActions.getStatesWithRa() : Collections.emptySet();
+    }
+
     SensitivityComputer.SensitivityComputerBuilder getBuilder(Set<RangeAction> rangeActions) {
         SensitivityComputer.SensitivityComputerBuilder sensitivityComputerBuilder =  SensitivityComputer.create()
                 .withToolProvider(toolProvider)
@@ -33,6 +33,16 @@ public class SearchTreeInput {
 
     private PrePerimeterResult prePerimeterOutput;
 
+    private Deadline raoDeadline = Deadline.unlimited();
+
+    public Deadline getRaoDeadline() {
+        return raoDeadline;
+    }
+
+    public void setRaoDeadline(Deadline raoDeadline) {
+        this.raoDeadline = raoDeadline;
+    }
+
     public State getOptimizedState() {
         return optimizedState;
     }
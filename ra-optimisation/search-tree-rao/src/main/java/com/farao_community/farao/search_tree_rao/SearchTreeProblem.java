@@ -29,6 +29,7 @@ public class SearchTreeProblem {
     protected final Set<FlowCnec> flowCnecs;
     protected final Set<FlowCnec> loopFlowCnecs;
     protected final LinearOptimizerParameters linearOptimizerParameters;
+    protected final LinearProblemPool linearProblemPool;
 
     public SearchTreeProblem(FlowResult initialFlowResult,
                              FlowResult prePerimeterFlowResult,
@@ -36,12 +37,23 @@ public class SearchTreeProblem {
                              Set<FlowCnec> flowCnecs,
                              Set<FlowCnec> loopFlowCnecs,
                              LinearOptimizerParameters linearOptimizerParameters) {
+        this(initialFlowResult, prePerimeterFlowResult, prePerimeterSetPoints, flowCnecs, loopFlowCnecs, linearOptimizerParameters, new LinearProblemPool());
+    }
+
+    SearchTreeProblem(FlowResult initialFlowResult,
+                      FlowResult prePerimeterFlowResult,
+                      RangeActionResult prePerimeterSetPoints,
+                      Set<FlowCnec> flowCnecs,
+                      Set<FlowCnec> loopFlowCnecs,
+                      LinearOptimizerParameters linearOptimizerParameters,
+                      LinearProblemPool linearProblemPool) {
         this.initialFlowResult = initialFlowResult;
         this.prePerimeterFlowResult = prePerimeterFlowResult;
         this.prePerimeterSetPoints = prePerimeterSetPoints;
         this.flowCnecs = flowCnecs;
         this.loopFlowCnecs = loopFlowCnecs;
         this.linearOptimizerParameters = linearOptimizerParameters;
+        this.linearProblemPool = linearProblemPool;
     }
 
     public LeafProblem getLeafProblem(Set<RangeAction> rangeActions) {
@@ -52,6 +64,7 @@ public class SearchTreeProblem {
                 flowCnecs,
                 loopFlowCnecs,
                 linearOptimizerParameters,
+                linearProblemPool,
                 rangeActions
         );
     }
@@ -66,9 +79,10 @@ public class SearchTreeProblem {
         );
     }
 
-    protected ProblemFiller createMaxMinRelativeMarginFiller(Set<FlowCnec> flowCnecs, Set<RangeAction> rangeActions, FlowResult preOptimFlowResult) {
+    protected ProblemFiller createMaxMinRelativeMarginFiller(Set<FlowCnec> flowCnecs, Set<FlowCnec> initiallyConstrainedCnecs, Set<RangeAction> rangeActions, FlowResult preOptimFlowResult) {
         return new MaxMinRelativeMarginFiller(
                 flowCnecs.stream().filter(Cnec::isOptimized).collect(Collectors.toSet()),
+                initiallyConstrainedCnecs,
                 preOptimFlowResult,
                 rangeActions,
                 linearOptimizerParameters.getObjectiveFunction().getUnit(),
@@ -76,9 +90,10 @@ public class SearchTreeProblem {
         );
     }
 
-    protected ProblemFiller createMaxMinMarginFiller(Set<FlowCnec> flowCnecs, Set<RangeAction> rangeActions) {
+    protected ProblemFiller createMaxMinMarginFiller(Set<FlowCnec> flowCnecs, Set<FlowCnec> initiallyConstrainedCnecs, Set<RangeAction> rangeActions) {
         return new MaxMinMarginFiller(
                 flowCnecs.stream().filter(Cnec::isOptimized).collect(Collectors.toSet()),
+                initiallyConstrainedCnecs,
                 rangeActions,
                 linearOptimizerParameters.getUnit(),
                 linearOptimizerParameters.getMaxMinMarginParameters()
@@ -46,6 +46,11 @@ final class SearchTreeRaoLogger {
         SearchTree.LOGGER.info(rangeActionsLog);
     }
 
+    static void logTranspositionTableStatistics(TranspositionTable transpositionTable) {
+        SearchTree.LOGGER.info("Network action combinations: {} evaluated, {} skipped as already explored",
+                transpositionTable.getMisses(), transpositionTable.getHits());
+    }
+
     static void logMostLimitingElementsResults(Leaf leaf, Unit unit, boolean relativePositiveMargins, int numberOfLoggedElements) {
         List<FlowCnec> sortedCnecs = leaf.getMostLimitingElements(numberOfLoggedElements);
 
@@ -35,6 +35,23 @@ public class SearchTreeRaoParameters extends AbstractExtension<RaoParameters> {
         // TODO : we can add WORST_OBJECTIVE and WORST_OBJECTIVE_AND_SECURE if we want to use the worst curative perimeter objective as a stop criterion for other curative perimeters too
     }
 
+    public enum LeafNetworkMode {
+        NETWORK_COPIES, // each leaf evaluated in parallel works on its own copy of the network
+        VARIANTS // leaves evaluated in parallel share the network, each of them working on its own variant (copies are used when remedial actions are applied in curative)
+    }
+
+    public enum SearchStrategy {
+        DEPTH_BY_DEPTH, // at each depth, only the best leaf is expanded
+        BEAM, // at each depth, the beam-width best leaves are expanded
+        BEST_FIRST // the best evaluated leaves are optimized and expanded first, whatever their depth
+    }
+
+    public enum NetworkActionPreScreening {
+        DISABLED, // all bloomed network actions are fully evaluated
+        FILTER, // only the network actions with the best estimated impact are fully evaluated
+        LOG_RANKING // all bloomed network actions are fully evaluated, and the estimated ranking is compared to the actual one
+    }
+
     static final int DEFAULT_MAXIMUM_SEARCH_DEPTH = Integer.MAX_VALUE;
     static final double DEFAULT_NETWORK_ACTION_MINIMUM_IMPACT_THRESHOLD = 0;
     static final int DEFAULT_PREVENTIVE_LEAVES_IN_PARALLEL = 1;
@@ -51,6 +68,14 @@ public class SearchTreeRaoParameters extends AbstractExtension<RaoParameters> {
     static final Map<String, Integer> DEFAULT_MAX_CURATIVE_RA_PER_TSO = new HashMap<>();
     static final boolean DEFAULT_CURATIVE_RAO_OPTIMIZE_OPERATORS_NOT_SHARING_CRAS = true;
     static final boolean DEFAULT_WITH_SECOND_PREVENTIVE_OPTIMIZATION = false;
+    static final LeafNetworkMode DEFAULT_LEAF_NETWORK_MODE = LeafNetworkMode.NETWORK_COPIES;
+    static final int DEFAULT_RAO_TIME_LIMIT_IN_SECONDS = Integer.MAX_VALUE;
+    static final int DEFAULT_PERIMETER_TIME_LIMIT_IN_SECONDS = Integer.MAX_VALUE;
+    static final SearchStrategy DEFAULT_SEARCH_STRATEGY = SearchStrategy.DEPTH_BY_DEPTH;
+    static final int DEFAULT_BEAM_WIDTH = 1;
+    static final NetworkActionPreScreening DEFAULT_NETWORK_ACTION_PRE_SCREENING = NetworkActionPreScreening.DISABLED;
+    static final int DEFAULT_PRE_SCREENING_MAX_NETWORK_ACTIONS = 10;
+    static final double DEFAULT_PRE_SCREENING_SAFETY_MARGIN = 0;
 
     private int maximumSearchDepth = DEFAULT_MAXIMUM_SEARCH_DEPTH;
     private double relativeNetworkActionMinimumImpactThreshold = DEFAULT_NETWORK_ACTION_MINIMUM_IMPACT_THRESHOLD;
@@ -69,6 +94,14 @@ public class SearchTreeRaoParameters extends AbstractExtension<RaoParameters> {
     private Map<String, Integer> maxCurativeRaPerTso = DEFAULT_MAX_CURATIVE_RA_PER_TSO;
     private boolean curativeRaoOptimizeOperatorsNotSharingCras = DEFAULT_CURATIVE_RAO_OPTIMIZE_OPERATORS_NOT_SHARING_CRAS;
     private boolean withSecondPreventiveOptimization = DEFAULT_WITH_SECOND_PREVENTIVE_OPTIMIZATION;
+    private LeafNetworkMode leafNetworkMode = DEFAULT_LEAF_NETWORK_MODE;
+    private int raoTimeLimitInSeconds = DEFAULT_RAO_TIME_LIMIT_IN_SECONDS; // wall-clock budget of the whole RAO
+    private int perimeterTimeLimitInSeconds = DEFAULT_PERIMETER_TIME_LIMIT_IN_SECONDS; // wall-clock budget of each perimeter search tree
+    private SearchStrategy searchStrategy = DEFAULT_SEARCH_STRATEGY;
+    private int beamWidth = DEFAULT_BEAM_WIDTH; // leaves kept per depth for BEAM, evaluated leaves waiting for optimization for BEST_FIRST
+    private NetworkActionPreScreening networkActionPreScreening = DEFAULT_NETWORK_ACTION_PRE_SCREENING;
+    private int preScreeningMaxNetworkActions = DEFAULT_PRE_SCREENING_MAX_NETWORK_ACTIONS; // network actions kept per expanded leaf
+    private double preScreeningSafetyMargin = DEFAULT_PRE_SCREENING_SAFETY_MARGIN; // in MW, network actions estimated this close to the last kept one are kept too
 
     @Override
     public String getName() {
@@ -248,4 +281,93 @@ public class SearchTreeRaoParameters extends AbstractExtension<RaoParameters> {
     public void setWithSecondPreventiveOptimization(boolean withSecondPreventiveOptimization) {
         this.withSecondPreventiveOptimization = withSecondPreventiveOptimization;
     }
+
+    public LeafNetworkMode getLeafNetworkMode() {
+        return leafNetworkMode;
+    }
+
+    public void setLeafNetworkMode(LeafNetworkMode leafNetworkMode) {
+        this.leafNetworkMode = leafNetworkMode;
+    }
+
+    public int getRaoTimeLimitInSeconds() {
+        return raoTimeLimitInSeconds;
+    }
+
+    public void setRaoTimeLimitInSeconds(int raoTimeLimitInSeconds) {
+        if (raoTimeLimitInSeconds < 0) {
+            LOGGER.warn("The value {} provided for RAO time limit is smaller than 0. It will be set to 0 instead.", raoTimeLimitInSeconds);
+            this.raoTimeLimitInSeconds = 0;
+        } else {
+            this.raoTimeLimitInSeconds = raoTimeLimitInSeconds;
+        }
+    }
+
+    public int getPerimeterTimeLimitInSeconds() {
+        return perimeterTimeLimitInSeconds;
+    }
+
+    public void setPerimeterTimeLimitInSeconds(int perimeterTimeLimitInSeconds) {
+        if (perimeterTimeLimitInSeconds < 0) {
+            LOGGER.warn("The value {} provided for perimeter time limit is smaller than 0. It will be set to 0 instead.", perimeterTimeLimitInSeconds);
+            this.perimeterTimeLimitInSeconds = 0;
+        } else {
+            this.perimeterTimeLimitInSeconds = perimeterTimeLimitInSeconds;
+        }
+    }
+
+    public SearchStrategy getSearchStrategy() {
+        return searchStrategy;
+    }
+
+    public void setSearchStrategy(SearchStrategy searchStrategy) {
+        this.searchStrategy = searchStrategy;
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    public void setBeamWidth(int beamWidth) {
+        if (beamWidth < 1) {
+            LOGGER.warn("The value {} provided for beam width is smaller than 1. It will be set to 1 instead.", beamWidth);
+            this.beamWidth = 1;
+        } else {
+            this.beamWidth = beamWidth;
+        }
+    }
+
+    public NetworkActionPreScreening getNetworkActionPreScreening() {
+        return networkActionPreScreening;
+    }
+
+    public void setNetworkActionPreScreening(NetworkActionPreScreening networkActionPreScreening) {
+        this.networkActionPreScreening = networkActionPreScreening;
+    }
+
+    public int getPreScreeningMaxNetworkActions() {
+        return preScreeningMaxNetworkActions;
+    }
+
+    public void setPreScreeningMaxNetworkActions(int preScreeningMaxNetworkActions) {
+        if (preScreeningMaxNetworkActions < 1) {
+            LOGGER.warn("The value {} provided for pre-screening max network actions is smaller than 1. It will be set to 1 instead.", preScreeningMaxNetworkActions);
+            this.preScreeningMaxNetworkActions = 1;
+        } else {
+            this.preScreeningMaxNetworkActions = preScreeningMaxNetworkActions;
+        }
+    }
+
+    public double getPreScreeningSafetyMargin() {
+        return preScreeningSafetyMargin;
+    }
+
+    public void setPreScreeningSafetyMargin(double preScreeningSafetyMargin) {
+        if (preScreeningSafetyMargin < 0) {
+            LOGGER.warn("The value {} provided for pre-screening safety margin is smaller than 0. It will be set to 0 instead.", preScreeningSafetyMargin);
+            this.preScreeningSafetyMargin = 0;
+        } else {
+            this.preScreeningSafetyMargin = preScreeningSafetyMargin;
+        }
+    }
 }
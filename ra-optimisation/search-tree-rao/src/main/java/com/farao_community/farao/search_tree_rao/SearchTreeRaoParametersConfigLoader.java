@@ -49,6 +49,14 @@ public class SearchTreeRaoParametersConfigLoader implements RaoParameters.Config
             logMapReadError(config, "max-curative-ra-per-tso");
             parameters.setCurativeRaoOptimizeOperatorsNotSharingCras(config.getBooleanProperty("curative-rao-optimize-operators-not-sharing-cras", SearchTreeRaoParameters.DEFAULT_CURATIVE_RAO_OPTIMIZE_OPERATORS_NOT_SHARING_CRAS));
             parameters.setWithSecondPreventiveOptimization(config.getBooleanProperty("with-second-preventive-optimization", SearchTreeRaoParameters.DEFAULT_WITH_SECOND_PREVENTIVE_OPTIMIZATION));
+            parameters.setLeafNetworkMode(config.getEnumProperty("leaf-network-mode", SearchTreeRaoParameters.LeafNetworkMode.class, SearchTreeRaoParameters.DEFAULT_LEAF_NETWORK_MODE));
+            parameters.setRaoTimeLimitInSeconds(config.getIntProperty("rao-time-limit-in-seconds", SearchTreeRaoParameters.DEFAULT_RAO_TIME_LIMIT_IN_SECONDS));
+            parameters.setPerimeterTimeLimitInSeconds(config.getIntProperty("perimeter-time-limit-in-seconds", SearchTreeRaoParameters.DEFAULT_PERIMETER_TIME_LIMIT_IN_SECONDS));
+            parameters.setSearchStrategy(config.getEnumProperty("search-strategy", SearchTreeRaoParameters.SearchStrategy.class, SearchTreeRaoParameters.DEFAULT_SEARCH_STRATEGY));
+            parameters.setBeamWidth(config.getIntProperty("beam-width", SearchTreeRaoParameters.DEFAULT_BEAM_WIDTH));
+            parameters.setNetworkActionPreScreening(config.getEnumProperty("network-action-pre-screening", SearchTreeRaoParameters.NetworkActionPreScreening.class, SearchTreeRaoParameters.DEFAULT_NETWORK_ACTION_PRE_SCREENING));
+            parameters.setPreScreeningMaxNetworkActions(config.getIntProperty("pre-screening-max-network-actions", SearchTreeRaoParameters.DEFAULT_PRE_SCREENING_MAX_NETWORK_ACTIONS));
+            parameters.setPreScreeningSafetyMargin(config.getDoubleProperty("pre-screening-safety-margin", SearchTreeRaoParameters.DEFAULT_PRE_SCREENING_SAFETY_MARGIN));
 
         }
         return parameters;
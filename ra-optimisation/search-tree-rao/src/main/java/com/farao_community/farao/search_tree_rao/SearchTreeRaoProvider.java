@@ -63,6 +63,8 @@ public class SearchTreeRaoProvider implements RaoProvider {
 
     private StateTree stateTree;
     private ToolProvider toolProvider;
+    private Deadline raoDeadline = Deadline.unlimited();
+    private Set<State> truncatedPerimeters = ConcurrentHashMap.newKeySet();
 
     @Override
     public String getName() {
@@ -80,6 +82,9 @@ public class SearchTreeRaoProvider implements RaoProvider {
     @Override
     public CompletableFuture<RaoResult> run(RaoInput raoInput, RaoParameters parameters) {
         RaoUtil.initData(raoInput, parameters);
+        SearchTreeRaoParameters searchTreeRaoParameters = parameters.getExtension(SearchTreeRaoParameters.class);
+        raoDeadline = Objects.isNull(searchTreeRaoParameters) ? Deadline.unlimited() : Deadline.inSeconds(searchTreeRaoParameters.getRaoTimeLimitInSeconds());
+        truncatedPerimeters = ConcurrentHashMap.newKeySet();
 
         stateTree = new StateTree(raoInput.getCrac(), raoInput.getCrac().getPreventiveState());
         ToolProvider.ToolProviderBuilder toolProviderBuilder = ToolProvider.create()
@@ -157,11 +162,18 @@ public class SearchTreeRaoProvider implements RaoProvider {
         RaoResult mergedRaoResults;
 
         // second preventive RAO
-        if (shouldRunSecondPreventiveRao(parameters, curativeResults)) {
-            mergedRaoResults = runSecondPreventiveRao(raoInput, parameters, prePerimeterSensitivityAnalysis, initialOutput, preventiveResult, preCurativeSensitivityAnalysisOutput, curativeResults);
+        if (shouldRunSecondPreventiveRao(parameters, curativeResults) && !raoDeadline.isReached()) {
+            SecondPreventiveAndCurativesRaoOutput secondPreventiveRaoResults = runSecondPreventiveRao(raoInput, parameters, prePerimeterSensitivityAnalysis, initialOutput, preventiveResult, preCurativeSensitivityAnalysisOutput, curativeResults);
+            secondPreventiveRaoResults.setTruncatedPerimeters(new HashSet<>(truncatedPerimeters));
+            mergedRaoResults = secondPreventiveRaoResults;
         } else {
+            if (shouldRunSecondPreventiveRao(parameters, curativeResults)) {
+                LOGGER.warn("RAO time limit has been reached, second preventive optimization will not be run.");
+            }
             LOGGER.info("Merging preventive and curative RAO results.");
-            mergedRaoResults = new PreventiveAndCurativesRaoOutput(initialOutput, preventiveResult, preCurativeSensitivityAnalysisOutput, curativeResults);
+            PreventiveAndCurativesRaoOutput preventiveAndCurativesRaoResults = new PreventiveAndCurativesRaoOutput(initialOutput, preventiveResult, preCurativeSensitivityAnalysisOutput, curativeResults);
+            preventiveAndCurativesRaoResults.setTruncatedPerimeters(new HashSet<>(truncatedPerimeters));
+            mergedRaoResults = preventiveAndCurativesRaoResults;
         }
 
         // log results
@@ -188,7 +200,9 @@ public class SearchTreeRaoProvider implements RaoProvider {
     private static LinearOptimizerParameters.LinearOptimizerParametersBuilder basicLinearOptimizerBuilder(RaoParameters raoParameters) {
         LinearOptimizerParameters.LinearOptimizerParametersBuilder builder = LinearOptimizerParameters.create()
                 .withObjectiveFunction(raoParameters.getObjectiveFunction())
-                .withPstSensitivityThreshold(raoParameters.getPstSensitivityThreshold());
+                .withPstSensitivityThreshold(raoParameters.getPstSensitivityThreshold())
+                .withSolver(raoParameters.getSolver())
+                .withLazyMinMarginCnecs(raoParameters.getLazyMinMarginCnecs());
         if (raoParameters.getObjectiveFunction() == RaoParameters.ObjectiveFunction.MAX_MIN_MARGIN_IN_AMPERE
                 || raoParameters.getObjectiveFunction() == RaoParameters.ObjectiveFunction.MAX_MIN_MARGIN_IN_MEGAWATT) {
             builder.withMaxMinMarginParameters(new MaxMinMarginParameters(raoParameters.getPstPenaltyCost()));
@@ -285,12 +299,14 @@ public class SearchTreeRaoProvider implements RaoProvider {
                 null
         );
 
-        OptimizationResult optimizationResult = new SearchTree().run(searchTreeInput, treeParameters, linearOptimizerParameters).join();
+        OptimizationResult optimizationResult = runSearchTree(searchTreeInput, treeParameters, linearOptimizerParameters);
 
         optimizationResult.getRangeActions().forEach(rangeAction -> rangeAction.apply(raoInput.getNetwork(), optimizationResult.getOptimizedSetPoint(rangeAction)));
         optimizationResult.getActivatedNetworkActions().forEach(networkAction -> networkAction.apply(raoInput.getNetwork()));
 
-        return CompletableFuture.completedFuture(new OneStateOnlyRaoOutput(raoInput.getOptimizedState(), prePerimeterResult, optimizationResult));
+        OneStateOnlyRaoOutput oneStateOnlyRaoOutput = new OneStateOnlyRaoOutput(raoInput.getOptimizedState(), prePerimeterResult, optimizationResult);
+        oneStateOnlyRaoOutput.setTruncatedPerimeters(new HashSet<>(truncatedPerimeters));
+        return CompletableFuture.completedFuture(oneStateOnlyRaoOutput);
     }
 
     private SearchTreeRaoResult optimizePreventivePerimeter(RaoInput raoInput, RaoParameters raoParameters, PrePerimeterResult prePerimeterResult) {
@@ -311,12 +327,14 @@ public class SearchTreeRaoProvider implements RaoProvider {
                 null
         );
 
-        OptimizationResult perimeterResult = new SearchTree().run(searchTreeInput, preventiveTreeParameters, linearOptimizerParameters).join();
+        OptimizationResult perimeterResult = runSearchTree(searchTreeInput, preventiveTreeParameters, linearOptimizerParameters);
 
         perimeterResult.getRangeActions().forEach(rangeAction -> rangeAction.apply(raoInput.getNetwork(), perimeterResult.getOptimizedSetPoint(rangeAction)));
         perimeterResult.getActivatedNetworkActions().forEach(networkAction -> networkAction.apply(raoInput.getNetwork()));
 
-        return new OneStateOnlyRaoOutput(raoInput.getCrac().getPreventiveState(), prePerimeterResult, perimeterResult);
+        OneStateOnlyRaoOutput oneStateOnlyRaoOutput = new OneStateOnlyRaoOutput(raoInput.getCrac().getPreventiveState(), prePerimeterResult, perimeterResult);
+        oneStateOnlyRaoOutput.setTruncatedPerimeters(new HashSet<>(truncatedPerimeters));
+        return oneStateOnlyRaoOutput;
     }
 
     private Map<State, OptimizationResult> optimizeCurativePerimeters(RaoInput raoInput,
@@ -333,15 +351,22 @@ public class SearchTreeRaoProvider implements RaoProvider {
             stateTree.getOptimizedStates().forEach(optimizedState -> {
                 if (!optimizedState.equals(raoInput.getCrac().getPreventiveState())) {
                     networkPool.submit(() -> {
+                        if (raoDeadline.isReached()) {
+                            LOGGER.warn("RAO time limit has been reached, curative state {} will not be optimized.", optimizedState.getId());
+                            truncatedPerimeters.add(optimizedState);
+                            return;
+                        }
+                        Network networkClone = null;
+                        boolean interrupted = false;
                         try {
                             LOGGER.info("Optimizing curative state {}.", optimizedState.getId());
-                            Network networkClone = networkPool.getAvailableNetwork();
+                            networkClone = networkPool.getAvailableNetwork();
                             Set<FlowCnec> cnecs = computePerimeterCnecs(raoInput.getCrac(), stateTree.getPerimeter(optimizedState));
                             LinearOptimizerParameters linearOptimizerParameters = createCurativeLinearOptimizerParameters(raoParameters, stateTree, cnecs);
 
                             SearchTreeInput searchTreeInput = buildSearchTreeInput(
                                     raoInput.getCrac(),
-                                    raoInput.getNetwork(),
+                                    networkClone,
                                     optimizedState,
                                     stateTree.getPerimeter(optimizedState),
                                     initialSensitivityOutput,
@@ -354,12 +379,20 @@ public class SearchTreeRaoProvider implements RaoProvider {
                                     null
                             );
 
-                            OptimizationResult curativeResult = new SearchTree().run(searchTreeInput, curativeTreeParameters, linearOptimizerParameters).join();
+                            OptimizationResult curativeResult = runSearchTree(searchTreeInput, curativeTreeParameters, linearOptimizerParameters);
                             curativeResults.put(optimizedState, curativeResult);
-                            networkPool.releaseUsedNetwork(networkClone);
                             LOGGER.info("Curative state {} has been optimized.", optimizedState.getId());
-                        } catch (InterruptedException | NotImplementedException | FaraoException | NullPointerException e) {
+                        } catch (InterruptedException e) {
+                            LOGGER.error("Curative state {} could not be optimized.", optimizedState.getId());
+                            interrupted = true;
+                        } catch (NotImplementedException | FaraoException e) {
                             LOGGER.error("Curative state {} could not be optimized.", optimizedState.getId());
+                        } finally {
+                            releaseNetwork(networkPool, networkClone);
+                        }
+                        // the interruption is only restored once the network has been given back, otherwise the
+                        // pool could not take it back
+                        if (interrupted) {
                             Thread.currentThread().interrupt();
                         }
                     });
@@ -373,6 +406,35 @@ public class SearchTreeRaoProvider implements RaoProvider {
         return curativeResults;
     }
 
+    /**
+     * Runs the search tree of a perimeter within the time limit of the RAO, and keeps track of the perimeters whose
+     * search tree has been truncated by a time limit
+     */
+    private OptimizationResult runSearchTree(SearchTreeInput searchTreeInput, TreeParameters treeParameters, LinearOptimizerParameters linearOptimizerParameters) {
+        searchTreeInput.setRaoDeadline(raoDeadline);
+        SearchTree searchTree = new SearchTree();
+        OptimizationResult optimizationResult = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).join();
+        if (searchTree.isTruncated()) {
+            truncatedPerimeters.add(searchTreeInput.getOptimizedState());
+        }
+        return optimizationResult;
+    }
+
+    /**
+     * Gives the network copy back to the pool, where it is reset to be used by the next perimeter
+     */
+    private static void releaseNetwork(FaraoNetworkPool networkPool, Network networkClone) {
+        if (networkClone == null) {
+            return;
+        }
+        try {
+            networkPool.releaseUsedNetwork(networkClone);
+        } catch (InterruptedException e) {
+            LOGGER.error("Network copy could not be released in the pool.");
+            Thread.currentThread().interrupt();
+        }
+    }
+
     static SearchTreeInput buildSearchTreeInput(Crac crac,
                                                 Network network,
                                                 State optimizedState,
@@ -560,7 +622,7 @@ public class SearchTreeRaoProvider implements RaoProvider {
      * Using 1st preventive and curative results, it ets up network and range action contexts, then calls the optimizer
      * It finally merges the three results into one RaoResult object
      */
-    private RaoResult runSecondPreventiveRao(RaoInput raoInput,
+    private SecondPreventiveAndCurativesRaoOutput runSecondPreventiveRao(RaoInput raoInput,
                                              RaoParameters parameters,
                                              PrePerimeterSensitivityAnalysis prePerimeterSensitivityAnalysis,
                                              PrePerimeterResult initialOutput,
@@ -620,7 +682,7 @@ public class SearchTreeRaoProvider implements RaoProvider {
                 appliedRemedialActions
         );
 
-        OptimizationResult perimeterResult = new SearchTree().run(searchTreeInput, preventiveTreeParameters, linearOptimizerParameters).join();
+        OptimizationResult perimeterResult = runSearchTree(searchTreeInput, preventiveTreeParameters, linearOptimizerParameters);
 
         perimeterResult.getRangeActions().forEach(rangeAction -> rangeAction.apply(raoInput.getNetwork(), perimeterResult.getOptimizedSetPoint(rangeAction)));
         perimeterResult.getActivatedNetworkActions().forEach(networkAction -> networkAction.apply(raoInput.getNetwork()));
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of the combinations of network actions already explored by a search tree, whatever the path
+ * which led to them. As the order in which network actions are applied has no impact on the network,
+ * combinations are compared as unordered sets.
+ *
+ * The table keeps the outcome of the leaves once they are evaluated (and possibly optimized), so that a
+ * combination met again can be answered from the table instead of being computed again. Only the status and the
+ * cost of a leaf are kept, not the leaf itself, whose flow and sensitivity results would otherwise be retained
+ * until the end of the search tree.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+class TranspositionTable {
+    private final Set<Set<NetworkAction>> exploredCombinations = ConcurrentHashMap.newKeySet();
+    private final Map<Set<NetworkAction>, LeafOutcome> outcomes = new ConcurrentHashMap<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    /**
+     * Registers a combination of network actions that is about to be explored.
+     *
+     * @return false if the combination has already been registered, meaning it should not be explored again.
+     */
+    boolean register(Set<NetworkAction> networkActions) {
+        if (exploredCombinations.add(Set.copyOf(networkActions))) {
+            misses.incrementAndGet();
+            return true;
+        } else {
+            hits.incrementAndGet();
+            return false;
+        }
+    }
+
+    /**
+     * Says if a combination of network actions has already been registered, without registering it.
+     */
+    boolean isRegistered(Set<NetworkAction> networkActions) {
+        return exploredCombinations.contains(Set.copyOf(networkActions));
+    }
+
+    /**
+     * Stores the outcome of a leaf, once it has been evaluated or optimized, under the combination of its
+     * activated network actions.
+     */
+    void store(Leaf leaf) {
+        Set<NetworkAction> combination = Set.copyOf(leaf.getActivatedNetworkActions());
+        exploredCombinations.add(combination);
+        double cost = leaf.getStatus() == Leaf.Status.ERROR ? Double.NaN : leaf.getCost();
+        outcomes.put(combination, new LeafOutcome(leaf.getStatus(), cost));
+    }
+
+    /**
+     * Returns the outcome stored for this combination of network actions. It is empty if the combination has never
+     * been explored, or if its exploration is still in progress.
+     */
+    Optional<LeafOutcome> getOutcome(Set<NetworkAction> networkActions) {
+        return Optional.ofNullable(outcomes.get(Set.copyOf(networkActions)));
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+    int getMisses() {
+        return misses.get();
+    }
+
+    int size() {
+        return exploredCombinations.size();
+    }
+
+    /**
+     * Status and cost of an explored leaf. The cost is NaN if the leaf is in error.
+     */
+    static final class LeafOutcome {
+        private final Leaf.Status status;
+        private final double cost;
+
+        private LeafOutcome(Leaf.Status status, double cost) {
+            this.status = status;
+            this.cost = cost;
+        }
+
+        Leaf.Status getStatus() {
+            return status;
+        }
+
+        double getCost() {
+            return cost;
+        }
+    }
+}
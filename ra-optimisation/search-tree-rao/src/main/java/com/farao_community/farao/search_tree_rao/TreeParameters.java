@@ -33,6 +33,13 @@ public final class TreeParameters {
     private double relativeNetworkActionMinimumImpactThreshold;
     private double absoluteNetworkActionMinimumImpactThreshold;
     private int leavesInParallel;
+    private SearchTreeRaoParameters.LeafNetworkMode leafNetworkMode;
+    private int timeLimitInSeconds;
+    private SearchTreeRaoParameters.SearchStrategy searchStrategy;
+    private int beamWidth;
+    private SearchTreeRaoParameters.NetworkActionPreScreening networkActionPreScreening;
+    private int preScreeningMaxNetworkActions;
+    private double preScreeningSafetyMargin;
     private boolean skipNetworkActionsFarFromMostLimitingElement;
     private int maxRa;
     private int maxTso;
@@ -50,6 +57,13 @@ public final class TreeParameters {
         this.absoluteNetworkActionMinimumImpactThreshold = searchTreeRaoParameters.getAbsoluteNetworkActionMinimumImpactThreshold();
         this.skipNetworkActionsFarFromMostLimitingElement = searchTreeRaoParameters.getSkipNetworkActionsFarFromMostLimitingElement();
         this.leavesInParallel = leavesInParallel;
+        this.leafNetworkMode = searchTreeRaoParameters.getLeafNetworkMode();
+        this.timeLimitInSeconds = searchTreeRaoParameters.getPerimeterTimeLimitInSeconds();
+        this.searchStrategy = searchTreeRaoParameters.getSearchStrategy();
+        this.beamWidth = searchTreeRaoParameters.getBeamWidth();
+        this.networkActionPreScreening = searchTreeRaoParameters.getNetworkActionPreScreening();
+        this.preScreeningMaxNetworkActions = searchTreeRaoParameters.getPreScreeningMaxNetworkActions();
+        this.preScreeningSafetyMargin = searchTreeRaoParameters.getPreScreeningSafetyMargin();
         this.stopCriterion = stopCriterion;
         this.targetObjectiveValue = targetObjectiveValue;
         this.maxRa = maxRa;
@@ -129,6 +143,34 @@ public final class TreeParameters {
         return leavesInParallel;
     }
 
+    public SearchTreeRaoParameters.LeafNetworkMode getLeafNetworkMode() {
+        return leafNetworkMode;
+    }
+
+    public int getTimeLimitInSeconds() {
+        return timeLimitInSeconds;
+    }
+
+    public SearchTreeRaoParameters.SearchStrategy getSearchStrategy() {
+        return searchStrategy;
+    }
+
+    public int getBeamWidth() {
+        return beamWidth;
+    }
+
+    public SearchTreeRaoParameters.NetworkActionPreScreening getNetworkActionPreScreening() {
+        return networkActionPreScreening;
+    }
+
+    public int getPreScreeningMaxNetworkActions() {
+        return preScreeningMaxNetworkActions;
+    }
+
+    public double getPreScreeningSafetyMargin() {
+        return preScreeningSafetyMargin;
+    }
+
     public boolean getSkipNetworkActionsFarFromMostLimitingElement() {
         return skipNetworkActionsFarFromMostLimitingElement;
     }
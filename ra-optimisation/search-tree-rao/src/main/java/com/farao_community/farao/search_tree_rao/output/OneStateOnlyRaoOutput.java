@@ -34,6 +34,7 @@ public class OneStateOnlyRaoOutput implements SearchTreeRaoResult {
     private State optimizedState;
     private PrePerimeterResult initialResult;
     private OptimizationResult postOptimizationResult;
+    private Set<State> truncatedPerimeters = new HashSet<>();
 
     public OneStateOnlyRaoOutput(State optimizedState, PrePerimeterResult initialResult, OptimizationResult postOptimizationResult) {
         this.optimizedState = optimizedState;
@@ -85,6 +86,15 @@ public class OneStateOnlyRaoOutput implements SearchTreeRaoResult {
         return ComputationStatus.DEFAULT;
     }
 
+    @Override
+    public Set<State> getTruncatedPerimeters() {
+        return truncatedPerimeters;
+    }
+
+    public void setTruncatedPerimeters(Set<State> truncatedPerimeters) {
+        this.truncatedPerimeters = truncatedPerimeters;
+    }
+
     public PerimeterResult getPerimeterResult(OptimizationState optimizationState, State state) {
         if (!state.equals(optimizedState)) {
             // TODO : change this when getAppropriateResult will return a PerimeterResult (maybe throw an exception)
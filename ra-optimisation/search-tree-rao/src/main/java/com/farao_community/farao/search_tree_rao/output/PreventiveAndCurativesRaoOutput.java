@@ -34,6 +34,7 @@ public class PreventiveAndCurativesRaoOutput implements SearchTreeRaoResult {
     private PrePerimeterResult initialResult;
     private PerimeterResult postPreventiveResult;
     private Map<State, PerimeterResult> postCurativeResults;
+    private Set<State> truncatedPerimeters = new HashSet<>();
 
     public PreventiveAndCurativesRaoOutput(PrePerimeterResult initialResult, PerimeterResult postPreventiveResult, PrePerimeterResult preCurativeResult, Map<State, OptimizationResult> postCurativeResults) {
         this.initialResult = initialResult;
@@ -53,6 +54,15 @@ public class PreventiveAndCurativesRaoOutput implements SearchTreeRaoResult {
         return ComputationStatus.DEFAULT;
     }
 
+    @Override
+    public Set<State> getTruncatedPerimeters() {
+        return truncatedPerimeters;
+    }
+
+    public void setTruncatedPerimeters(Set<State> truncatedPerimeters) {
+        this.truncatedPerimeters = truncatedPerimeters;
+    }
+
     public PerimeterResult getPerimeterResult(OptimizationState optimizationState, State state) {
         if (optimizationState == OptimizationState.INITIAL) {
             if (state.getInstant() == Instant.PREVENTIVE) {
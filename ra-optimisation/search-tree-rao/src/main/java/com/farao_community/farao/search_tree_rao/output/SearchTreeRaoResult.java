@@ -7,14 +7,18 @@
 package com.farao_community.farao.search_tree_rao.output;
 
 import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
 import com.farao_community.farao.data.crac_api.State;
 import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
 import com.farao_community.farao.data.rao_result_api.OptimizationState;
 import com.farao_community.farao.data.rao_result_api.RaoResult;
+import com.farao_community.farao.data.rao_result_impl.ColumnarRaoResult;
 import com.farao_community.farao.rao_commons.result_api.PrePerimeterResult;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * @author Joris Mancini {@literal <joris.mancini at rte-france.com>}
@@ -58,6 +62,17 @@ public interface SearchTreeRaoResult extends RaoResult {
      */
     List<FlowCnec> getMostLimitingElements(OptimizationState optimizationState, int number);
 
+    /**
+     * It gives the optimized states whose search tree has been stopped by its time limit before its end. The
+     * results of these perimeters are the best ones found before the interruption, and the perimeters which have
+     * not been optimized at all are not part of the results.
+     *
+     * @return The optimized states of the truncated perimeters.
+     */
+    default Set<State> getTruncatedPerimeters() {
+        return Collections.emptySet();
+    }
+
     /**
      * It gives an ordered list of the costly {@link FlowCnec} according to the specified virtual cost at a given
      * {@link OptimizationState}. If the virtual is null the list would be empty. If the specified virtual cost does
@@ -70,6 +85,20 @@ public interface SearchTreeRaoResult extends RaoResult {
      */
     List<FlowCnec> getCostlyElements(OptimizationState optimizationState, String virtualCostName, int number);
 
+    /**
+     * It copies the results of the RAO into a {@link ColumnarRaoResult}, which only keeps primitive columns indexed
+     * on the elements of the {@link Crac}. The copy no longer refers to the perimeter and sensitivity results, so it
+     * can be kept once they are released.
+     *
+     * @param crac: The crac on which the RAO has been run.
+     * @return The primitive-backed copy of the results.
+     */
+    default ColumnarRaoResult toColumnarRaoResult(Crac crac) {
+        ColumnarRaoResult columnarRaoResult = new ColumnarRaoResult(crac);
+        columnarRaoResult.copyFrom(this);
+        return columnarRaoResult;
+    }
+
     @Override
     default double getFlow(OptimizationState optimizationState, FlowCnec flowCnec, Unit unit) {
         if (optimizationState.equals(OptimizationState.INITIAL)) {
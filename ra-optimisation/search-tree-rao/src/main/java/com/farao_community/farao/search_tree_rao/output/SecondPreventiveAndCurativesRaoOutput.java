@@ -44,6 +44,7 @@ public class SecondPreventiveAndCurativesRaoOutput implements SearchTreeRaoResul
     private PrePerimeterResult preCurativeResult; // flows computed using PRA only
     private Map<State, OptimizationResult> postCurativeResults;
     private Set<RemedialAction<?>> remedialActionsExcludedFromSecondPreventive; // RAs only in 1st preventive, not in 2nd
+    private Set<State> truncatedPerimeters = new HashSet<>();
     private static final String UNKNOWN_OPTIM_STATE = "Unknown OptimizationState: %s";
 
     public SecondPreventiveAndCurativesRaoOutput(PrePerimeterResult initialResult,
@@ -81,6 +82,15 @@ public class SecondPreventiveAndCurativesRaoOutput implements SearchTreeRaoResul
         return ComputationStatus.DEFAULT;
     }
 
+    @Override
+    public Set<State> getTruncatedPerimeters() {
+        return truncatedPerimeters;
+    }
+
+    public void setTruncatedPerimeters(Set<State> truncatedPerimeters) {
+        this.truncatedPerimeters = truncatedPerimeters;
+    }
+
     @Override
     public PerimeterResult getPerimeterResult(OptimizationState optimizationState, State state) {
         throw new NotImplementedException("getPerimeterResult is not implemented in SecondPreventiveAndCurativesRaoOutput");
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class DeadlineTest {
+
+    @Test
+    public void unlimitedDeadline() {
+        Deadline deadline = Deadline.inSeconds(Integer.MAX_VALUE);
+        assertTrue(deadline.isUnlimited());
+        assertFalse(deadline.isReached());
+        assertEquals(Long.MAX_VALUE, deadline.getRemainingNanos());
+    }
+
+    @Test
+    public void limitedDeadline() {
+        Deadline deadline = Deadline.inSeconds(3600);
+        assertFalse(deadline.isUnlimited());
+        assertFalse(deadline.isReached());
+        assertTrue(deadline.getRemainingNanos() <= 3600 * 1_000_000_000L);
+
+        assertTrue(Deadline.inSeconds(0).isReached());
+        assertTrue(Deadline.inSeconds(-5).isReached());
+    }
+
+    @Test
+    public void earliestDeadline() {
+        Deadline unlimited = Deadline.unlimited();
+        Deadline oneHour = Deadline.inSeconds(3600);
+        Deadline reached = Deadline.inSeconds(0);
+
+        assertSame(oneHour, unlimited.earliest(oneHour));
+        assertSame(oneHour, oneHour.earliest(unlimited));
+        assertSame(reached, oneHour.earliest(reached));
+        assertSame(reached, reached.earliest(oneHour));
+    }
+}
@@ -38,6 +38,14 @@ public class JsonSearchTreeRaoParametersTest extends AbstractConverterTest {
         parameters.getExtension(SearchTreeRaoParameters.class).setMaxCurativeRaPerTso(Map.of("RTE", 5));
         parameters.getExtension(SearchTreeRaoParameters.class).setCurativeRaoOptimizeOperatorsNotSharingCras(false);
         parameters.getExtension(SearchTreeRaoParameters.class).setWithSecondPreventiveOptimization(true);
+        parameters.getExtension(SearchTreeRaoParameters.class).setLeafNetworkMode(SearchTreeRaoParameters.LeafNetworkMode.VARIANTS);
+        parameters.getExtension(SearchTreeRaoParameters.class).setRaoTimeLimitInSeconds(3600);
+        parameters.getExtension(SearchTreeRaoParameters.class).setPerimeterTimeLimitInSeconds(600);
+        parameters.getExtension(SearchTreeRaoParameters.class).setSearchStrategy(SearchTreeRaoParameters.SearchStrategy.BEAM);
+        parameters.getExtension(SearchTreeRaoParameters.class).setBeamWidth(3);
+        parameters.getExtension(SearchTreeRaoParameters.class).setNetworkActionPreScreening(SearchTreeRaoParameters.NetworkActionPreScreening.FILTER);
+        parameters.getExtension(SearchTreeRaoParameters.class).setPreScreeningMaxNetworkActions(5);
+        parameters.getExtension(SearchTreeRaoParameters.class).setPreScreeningSafetyMargin(20.5);
         roundTripTest(parameters, JsonRaoParameters::write, JsonRaoParameters::read, "/SearchTreeRaoParameters.json");
     }
 
@@ -89,6 +97,21 @@ public class JsonSearchTreeRaoParametersTest extends AbstractConverterTest {
         JsonRaoParameters.read(getClass().getResourceAsStream("/SearchTreeRaoParametersCurativeStopCriterionError.json"));
     }
 
+    @Test(expected = FaraoException.class)
+    public void leafNetworkModeError() {
+        JsonRaoParameters.read(getClass().getResourceAsStream("/SearchTreeRaoParametersLeafNetworkModeError.json"));
+    }
+
+    @Test(expected = FaraoException.class)
+    public void searchStrategyError() {
+        JsonRaoParameters.read(getClass().getResourceAsStream("/SearchTreeRaoParametersSearchStrategyError.json"));
+    }
+
+    @Test(expected = FaraoException.class)
+    public void networkActionPreScreeningError() {
+        JsonRaoParameters.read(getClass().getResourceAsStream("/SearchTreeRaoParametersPreScreeningError.json"));
+    }
+
     @Test(expected = FaraoException.class)
     public void testMapTypeError() {
         JsonRaoParameters.read(getClass().getResourceAsStream("/SearchTreeRaoParametersMapError.json"));
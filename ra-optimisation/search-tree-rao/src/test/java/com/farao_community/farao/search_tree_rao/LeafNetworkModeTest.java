@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.Identifiable;
+import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.network_action.ActionType;
+import com.farao_community.farao.data.crac_api.usage_rule.UsageMethod;
+import com.farao_community.farao.data.crac_impl.utils.CommonCracCreation;
+import com.farao_community.farao.data.crac_impl.utils.NetworkImportsUtil;
+import com.farao_community.farao.data.rao_result_api.OptimizationState;
+import com.farao_community.farao.data.rao_result_api.RaoResult;
+import com.farao_community.farao.rao_api.RaoInput;
+import com.farao_community.farao.rao_api.parameters.RaoParameters;
+import com.powsybl.iidm.network.Network;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * Runs the same RAO with leaves evaluated on copies of the network and on variants of the network.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class LeafNetworkModeTest {
+    private static final double DOUBLE_TOLERANCE = 1e-6;
+    private static final List<String> LINES_TO_OPEN = List.of("BBE1AA1  BBE2AA1  1", "FFR2AA1  FFR3AA1  1", "DDE1AA1  DDE2AA1  1", "NNL1AA1  NNL2AA1  1", "NNL2AA1  BBE3AA1  1");
+
+    private static Crac createCrac() {
+        Crac crac = CommonCracCreation.create();
+        LINES_TO_OPEN.forEach(line -> crac.newNetworkAction().withId("open " + line)
+            .newTopologicalAction().withNetworkElement(line).withActionType(ActionType.OPEN).add()
+            .newFreeToUseUsageRule().withUsageMethod(UsageMethod.AVAILABLE).withInstant(Instant.PREVENTIVE).add()
+            .add());
+        return crac;
+    }
+
+    private static RaoResult runRao(Network network, Crac crac, SearchTreeRaoParameters.LeafNetworkMode leafNetworkMode) {
+        RaoParameters raoParameters = new RaoParameters();
+        raoParameters.setObjectiveFunction(RaoParameters.ObjectiveFunction.MAX_MIN_MARGIN_IN_MEGAWATT);
+        SearchTreeRaoParameters searchTreeRaoParameters = new SearchTreeRaoParameters();
+        searchTreeRaoParameters.setPreventiveRaoStopCriterion(SearchTreeRaoParameters.PreventiveRaoStopCriterion.MIN_OBJECTIVE);
+        searchTreeRaoParameters.setMaximumSearchDepth(3);
+        searchTreeRaoParameters.setPreventiveLeavesInParallel(4);
+        searchTreeRaoParameters.setLeafNetworkMode(leafNetworkMode);
+        raoParameters.addExtension(SearchTreeRaoParameters.class, searchTreeRaoParameters);
+        return new SearchTreeRaoProvider().run(RaoInput.build(network, crac).build(), raoParameters).join();
+    }
+
+    private static Set<String> getIds(Set<? extends Identifiable<?>> identifiables) {
+        return identifiables.stream().map(Identifiable::getId).collect(Collectors.toSet());
+    }
+
+    @Test
+    public void sameResultsWithVariantsAndNetworkCopies() {
+        Network networkForCopies = NetworkImportsUtil.import12NodesNetwork();
+        Crac cracForCopies = createCrac();
+        RaoResult resultWithCopies = runRao(networkForCopies, cracForCopies, SearchTreeRaoParameters.LeafNetworkMode.NETWORK_COPIES);
+
+        Network networkForVariants = NetworkImportsUtil.import12NodesNetwork();
+        Crac cracForVariants = createCrac();
+        int initialVariantCount = networkForVariants.getVariantManager().getVariantIds().size();
+        RaoResult resultWithVariants = runRao(networkForVariants, cracForVariants, SearchTreeRaoParameters.LeafNetworkMode.VARIANTS);
+
+        Set<String> activatedWithCopies = getIds(resultWithCopies.getActivatedNetworkActionsDuringState(cracForCopies.getPreventiveState()));
+        // combinations of network actions are applied on the network of their parent leaf
+        assertEquals(3, activatedWithCopies.size());
+        assertEquals(activatedWithCopies, getIds(resultWithVariants.getActivatedNetworkActionsDuringState(cracForVariants.getPreventiveState())));
+        for (OptimizationState optimizationState : List.of(OptimizationState.INITIAL, OptimizationState.AFTER_PRA)) {
+            assertEquals(resultWithCopies.getFunctionalCost(optimizationState), resultWithVariants.getFunctionalCost(optimizationState), DOUBLE_TOLERANCE);
+            for (FlowCnec flowCnec : cracForCopies.getFlowCnecs()) {
+                assertEquals(resultWithCopies.getFlow(optimizationState, flowCnec, Unit.MEGAWATT),
+                    resultWithVariants.getFlow(optimizationState, cracForVariants.getFlowCnec(flowCnec.getId()), Unit.MEGAWATT), DOUBLE_TOLERANCE);
+            }
+        }
+
+        // the variants of the pool are removed from the network at the end of the RAO
+        assertFalse(networkForVariants.getVariantManager().isVariantMultiThreadAccessAllowed());
+        assertTrue(networkForVariants.getVariantManager().getVariantIds().size() <= initialVariantCount + 2);
+    }
+}
@@ -132,6 +132,20 @@ public class LeafTest {
         assertFalse(leaf2.isRoot());
     }
 
+    @Test
+    public void moveLeafToAnotherNetwork() {
+        RangeActionResult rangeActionResult = Mockito.mock(RangeActionResult.class);
+        RangeAction rangeAction = Mockito.mock(RangeAction.class);
+        Mockito.when(rangeActionResult.getRangeActions()).thenReturn(Collections.singleton(rangeAction));
+        Mockito.when(rangeActionResult.getOptimizedSetPoint(rangeAction)).thenReturn(2.);
+        Leaf leaf = new Leaf(network, Collections.emptySet(), na1, rangeActionResult);
+        Network otherNetwork = NetworkImportsUtil.import12NodesNetwork();
+        leaf.moveTo(otherNetwork);
+        Mockito.verify(na1, Mockito.times(1)).apply(otherNetwork);
+        Mockito.verify(rangeAction, Mockito.times(1)).apply(otherNetwork, 2.);
+        assertEquals(Leaf.Status.CREATED, leaf.getStatus());
+    }
+
     @Test
     public void evaluateAnAlreadyEvaluatedLeaf() {
         PrePerimeterResult prePerimeterResult = Mockito.mock(PrePerimeterResult.class);
@@ -301,6 +315,8 @@ public class LeafTest {
         LinearOptimizationResult linearOptimizationResult = Mockito.mock(LinearOptimizationResult.class);
         Mockito.when(iteratingLinearOptimizer.optimize(any(), any(), any(), any(), any(), any())).thenReturn(linearOptimizationResult);
         leaf.optimize(iteratingLinearOptimizer, sensitivityComputer, leafProblem);
+        // the linear problem is given back for the next leaves
+        Mockito.verify(leafProblem).releaseLinearProblem(any());
 
         FlowCnec flowCnec = Mockito.mock(FlowCnec.class);
 
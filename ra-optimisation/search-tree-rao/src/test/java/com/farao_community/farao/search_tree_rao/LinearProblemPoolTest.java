@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import com.farao_community.farao.rao_api.parameters.LinearOptimizerParameters;
+import com.farao_community.farao.rao_commons.linear_optimisation.LinearProblem;
+import com.farao_community.farao.rao_commons.result_api.FlowResult;
+import com.farao_community.farao.rao_commons.result_api.LinearProblemStatus;
+import com.farao_community.farao.rao_commons.result_api.ObjectiveFunctionResult;
+import com.farao_community.farao.rao_commons.result_api.RangeActionResult;
+import com.farao_community.farao.rao_commons.result_api.SensitivityResult;
+import com.powsybl.iidm.network.Network;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class LinearProblemPoolTest {
+
+    private LinearProblemPool linearProblemPool;
+    private RangeAction rangeActionA;
+    private RangeAction rangeActionB;
+    private LinearProblem linearProblem;
+
+    @Before
+    public void setUp() {
+        linearProblemPool = new LinearProblemPool();
+        rangeActionA = Mockito.mock(RangeAction.class);
+        rangeActionB = Mockito.mock(RangeAction.class);
+        linearProblem = Mockito.mock(LinearProblem.class);
+        when(linearProblem.getStatus()).thenReturn(LinearProblemStatus.OPTIMAL);
+    }
+
+    @Test
+    public void linearProblemsAreTakenForTheSameRangeActions() {
+        assertNull(linearProblemPool.take(Set.of(rangeActionA)));
+
+        linearProblemPool.release(new HashSet<>(Set.of(rangeActionA, rangeActionB)), linearProblem);
+        assertNull(linearProblemPool.take(Set.of(rangeActionA)));
+        assertSame(linearProblem, linearProblemPool.take(Set.of(rangeActionB, rangeActionA)));
+
+        // a linear problem is used by one leaf at a time
+        assertNull(linearProblemPool.take(Set.of(rangeActionA, rangeActionB)));
+    }
+
+    @Test
+    public void failedLinearProblemsAreDropped() {
+        when(linearProblem.getStatus()).thenReturn(LinearProblemStatus.INFEASIBLE);
+        linearProblemPool.release(Set.of(rangeActionA), linearProblem);
+        assertNull(linearProblemPool.take(Set.of(rangeActionA)));
+    }
+
+    @Test
+    public void leavesReuseTheLinearProblemsOfTheSearchTreeProblem() {
+        SearchTreeProblem searchTreeProblem = new SearchTreeProblem(
+            Mockito.mock(FlowResult.class),
+            Mockito.mock(FlowResult.class),
+            Mockito.mock(RangeActionResult.class),
+            Set.of(),
+            Set.of(),
+            Mockito.mock(LinearOptimizerParameters.class)
+        );
+        searchTreeProblem.getLeafProblem(Set.of(rangeActionA)).releaseLinearProblem(linearProblem);
+
+        Network network = Mockito.mock(Network.class);
+        FlowResult flowResult = Mockito.mock(FlowResult.class);
+        SensitivityResult sensitivityResult = Mockito.mock(SensitivityResult.class);
+        LinearProblem reusedLinearProblem = searchTreeProblem.getLeafProblem(Set.of(rangeActionA))
+            .getLinearProblem(network, flowResult, sensitivityResult, Mockito.mock(ObjectiveFunctionResult.class));
+
+        assertSame(linearProblem, reusedLinearProblem);
+        Mockito.verify(linearProblem).reuse(network, flowResult, sensitivityResult);
+    }
+}
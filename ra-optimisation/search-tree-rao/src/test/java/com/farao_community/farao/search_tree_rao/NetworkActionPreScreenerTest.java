@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.cnec.Side;
+import com.farao_community.farao.data.crac_api.NetworkElement;
+import com.farao_community.farao.data.crac_api.State;
+import com.farao_community.farao.data.crac_api.network_action.*;
+import com.farao_community.farao.sensitivity_analysis.LinearImpactResult;
+import com.powsybl.iidm.network.Branch;
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Terminal;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class NetworkActionPreScreenerTest {
+    private static final double DOUBLE_TOLERANCE = 1e-6;
+
+    private SearchTreeComputer searchTreeComputer;
+    private NetworkAction networkActionA;
+    private NetworkAction networkActionB;
+    private NetworkAction networkActionC;
+
+    @Before
+    public void setUp() {
+        searchTreeComputer = Mockito.mock(SearchTreeComputer.class);
+        networkActionA = Mockito.mock(NetworkAction.class);
+        networkActionB = Mockito.mock(NetworkAction.class);
+        networkActionC = Mockito.mock(NetworkAction.class);
+    }
+
+    @Test
+    public void estimateMinMarginFromDcFlowVariation() {
+        NetworkActionPreScreener preScreener = new NetworkActionPreScreener(searchTreeComputer, 1, 0);
+        FlowCnec cnec1 = Mockito.mock(FlowCnec.class);
+        FlowCnec cnec2 = Mockito.mock(FlowCnec.class);
+        when(cnec1.computeMargin(anyDouble(), eq(Side.LEFT), eq(Unit.MEGAWATT))).thenAnswer(invocation -> 100. - (double) invocation.getArgument(0));
+        when(cnec2.computeMargin(anyDouble(), eq(Side.LEFT), eq(Unit.MEGAWATT))).thenAnswer(invocation -> 200. - (double) invocation.getArgument(0));
+        Leaf parentLeaf = Mockito.mock(Leaf.class);
+        when(parentLeaf.getFlow(cnec1, Unit.MEGAWATT)).thenReturn(90.);
+        when(parentLeaf.getFlow(cnec2, Unit.MEGAWATT)).thenReturn(150.);
+
+        // flows move by -30 MW on cnec1 and +20 MW on cnec2
+        double margin = preScreener.estimateMinMargin(parentLeaf, Map.of(cnec1, -30., cnec2, 20.));
+        assertEquals(30., margin, DOUBLE_TOLERANCE);
+        assertTrue(Double.isNaN(preScreener.estimateMinMargin(parentLeaf, Map.of())));
+        assertTrue(Double.isNaN(preScreener.estimateMinMargin(parentLeaf, Map.of(cnec1, -30., cnec2, Double.NaN))));
+    }
+
+    @Test
+    public void selectMostPromisingWithSafetyMargin() {
+        Map<NetworkAction, Double> estimatedMargins = Map.of(networkActionA, 50., networkActionB, 45., networkActionC, 10.);
+
+        assertEquals(Set.of(networkActionA), new NetworkActionPreScreener(searchTreeComputer, 1, 0).selectMostPromising(estimatedMargins));
+        assertEquals(Set.of(networkActionA, networkActionB), new NetworkActionPreScreener(searchTreeComputer, 1, 10).selectMostPromising(estimatedMargins));
+        assertEquals(Set.of(networkActionA, networkActionB, networkActionC), new NetworkActionPreScreener(searchTreeComputer, 3, 0).selectMostPromising(estimatedMargins));
+    }
+
+    @Test
+    public void networkActionsWhichCannotBeEstimatedAreKept() {
+        Map<NetworkAction, Double> estimatedMargins = Map.of(networkActionA, 50., networkActionB, 45., networkActionC, Double.NaN);
+
+        assertEquals(Set.of(networkActionA, networkActionC), new NetworkActionPreScreener(searchTreeComputer, 1, 0).selectMostPromising(estimatedMargins));
+    }
+
+    private static <T extends ElementaryAction> T mockElementaryAction(Class<T> elementaryActionClass, String networkElementId) {
+        T elementaryAction = Mockito.mock(elementaryActionClass);
+        NetworkElement networkElement = Mockito.mock(NetworkElement.class);
+        when(networkElement.getId()).thenReturn(networkElementId);
+        when(elementaryAction.getNetworkElement()).thenReturn(networkElement);
+        return elementaryAction;
+    }
+
+    private static TopologicalAction mockTopologicalAction(String networkElementId, ActionType actionType) {
+        TopologicalAction topologicalAction = mockElementaryAction(TopologicalAction.class, networkElementId);
+        when(topologicalAction.getActionType()).thenReturn(actionType);
+        return topologicalAction;
+    }
+
+    private static InjectionSetpoint mockInjectionSetpoint(String networkElementId, double setpoint) {
+        InjectionSetpoint injectionSetpoint = mockElementaryAction(InjectionSetpoint.class, networkElementId);
+        when(injectionSetpoint.getSetpoint()).thenReturn(setpoint);
+        return injectionSetpoint;
+    }
+
+    private static void mockBranch(Network network, String branchId, boolean connected) {
+        Branch branch = Mockito.mock(Branch.class);
+        when(branch.getId()).thenReturn(branchId);
+        Terminal terminal = Mockito.mock(Terminal.class);
+        when(terminal.isConnected()).thenReturn(connected);
+        when(branch.getTerminal1()).thenReturn(terminal);
+        when(branch.getTerminal2()).thenReturn(terminal);
+        when(network.getBranch(branchId)).thenReturn(branch);
+    }
+
+    private static void mockGenerator(Network network, String generatorId, double targetP) {
+        Generator generator = Mockito.mock(Generator.class);
+        when(generator.getId()).thenReturn(generatorId);
+        when(generator.getTargetP()).thenReturn(targetP);
+        when(network.getGenerator(generatorId)).thenReturn(generator);
+    }
+
+    private void mockElementaryActions(NetworkAction networkAction, String networkActionId, ElementaryAction... elementaryActions) {
+        when(networkAction.getId()).thenReturn(networkActionId);
+        when(networkAction.getElementaryActions()).thenReturn(Set.of(elementaryActions));
+    }
+
+    @Test
+    public void getOpenedBranches() {
+        Network network = Mockito.mock(Network.class);
+        mockBranch(network, "line1", true);
+        mockBranch(network, "line2", true);
+        mockBranch(network, "line3", false);
+
+        mockElementaryActions(networkActionA, "A", mockTopologicalAction("line1", ActionType.OPEN), mockTopologicalAction("line2", ActionType.OPEN));
+        assertEquals(Optional.of(Set.of("line1", "line2")), NetworkActionPreScreener.getOpenedBranches(network, networkActionA));
+        // closings and openings of disconnected branches cannot be estimated
+        mockElementaryActions(networkActionB, "B", mockTopologicalAction("line1", ActionType.OPEN), mockTopologicalAction("line3", ActionType.CLOSE));
+        assertTrue(NetworkActionPreScreener.getOpenedBranches(network, networkActionB).isEmpty());
+        mockElementaryActions(networkActionC, "C", mockTopologicalAction("line3", ActionType.OPEN));
+        assertTrue(NetworkActionPreScreener.getOpenedBranches(network, networkActionC).isEmpty());
+    }
+
+    @Test
+    public void getGeneratorVariations() {
+        Network network = Mockito.mock(Network.class);
+        mockGenerator(network, "gen1", 100.);
+        mockGenerator(network, "gen2", 50.);
+
+        mockElementaryActions(networkActionA, "A", mockInjectionSetpoint("gen1", 80.), mockInjectionSetpoint("gen2", 90.));
+        assertEquals(Optional.of(Map.of("gen1", -20., "gen2", 40.)), NetworkActionPreScreener.getGeneratorVariations(network, networkActionA));
+        // setpoints of other injections cannot be estimated
+        mockElementaryActions(networkActionB, "B", mockInjectionSetpoint("gen1", 80.), mockInjectionSetpoint("load1", 10.));
+        assertTrue(NetworkActionPreScreener.getGeneratorVariations(network, networkActionB).isEmpty());
+    }
+
+    @Test
+    public void estimateMinMarginsWithLinearImpacts() {
+        Network network = Mockito.mock(Network.class);
+        mockBranch(network, "line1", true);
+        mockGenerator(network, "gen1", 100.);
+        mockElementaryActions(networkActionA, "A", mockTopologicalAction("line1", ActionType.OPEN));
+        mockElementaryActions(networkActionB, "B", mockInjectionSetpoint("gen1", 120.));
+        mockElementaryActions(networkActionC, "C", mockTopologicalAction("line1", ActionType.CLOSE));
+
+        FlowCnec cnec = Mockito.mock(FlowCnec.class);
+        when(cnec.computeMargin(anyDouble(), eq(Side.LEFT), eq(Unit.MEGAWATT))).thenAnswer(invocation -> 200. - (double) invocation.getArgument(0));
+        Leaf parentLeaf = Mockito.mock(Leaf.class);
+        when(parentLeaf.getMostLimitingElements(NetworkActionPreScreener.NUMBER_OF_MONITORED_CNECS)).thenReturn(List.of(cnec));
+        when(parentLeaf.getFlow(cnec, Unit.MEGAWATT)).thenReturn(120.);
+        LinearImpactResult linearImpacts = Mockito.mock(LinearImpactResult.class);
+        when(linearImpacts.getReferenceFlow(cnec)).thenReturn(100.);
+        when(linearImpacts.getFlowAfterOutage(cnec, "A")).thenReturn(150.);
+        when(linearImpacts.getInjectionSensitivity(cnec, "gen1")).thenReturn(-0.5);
+        when(searchTreeComputer.computeLinearImpacts(network, Set.of(cnec), Map.of("A", Set.of("line1")), Set.of("gen1"))).thenReturn(linearImpacts);
+        NetworkActionPreScreener preScreener = new NetworkActionPreScreener(searchTreeComputer, 1, 0);
+
+        Map<NetworkAction, Double> estimatedMargins = preScreener.estimateMinMargins(network, parentLeaf, Set.of(networkActionA, networkActionB, networkActionC));
+        // the opening of line1 adds 50 MW on the cnec, the 20 MW of gen1 remove 10 MW, the closing cannot be estimated
+        assertEquals(30., estimatedMargins.get(networkActionA), DOUBLE_TOLERANCE);
+        assertEquals(90., estimatedMargins.get(networkActionB), DOUBLE_TOLERANCE);
+        assertTrue(Double.isNaN(estimatedMargins.get(networkActionC)));
+        Mockito.verify(searchTreeComputer, Mockito.times(1)).computeLinearImpacts(any(), any(), any(), any());
+    }
+
+    @Test
+    public void cnecsOfStatesWithAppliedRemedialActionsAreNotMonitored() {
+        FlowCnec preventiveCnec = Mockito.mock(FlowCnec.class);
+        FlowCnec curativeCnec = Mockito.mock(FlowCnec.class);
+        State preventiveState = Mockito.mock(State.class);
+        State curativeState = Mockito.mock(State.class);
+        when(preventiveCnec.getState()).thenReturn(preventiveState);
+        when(curativeCnec.getState()).thenReturn(curativeState);
+        when(searchTreeComputer.getStatesWithAppliedRemedialActions()).thenReturn(Set.of(curativeState));
+        Leaf parentLeaf = Mockito.mock(Leaf.class);
+        when(parentLeaf.getMostLimitingElements(NetworkActionPreScreener.NUMBER_OF_MONITORED_CNECS)).thenReturn(List.of(preventiveCnec, curativeCnec));
+
+        assertEquals(Set.of(preventiveCnec), new NetworkActionPreScreener(searchTreeComputer, 1, 0).getMonitoredCnecs(parentLeaf));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import com.google.auto.service.AutoService;
+import com.powsybl.computation.ComputationManager;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.iidm.network.Branch;
+import com.powsybl.iidm.network.Load;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.sensitivity.*;
+import com.powsybl.sensitivity.factors.functions.BranchFlow;
+import com.powsybl.sensitivity.factors.functions.BranchIntensity;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Sensitivity analysis provider returning deterministic reference flows, which only depend on the
+ * state of the working variant of the network: the connected branches and the consumption of the loads.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+@AutoService(SensitivityAnalysisProvider.class)
+public final class NetworkStateSensiProvider implements SensitivityAnalysisProvider {
+
+    @Override
+    public CompletableFuture<SensitivityAnalysisResult> run(Network network, String workingVariantId, SensitivityFactorsProvider sensitivityFactorsProvider, List<Contingency> contingencies, SensitivityAnalysisParameters sensitivityAnalysisParameters, ComputationManager computationManager) {
+        List<SensitivityValue> nStateValues = sensitivityFactorsProvider.getAdditionalFactors(network).stream()
+            .map(factor -> getValue(network, factor, Collections.emptySet()))
+            .collect(Collectors.toList());
+        Map<String, List<SensitivityValue>> contingenciesValues = contingencies.stream()
+            .collect(Collectors.toMap(
+                Contingency::getId,
+                contingency -> {
+                    Set<String> outagedElements = contingency.getElements().stream().map(ContingencyElement::getId).collect(Collectors.toSet());
+                    return sensitivityFactorsProvider.getAdditionalFactors(network, contingency.getId()).stream()
+                        .map(factor -> getValue(network, factor, outagedElements))
+                        .collect(Collectors.toList());
+                }
+            ));
+        return CompletableFuture.completedFuture(new SensitivityAnalysisResult(true, Collections.emptyMap(), "", nStateValues, contingenciesValues));
+    }
+
+    private static SensitivityValue getValue(Network network, SensitivityFactor factor, Set<String> outagedElements) {
+        if (factor.getFunction() instanceof BranchFlow) {
+            return new SensitivityValue(factor, 0, getFlow(network, ((BranchFlow) factor.getFunction()).getBranchId(), outagedElements), 0);
+        } else if (factor.getFunction() instanceof BranchIntensity) {
+            return new SensitivityValue(factor, 0, 1.5 * getFlow(network, ((BranchIntensity) factor.getFunction()).getBranchId(), outagedElements), 0);
+        } else {
+            throw new AssertionError();
+        }
+    }
+
+    private static double getFlow(Network network, String branchId, Set<String> outagedElements) {
+        if (outagedElements.contains(branchId) || !isConnected(network.getBranch(branchId))) {
+            return 0;
+        }
+        double flow = network.getBranchStream()
+            .filter(branch -> !outagedElements.contains(branch.getId()) && isConnected(branch))
+            .mapToDouble(branch -> 20. * (Math.floorMod((branchId + branch.getId()).hashCode(), 201) - 100))
+            .sum();
+        return flow + 0.1 * network.getLoadStream().mapToDouble(Load::getP0).sum();
+    }
+
+    private static boolean isConnected(Branch<?> branch) {
+        return branch.getTerminal1().isConnected() && branch.getTerminal2().isConnected();
+    }
+
+    @Override
+    public String getName() {
+        return "NetworkStateSensi";
+    }
+
+    @Override
+    public String getVersion() {
+        return "0";
+    }
+}
@@ -49,6 +49,14 @@ public class SearchTreeRaoParametersConfigLoaderTest {
         Mockito.when(searchTreeRaoParametersModule.getDoubleProperty(eq("curative-rao-min-obj-improvement"), anyDouble())).thenReturn(456.0);
         Mockito.when(searchTreeRaoParametersModule.getBooleanProperty(eq("curative-rao-optimize-operators-not-sharing-cras"), anyBoolean())).thenReturn(false);
         Mockito.when(searchTreeRaoParametersModule.getBooleanProperty(eq("with-second-preventive-optimization"), anyBoolean())).thenReturn(true);
+        Mockito.when(searchTreeRaoParametersModule.getIntProperty(eq("rao-time-limit-in-seconds"), anyInt())).thenReturn(3600);
+        Mockito.when(searchTreeRaoParametersModule.getIntProperty(eq("perimeter-time-limit-in-seconds"), anyInt())).thenReturn(600);
+        Mockito.when(searchTreeRaoParametersModule.getEnumProperty(eq("leaf-network-mode"), eq(SearchTreeRaoParameters.LeafNetworkMode.class), any())).thenReturn(SearchTreeRaoParameters.LeafNetworkMode.VARIANTS);
+        Mockito.when(searchTreeRaoParametersModule.getEnumProperty(eq("search-strategy"), eq(SearchTreeRaoParameters.SearchStrategy.class), any())).thenReturn(SearchTreeRaoParameters.SearchStrategy.BEST_FIRST);
+        Mockito.when(searchTreeRaoParametersModule.getIntProperty(eq("beam-width"), anyInt())).thenReturn(5);
+        Mockito.when(searchTreeRaoParametersModule.getEnumProperty(eq("network-action-pre-screening"), eq(SearchTreeRaoParameters.NetworkActionPreScreening.class), any())).thenReturn(SearchTreeRaoParameters.NetworkActionPreScreening.LOG_RANKING);
+        Mockito.when(searchTreeRaoParametersModule.getIntProperty(eq("pre-screening-max-network-actions"), anyInt())).thenReturn(7);
+        Mockito.when(searchTreeRaoParametersModule.getDoubleProperty(eq("pre-screening-safety-margin"), anyDouble())).thenReturn(15.);
 
         Mockito.when(platformConfig.getOptionalModuleConfig("search-tree-rao-parameters")).thenReturn(Optional.of(searchTreeRaoParametersModule));
 
@@ -65,6 +73,14 @@ public class SearchTreeRaoParametersConfigLoaderTest {
         assertEquals(456.0, parameters.getCurativeRaoMinObjImprovement(), DOUBLE_TOLERANCE);
         assertFalse(parameters.getCurativeRaoOptimizeOperatorsNotSharingCras());
         assertTrue(parameters.getWithSecondPreventiveOptimization());
+        assertEquals(SearchTreeRaoParameters.LeafNetworkMode.VARIANTS, parameters.getLeafNetworkMode());
+        assertEquals(3600, parameters.getRaoTimeLimitInSeconds());
+        assertEquals(600, parameters.getPerimeterTimeLimitInSeconds());
+        assertEquals(SearchTreeRaoParameters.SearchStrategy.BEST_FIRST, parameters.getSearchStrategy());
+        assertEquals(5, parameters.getBeamWidth());
+        assertEquals(SearchTreeRaoParameters.NetworkActionPreScreening.LOG_RANKING, parameters.getNetworkActionPreScreening());
+        assertEquals(7, parameters.getPreScreeningMaxNetworkActions());
+        assertEquals(15., parameters.getPreScreeningSafetyMargin(), 1e-6);
     }
 
     @Test
@@ -10,10 +10,13 @@ package com.farao_community.farao.search_tree_rao;
 import com.farao_community.farao.commons.Unit;
 import com.farao_community.farao.data.crac_api.Crac;
 import com.farao_community.farao.data.crac_api.Instant;
+import com.farao_community.farao.data.crac_api.NetworkElement;
 import com.farao_community.farao.data.crac_api.State;
 import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_api.cnec.Side;
 import com.farao_community.farao.data.crac_api.network_action.ActionType;
 import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import com.farao_community.farao.data.crac_api.network_action.TopologicalAction;
 import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
 import com.farao_community.farao.data.crac_api.usage_rule.OnFlowConstraint;
@@ -26,17 +29,23 @@ import com.farao_community.farao.rao_commons.objective_function_evaluator.Object
 import com.farao_community.farao.rao_commons.result_api.FlowResult;
 import com.farao_community.farao.rao_commons.result_api.OptimizationResult;
 import com.farao_community.farao.rao_commons.result_api.PrePerimeterResult;
+import com.farao_community.farao.sensitivity_analysis.LinearImpactResult;
 import com.farao_community.farao.util.FaraoNetworkPool;
+import com.powsybl.iidm.network.Branch;
 import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.network.Terminal;
 import com.powsybl.iidm.network.VariantManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.Assert.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -94,6 +103,7 @@ public class SearchTreeTest {
         when(treeParameters.getMaxRa()).thenReturn(Integer.MAX_VALUE);
         when(treeParameters.getMaxTso()).thenReturn(Integer.MAX_VALUE);
         when(treeParameters.getMaxPstPerTso()).thenReturn(new HashMap<>());
+        when(treeParameters.getTimeLimitInSeconds()).thenReturn(Integer.MAX_VALUE);
     }
 
     private void setSearchTreeInput() {
@@ -208,7 +218,7 @@ public class SearchTreeTest {
 
         Leaf childLeaf = Mockito.mock(Leaf.class);
         when(childLeaf.getStatus()).thenReturn(Leaf.Status.ERROR);
-        Mockito.doReturn(childLeaf).when(searchTree).createChildLeaf(network, networkAction);
+        Mockito.doReturn(childLeaf).when(searchTree).createChildLeaf(eq(network), eq(networkAction), any());
 
         OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
         assertEquals(rootLeaf, result);
@@ -247,6 +257,285 @@ public class SearchTreeTest {
         assertEquals(rootLeaf, result);
     }
 
+    @Test
+    public void networkPoolIsReusedAcrossDepths() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        when(treeParameters.getMaximumSearchDepth()).thenReturn(2);
+        searchTreeWithOneChildLeaf();
+        NetworkAction secondNetworkAction = Mockito.mock(NetworkAction.class);
+        when(secondNetworkAction.getUsageMethod(any())).thenReturn(UsageMethod.AVAILABLE);
+        availableNetworkActions.add(secondNetworkAction);
+
+        mockRootLeafCost(4.);
+        Leaf childLeaf = Mockito.mock(Leaf.class);
+        when(childLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(childLeaf.getCost()).thenReturn(3.);
+        Leaf grandChildLeaf = Mockito.mock(Leaf.class);
+        when(grandChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(grandChildLeaf.getCost()).thenReturn(2.);
+        when(bloomer.bloom(rootLeaf, availableNetworkActions)).thenReturn(Collections.singleton(networkAction));
+        when(bloomer.bloom(childLeaf, availableNetworkActions)).thenReturn(Collections.singleton(secondNetworkAction));
+        Mockito.doReturn(childLeaf).when(searchTree).createChildLeaf(eq(network), eq(networkAction), any());
+        Mockito.doReturn(grandChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(secondNetworkAction), any());
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(grandChildLeaf, result);
+        Mockito.verify(searchTree, Mockito.times(1)).makeFaraoNetworkPool(network, leavesInParallel);
+    }
+
+    @Test
+    public void timeLimitReachedBeforeRootLeafOptimization() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        searchTreeWithOneChildLeaf();
+        when(treeParameters.getTimeLimitInSeconds()).thenReturn(0);
+        mockRootLeafCost(4.);
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(rootLeaf, result);
+        assertTrue(searchTree.isTruncated());
+        Mockito.verify(rootLeaf, Mockito.never()).optimize(any(), any(), any());
+        Mockito.verify(searchTree, Mockito.never()).createChildLeaf(any(), any(), any());
+    }
+
+    @Test
+    public void remainingLeavesAreCancelledWhenTargetIsReached() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtTargetObjectiveValue(0.);
+        searchTreeWithOneChildLeaf();
+        NetworkAction secondNetworkAction = Mockito.mock(NetworkAction.class);
+        when(secondNetworkAction.getUsageMethod(any())).thenReturn(UsageMethod.AVAILABLE);
+        availableNetworkActions.add(secondNetworkAction);
+        mockRootLeafCost(4.);
+        Leaf childLeaf = Mockito.mock(Leaf.class);
+        when(childLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED);
+        when(childLeaf.getCost()).thenReturn(-1.);
+        Mockito.doReturn(childLeaf).when(searchTree).createChildLeaf(eq(network), any(), any());
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(childLeaf, result);
+        assertFalse(searchTree.isTruncated());
+        // leaves are evaluated one by one, the second one is cancelled as soon as the first one reaches the target
+        Mockito.verify(searchTree, Mockito.times(1)).createChildLeaf(eq(network), any(), any());
+    }
+
+    @Test
+    public void alreadyExploredCombinationIsNotEvaluatedAgain() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        when(treeParameters.getMaximumSearchDepth()).thenReturn(2);
+        searchTreeWithOneChildLeaf();
+
+        mockRootLeafCost(4.);
+        Leaf childLeaf = Mockito.mock(Leaf.class);
+        when(childLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(childLeaf.getCost()).thenReturn(3.);
+        when(childLeaf.getActivatedNetworkActions()).thenReturn(Collections.singleton(networkAction));
+        // the bloomer proposes again a combination which has already been explored
+        when(bloomer.bloom(childLeaf, availableNetworkActions)).thenReturn(Collections.singleton(networkAction));
+        Mockito.doReturn(childLeaf).when(searchTree).createChildLeaf(eq(network), eq(networkAction), any());
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(childLeaf, result);
+        Mockito.verify(searchTree, Mockito.times(1)).createChildLeaf(eq(network), eq(networkAction), any());
+    }
+
+    @Test
+    public void beamSearchExpandsLeavesWhichAreNotTheBest() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        when(treeParameters.getMaximumSearchDepth()).thenReturn(2);
+        when(treeParameters.getSearchStrategy()).thenReturn(SearchTreeRaoParameters.SearchStrategy.BEAM);
+        when(treeParameters.getBeamWidth()).thenReturn(2);
+        searchTreeWithOneChildLeaf();
+        NetworkAction secondNetworkAction = Mockito.mock(NetworkAction.class);
+        NetworkAction thirdNetworkAction = Mockito.mock(NetworkAction.class);
+
+        mockRootLeafCost(4.);
+        Leaf bestChildLeaf = Mockito.mock(Leaf.class);
+        when(bestChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(bestChildLeaf.getCost()).thenReturn(2.);
+        when(bestChildLeaf.getActivatedNetworkActions()).thenReturn(Collections.singleton(networkAction));
+        Leaf secondChildLeaf = Mockito.mock(Leaf.class);
+        when(secondChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(secondChildLeaf.getCost()).thenReturn(3.);
+        when(secondChildLeaf.getActivatedNetworkActions()).thenReturn(Collections.singleton(secondNetworkAction));
+        Leaf grandChildLeaf = Mockito.mock(Leaf.class);
+        when(grandChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(grandChildLeaf.getCost()).thenReturn(1.);
+        when(bloomer.bloom(eq(rootLeaf), any())).thenReturn(Set.of(networkAction, secondNetworkAction));
+        when(bloomer.bloom(eq(bestChildLeaf), any())).thenReturn(Collections.emptySet());
+        when(bloomer.bloom(eq(secondChildLeaf), any())).thenReturn(Collections.singleton(thirdNetworkAction));
+        Mockito.doReturn(bestChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(networkAction), any());
+        Mockito.doReturn(secondChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(secondNetworkAction), any());
+        Mockito.doReturn(grandChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(thirdNetworkAction), any());
+
+        // the grand child leaf comes from the second best leaf of depth 1, it would not be found by a depth by depth search
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(grandChildLeaf, result);
+    }
+
+    @Test
+    public void combinationReachedFromTwoParentsIsOnlyComputedAndExpandedOnce() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        when(treeParameters.getMaximumSearchDepth()).thenReturn(3);
+        when(treeParameters.getSearchStrategy()).thenReturn(SearchTreeRaoParameters.SearchStrategy.BEAM);
+        when(treeParameters.getBeamWidth()).thenReturn(2);
+        searchTreeWithOneChildLeaf();
+        NetworkAction secondNetworkAction = Mockito.mock(NetworkAction.class);
+
+        mockRootLeafCost(4.);
+        Leaf firstChildLeaf = Mockito.mock(Leaf.class);
+        when(firstChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(firstChildLeaf.getCost()).thenReturn(3.);
+        when(firstChildLeaf.getActivatedNetworkActions()).thenReturn(Collections.singleton(networkAction));
+        Leaf secondChildLeaf = Mockito.mock(Leaf.class);
+        when(secondChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(secondChildLeaf.getCost()).thenReturn(3.5);
+        when(secondChildLeaf.getActivatedNetworkActions()).thenReturn(Collections.singleton(secondNetworkAction));
+        Leaf grandChildLeaf = Mockito.mock(Leaf.class);
+        when(grandChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(grandChildLeaf.getCost()).thenReturn(1.);
+        when(grandChildLeaf.getActivatedNetworkActions()).thenReturn(Set.of(networkAction, secondNetworkAction));
+        when(bloomer.bloom(eq(rootLeaf), any())).thenReturn(Set.of(networkAction, secondNetworkAction));
+        // both child leaves lead to the same combination of network actions
+        when(bloomer.bloom(eq(firstChildLeaf), any())).thenReturn(Collections.singleton(secondNetworkAction));
+        when(bloomer.bloom(eq(secondChildLeaf), any())).thenReturn(Collections.singleton(networkAction));
+        when(bloomer.bloom(eq(grandChildLeaf), any())).thenReturn(Collections.emptySet());
+        Mockito.doReturn(firstChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(networkAction), any());
+        Mockito.doReturn(secondChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(secondNetworkAction), any());
+        Mockito.doReturn(grandChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(secondNetworkAction), eq(firstChildLeaf));
+        Mockito.doReturn(grandChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(networkAction), eq(secondChildLeaf));
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(grandChildLeaf, result);
+        Mockito.verify(searchTree, Mockito.times(3)).createChildLeaf(eq(network), any(), any());
+        Mockito.verify(bloomer, Mockito.times(1)).bloom(eq(grandChildLeaf), any());
+    }
+
+    @Test
+    public void bestFirstSearchOnlyOptimizesBestEvaluatedLeaves() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        when(treeParameters.getSearchStrategy()).thenReturn(SearchTreeRaoParameters.SearchStrategy.BEST_FIRST);
+        when(treeParameters.getBeamWidth()).thenReturn(1);
+        searchTreeWithOneChildLeaf();
+        NetworkAction secondNetworkAction = Mockito.mock(NetworkAction.class);
+
+        mockRootLeafCost(4.);
+        Leaf bestChildLeaf = Mockito.mock(Leaf.class);
+        when(bestChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(bestChildLeaf.getCost()).thenReturn(3.);
+        Leaf worstChildLeaf = Mockito.mock(Leaf.class);
+        when(worstChildLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED);
+        when(worstChildLeaf.getCost()).thenReturn(5.);
+        when(bloomer.bloom(eq(rootLeaf), any())).thenReturn(Set.of(networkAction, secondNetworkAction));
+        Mockito.doReturn(bestChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(networkAction), any());
+        Mockito.doReturn(worstChildLeaf).when(searchTree).createChildLeaf(eq(network), eq(secondNetworkAction), any());
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(bestChildLeaf, result);
+        Mockito.verify(bestChildLeaf, Mockito.times(1)).moveTo(network);
+        // the queue of leaves to optimize only keeps the best evaluated leaf
+        Mockito.verify(worstChildLeaf, Mockito.never()).moveTo(any());
+        Mockito.verify(worstChildLeaf, Mockito.never()).optimize(any(), any(), any());
+    }
+
+    private void mockLineOpening(NetworkAction networkAction, String networkActionId, String lineId) {
+        when(networkAction.getId()).thenReturn(networkActionId);
+        TopologicalAction topologicalAction = Mockito.mock(TopologicalAction.class);
+        when(topologicalAction.getActionType()).thenReturn(ActionType.OPEN);
+        NetworkElement networkElement = Mockito.mock(NetworkElement.class);
+        when(networkElement.getId()).thenReturn(lineId);
+        when(topologicalAction.getNetworkElement()).thenReturn(networkElement);
+        when(networkAction.getElementaryActions()).thenReturn(Set.of(topologicalAction));
+        Branch line = Mockito.mock(Branch.class);
+        when(line.getId()).thenReturn(lineId);
+        Terminal terminal = Mockito.mock(Terminal.class);
+        when(terminal.isConnected()).thenReturn(true);
+        when(line.getTerminal1()).thenReturn(terminal);
+        when(line.getTerminal2()).thenReturn(terminal);
+        when(network.getBranch(lineId)).thenReturn(line);
+    }
+
+    @Test
+    public void preScreeningOnlyKeepsMostPromisingNetworkActions() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        when(treeParameters.getNetworkActionPreScreening()).thenReturn(SearchTreeRaoParameters.NetworkActionPreScreening.FILTER);
+        when(treeParameters.getPreScreeningMaxNetworkActions()).thenReturn(1);
+        searchTreeWithOneChildLeaf();
+        NetworkAction secondNetworkAction = Mockito.mock(NetworkAction.class);
+        when(bloomer.bloom(eq(rootLeaf), any())).thenReturn(Set.of(networkAction, secondNetworkAction));
+
+        // both network actions open a line, the linear estimate of the flow on the monitored cnec depends on the line
+        FlowCnec cnec = Mockito.mock(FlowCnec.class);
+        when(cnec.computeMargin(anyDouble(), eq(Side.LEFT), eq(Unit.MEGAWATT))).thenAnswer(invocation -> 200. - (double) invocation.getArgument(0));
+        mockLineOpening(networkAction, "na1", "line1");
+        mockLineOpening(secondNetworkAction, "na2", "line2");
+        LinearImpactResult linearImpacts = Mockito.mock(LinearImpactResult.class);
+        when(linearImpacts.getReferenceFlow(cnec)).thenReturn(100.);
+        when(linearImpacts.getFlowAfterOutage(cnec, "na1")).thenReturn(150.);
+        when(linearImpacts.getFlowAfterOutage(cnec, "na2")).thenReturn(50.);
+        when(searchTreeComputer.computeLinearImpacts(network, Set.of(cnec), Map.of("na1", Set.of("line1"), "na2", Set.of("line2")), Set.of())).thenReturn(linearImpacts);
+
+        mockRootLeafCost(4.);
+        when(rootLeaf.getMostLimitingElements(NetworkActionPreScreener.NUMBER_OF_MONITORED_CNECS)).thenReturn(List.of(cnec));
+        when(rootLeaf.getFlow(cnec, Unit.MEGAWATT)).thenReturn(120.);
+        Leaf childLeaf = Mockito.mock(Leaf.class);
+        when(childLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
+        when(childLeaf.getCost()).thenReturn(3.);
+        Mockito.doReturn(childLeaf).when(searchTree).createChildLeaf(eq(network), eq(secondNetworkAction), any());
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(childLeaf, result);
+        // the first network action increases the flow on the cnec, it is not evaluated
+        Mockito.verify(searchTree, Mockito.never()).createChildLeaf(eq(network), eq(networkAction), any());
+        Mockito.verify(searchTree, Mockito.times(1)).createChildLeaf(eq(network), eq(secondNetworkAction), any());
+    }
+
+    @Test
+    public void runAndIterateOnTreeWithVariants() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        searchTreeWithOneChildLeaf();
+        when(treeParameters.getLeafNetworkMode()).thenReturn(SearchTreeRaoParameters.LeafNetworkMode.VARIANTS);
+        AtomicReference<String> workingVariant = new AtomicReference<>("ID");
+        VariantManager variantManager = network.getVariantManager();
+        when(variantManager.getWorkingVariantId()).thenAnswer(invocation -> workingVariant.get());
+        Mockito.doAnswer(invocation -> {
+            workingVariant.set(invocation.getArgument(0));
+            return null;
+        }).when(variantManager).setWorkingVariant(anyString());
+        Leaf childLeaf = Mockito.mock(Leaf.class);
+        mockLeafsCosts(4., 3., childLeaf);
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(childLeaf, result);
+        Mockito.verify(searchTree, Mockito.times(1)).makeFaraoVariantsPool(network, leavesInParallel);
+        Mockito.verify(searchTree, Mockito.never()).makeFaraoNetworkPool(network, leavesInParallel);
+        Mockito.verify(variantManager, Mockito.times(1)).removeVariant("ID variant modified 0");
+    }
+
+    @Test
+    public void runWithVariantsAndAppliedRemedialActions() throws Exception {
+        raoWithoutLoopFlowLimitation();
+        setStopCriterionAtMinObjective();
+        searchTreeWithOneChildLeaf();
+        when(treeParameters.getLeafNetworkMode()).thenReturn(SearchTreeRaoParameters.LeafNetworkMode.VARIANTS);
+        when(searchTreeComputer.hasAppliedRemedialActions()).thenReturn(true);
+        Leaf childLeaf = Mockito.mock(Leaf.class);
+        mockLeafsCosts(4., 3., childLeaf);
+
+        OptimizationResult result = searchTree.run(searchTreeInput, treeParameters, linearOptimizerParameters).get();
+        assertEquals(childLeaf, result);
+        // the sensitivity analyses with applied remedial actions create variants, leaves are evaluated on copies
+        Mockito.verify(searchTree, Mockito.never()).makeFaraoVariantsPool(network, leavesInParallel);
+        Mockito.verify(searchTree, Mockito.times(1)).makeFaraoNetworkPool(network, leavesInParallel);
+    }
+
     @Test
     public void tooManyRangeActions() throws Exception {
         raoWithoutLoopFlowLimitation();
@@ -372,7 +661,7 @@ public class SearchTreeTest {
         mockRootLeafCost(rootLeafCostAfterOptim);
         when(childLeaf.getStatus()).thenReturn(Leaf.Status.EVALUATED, Leaf.Status.OPTIMIZED);
         when(childLeaf.getCost()).thenReturn(childLeafCostAfterOptim);
-        Mockito.doReturn(childLeaf).when(searchTree).createChildLeaf(network, networkAction);
+        Mockito.doReturn(childLeaf).when(searchTree).createChildLeaf(eq(network), eq(networkAction), any());
     }
 
     private void mockNetworkPool(Network network) throws Exception {
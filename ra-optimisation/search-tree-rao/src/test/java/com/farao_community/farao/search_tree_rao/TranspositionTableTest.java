@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.search_tree_rao;
+
+import com.farao_community.farao.data.crac_api.network_action.NetworkAction;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class TranspositionTableTest {
+
+    private TranspositionTable transpositionTable;
+    private NetworkAction networkActionA;
+    private NetworkAction networkActionB;
+
+    @Before
+    public void setUp() {
+        transpositionTable = new TranspositionTable();
+        networkActionA = Mockito.mock(NetworkAction.class);
+        networkActionB = Mockito.mock(NetworkAction.class);
+    }
+
+    @Test
+    public void combinationsAreUnordered() {
+        assertTrue(transpositionTable.register(Set.of(networkActionA, networkActionB)));
+        assertFalse(transpositionTable.register(Set.of(networkActionB, networkActionA)));
+        assertTrue(transpositionTable.register(Set.of(networkActionA)));
+
+        assertEquals(2, transpositionTable.getMisses());
+        assertEquals(1, transpositionTable.getHits());
+        assertEquals(2, transpositionTable.size());
+    }
+
+    @Test
+    public void storedOutcomeIsReturned() {
+        Leaf leaf = Mockito.mock(Leaf.class);
+        when(leaf.getActivatedNetworkActions()).thenReturn(Set.of(networkActionA, networkActionB));
+        when(leaf.getStatus()).thenReturn(Leaf.Status.OPTIMIZED);
+        when(leaf.getCost()).thenReturn(12.);
+
+        assertTrue(transpositionTable.register(Set.of(networkActionB, networkActionA)));
+        assertTrue(transpositionTable.getOutcome(Set.of(networkActionA, networkActionB)).isEmpty());
+
+        transpositionTable.store(leaf);
+        TranspositionTable.LeafOutcome outcome = transpositionTable.getOutcome(Set.of(networkActionB, networkActionA)).orElseThrow();
+        assertEquals(Leaf.Status.OPTIMIZED, outcome.getStatus());
+        assertEquals(12., outcome.getCost(), 1e-6);
+        assertTrue(transpositionTable.getOutcome(Collections.singleton(networkActionA)).isEmpty());
+        assertFalse(transpositionTable.register(Set.of(networkActionA, networkActionB)));
+    }
+
+    @Test
+    public void outcomeOfLeafInErrorHasNoCost() {
+        Leaf leaf = Mockito.mock(Leaf.class);
+        when(leaf.getActivatedNetworkActions()).thenReturn(Set.of(networkActionA));
+        when(leaf.getStatus()).thenReturn(Leaf.Status.ERROR);
+
+        transpositionTable.store(leaf);
+        TranspositionTable.LeafOutcome outcome = transpositionTable.getOutcome(Set.of(networkActionA)).orElseThrow();
+        assertEquals(Leaf.Status.ERROR, outcome.getStatus());
+        assertTrue(Double.isNaN(outcome.getCost()));
+        Mockito.verify(leaf, Mockito.never()).getCost();
+    }
+
+    @Test
+    public void storedLeafIsRegistered() {
+        Leaf rootLeaf = Mockito.mock(Leaf.class);
+        when(rootLeaf.getActivatedNetworkActions()).thenReturn(Collections.emptySet());
+
+        transpositionTable.store(rootLeaf);
+        assertFalse(transpositionTable.register(Collections.emptySet()));
+        assertEquals(1, transpositionTable.getHits());
+        assertEquals(0, transpositionTable.getMisses());
+    }
+}
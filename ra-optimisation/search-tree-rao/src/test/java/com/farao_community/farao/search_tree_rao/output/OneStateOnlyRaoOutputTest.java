@@ -16,6 +16,7 @@ import com.farao_community.farao.data.crac_api.range_action.PstRangeAction;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
 import com.farao_community.farao.data.rao_result_api.ComputationStatus;
 import com.farao_community.farao.data.rao_result_api.OptimizationState;
+import com.farao_community.farao.data.rao_result_impl.ColumnarRaoResult;
 import com.farao_community.farao.rao_commons.result_api.OptimizationResult;
 import com.farao_community.farao.rao_commons.result_api.PrePerimeterResult;
 import org.junit.Before;
@@ -234,6 +235,40 @@ public class OneStateOnlyRaoOutputTest {
         assertThrows(FaraoException.class, () -> output.getOptimizedSetPointsOnState(otherState));
     }
 
+    @Test
+    public void testToColumnarRaoResult() {
+        when(optimizedState.getInstant()).thenReturn(Instant.PREVENTIVE);
+        when(optimizedState.isPreventive()).thenReturn(true);
+        Crac crac = mock(Crac.class);
+        when(crac.getFlowCnecs()).thenReturn(Set.of(cnec1, cnec2));
+        when(crac.getStates()).thenReturn(Set.of(optimizedState));
+        when(crac.getPreventiveState()).thenReturn(optimizedState);
+        when(crac.getNetworkActions()).thenReturn(Set.of(networkAction));
+        when(crac.getPstRangeActions()).thenReturn(Set.of(pstRangeAction));
+        when(initialResult.getSensitivityStatus()).thenReturn(ComputationStatus.DEFAULT);
+        when(postOptimizationResult.getSensitivityStatus()).thenReturn(ComputationStatus.DEFAULT);
+
+        ColumnarRaoResult columnarRaoResult = output.toColumnarRaoResult(crac);
+
+        assertEquals(ComputationStatus.DEFAULT, columnarRaoResult.getComputationStatus());
+        assertEquals(1000., columnarRaoResult.getFunctionalCost(OptimizationState.INITIAL), DOUBLE_TOLERANCE);
+        assertEquals(-1000., columnarRaoResult.getFunctionalCost(OptimizationState.AFTER_PRA), DOUBLE_TOLERANCE);
+        assertEquals(Set.of("mnec", "lf"), columnarRaoResult.getVirtualCostNames());
+        assertEquals(80., columnarRaoResult.getVirtualCost(OptimizationState.INITIAL, "lf"), DOUBLE_TOLERANCE);
+        assertEquals(-100., columnarRaoResult.getVirtualCost(OptimizationState.AFTER_PRA), DOUBLE_TOLERANCE);
+
+        assertEquals(-500., columnarRaoResult.getMargin(OptimizationState.INITIAL, cnec1, Unit.AMPERE), DOUBLE_TOLERANCE);
+        assertEquals(2000., columnarRaoResult.getRelativeMargin(OptimizationState.AFTER_PRA, cnec2, Unit.MEGAWATT), DOUBLE_TOLERANCE);
+        assertEquals(250., columnarRaoResult.getMargin(OptimizationState.AFTER_CRA, cnec1, Unit.AMPERE), DOUBLE_TOLERANCE);
+
+        assertTrue(columnarRaoResult.isActivatedDuringState(optimizedState, networkAction));
+        assertTrue(columnarRaoResult.isActivatedDuringState(optimizedState, pstRangeAction));
+        assertEquals(1, columnarRaoResult.getPreOptimizationTapOnState(optimizedState, pstRangeAction));
+        assertEquals(2, columnarRaoResult.getOptimizedTapOnState(optimizedState, pstRangeAction));
+        assertEquals(6.7, columnarRaoResult.getPreOptimizationSetPointOnState(optimizedState, pstRangeAction), DOUBLE_TOLERANCE);
+        assertEquals(8.9, columnarRaoResult.getOptimizedSetPointOnState(optimizedState, pstRangeAction), DOUBLE_TOLERANCE);
+    }
+
     @Test
     public void testCurativeCase1() {
         when(optimizedState.getInstant()).thenReturn(Instant.CURATIVE);
@@ -27,6 +27,7 @@ public abstract class AbstractSimpleSensitivityProvider implements CnecSensitivi
     protected boolean factorsInMegawatt;
     protected boolean factorsInAmpere;
     protected boolean afterContingencyOnly = false;
+    private final SensitivityIndex sensitivityIndex = new SensitivityIndex();
 
     AbstractSimpleSensitivityProvider(Set<FlowCnec> cnecs, Set<Unit> requestedUnits) {
         this.cnecs = cnecs;
@@ -70,4 +71,9 @@ public abstract class AbstractSimpleSensitivityProvider implements CnecSensitivi
     public void disableFactorsForBaseCaseSituation() {
         this.afterContingencyOnly = true;
     }
+
+    @Override
+    public SensitivityIndex getSensitivityIndex() {
+        return sensitivityIndex;
+    }
 }
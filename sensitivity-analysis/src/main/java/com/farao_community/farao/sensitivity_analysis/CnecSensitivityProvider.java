@@ -20,4 +20,10 @@ public interface CnecSensitivityProvider extends SensitivityFactorsProvider, Con
     Set<FlowCnec> getFlowCnecs();
 
     void disableFactorsForBaseCaseSituation();
+
+    /**
+     * Registry of the indices of the sensitivity functions and variables of the provider, shared by all
+     * the results of the sensitivity analyses run with it.
+     */
+    SensitivityIndex getSensitivityIndex();
 }
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.sensitivity_analysis;
+
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.sensitivity.SensitivityAnalysis;
+import com.powsybl.sensitivity.SensitivityAnalysisParameters;
+import com.powsybl.sensitivity.SensitivityAnalysisResult;
+import com.powsybl.sensitivity.SensitivityValue;
+import com.powsybl.sensitivity.factors.functions.BranchFlow;
+import com.powsybl.sensitivity.factors.variables.InjectionIncrease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Linear estimation of the impact of outages of branches and of variations of generator injections on the flows of
+ * a set of CNECs, with a single DC sensitivity analysis on the working variant of the network.
+ * <p>
+ * Each outage is computed as an additional contingency, on top of the contingency of the state of each CNEC, which
+ * a DC sensitivity engine handles with the LODFs of the network. The impact of the injection variations is given by
+ * the PTDFs, i.e. the sensitivities of the flows to the injections of the generators.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public final class LinearImpactComputation {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LinearImpactComputation.class);
+
+    private LinearImpactComputation() {
+    }
+
+    /**
+     * @param outages: branches to disconnect, for each outage id
+     * @param generators: ids of the generators whose injection may vary
+     * @param dcParameters: parameters of a DC sensitivity analysis
+     * @return the flows and sensitivities in MW, or an empty result if the sensitivity analysis failed
+     */
+    public static LinearImpactResult run(Network network, Set<FlowCnec> cnecs, Map<String, Set<String>> outages, Set<String> generators, SensitivityAnalysisParameters dcParameters) {
+        LinearImpactSensitivityProvider provider = new LinearImpactSensitivityProvider(cnecs, outages, generators);
+        List<Contingency> contingencies = provider.getContingencies(network);
+        SensitivityAnalysisResult sensitivityAnalysisResult;
+        try {
+            sensitivityAnalysisResult = SensitivityAnalysis.run(network, network.getVariantManager().getWorkingVariantId(), provider, contingencies, dcParameters);
+        } catch (Exception e) {
+            LOGGER.debug("Linear impact computation failed: {}", e.getMessage());
+            return new LinearImpactResult();
+        }
+        LinearImpactResult result = new LinearImpactResult();
+        if (sensitivityAnalysisResult == null || !sensitivityAnalysisResult.isOk()) {
+            return result;
+        }
+        sensitivityAnalysisResult.getSensitivityValues().forEach(value -> fill(result, cnecs, null, null, value));
+        sensitivityAnalysisResult.getSensitivityValuesContingencies().forEach((contingencyId, values) ->
+            values.forEach(value -> fill(result, cnecs, provider.getStateContingencyId(contingencyId), provider.getOutageId(contingencyId), value)));
+        return result;
+    }
+
+    private static void fill(LinearImpactResult result, Set<FlowCnec> cnecs, String stateContingencyId, String outageId, SensitivityValue value) {
+        String branchId = ((BranchFlow) value.getFactor().getFunction()).getBranchId();
+        cnecs.stream()
+            .filter(cnec -> cnec.getNetworkElement().getId().equals(branchId) && isInState(cnec, stateContingencyId))
+            .forEach(cnec -> {
+                if (Objects.nonNull(outageId)) {
+                    result.addFlowAfterOutage(cnec, outageId, value.getFunctionReference());
+                } else {
+                    result.addReferenceFlow(cnec, value.getFunctionReference());
+                    if (value.getFactor().getVariable() instanceof InjectionIncrease) {
+                        result.addInjectionSensitivity(cnec, ((InjectionIncrease) value.getFactor().getVariable()).getInjectionId(), value.getValue());
+                    }
+                }
+            });
+    }
+
+    private static boolean isInState(FlowCnec cnec, String stateContingencyId) {
+        return cnec.getState().getContingency()
+            .map(contingency -> contingency.getId().equals(stateContingencyId))
+            .orElse(Objects.isNull(stateContingencyId));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.sensitivity_analysis;
+
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flows and sensitivities computed by a {@link LinearImpactComputation}, in MW. The values which have not been
+ * computed are NaN.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class LinearImpactResult {
+    private final Map<FlowCnec, Double> referenceFlows = new HashMap<>();
+    private final Map<FlowCnec, Map<String, Double>> flowsAfterOutages = new HashMap<>();
+    private final Map<FlowCnec, Map<String, Double>> injectionSensitivities = new HashMap<>();
+
+    void addReferenceFlow(FlowCnec cnec, double flow) {
+        referenceFlows.put(cnec, flow);
+    }
+
+    void addFlowAfterOutage(FlowCnec cnec, String outageId, double flow) {
+        flowsAfterOutages.computeIfAbsent(cnec, c -> new HashMap<>()).put(outageId, flow);
+    }
+
+    void addInjectionSensitivity(FlowCnec cnec, String generatorId, double sensitivity) {
+        injectionSensitivities.computeIfAbsent(cnec, c -> new HashMap<>()).put(generatorId, sensitivity);
+    }
+
+    /**
+     * Returns the DC flow of the CNEC, in its state.
+     */
+    public double getReferenceFlow(FlowCnec cnec) {
+        return referenceFlows.getOrDefault(cnec, Double.NaN);
+    }
+
+    /**
+     * Returns the DC flow of the CNEC, in its state, once the branches of the outage are disconnected.
+     */
+    public double getFlowAfterOutage(FlowCnec cnec, String outageId) {
+        return flowsAfterOutages.getOrDefault(cnec, Map.of()).getOrDefault(outageId, Double.NaN);
+    }
+
+    /**
+     * Returns the sensitivity of the DC flow of the CNEC, in its state, to the injection of the generator.
+     */
+    public double getInjectionSensitivity(FlowCnec cnec, String generatorId) {
+        return injectionSensitivities.getOrDefault(cnec, Map.of()).getOrDefault(generatorId, Double.NaN);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.sensitivity_analysis;
+
+import com.farao_community.farao.commons.Unit;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.powsybl.contingency.BranchContingency;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.sensitivity.SensitivityFactor;
+import com.powsybl.sensitivity.SensitivityVariable;
+import com.powsybl.sensitivity.factors.variables.InjectionIncrease;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Sensitivity factors of a {@link LinearImpactComputation}. The flows of each CNEC are computed in the state of the
+ * CNEC, and in this state with each outage added to its contingency. The sensitivities of these flows to the
+ * injections of the given generators are computed in the state of the CNEC only.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+class LinearImpactSensitivityProvider extends LoadflowProvider {
+    private final Map<String, Set<String>> outages;
+    private final Set<String> generators;
+    private final Map<String, String> outageIdPerContingency = new HashMap<>();
+    private final Map<String, String> stateContingencyIdPerContingency = new HashMap<>();
+
+    LinearImpactSensitivityProvider(Set<FlowCnec> cnecs, Map<String, Set<String>> outages, Set<String> generators) {
+        super(cnecs, Collections.singleton(Unit.MEGAWATT));
+        this.outages = outages;
+        this.generators = generators;
+    }
+
+    @Override
+    public List<Contingency> getContingencies(Network network) {
+        List<Contingency> contingencies = new ArrayList<>();
+        Map<String, List<ContingencyElement>> stateContingencies = new HashMap<>();
+        stateContingencies.put(null, Collections.emptyList());
+        super.getContingencies(network).forEach(contingency -> {
+            contingencies.add(contingency);
+            stateContingencies.put(contingency.getId(), contingency.getElements());
+        });
+        stateContingencies.forEach((stateContingencyId, stateContingencyElements) -> outages.forEach((outageId, branches) -> {
+            String contingencyId = getContingencyId(stateContingencyId, outageId);
+            Map<String, ContingencyElement> elements = new LinkedHashMap<>();
+            stateContingencyElements.forEach(element -> elements.put(element.getId(), element));
+            branches.forEach(branch -> elements.putIfAbsent(branch, new BranchContingency(branch)));
+            contingencies.add(new Contingency(contingencyId, new ArrayList<>(elements.values())));
+            outageIdPerContingency.put(contingencyId, outageId);
+            stateContingencyIdPerContingency.put(contingencyId, stateContingencyId);
+        }));
+        return contingencies;
+    }
+
+    @Override
+    public List<SensitivityFactor> getAdditionalFactors(Network network) {
+        return getFactors(network, null, getVariables(network));
+    }
+
+    @Override
+    public List<SensitivityFactor> getAdditionalFactors(Network network, String contingencyId) {
+        if (outageIdPerContingency.containsKey(contingencyId)) {
+            // only the flows are needed after an outage
+            return getFactors(network, stateContingencyIdPerContingency.get(contingencyId), Collections.singletonList(defaultSensitivityVariable(network)));
+        }
+        return getFactors(network, contingencyId, getVariables(network));
+    }
+
+    /**
+     * Returns the id of the outage added to the contingency, or null if the contingency is the one of a state.
+     */
+    String getOutageId(String contingencyId) {
+        return outageIdPerContingency.get(contingencyId);
+    }
+
+    /**
+     * Returns the id of the contingency of the state of the CNECs monitored in the contingency, or null for the
+     * preventive state.
+     */
+    String getStateContingencyId(String contingencyId) {
+        return outageIdPerContingency.containsKey(contingencyId) ? stateContingencyIdPerContingency.get(contingencyId) : contingencyId;
+    }
+
+    private List<SensitivityVariable> getVariables(Network network) {
+        if (generators.isEmpty()) {
+            return Collections.singletonList(defaultSensitivityVariable(network));
+        }
+        return generators.stream()
+            .map(generator -> new InjectionIncrease(generator, generator, generator))
+            .collect(Collectors.toList());
+    }
+
+    private List<SensitivityFactor> getFactors(Network network, String stateContingencyId, List<SensitivityVariable> variables) {
+        List<SensitivityFactor> factors = new ArrayList<>();
+        getSensitivityFunctions(network, stateContingencyId).forEach(fun -> variables.forEach(var -> factors.add(sensitivityFactorMapping(fun, var))));
+        return factors;
+    }
+
+    private static String getContingencyId(String stateContingencyId, String outageId) {
+        return String.format("%s + outage %s", Objects.isNull(stateContingencyId) ? "preventive" : stateContingencyId, outageId);
+    }
+}
@@ -18,6 +18,7 @@ import java.util.*;
  */
 public class MultipleSensitivityProvider implements CnecSensitivityProvider {
     private final List<CnecSensitivityProvider> cnecSensitivityProviders;
+    private final SensitivityIndex sensitivityIndex = new SensitivityIndex();
 
     MultipleSensitivityProvider() {
         cnecSensitivityProviders = new ArrayList<>();
@@ -40,6 +41,11 @@ public class MultipleSensitivityProvider implements CnecSensitivityProvider {
         cnecSensitivityProviders.forEach(CnecSensitivityProvider::disableFactorsForBaseCaseSituation);
     }
 
+    @Override
+    public SensitivityIndex getSensitivityIndex() {
+        return sensitivityIndex;
+    }
+
     @Override
     public List<Contingency> getContingencies(Network network) {
         //using a set to avoid duplicates
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.sensitivity_analysis;
+
+import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the integer indices given to the sensitivity functions and variables of a sensitivity
+ * provider. It allows the results of the sensitivity analyses to be stored in dense arrays.
+ * <p>
+ * Indices are registered the first time an identifier is met and then never change, so that the
+ * registry of a provider can be shared by all the results it computes.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public final class SensitivityIndex {
+    static final int ABSENT = -1;
+
+    private final Map<String, Integer> functionIndices = new ConcurrentHashMap<>();
+    private final Map<String, Integer> variableIndices = new ConcurrentHashMap<>();
+    private final Map<String, int[]> rangeActionVariableIndices = new ConcurrentHashMap<>();
+
+    int registerFunction(String functionId) {
+        return register(functionIndices, functionId);
+    }
+
+    int registerVariable(String variableId) {
+        return register(variableIndices, variableId);
+    }
+
+    int getFunctionIndex(String functionId) {
+        return functionIndices.getOrDefault(functionId, ABSENT);
+    }
+
+    int getVariableIndex(String variableId) {
+        return variableIndices.getOrDefault(variableId, ABSENT);
+    }
+
+    int getFunctionCount() {
+        return functionIndices.size();
+    }
+
+    int getVariableCount() {
+        return variableIndices.size();
+    }
+
+    /**
+     * Returns the indices of the variables of the network elements of the range action, ABSENT
+     * for the ones which are not registered. They are cached once all of them are registered.
+     */
+    int[] getVariableIndices(RangeAction rangeAction) {
+        int[] indices = rangeActionVariableIndices.get(rangeAction.getId());
+        if (indices == null) {
+            indices = rangeAction.getNetworkElements().stream()
+                .mapToInt(networkElement -> getVariableIndex(networkElement.getId()))
+                .toArray();
+            if (Arrays.stream(indices).noneMatch(index -> index == ABSENT)) {
+                rangeActionVariableIndices.put(rangeAction.getId(), indices);
+            }
+        }
+        return indices;
+    }
+
+    private static int register(Map<String, Integer> indices, String id) {
+        Integer index = indices.get(id);
+        if (index != null) {
+            return index;
+        }
+        synchronized (indices) {
+            return indices.computeIfAbsent(id, k -> indices.size());
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.farao_community.farao.commons.FaraoException;
 import com.farao_community.farao.commons.RandomizedString;
 import com.farao_community.farao.data.crac_api.State;
 import com.farao_community.farao.data.crac_api.cnec.Cnec;
+import com.farao_community.farao.util.FaraoVariantsPool;
 import com.powsybl.contingency.Contingency;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.sensitivity.*;
@@ -17,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 
 import static com.farao_community.farao.sensitivity_analysis.SensitivityAnalysisUtil.convertCracContingencyToPowsybl;
@@ -37,13 +39,19 @@ final class SystematicSensitivityAdapter {
         LOGGER.debug("Systematic sensitivity analysis [start]");
         SensitivityAnalysisResult result = SensitivityAnalysis.run(network, cnecSensitivityProvider, cnecSensitivityProvider.getContingencies(network), sensitivityComputationParameters);
         LOGGER.debug("Systematic sensitivity analysis [end]");
-        return new SystematicSensitivityResult().completeData(result, false).postTreatIntensities();
+        return new SystematicSensitivityResult(cnecSensitivityProvider.getSensitivityIndex()).completeData(result, false).postTreatIntensities();
     }
 
+    /**
+     * Runs the sensitivity analysis, taking into account the remedial actions applied after some contingencies.
+     * One sensitivity analysis is run for each state with remedial actions, up to {@code parallelism} of them
+     * simultaneously, each one on its own variant of the network.
+     */
     static SystematicSensitivityResult runSensitivity(Network network,
                                                       CnecSensitivityProvider cnecSensitivityProvider,
                                                       AppliedRemedialActions appliedRemedialActions,
-                                                      SensitivityAnalysisParameters sensitivityComputationParameters) {
+                                                      SensitivityAnalysisParameters sensitivityComputationParameters,
+                                                      int parallelism) {
 
         if (appliedRemedialActions == null || appliedRemedialActions.isEmpty()) {
             return runSensitivity(network, cnecSensitivityProvider, sensitivityComputationParameters);
@@ -63,39 +71,97 @@ final class SystematicSensitivityAdapter {
             .map(state -> convertCracContingencyToPowsybl(state.getContingency().get(), network))
             .collect(Collectors.toList());
 
-        SystematicSensitivityResult result = new SystematicSensitivityResult();
+        SystematicSensitivityResult result = new SystematicSensitivityResult(cnecSensitivityProvider.getSensitivityIndex());
         result.completeData(SensitivityAnalysis.run(network, cnecSensitivityProvider, contingenciesWithoutRa, sensitivityComputationParameters), false);
 
-        // systematic analyses for states with RA
+        // systematic analyses for states with RA, sorted so that the results are always merged in the same order
         cnecSensitivityProvider.disableFactorsForBaseCaseSituation();
+        List<State> sortedStatesWithRa = statesWithRa.stream()
+            .sorted(Comparator.comparing(State::getId))
+            .collect(Collectors.toList());
+        if (sortedStatesWithRa.stream().anyMatch(state -> state.getContingency().isEmpty())) {
+            throw new FaraoException("Sensitivity analysis with applied RA does not handled preventive RA.");
+        }
+
         String workingVariantId = network.getVariantManager().getWorkingVariantId();
-        int counterForLogs = 2;
-        for (State state : appliedRemedialActions.getStatesWithRa()) {
+        int statesInParallel = Math.min(parallelism, sortedStatesWithRa.size());
+        if (statesInParallel > 1 && network.getVariantManager().isVariantMultiThreadAccessAllowed()) {
+            // the pool of variants would switch the multi-thread access of the network, whose variants are already
+            // shared with other threads
+            LOGGER.warn("The variants of the network are already shared between threads, the sensitivity analyses of the states with RA are run sequentially");
+            statesInParallel = 1;
+        }
+        if (statesInParallel > 1) {
+            runSensitivitiesWithRaInParallel(network, workingVariantId, cnecSensitivityProvider, appliedRemedialActions, sortedStatesWithRa, sensitivityComputationParameters, statesInParallel, result);
+        } else {
+            runSensitivitiesWithRaSequentially(network, workingVariantId, cnecSensitivityProvider, appliedRemedialActions, sortedStatesWithRa, sensitivityComputationParameters, result);
+        }
 
-            Optional<com.farao_community.farao.data.crac_api.Contingency> optContingency = state.getContingency();
+        LOGGER.debug("Systematic sensitivity analysis with applied RA [end]");
 
-            if (optContingency.isEmpty()) {
-                throw new FaraoException("Sensitivity analysis with applied RA does not handled preventive RA.");
-            }
+        network.getVariantManager().setWorkingVariant(workingVariantId);
+        return result.postTreatIntensities();
+    }
 
-            LOGGER.debug("... ({}/{}) curative state {}", counterForLogs, appliedRemedialActions.getStatesWithRa().size() + 1, optContingency.get().getId());
+    private static void runSensitivitiesWithRaSequentially(Network network,
+                                                           String workingVariantId,
+                                                           CnecSensitivityProvider cnecSensitivityProvider,
+                                                           AppliedRemedialActions appliedRemedialActions,
+                                                           List<State> statesWithRa,
+                                                           SensitivityAnalysisParameters sensitivityComputationParameters,
+                                                           SystematicSensitivityResult result) {
+        int counterForLogs = 2;
+        for (State state : statesWithRa) {
+            LOGGER.debug("... ({}/{}) curative state {}", counterForLogs, statesWithRa.size() + 1, state.getContingency().orElseThrow().getId());
 
             String variantForState = RandomizedString.getRandomizedString();
             network.getVariantManager().cloneVariant(workingVariantId, variantForState);
             network.getVariantManager().setWorkingVariant(variantForState);
 
-            appliedRemedialActions.applyOnNetwork(state, network);
-
-            List<Contingency> contingencyList = Collections.singletonList(convertCracContingencyToPowsybl(optContingency.get(), network));
-
-            result.completeData(SensitivityAnalysis.run(network, variantForState, cnecSensitivityProvider, contingencyList, sensitivityComputationParameters), true);
+            result.completeData(runSensitivityWithRa(network, cnecSensitivityProvider, appliedRemedialActions, state, sensitivityComputationParameters), true);
             network.getVariantManager().removeVariant(variantForState);
             counterForLogs++;
         }
+    }
 
-        LOGGER.debug("Systematic sensitivity analysis with applied RA [end]");
+    /**
+     * Results are merged in the order of the states, as soon as they are available, by the calling thread.
+     */
+    private static void runSensitivitiesWithRaInParallel(Network network,
+                                                         String workingVariantId,
+                                                         CnecSensitivityProvider cnecSensitivityProvider,
+                                                         AppliedRemedialActions appliedRemedialActions,
+                                                         List<State> statesWithRa,
+                                                         SensitivityAnalysisParameters sensitivityComputationParameters,
+                                                         int statesInParallel,
+                                                         SystematicSensitivityResult result) {
+        LOGGER.debug("... {} curative state(s) computed on {} variants in parallel", statesWithRa.size(), statesInParallel);
+        try (FaraoVariantsPool variantsPool = new FaraoVariantsPool(network, workingVariantId, statesInParallel)) {
+            List<ForkJoinTask<SensitivityAnalysisResult>> tasks = statesWithRa.stream()
+                .map(state -> variantsPool.submit(() -> {
+                    Network networkOnVariant = variantsPool.getAvailableNetwork();
+                    try {
+                        return runSensitivityWithRa(networkOnVariant, cnecSensitivityProvider, appliedRemedialActions, state, sensitivityComputationParameters);
+                    } finally {
+                        variantsPool.releaseUsedNetwork(networkOnVariant);
+                    }
+                }))
+                .collect(Collectors.toList());
+            tasks.forEach(task -> result.completeData(task.join(), true));
+        }
+    }
 
-        network.getVariantManager().setWorkingVariant(workingVariantId);
-        return result.postTreatIntensities();
+    /**
+     * Applies the remedial actions of the state on the working variant of the network, and runs the
+     * sensitivity analysis of the contingency of the state on this variant.
+     */
+    private static SensitivityAnalysisResult runSensitivityWithRa(Network network,
+                                                                  CnecSensitivityProvider cnecSensitivityProvider,
+                                                                  AppliedRemedialActions appliedRemedialActions,
+                                                                  State state,
+                                                                  SensitivityAnalysisParameters sensitivityComputationParameters) {
+        appliedRemedialActions.applyOnNetwork(state, network);
+        List<Contingency> contingencyList = Collections.singletonList(convertCracContingencyToPowsybl(state.getContingency().orElseThrow(), network));
+        return SensitivityAnalysis.run(network, network.getVariantManager().getWorkingVariantId(), cnecSensitivityProvider, contingencyList, sensitivityComputationParameters);
     }
 }
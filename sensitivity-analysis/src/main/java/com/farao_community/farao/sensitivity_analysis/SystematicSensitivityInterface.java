@@ -54,6 +54,11 @@ public final class SystematicSensitivityInterface {
      */
     private AppliedRemedialActions appliedRemedialActions;
 
+    /**
+     * The maximum number of sensitivity analyses run simultaneously for the states with applied remedial actions
+     */
+    private int parallelism;
+
     /**
      * Builder
      */
@@ -63,6 +68,7 @@ public final class SystematicSensitivityInterface {
         private MultipleSensitivityProvider multipleSensitivityProvider = new MultipleSensitivityProvider();
         private AppliedRemedialActions appliedRemedialActions;
         private boolean providerInitialised = false;
+        private int parallelism = 1;
 
         private SystematicSensitivityInterfaceBuilder() {
 
@@ -101,6 +107,11 @@ public final class SystematicSensitivityInterface {
             return this;
         }
 
+        public SystematicSensitivityInterfaceBuilder withParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
         public SystematicSensitivityInterface build() {
 
             if (!providerInitialised) {
@@ -114,6 +125,7 @@ public final class SystematicSensitivityInterface {
             systematicSensitivityInterface.fallbackParameters = fallbackParameters;
             systematicSensitivityInterface.cnecSensitivityProvider = multipleSensitivityProvider;
             systematicSensitivityInterface.appliedRemedialActions = appliedRemedialActions;
+            systematicSensitivityInterface.parallelism = parallelism;
             return systematicSensitivityInterface;
         }
     }
@@ -170,7 +182,7 @@ public final class SystematicSensitivityInterface {
     private SystematicSensitivityResult runWithConfig(Network network, SensitivityAnalysisParameters sensitivityAnalysisParameters) {
         try {
             SystematicSensitivityResult tempSystematicSensitivityAnalysisResult = SystematicSensitivityAdapter
-                .runSensitivity(network, cnecSensitivityProvider, appliedRemedialActions, sensitivityAnalysisParameters);
+                .runSensitivity(network, cnecSensitivityProvider, appliedRemedialActions, sensitivityAnalysisParameters, parallelism);
 
             if (!tempSystematicSensitivityAnalysisResult.isSuccess()) {
                 throw new SensitivityAnalysisException("Some output data of the sensitivity analysis are missing.");
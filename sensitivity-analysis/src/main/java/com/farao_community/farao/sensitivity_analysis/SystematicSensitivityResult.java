@@ -6,9 +6,9 @@
  */
 package com.farao_community.farao.sensitivity_analysis;
 
+import com.farao_community.farao.commons.FaraoException;
 import com.farao_community.farao.data.crac_api.Contingency;
 import com.farao_community.farao.data.crac_api.Instant;
-import com.farao_community.farao.data.crac_api.NetworkElement;
 import com.farao_community.farao.data.crac_api.cnec.Cnec;
 import com.farao_community.farao.data.crac_api.range_action.RangeAction;
 import com.powsybl.sensitivity.SensitivityAnalysisResult;
@@ -17,36 +17,133 @@ import com.powsybl.sensitivity.factors.functions.BranchFlow;
 import com.powsybl.sensitivity.factors.functions.BranchIntensity;
 import com.powsybl.sensitivity.factors.variables.LinearGlsk;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static com.farao_community.farao.sensitivity_analysis.SensitivityIndex.ABSENT;
 
 /**
  * @author Pengbo Wang {@literal <pengbo.wang at rte-international.com>}
  */
 public class SystematicSensitivityResult {
 
-    private static class StateResult {
-        private final Map<String, Double> referenceFlows = new HashMap<>();
-        private final Map<String, Double> referenceIntensities = new HashMap<>();
-        private final Map<String, Map<String, Double>> flowSensitivities = new HashMap<>();
-        private final Map<String, Map<String, Double>> intensitySensitivities = new HashMap<>();
+    /**
+     * Results of one state, stored in dense arrays. Each sensitivity function of the state is given a row,
+     * and the sensitivities of a function are stored in its row, at the indices of the variables. Only the
+     * functions of the state are indexed, in a sorted array, so that the memory of a state does not depend
+     * on the functions of the other states.
+     */
+    private static final class StateResult {
+        private int[] functionIndices;
+        private int[] functionRows;
+        private int rowCount = 0;
+        private int variableCount;
+        private double[] referenceFlows;
+        private double[] referenceIntensities;
+        private double[] flowSensitivities;
+        private double[] intensitySensitivities;
+
+        private StateResult(int[] functionIndices, int variableCount) {
+            this.functionIndices = functionIndices;
+            this.functionRows = new int[functionIndices.length];
+            Arrays.fill(functionRows, ABSENT);
+            this.variableCount = variableCount;
+            int rowCapacity = functionIndices.length;
+            referenceFlows = newNaNArray(rowCapacity);
+            referenceIntensities = newNaNArray(rowCapacity);
+            flowSensitivities = newNaNArray(rowCapacity * variableCount);
+            intensitySensitivities = newNaNArray(rowCapacity * variableCount);
+        }
 
-        private Map<String, Double> getReferenceFlows() {
-            return referenceFlows;
+        private void addFunctions(int[] newFunctionIndices) {
+            int[] mergedFunctionIndices = IntStream.concat(Arrays.stream(functionIndices), Arrays.stream(newFunctionIndices))
+                .distinct()
+                .sorted()
+                .toArray();
+            if (mergedFunctionIndices.length == functionIndices.length) {
+                return;
+            }
+            int[] mergedFunctionRows = new int[mergedFunctionIndices.length];
+            for (int i = 0; i < mergedFunctionIndices.length; i++) {
+                int position = Arrays.binarySearch(functionIndices, mergedFunctionIndices[i]);
+                mergedFunctionRows[i] = position < 0 ? ABSENT : functionRows[position];
+            }
+            functionIndices = mergedFunctionIndices;
+            functionRows = mergedFunctionRows;
         }
 
-        private Map<String, Double> getReferenceIntensities() {
-            return referenceIntensities;
+        private int getRow(int functionIndex) {
+            int position = functionIndex == ABSENT ? -1 : Arrays.binarySearch(functionIndices, functionIndex);
+            return position < 0 ? ABSENT : functionRows[position];
         }
 
-        private Map<String, Map<String, Double>> getFlowSensitivities() {
-            return flowSensitivities;
+        private int getOrCreateRow(int functionIndex) {
+            int position = Arrays.binarySearch(functionIndices, functionIndex);
+            if (functionRows[position] == ABSENT) {
+                if (rowCount == referenceFlows.length) {
+                    int rowCapacity = Math.max(2 * rowCount, functionIndices.length);
+                    referenceFlows = copyOfNaN(referenceFlows, rowCapacity);
+                    referenceIntensities = copyOfNaN(referenceIntensities, rowCapacity);
+                    flowSensitivities = copyOfNaN(flowSensitivities, rowCapacity * variableCount);
+                    intensitySensitivities = copyOfNaN(intensitySensitivities, rowCapacity * variableCount);
+                }
+                functionRows[position] = rowCount++;
+            }
+            return functionRows[position];
         }
 
-        private Map<String, Map<String, Double>> getIntensitySensitivities() {
-            return intensitySensitivities;
+        private void ensureVariableCount(int newVariableCount) {
+            if (newVariableCount <= variableCount) {
+                return;
+            }
+            int rowCapacity = referenceFlows.length;
+            flowSensitivities = widen(flowSensitivities, rowCapacity, variableCount, newVariableCount);
+            intensitySensitivities = widen(intensitySensitivities, rowCapacity, variableCount, newVariableCount);
+            variableCount = newVariableCount;
+        }
+
+        private double getSensitivity(double[] sensitivities, int row, int variableIndex) {
+            if (row == ABSENT || variableIndex == ABSENT || variableIndex >= variableCount) {
+                return Double.NaN;
+            }
+            return sensitivities[row * variableCount + variableIndex];
+        }
+
+        private double sumSensitivities(double[] sensitivities, int row, int[] variableIndices) {
+            if (row == ABSENT) {
+                return Double.NaN;
+            }
+            double sum = 0;
+            for (int variableIndex : variableIndices) {
+                sum += getSensitivity(sensitivities, row, variableIndex);
+            }
+            return sum;
+        }
+
+        private void setIfAbsent(double[] values, int index, double value) {
+            if (Double.isNaN(values[index])) {
+                values[index] = value;
+            }
+        }
+
+        private static double[] newNaNArray(int length) {
+            double[] array = new double[length];
+            Arrays.fill(array, Double.NaN);
+            return array;
+        }
+
+        private static double[] copyOfNaN(double[] array, int length) {
+            double[] copy = Arrays.copyOf(array, length);
+            Arrays.fill(copy, array.length, length, Double.NaN);
+            return copy;
+        }
+
+        private static double[] widen(double[] matrix, int rowCapacity, int columnCount, int newColumnCount) {
+            double[] widenedMatrix = newNaNArray(rowCapacity * newColumnCount);
+            for (int row = 0; row < rowCapacity; row++) {
+                System.arraycopy(matrix, row * columnCount, widenedMatrix, row * newColumnCount, columnCount);
+            }
+            return widenedMatrix;
         }
     }
 
@@ -57,12 +154,18 @@ public class SystematicSensitivityResult {
     }
 
     private SensitivityComputationStatus status;
-    private final StateResult nStateResult = new StateResult();
+    private final SensitivityIndex sensitivityIndex;
+    private StateResult nStateResult;
     private final Map<String, StateResult> postContingencyResults = new HashMap<>();
     private final Map<String, StateResult> postCraResults = new HashMap<>();
 
     public SystematicSensitivityResult() {
+        this(new SensitivityIndex());
+    }
+
+    SystematicSensitivityResult(SensitivityIndex sensitivityIndex) {
         this.status = SensitivityComputationStatus.SUCCESS;
+        this.sensitivityIndex = sensitivityIndex;
     }
 
     public SystematicSensitivityResult completeData(SensitivityAnalysisResult results, boolean afterCra) {
@@ -72,10 +175,17 @@ public class SystematicSensitivityResult {
             return this;
         }
 
+        // register all the functions and variables first, so that the arrays of the states are sized only once
+        results.getSensitivityValues().forEach(this::registerFactor);
+        results.getSensitivityValuesContingencies().values().forEach(sensitivityValues -> sensitivityValues.forEach(this::registerFactor));
+
         Map<String, StateResult> contingencyResultsToFill = afterCra ? postCraResults : postContingencyResults;
-        results.getSensitivityValues().forEach(sensitivityValue -> fillIndividualValue(sensitivityValue, nStateResult));
+        if (!results.getSensitivityValues().isEmpty()) {
+            nStateResult = getOrCreateStateResult(nStateResult, results.getSensitivityValues());
+            results.getSensitivityValues().forEach(sensitivityValue -> fillIndividualValue(sensitivityValue, nStateResult));
+        }
         results.getSensitivityValuesContingencies().forEach((contingencyId, sensitivityValues) -> {
-            StateResult contingencyStateResult = new StateResult();
+            StateResult contingencyStateResult = getOrCreateStateResult(null, sensitivityValues);
             sensitivityValues.forEach(sensitivityValue -> fillIndividualValue(sensitivityValue, contingencyStateResult));
             contingencyResultsToFill.put(contingencyId, contingencyStateResult);
         });
@@ -84,23 +194,43 @@ public class SystematicSensitivityResult {
     }
 
     public SystematicSensitivityResult postTreatIntensities() {
-        postTreatIntensitiesOnState(nStateResult);
+        if (nStateResult != null) {
+            postTreatIntensitiesOnState(nStateResult);
+        }
         postContingencyResults.values().forEach(this::postTreatIntensitiesOnState);
         postCraResults.values().forEach(this::postTreatIntensitiesOnState);
         return this;
     }
 
     private void postTreatIntensitiesOnState(StateResult stateResult) {
-        stateResult.getReferenceIntensities().forEach((cnecId, value) -> {
-            if (stateResult.getReferenceFlows().containsKey(cnecId) && stateResult.getReferenceFlows().get(cnecId) < 0) {
-                stateResult.getReferenceIntensities().put(cnecId, -value);
+        for (int row = 0; row < stateResult.rowCount; row++) {
+            if (stateResult.referenceFlows[row] < 0) {
+                stateResult.referenceIntensities[row] = -stateResult.referenceIntensities[row];
+                int rowStart = row * stateResult.variableCount;
+                for (int i = rowStart; i < rowStart + stateResult.variableCount; i++) {
+                    stateResult.intensitySensitivities[i] = -stateResult.intensitySensitivities[i];
+                }
             }
-        });
-        stateResult.getIntensitySensitivities().forEach((cnecId, sensitivities) -> {
-            if (stateResult.getReferenceFlows().containsKey(cnecId) && stateResult.getReferenceFlows().get(cnecId) < 0) {
-                sensitivities.forEach((actionId, sensi) -> sensitivities.put(actionId, -sensi));
-            }
-        });
+        }
+    }
+
+    private void registerFactor(SensitivityValue value) {
+        sensitivityIndex.registerFunction(value.getFactor().getFunction().getId());
+        sensitivityIndex.registerVariable(value.getFactor().getVariable().getId());
+    }
+
+    private StateResult getOrCreateStateResult(StateResult stateResult, Collection<SensitivityValue> sensitivityValues) {
+        int[] functionIndices = sensitivityValues.stream()
+            .mapToInt(value -> sensitivityIndex.getFunctionIndex(value.getFactor().getFunction().getId()))
+            .distinct()
+            .sorted()
+            .toArray();
+        if (stateResult == null) {
+            return new StateResult(functionIndices, sensitivityIndex.getVariableCount());
+        }
+        stateResult.addFunctions(functionIndices);
+        stateResult.ensureVariableCount(sensitivityIndex.getVariableCount());
+        return stateResult;
     }
 
     private void fillIndividualValue(SensitivityValue value, StateResult stateResult) {
@@ -112,14 +242,18 @@ public class SystematicSensitivityResult {
             reference = 0.;
         }
 
-        if (value.getFactor().getFunction() instanceof BranchFlow) {
-            stateResult.getReferenceFlows().putIfAbsent(value.getFactor().getFunction().getId(), reference);
-            stateResult.getFlowSensitivities().computeIfAbsent(value.getFactor().getFunction().getId(), k -> new HashMap<>())
-                    .putIfAbsent(value.getFactor().getVariable().getId(), sensitivity);
-        } else if (value.getFactor().getFunction() instanceof BranchIntensity) {
-            stateResult.getReferenceIntensities().putIfAbsent(value.getFactor().getFunction().getId(), reference);
-            stateResult.getIntensitySensitivities().computeIfAbsent(value.getFactor().getFunction().getId(), k -> new HashMap<>())
-                    .putIfAbsent(value.getFactor().getVariable().getId(), sensitivity);
+        boolean isFlow = value.getFactor().getFunction() instanceof BranchFlow;
+        if (!isFlow && !(value.getFactor().getFunction() instanceof BranchIntensity)) {
+            return;
+        }
+        int row = stateResult.getOrCreateRow(sensitivityIndex.getFunctionIndex(value.getFactor().getFunction().getId()));
+        int sensitivityIndexInRow = row * stateResult.variableCount + sensitivityIndex.getVariableIndex(value.getFactor().getVariable().getId());
+        if (isFlow) {
+            stateResult.setIfAbsent(stateResult.referenceFlows, row, reference);
+            stateResult.setIfAbsent(stateResult.flowSensitivities, sensitivityIndexInRow, sensitivity);
+        } else {
+            stateResult.setIfAbsent(stateResult.referenceIntensities, row, reference);
+            stateResult.setIfAbsent(stateResult.intensitySensitivities, sensitivityIndexInRow, sensitivity);
         }
     }
 
@@ -140,7 +274,8 @@ public class SystematicSensitivityResult {
         if (stateResult == null) {
             return Double.NaN;
         }
-        return stateResult.getReferenceFlows().getOrDefault(cnec.getNetworkElement().getId(), Double.NaN);
+        int row = getRow(stateResult, cnec);
+        return row == ABSENT ? Double.NaN : stateResult.referenceFlows[row];
     }
 
     public double getReferenceIntensity(Cnec<?> cnec) {
@@ -148,17 +283,12 @@ public class SystematicSensitivityResult {
         if (stateResult == null) {
             return Double.NaN;
         }
-        return stateResult.getReferenceIntensities().getOrDefault(cnec.getNetworkElement().getId(), Double.NaN);
+        int row = getRow(stateResult, cnec);
+        return row == ABSENT ? Double.NaN : stateResult.referenceIntensities[row];
     }
 
     public double getSensitivityOnFlow(RangeAction rangeAction, Cnec<?> cnec) {
-        StateResult stateResult = getCnecStateResult(cnec);
-        Set<NetworkElement> networkElements = rangeAction.getNetworkElements();
-        if (stateResult == null || !stateResult.getFlowSensitivities().containsKey(cnec.getNetworkElement().getId())) {
-            return Double.NaN;
-        }
-        Map<String, Double> sensitivities = stateResult.getFlowSensitivities().get(cnec.getNetworkElement().getId());
-        return networkElements.stream().mapToDouble(netEl -> sensitivities.get(netEl.getId())).sum();
+        return getSensitivity(rangeAction, cnec, true);
     }
 
     public double getSensitivityOnFlow(LinearGlsk glsk, Cnec<?> cnec) {
@@ -167,21 +297,46 @@ public class SystematicSensitivityResult {
 
     public double getSensitivityOnFlow(String variableId, Cnec<?> cnec) {
         StateResult stateResult = getCnecStateResult(cnec);
-        if (stateResult == null || !stateResult.getFlowSensitivities().containsKey(cnec.getNetworkElement().getId())) {
+        if (stateResult == null) {
+            return Double.NaN;
+        }
+        int row = getRow(stateResult, cnec);
+        if (row == ABSENT) {
             return Double.NaN;
         }
-        Map<String, Double> sensitivities = stateResult.getFlowSensitivities().get(cnec.getNetworkElement().getId());
-        return sensitivities.get(variableId);
+        int variableIndex = sensitivityIndex.getVariableIndex(variableId);
+        if (!isComputed(stateResult, variableIndex)) {
+            throw new FaraoException(String.format("Sensitivity of cnec %s to variable %s has not been computed", cnec.getId(), variableId));
+        }
+        return stateResult.getSensitivity(stateResult.flowSensitivities, row, variableIndex);
     }
 
     public double getSensitivityOnIntensity(RangeAction rangeAction, Cnec<?> cnec) {
+        return getSensitivity(rangeAction, cnec, false);
+    }
+
+    private double getSensitivity(RangeAction rangeAction, Cnec<?> cnec, boolean onFlow) {
         StateResult stateResult = getCnecStateResult(cnec);
-        Set<NetworkElement> networkElements = rangeAction.getNetworkElements();
-        if (stateResult == null || !stateResult.getIntensitySensitivities().containsKey(cnec.getNetworkElement().getId())) {
+        if (stateResult == null) {
             return Double.NaN;
         }
-        Map<String, Double> sensitivities = stateResult.getIntensitySensitivities().get(cnec.getNetworkElement().getId());
-        return networkElements.stream().mapToDouble(netEl -> sensitivities.get(netEl.getId())).sum();
+        int row = getRow(stateResult, cnec);
+        if (row == ABSENT) {
+            return Double.NaN;
+        }
+        int[] variableIndices = sensitivityIndex.getVariableIndices(rangeAction);
+        if (Arrays.stream(variableIndices).anyMatch(variableIndex -> !isComputed(stateResult, variableIndex))) {
+            throw new FaraoException(String.format("Sensitivity of cnec %s to range action %s has not been computed", cnec.getId(), rangeAction.getId()));
+        }
+        return stateResult.sumSensitivities(onFlow ? stateResult.flowSensitivities : stateResult.intensitySensitivities, row, variableIndices);
+    }
+
+    private static boolean isComputed(StateResult stateResult, int variableIndex) {
+        return variableIndex != ABSENT && variableIndex < stateResult.variableCount;
+    }
+
+    private int getRow(StateResult stateResult, Cnec<?> cnec) {
+        return stateResult.getRow(sensitivityIndex.getFunctionIndex(cnec.getNetworkElement().getId()));
     }
 
     private StateResult getCnecStateResult(Cnec<?> cnec) {
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.sensitivity_analysis;
+
+import com.farao_community.farao.data.crac_api.Crac;
+import com.farao_community.farao.data.crac_api.cnec.FlowCnec;
+import com.farao_community.farao.data.crac_impl.utils.CommonCracCreation;
+import com.farao_community.farao.data.crac_impl.utils.NetworkImportsUtil;
+import com.powsybl.contingency.Contingency;
+import com.powsybl.contingency.ContingencyElement;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.sensitivity.SensitivityAnalysisParameters;
+import com.powsybl.sensitivity.SensitivityFactor;
+import com.powsybl.sensitivity.factors.BranchFlowPerInjectionIncrease;
+import com.powsybl.sensitivity.factors.BranchFlowPerPSTAngle;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class LinearImpactComputationTest {
+    private static final double DOUBLE_TOLERANCE = 1e-6;
+    private static final String OUTAGE_ID = "open FR2-FR3";
+    private static final String OPENED_BRANCH = "FFR2AA1  FFR3AA1  1";
+    private static final String GENERATOR = "FFR1AA1 _generator";
+
+    @Test
+    public void outagesAreAddedToTheContingenciesOfTheCnecStates() {
+        Crac crac = CommonCracCreation.create();
+        Network network = NetworkImportsUtil.import12NodesNetwork();
+        LinearImpactSensitivityProvider provider = new LinearImpactSensitivityProvider(crac.getFlowCnecs(), Map.of(OUTAGE_ID, Set.of(OPENED_BRANCH)), Set.of(GENERATOR));
+
+        // 2 contingencies of the CRAC, and the outage in the preventive state and after each of them
+        List<Contingency> contingencies = provider.getContingencies(network);
+        assertEquals(5, contingencies.size());
+        Contingency outageAfterContingency = contingencies.stream()
+            .filter(contingency -> contingency.getId().equals("Contingency FR1 FR3 + outage " + OUTAGE_ID))
+            .findAny().orElseThrow();
+        assertEquals(Set.of("FFR1AA1  FFR3AA1  1", OPENED_BRANCH), outageAfterContingency.getElements().stream().map(ContingencyElement::getId).collect(Collectors.toSet()));
+        assertEquals(OUTAGE_ID, provider.getOutageId(outageAfterContingency.getId()));
+        assertEquals("Contingency FR1 FR3", provider.getStateContingencyId(outageAfterContingency.getId()));
+        assertNull(provider.getOutageId("Contingency FR1 FR3"));
+        assertNull(provider.getStateContingencyId("preventive + outage " + OUTAGE_ID));
+
+        // the sensitivities to the injections are only computed in the states of the CNECs
+        List<SensitivityFactor> factors = provider.getAdditionalFactors(network, "Contingency FR1 FR3");
+        assertEquals(2, factors.size());
+        assertTrue(factors.stream().allMatch(factor -> factor instanceof BranchFlowPerInjectionIncrease));
+        factors = provider.getAdditionalFactors(network, outageAfterContingency.getId());
+        assertEquals(2, factors.size());
+        assertTrue(factors.stream().allMatch(factor -> factor instanceof BranchFlowPerPSTAngle));
+    }
+
+    @Test
+    public void runWithOutages() {
+        Crac crac = CommonCracCreation.create();
+        Network network = NetworkImportsUtil.import12NodesNetwork();
+        LinearImpactResult result = LinearImpactComputation.run(network, crac.getFlowCnecs(), Map.of(OUTAGE_ID, Set.of(OPENED_BRANCH)), Set.of(), new SensitivityAnalysisParameters());
+
+        // the mocked sensitivity provider returns flows of 10 MW in the preventive state and -20 MW after a contingency
+        FlowCnec preventiveCnec = crac.getFlowCnec("cnec1basecase");
+        FlowCnec curativeCnec = crac.getFlowCnec("cnec2stateCurativeContingency1");
+        assertEquals(10, result.getReferenceFlow(preventiveCnec), DOUBLE_TOLERANCE);
+        assertEquals(-20, result.getFlowAfterOutage(preventiveCnec, OUTAGE_ID), DOUBLE_TOLERANCE);
+        assertEquals(-20, result.getReferenceFlow(curativeCnec), DOUBLE_TOLERANCE);
+        assertEquals(-20, result.getFlowAfterOutage(curativeCnec, OUTAGE_ID), DOUBLE_TOLERANCE);
+        assertTrue(Double.isNaN(result.getFlowAfterOutage(curativeCnec, "other outage")));
+        assertTrue(Double.isNaN(result.getInjectionSensitivity(curativeCnec, GENERATOR)));
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.sensitivity_analysis;
+
+import com.farao_community.farao.data.crac_api.NetworkElement;
+import com.farao_community.farao.data.crac_api.range_action.RangeAction;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class SensitivityIndexTest {
+
+    private static NetworkElement mockNetworkElement(String id) {
+        NetworkElement networkElement = Mockito.mock(NetworkElement.class);
+        Mockito.when(networkElement.getId()).thenReturn(id);
+        return networkElement;
+    }
+
+    @Test
+    public void indicesAreRegisteredOnlyOnce() {
+        SensitivityIndex sensitivityIndex = new SensitivityIndex();
+
+        assertEquals(0, sensitivityIndex.registerFunction("line1"));
+        assertEquals(1, sensitivityIndex.registerFunction("line2"));
+        assertEquals(0, sensitivityIndex.registerFunction("line1"));
+        assertEquals(0, sensitivityIndex.registerVariable("pst1"));
+        assertEquals(2, sensitivityIndex.getFunctionCount());
+        assertEquals(1, sensitivityIndex.getVariableCount());
+        assertEquals(1, sensitivityIndex.getFunctionIndex("line2"));
+        assertEquals(SensitivityIndex.ABSENT, sensitivityIndex.getFunctionIndex("line3"));
+        assertEquals(SensitivityIndex.ABSENT, sensitivityIndex.getVariableIndex("pst2"));
+    }
+
+    @Test
+    public void rangeActionVariableIndices() {
+        SensitivityIndex sensitivityIndex = new SensitivityIndex();
+        RangeAction rangeAction = Mockito.mock(RangeAction.class);
+        NetworkElement pst = mockNetworkElement("pst1");
+        Mockito.when(rangeAction.getId()).thenReturn("ra");
+        Mockito.when(rangeAction.getNetworkElements()).thenReturn(Set.of(pst));
+
+        assertArrayEquals(new int[] {SensitivityIndex.ABSENT}, sensitivityIndex.getVariableIndices(rangeAction));
+
+        sensitivityIndex.registerVariable("pst0");
+        sensitivityIndex.registerVariable("pst1");
+        assertArrayEquals(new int[] {1}, sensitivityIndex.getVariableIndices(rangeAction));
+        assertSame(sensitivityIndex.getVariableIndices(rangeAction), sensitivityIndex.getVariableIndices(rangeAction));
+    }
+}
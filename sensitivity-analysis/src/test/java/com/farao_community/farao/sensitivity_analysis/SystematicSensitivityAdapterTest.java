@@ -18,7 +18,7 @@ import org.junit.Test;
 
 import java.util.Set;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 /**
  * @author Sebastien Murgey {@literal <sebastien.murgey at rte-france.com>}
@@ -75,7 +75,7 @@ public class SystematicSensitivityAdapterTest {
         AppliedRemedialActions appliedRemedialActions = new AppliedRemedialActions();
         appliedRemedialActions.addAppliedRangeAction(crac.getState("Contingency FR1 FR3", Instant.CURATIVE), crac.getPstRangeAction("pst"), -3.1);
 
-        SystematicSensitivityResult result = SystematicSensitivityAdapter.runSensitivity(network, factorProvider, appliedRemedialActions, new SensitivityAnalysisParameters());
+        SystematicSensitivityResult result = SystematicSensitivityAdapter.runSensitivity(network, factorProvider, appliedRemedialActions, new SensitivityAnalysisParameters(), 1);
 
         // after initial state or contingency without CRA, "standard results" of the MockSensiProvider are expected
         assertEquals(10, result.getReferenceFlow(crac.getFlowCnec("cnec2basecase")), 1e-3);
@@ -95,4 +95,54 @@ public class SystematicSensitivityAdapterTest {
         assertEquals(-200, result.getReferenceIntensity(crac.getFlowCnec("cnec2stateOutageContingency1")), 1e-3);
         assertEquals(-5, result.getSensitivityOnFlow(crac.getRangeAction("pst"), crac.getCnec("cnec2stateOutageContingency1")), 1e-3);
     }
+
+    @Test
+    public void testWithAppliedRaInParallel() {
+        Network network = NetworkImportsUtil.import12NodesNetwork();
+        Crac crac = CommonCracCreation.createWithPreventivePstRange();
+        RangeActionSensitivityProvider factorProvider = new RangeActionSensitivityProvider(crac.getRangeActions(), crac.getFlowCnecs(), Set.of(Unit.MEGAWATT, Unit.AMPERE));
+        AppliedRemedialActions appliedRemedialActions = new AppliedRemedialActions();
+        appliedRemedialActions.addAppliedRangeAction(crac.getState("Contingency FR1 FR3", Instant.CURATIVE), crac.getPstRangeAction("pst"), -3.1);
+        appliedRemedialActions.addAppliedRangeAction(crac.getState("Contingency FR1 FR2", Instant.CURATIVE), crac.getPstRangeAction("pst"), -3.1);
+
+        SystematicSensitivityResult result = SystematicSensitivityAdapter.runSensitivity(network, factorProvider, appliedRemedialActions, new SensitivityAnalysisParameters(), 2);
+
+        // initial state without CRA
+        assertEquals(10, result.getReferenceFlow(crac.getFlowCnec("cnec2basecase")), 1e-3);
+        assertEquals(0.5, result.getSensitivityOnFlow(crac.getRangeAction("pst"), crac.getCnec("cnec2basecase")), 1e-3);
+
+        // both contingencies with CRA, computed on their own variant
+        assertEquals(-40, result.getReferenceFlow(crac.getFlowCnec("cnec2stateCurativeContingency1")), 1e-3);
+        assertEquals(-180, result.getReferenceIntensity(crac.getFlowCnec("cnec2stateCurativeContingency1")), 1e-3);
+        assertEquals(-40, result.getReferenceFlow(crac.getFlowCnec("cnec1stateCurativeContingency2")), 1e-3);
+        assertEquals(-2.5, result.getSensitivityOnFlow(crac.getRangeAction("pst"), crac.getCnec("cnec1stateCurativeContingency2")), 1e-3);
+
+        // the variants used for the computations are removed and the initial network is untouched
+        assertEquals(1, network.getVariantManager().getVariantIds().size());
+        assertFalse(network.getVariantManager().isVariantMultiThreadAccessAllowed());
+        assertEquals(0, network.getTwoWindingsTransformer("BBE2AA1  BBE3AA1  1").getPhaseTapChanger().getTapPosition());
+    }
+
+    @Test
+    public void testWithAppliedRaOnNetworkWithMultiThreadAccess() {
+        Crac crac = CommonCracCreation.createWithPreventivePstRange();
+        AppliedRemedialActions appliedRemedialActions = new AppliedRemedialActions();
+        appliedRemedialActions.addAppliedRangeAction(crac.getState("Contingency FR1 FR3", Instant.CURATIVE), crac.getPstRangeAction("pst"), -3.1);
+        appliedRemedialActions.addAppliedRangeAction(crac.getState("Contingency FR1 FR2", Instant.CURATIVE), crac.getPstRangeAction("pst"), -3.1);
+
+        // sequentially, and with a parallelism which cannot be used on a network whose variants are already shared
+        for (int parallelism : new int[] {1, 2}) {
+            Network network = NetworkImportsUtil.import12NodesNetwork();
+            network.getVariantManager().allowVariantMultiThreadAccess(true);
+            RangeActionSensitivityProvider factorProvider = new RangeActionSensitivityProvider(crac.getRangeActions(), crac.getFlowCnecs(), Set.of(Unit.MEGAWATT, Unit.AMPERE));
+
+            SystematicSensitivityResult result = SystematicSensitivityAdapter.runSensitivity(network, factorProvider, appliedRemedialActions, new SensitivityAnalysisParameters(), parallelism);
+
+            assertEquals(10, result.getReferenceFlow(crac.getFlowCnec("cnec2basecase")), 1e-3);
+            assertEquals(-40, result.getReferenceFlow(crac.getFlowCnec("cnec2stateCurativeContingency1")), 1e-3);
+            assertEquals(-40, result.getReferenceFlow(crac.getFlowCnec("cnec1stateCurativeContingency2")), 1e-3);
+            assertEquals(1, network.getVariantManager().getVariantIds().size());
+            assertTrue(network.getVariantManager().isVariantMultiThreadAccessAllowed());
+        }
+    }
 }
@@ -6,6 +6,7 @@
  */
 package com.farao_community.farao.sensitivity_analysis;
 
+import com.farao_community.farao.commons.FaraoException;
 import com.farao_community.farao.commons.Unit;
 import com.farao_community.farao.commons.ZonalData;
 import com.farao_community.farao.data.crac_api.Crac;
@@ -119,6 +120,23 @@ public class SystematicSensitivityResultTest {
         assertEquals(6, result.getSensitivityOnFlow(linearGlsk, contingencyCnec), EPSILON);
     }
 
+    @Test
+    public void testResultsOfSameProviderShareIndices() {
+        // When
+        SensitivityAnalysisResult sensitivityAnalysisResult = SensitivityAnalysis.run(network, network.getVariantManager().getWorkingVariantId(), rangeActionSensitivityProvider, rangeActionSensitivityProvider.getContingencies(network), SensitivityAnalysisParameters.load());
+        SystematicSensitivityResult firstResult = new SystematicSensitivityResult(rangeActionSensitivityProvider.getSensitivityIndex()).completeData(sensitivityAnalysisResult, false).postTreatIntensities();
+        int functionCount = rangeActionSensitivityProvider.getSensitivityIndex().getFunctionCount();
+        int variableCount = rangeActionSensitivityProvider.getSensitivityIndex().getVariableCount();
+        SystematicSensitivityResult secondResult = new SystematicSensitivityResult(rangeActionSensitivityProvider.getSensitivityIndex()).completeData(sensitivityAnalysisResult, false).postTreatIntensities();
+
+        // Then
+        assertEquals(functionCount, rangeActionSensitivityProvider.getSensitivityIndex().getFunctionCount());
+        assertEquals(variableCount, rangeActionSensitivityProvider.getSensitivityIndex().getVariableCount());
+        assertEquals(firstResult.getSensitivityOnFlow(rangeAction, contingencyCnec), secondResult.getSensitivityOnFlow(rangeAction, contingencyCnec), EPSILON);
+        assertEquals(-200, secondResult.getReferenceIntensity(contingencyCnec), EPSILON);
+        assertThrows(FaraoException.class, () -> secondResult.getSensitivityOnFlow("unknownVariable", nStateCnec));
+    }
+
     @Test
     public void testNokSensiResult() {
         // When
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.util;
+
+import com.farao_community.farao.commons.FaraoException;
+import com.powsybl.iidm.export.ExportOptions;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.xml.NetworkXml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Copies the network by exporting it only once, without indentation, in an in-memory buffer. All the copies
+ * are then imported concurrently from this buffer.
+ *
+ * Compared to {@link XmlNetworkCloner}, the export cost is paid once whatever the number of copies, and the
+ * imports, which are the most expensive part of the copy, are run in parallel.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class BufferedXmlNetworkCloner implements NetworkCloner {
+
+    @Override
+    public List<Network> copy(Network network, int numberOfCopies, ExecutorService executor) {
+        byte[] buffer = export(network);
+        List<Future<Network>> futureCopies = new ArrayList<>(numberOfCopies);
+        for (int i = 0; i < numberOfCopies; i++) {
+            futureCopies.add(executor.submit(() -> NetworkXml.read(new ByteArrayInputStream(buffer))));
+        }
+        List<Network> copies = new ArrayList<>(numberOfCopies);
+        try {
+            for (Future<Network> futureCopy : futureCopies) {
+                copies.add(futureCopy.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FaraoException(String.format("Copy of network '%s' has been interrupted", network.getId()), e);
+        } catch (ExecutionException e) {
+            throw new FaraoException(String.format("Network '%s' could not be copied: %s", network.getId(), e.getCause().getMessage()), e);
+        }
+        return copies;
+    }
+
+    private static byte[] export(Network network) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        NetworkXml.write(network, new ExportOptions().setIndent(false), outputStream);
+        return outputStream.toByteArray();
+    }
+}
@@ -9,7 +9,6 @@ package com.farao_community.farao.util;
 import com.farao_community.farao.commons.RandomizedString;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.VariantManagerConstants;
-import com.powsybl.iidm.xml.NetworkXml;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,9 +21,17 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 /**
+ * Pool of network copies, meant to be long-lived: copies are borrowed with {@link #getAvailableNetwork()}
+ * and reset to their base variant when given back with {@link #releaseUsedNetwork(Network)}, so that they
+ * can be reused by successive computations without copying the network again.
+ *
+ * The number of copies can be adapted with {@link #resize(int)}, up to the parallelism of the pool.
+ * Copies are made with a {@link NetworkCloner}, by default a {@link BufferedXmlNetworkCloner} which uses
+ * the threads of the pool to build them concurrently.
+ *
  * @author Sebastien Murgey {@literal <sebastien.murgey at rte-france.com>}
  */
-public class FaraoNetworkPool extends ForkJoinPool implements AutoCloseable {
+public class FaraoNetworkPool extends ForkJoinPool implements NetworkPool {
     private static final Logger LOGGER = LoggerFactory.getLogger(FaraoNetworkPool.class);
     protected final BlockingQueue<Network> networksQueue;
     private final String targetVariant;
@@ -33,40 +40,96 @@ public class FaraoNetworkPool extends ForkJoinPool implements AutoCloseable {
     // Useful when targetVariant equals VariantManagerConstants.INITIAL_VARIANT_ID
     private final String stateSaveVariant;
 
-    public FaraoNetworkPool(Network network, String targetVariant, int parallelism) {
+    private final Network network;
+    private final NetworkCloner networkCloner;
+    private int networkCount;
+
+    public FaraoNetworkPool(Network network, String targetVariant, int parallelism, int networkCount, NetworkCloner networkCloner) {
         super(parallelism);
-        Objects.requireNonNull(network);
+        this.network = Objects.requireNonNull(network);
+        this.networkCloner = Objects.requireNonNull(networkCloner);
         this.targetVariant = Objects.requireNonNull(targetVariant);
+        if (networkCount < 1 || networkCount > parallelism) {
+            throw new IllegalArgumentException(String.format("Number of network copies (%d) must be between 1 and pool parallelism (%d)", networkCount, parallelism));
+        }
+        this.networkCount = networkCount;
         this.stateSaveVariant = RandomizedString.getRandomizedString("FaraoNetworkPool state save ", network.getVariantManager().getVariantIds(), 5);
         this.networksQueue = new ArrayBlockingQueue<>(getParallelism());
         initAvailableNetworks(network);
     }
 
+    public FaraoNetworkPool(Network network, String targetVariant, int parallelism, int networkCount) {
+        this(network, targetVariant, parallelism, networkCount, new BufferedXmlNetworkCloner());
+    }
+
+    public FaraoNetworkPool(Network network, String targetVariant, int parallelism) {
+        this(network, targetVariant, parallelism, parallelism);
+    }
+
     public FaraoNetworkPool(Network network, String targetVariant) {
         this(network, targetVariant, Runtime.getRuntime().availableProcessors());
     }
 
     protected void initAvailableNetworks(Network network) {
         LOGGER.info("Filling network pool with copies of network '{}' on variant '{}'", network.getId(), targetVariant);
+        addNetworkCopies(network, networkCount);
+    }
+
+    private void addNetworkCopies(Network network, int numberOfCopies) {
         String initialVariant = network.getVariantManager().getWorkingVariantId();
         network.getVariantManager().setWorkingVariant(targetVariant);
-        for (int i = 0; i < getParallelism(); i++) {
-            LOGGER.info("Copy n°{}", i + 1);
-            Network copy = NetworkXml.copy(network);
+        LOGGER.info("Making {} copies of network '{}'", numberOfCopies, network.getId());
+        List<Network> copies;
+        try {
+            copies = networkCloner.copy(network, numberOfCopies, this);
+        } finally {
+            network.getVariantManager().setWorkingVariant(initialVariant);
+        }
+        for (int i = 0; i < copies.size(); i++) {
+            Network copy = copies.get(i);
             // The initial network working variant is VariantManagerConstants.INITIAL_VARIANT_ID
             // in cloned network, so we need to copy it again.
             copy.getVariantManager().cloneVariant(VariantManagerConstants.INITIAL_VARIANT_ID, Arrays.asList(targetVariant, stateSaveVariant), true);
+            copy.getVariantManager().setWorkingVariant(targetVariant);
             boolean isSuccess = networksQueue.offer(copy);
             if (!isSuccess) {
                 throw new AssertionError(String.format("Cannot offer copy n°'%d' in pool. Should not happen", i + 1));
             }
         }
-        network.getVariantManager().setWorkingVariant(initialVariant);
     }
 
+    @Override
+    public int getNetworkCount() {
+        return networkCount;
+    }
+
+    /**
+     * Changes the number of network copies available in the pool. New copies are made from the network the pool
+     * has been built with, on the target variant. When shrinking, this method waits for the copies to be released
+     * before dropping them, so it should be called between two computations.
+     *
+     * @param newNetworkCount: number of copies, between 1 and the parallelism of the pool.
+     */
+    @Override
+    public synchronized void resize(int newNetworkCount) throws InterruptedException {
+        if (newNetworkCount < 1 || newNetworkCount > getParallelism()) {
+            throw new IllegalArgumentException(String.format("Number of network copies (%d) must be between 1 and pool parallelism (%d)", newNetworkCount, getParallelism()));
+        }
+        if (newNetworkCount > networkCount) {
+            LOGGER.debug("Adding {} copies of network '{}' to the pool", newNetworkCount - networkCount, network.getId());
+            addNetworkCopies(network, newNetworkCount - networkCount);
+        } else if (newNetworkCount < networkCount) {
+            LOGGER.debug("Removing {} copies of network '{}' from the pool", networkCount - newNetworkCount, network.getId());
+            for (int i = 0; i < networkCount - newNetworkCount; i++) {
+                networksQueue.take();
+            }
+        }
+        networkCount = newNetworkCount;
+    }
+
+    @Override
     public Network getAvailableNetwork() throws InterruptedException {
         Network networkClone = networksQueue.take();
-        networkClone.getVariantManager().cloneVariant(stateSaveVariant, targetVariant, true);
         networkClone.getVariantManager().setWorkingVariant(targetVariant);
         return networkClone;
     }
@@ -79,8 +142,19 @@ public class FaraoNetworkPool extends ForkJoinPool implements AutoCloseable {
         variantsToBeRemoved.forEach(variantId -> networkClone.getVariantManager().removeVariant(variantId));
     }
 
+    /**
+     * Resets the target variant of the copy to its initial content, removes the variants created while it
+     * was used, and gives it back to the pool.
+     */
+    protected void resetNetwork(Network networkClone) {
+        cleanVariants(networkClone);
+        networkClone.getVariantManager().cloneVariant(stateSaveVariant, targetVariant, true);
+        networkClone.getVariantManager().setWorkingVariant(targetVariant);
+    }
+
+    @Override
     public void releaseUsedNetwork(Network networkToRelease) throws InterruptedException {
-        cleanVariants(networkToRelease);
+        resetNetwork(networkToRelease);
         networksQueue.put(networkToRelease);
     }
 
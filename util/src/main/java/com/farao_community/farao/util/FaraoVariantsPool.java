@@ -10,52 +10,74 @@ import com.powsybl.iidm.network.Network;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.*;
 import java.util.concurrent.*;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
+ * Pool of variants of a single network, allowing several threads to work simultaneously on the same network,
+ * each of them on its own variant. Variant multi-thread access is enabled on the network while the pool is open.
+ *
+ * Powsybl does not support creating or removing variants of a network while other threads work on other variants
+ * of the same network. The variants of the pool are therefore only created and removed while none of them is in use:
+ * at pool creation, when resizing the pool (which waits for all the variants to be released) and when closing the
+ * pool (which waits for its tasks to terminate). For the same reason, the tasks using the pool must not create or
+ * remove variants of the network themselves.
+ *
  * @author Sebastien Murgey {@literal <sebastien.murgey at rte-france.com>}
  */
-public class FaraoVariantsPool extends ForkJoinPool implements AutoCloseable {
+public class FaraoVariantsPool extends ForkJoinPool implements NetworkPool {
     private static final Logger LOGGER = LoggerFactory.getLogger(FaraoVariantsPool.class);
-    private static final Lock LOCK = new ReentrantLock();
+
     private final BlockingQueue<String> variantsQueue;
+    private final Set<String> poolVariants = ConcurrentHashMap.newKeySet();
     private final Network network;
     private final String initialVariant;
+    private final boolean initialMultiThreadAccess;
+    private int variantCount;
+    private int nextVariantIndex = 0;
 
-    public FaraoVariantsPool(Network network, String initialVariant, int parallelism) {
+    public FaraoVariantsPool(Network network, String initialVariant, int parallelism, int variantCount) {
         super(parallelism);
-        this.network = network;
-        this.initialVariant = initialVariant;
+        if (variantCount < 1 || variantCount > parallelism) {
+            throw new IllegalArgumentException(String.format("Number of variants (%d) must be between 1 and pool parallelism (%d)", variantCount, parallelism));
+        }
+        this.network = Objects.requireNonNull(network);
+        this.initialVariant = Objects.requireNonNull(initialVariant);
         this.variantsQueue = new ArrayBlockingQueue<>(getParallelism());
+        this.variantCount = variantCount;
+        this.initialMultiThreadAccess = network.getVariantManager().isVariantMultiThreadAccessAllowed();
         initAvailableVariants();
     }
 
+    public FaraoVariantsPool(Network network, String initialVariant, int parallelism) {
+        this(network, initialVariant, parallelism, parallelism);
+    }
+
     public FaraoVariantsPool(Network network, String initialVariant) {
         this(network, initialVariant, Runtime.getRuntime().availableProcessors());
     }
 
     private void initAvailableVariants() {
-        LOCK.lock();
-        try {
-            for (int i = 0; i < getParallelism(); i++) {
-                String variantId = getVariantIdByIndex(i);
-                LOGGER.info("Filling variants pool with variant '{}'", variantId);
-                network.getVariantManager().cloneVariant(initialVariant, variantId);
-                boolean isSuccess = variantsQueue.offer(variantId);
-                if (!isSuccess) {
-                    throw new AssertionError(String.format("Cannot offer variant '%s' in pool. Should not happen", variantId));
-                }
+        addVariants(variantCount);
+        network.getVariantManager().allowVariantMultiThreadAccess(true);
+    }
+
+    private void addVariants(int numberOfVariants) {
+        for (int i = 0; i < numberOfVariants; i++) {
+            String variantId = getVariantIdByIndex(nextVariantIndex++);
+            LOGGER.info("Filling variants pool with variant '{}'", variantId);
+            network.getVariantManager().cloneVariant(initialVariant, variantId);
+            poolVariants.add(variantId);
+            boolean isSuccess = variantsQueue.offer(variantId);
+            if (!isSuccess) {
+                throw new AssertionError(String.format("Cannot offer variant '%s' in pool. Should not happen", variantId));
             }
-            network.getVariantManager().allowVariantMultiThreadAccess(true);
-        } finally {
-            LOCK.unlock();
         }
     }
 
     public String getAvailableVariant() throws InterruptedException {
         String polledVariant = variantsQueue.take();
+        // overwriting an existing variant only copies the initial variant content, it does not change the variants of the network
         network.getVariantManager().cloneVariant(initialVariant, polledVariant, true);
         return polledVariant;
     }
@@ -64,18 +86,99 @@ public class FaraoVariantsPool extends ForkJoinPool implements AutoCloseable {
         variantsQueue.put(variantToRelease);
     }
 
+    /**
+     * Returns the network, with a working variant reset to the initial variant content and dedicated to
+     * the calling thread.
+     */
     @Override
-    public void close() {
-        LOCK.lock();
+    public Network getAvailableNetwork() throws InterruptedException {
+        String variant = getAvailableVariant();
+        network.getVariantManager().setWorkingVariant(variant);
+        return network;
+    }
+
+    /**
+     * Releases the working variant of the calling thread.
+     */
+    @Override
+    public void releaseUsedNetwork(Network networkToRelease) throws InterruptedException {
+        if (networkToRelease != network) {
+            throw new IllegalArgumentException("The network to release does not belong to this pool");
+        }
+        String variant = network.getVariantManager().getWorkingVariantId();
+        if (!poolVariants.contains(variant)) {
+            throw new IllegalStateException(String.format("Working variant '%s' does not belong to this pool", variant));
+        }
+        releaseUsedVariant(variant);
+    }
+
+    @Override
+    public int getNetworkCount() {
+        return variantCount;
+    }
+
+    /**
+     * Changes the number of variants available in the pool. This method waits for all the variants of the pool
+     * to be released before adding or removing variants, so it must be called between two computations, and not
+     * from a task of the pool.
+     *
+     * @param newNetworkCount: number of variants, between 1 and the parallelism of the pool.
+     */
+    @Override
+    public synchronized void resize(int newNetworkCount) throws InterruptedException {
+        if (newNetworkCount < 1 || newNetworkCount > getParallelism()) {
+            throw new IllegalArgumentException(String.format("Number of variants (%d) must be between 1 and pool parallelism (%d)", newNetworkCount, getParallelism()));
+        }
+        if (newNetworkCount == variantCount) {
+            return;
+        }
+        List<String> releasedVariants = new ArrayList<>();
         try {
-            shutdownNow();
-            for (int i = 0; i < getParallelism(); i++) {
-                String variantId = getVariantIdByIndex(i);
-                network.getVariantManager().removeVariant(variantId);
+            for (int i = 0; i < variantCount; i++) {
+                releasedVariants.add(variantsQueue.take());
             }
         } finally {
-            LOCK.unlock();
+            // if interrupted, the variants which were already released are made available again, and the pool is not resized
+            if (releasedVariants.size() < variantCount) {
+                variantsQueue.addAll(releasedVariants);
+            }
+        }
+        // no variant of the pool is in use anymore
+        if (newNetworkCount > variantCount) {
+            variantsQueue.addAll(releasedVariants);
+            addVariants(newNetworkCount - variantCount);
+        } else {
+            for (String variantId : releasedVariants.subList(newNetworkCount, variantCount)) {
+                network.getVariantManager().removeVariant(variantId);
+                poolVariants.remove(variantId);
+            }
+            variantsQueue.addAll(releasedVariants.subList(0, newNetworkCount));
+        }
+        variantCount = newNetworkCount;
+    }
+
+    /**
+     * Stops the tasks of the pool and removes its variants from the network, once the tasks are terminated.
+     * If the calling thread is interrupted while waiting for them, the variants are left in the network.
+     */
+    @Override
+    public void close() {
+        shutdownNow();
+        try {
+            if (!awaitTermination(24, TimeUnit.HOURS)) {
+                LOGGER.error("The tasks of the variants pool did not terminate, its variants are not removed");
+                return;
+            }
+        } catch (InterruptedException e) {
+            LOGGER.error("Interrupted while waiting for the tasks of the variants pool, its variants are not removed");
+            Thread.currentThread().interrupt();
+            return;
+        }
+        for (String variantId : poolVariants) {
+            network.getVariantManager().removeVariant(variantId);
         }
+        poolVariants.clear();
+        network.getVariantManager().allowVariantMultiThreadAccess(initialMultiThreadAccess);
     }
 
     private String getVariantIdByIndex(int index) {
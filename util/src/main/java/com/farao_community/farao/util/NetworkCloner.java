@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.util;
+
+import com.powsybl.iidm.network.Network;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Strategy used by {@link FaraoNetworkPool} to make copies of a network.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public interface NetworkCloner {
+
+    /**
+     * Makes independent copies of the working variant of a network. In each copy, the content of this
+     * variant is available in the initial variant.
+     *
+     * @param network: network to copy, which must not be modified while the copies are made.
+     * @param numberOfCopies: number of copies to make.
+     * @param executor: executor which can be used to make the copies concurrently.
+     * @return the list of copies.
+     */
+    List<Network> copy(Network network, int numberOfCopies, ExecutorService executor);
+}
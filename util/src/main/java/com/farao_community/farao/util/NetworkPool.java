@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.util;
+
+import com.powsybl.iidm.network.Network;
+
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Pool of threads, each of them being able to work on its own version of a network.
+ *
+ * Depending on the implementation, the borrowed network is either an independent copy of the network
+ * ({@link FaraoNetworkPool}) or the network itself, with a working variant dedicated to the calling
+ * thread ({@link FaraoVariantsPool}). In both cases, the borrowed network must be used and released
+ * in the thread that borrowed it.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public interface NetworkPool extends AutoCloseable {
+
+    ForkJoinTask<?> submit(Runnable task);
+
+    Network getAvailableNetwork() throws InterruptedException;
+
+    void releaseUsedNetwork(Network networkToRelease) throws InterruptedException;
+
+    int getNetworkCount();
+
+    void resize(int newNetworkCount) throws InterruptedException;
+
+    @Override
+    void close();
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.util;
+
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.xml.NetworkXml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Copies the network with one full XML export and import per copy, one copy after the other.
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class XmlNetworkCloner implements NetworkCloner {
+
+    @Override
+    public List<Network> copy(Network network, int numberOfCopies, ExecutorService executor) {
+        List<Network> copies = new ArrayList<>(numberOfCopies);
+        for (int i = 0; i < numberOfCopies; i++) {
+            copies.add(NetworkXml.copy(network));
+        }
+        return copies;
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.util;
+
+import com.powsybl.iidm.import_.Importers;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.iidm.xml.NetworkXml;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author agent {@literal <agent at local>}
+ */
+public class BufferedXmlNetworkClonerTest {
+
+    private static String toXml(Network network) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        NetworkXml.write(network, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void copiesMatchXmlCopyTest() {
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        network.getLoad("BBE1AA1 _load").setP0(123.);
+        String expectedXml = toXml(NetworkXml.copy(network));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<Network> copies = new BufferedXmlNetworkCloner().copy(network, 3, executor);
+            assertEquals(3, copies.size());
+            for (Network copy : copies) {
+                assertNotSame(network, copy);
+                assertEquals(123., copy.getLoad("BBE1AA1 _load").getP0(), 1e-6);
+                assertEquals(expectedXml, toXml(copy));
+            }
+            assertNotSame(copies.get(0), copies.get(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void copyWorkingVariantTest() {
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        String initialVariant = network.getVariantManager().getWorkingVariantId();
+        network.getVariantManager().cloneVariant(initialVariant, "otherVariant");
+        network.getVariantManager().setWorkingVariant("otherVariant");
+        network.getLoad("BBE1AA1 _load").setP0(456.);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Network copy = new BufferedXmlNetworkCloner().copy(network, 1, executor).get(0);
+            assertEquals(456., copy.getLoad("BBE1AA1 _load").getP0(), 1e-6);
+            assertEquals(toXml(new XmlNetworkCloner().copy(network, 1, executor).get(0)), toXml(copy));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
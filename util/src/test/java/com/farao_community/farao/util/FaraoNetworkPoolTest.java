@@ -31,4 +31,53 @@ public class FaraoNetworkPoolTest {
             Thread.currentThread().interrupt();
         }
     }
+
+    @Test
+    public void releasedNetworkIsResetTest() {
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        String initialVariant = network.getVariantManager().getWorkingVariantId();
+
+        try (FaraoNetworkPool pool = new FaraoNetworkPool(network, initialVariant, 1)) {
+            Network networkCopy = pool.getAvailableNetwork();
+            String lineId = networkCopy.getLines().iterator().next().getId();
+            networkCopy.getVariantManager().cloneVariant(initialVariant, "temporaryVariant");
+            networkCopy.getLine(lineId).getTerminal1().disconnect();
+            pool.releaseUsedNetwork(networkCopy);
+
+            Network sameNetworkCopy = pool.getAvailableNetwork();
+            assertSame(networkCopy, sameNetworkCopy);
+            assertEquals(initialVariant, sameNetworkCopy.getVariantManager().getWorkingVariantId());
+            assertFalse(sameNetworkCopy.getVariantManager().getVariantIds().contains("temporaryVariant"));
+            assertTrue(sameNetworkCopy.getLine(lineId).getTerminal1().isConnected());
+            pool.releaseUsedNetwork(sameNetworkCopy);
+        } catch (InterruptedException e) {
+            fail();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void resizePoolTest() {
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        String initialVariant = network.getVariantManager().getWorkingVariantId();
+
+        try (FaraoNetworkPool pool = new FaraoNetworkPool(network, initialVariant, 4, 1)) {
+            assertEquals(1, pool.getNetworkCount());
+            assertEquals(1, pool.networksQueue.size());
+
+            pool.resize(3);
+            assertEquals(3, pool.getNetworkCount());
+            assertEquals(3, pool.networksQueue.size());
+
+            pool.resize(2);
+            assertEquals(2, pool.getNetworkCount());
+            assertEquals(2, pool.networksQueue.size());
+
+            assertThrows(IllegalArgumentException.class, () -> pool.resize(5));
+            assertThrows(IllegalArgumentException.class, () -> pool.resize(0));
+        } catch (InterruptedException e) {
+            fail();
+            Thread.currentThread().interrupt();
+        }
+    }
 }
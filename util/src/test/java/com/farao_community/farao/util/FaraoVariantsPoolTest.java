@@ -7,9 +7,18 @@
 package com.farao_community.farao.util;
 
 import com.powsybl.iidm.import_.Importers;
+import com.powsybl.iidm.network.Load;
 import com.powsybl.iidm.network.Network;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.junit.Assert.*;
 
 /**
@@ -37,4 +46,116 @@ public class FaraoVariantsPoolTest {
             Thread.currentThread().interrupt();
         }
     }
+
+    @Test
+    public void borrowedNetworkIsIsolatedPerThreadTest() throws InterruptedException, ExecutionException {
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        String initialVariant = network.getVariantManager().getWorkingVariantId();
+        Load load = network.getLoads().iterator().next();
+        double initialP0 = load.getP0();
+
+        try (NetworkPool pool = new FaraoVariantsPool(network, initialVariant, 2)) {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (int i = 1; i <= 2; i++) {
+                double p0 = initialP0 + i;
+                tasks.add(pool.submit(() -> {
+                    try {
+                        Network borrowedNetwork = pool.getAvailableNetwork();
+                        assertSame(network, borrowedNetwork);
+                        assertEquals(initialP0, borrowedNetwork.getLoad(load.getId()).getP0(), 1e-6);
+                        borrowedNetwork.getLoad(load.getId()).setP0(p0);
+                        assertEquals(p0, borrowedNetwork.getLoad(load.getId()).getP0(), 1e-6);
+                        pool.releaseUsedNetwork(borrowedNetwork);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new AssertionError(e);
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.get();
+            }
+        }
+        network.getVariantManager().setWorkingVariant(initialVariant);
+        assertEquals(initialP0, load.getP0(), 1e-6);
+    }
+
+    @Test
+    public void resizeAndClosePoolTest() throws InterruptedException {
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        String initialVariant = network.getVariantManager().getWorkingVariantId();
+        int initialVariantCount = network.getVariantManager().getVariantIds().size();
+
+        FaraoVariantsPool pool = new FaraoVariantsPool(network, initialVariant, 4, 1);
+        assertEquals(1, pool.getNetworkCount());
+        assertEquals(initialVariantCount + 1, network.getVariantManager().getVariantIds().size());
+        assertTrue(network.getVariantManager().isVariantMultiThreadAccessAllowed());
+
+        pool.resize(3);
+        assertEquals(3, pool.getNetworkCount());
+        assertEquals(initialVariantCount + 3, network.getVariantManager().getVariantIds().size());
+        pool.resize(2);
+        assertEquals(2, pool.getNetworkCount());
+        assertEquals(initialVariantCount + 2, network.getVariantManager().getVariantIds().size());
+        assertThrows(IllegalArgumentException.class, () -> pool.resize(5));
+
+        pool.close();
+        assertEquals(initialVariantCount, network.getVariantManager().getVariantIds().size());
+        assertFalse(network.getVariantManager().isVariantMultiThreadAccessAllowed());
+    }
+
+    @Test
+    public void resizeWaitsForBorrowedVariantsTest() throws InterruptedException, ExecutionException {
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        String initialVariant = network.getVariantManager().getWorkingVariantId();
+        int initialVariantCount = network.getVariantManager().getVariantIds().size();
+
+        try (FaraoVariantsPool pool = new FaraoVariantsPool(network, initialVariant, 3, 2)) {
+            String borrowedVariant = pool.getAvailableVariant();
+            CompletableFuture<Void> resize = CompletableFuture.runAsync(() -> {
+                try {
+                    pool.resize(3);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AssertionError(e);
+                }
+            });
+            Thread.sleep(100);
+            // no variant can be created while a variant of the pool is in use
+            assertFalse(resize.isDone());
+            assertEquals(initialVariantCount + 2, network.getVariantManager().getVariantIds().size());
+
+            pool.releaseUsedVariant(borrowedVariant);
+            resize.get();
+            assertEquals(3, pool.getNetworkCount());
+            assertEquals(initialVariantCount + 3, network.getVariantManager().getVariantIds().size());
+        }
+    }
+
+    @Test
+    public void closeWaitsForRunningTasksTest() throws InterruptedException {
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        String initialVariant = network.getVariantManager().getWorkingVariantId();
+        int initialVariantCount = network.getVariantManager().getVariantIds().size();
+        AtomicBoolean taskTerminated = new AtomicBoolean(false);
+        CountDownLatch taskStarted = new CountDownLatch(1);
+
+        FaraoVariantsPool pool = new FaraoVariantsPool(network, initialVariant, 1);
+        pool.submit(() -> {
+            String variant = pool.getAvailableVariant();
+            taskStarted.countDown();
+            // the task ignores the interruption sent by close, the pool has to wait for it
+            long end = System.nanoTime() + 200_000_000L;
+            while (System.nanoTime() < end) {
+                assertNotNull(network.getVariantManager().getVariantIds());
+            }
+            taskTerminated.set(true);
+            pool.releaseUsedVariant(variant);
+            return null;
+        });
+        taskStarted.await();
+        pool.close();
+        assertTrue(taskTerminated.get());
+        assertEquals(initialVariantCount, network.getVariantManager().getVariantIds().size());
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2021, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.farao_community.farao.util;
+
+import com.powsybl.iidm.import_.Importers;
+import com.powsybl.iidm.network.Network;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the time needed by the network cloners to make the copies of a pool, on a single thread.
+ *
+ * It is not run with the unit tests, as its name does not end with Test. Run it with:
+ * mvn test -pl util -Dtest=NetworkClonerBenchmark -Dfarao.benchmark.runs=200
+ *
+ * @author agent {@literal <agent at local>}
+ */
+public class NetworkClonerBenchmark {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkClonerBenchmark.class);
+    private static final int NUMBER_OF_COPIES = 8;
+
+    private static double meanCopyTimeInMs(NetworkCloner networkCloner, Network network, ExecutorService executor, int runs) {
+        // warm-up
+        for (int i = 0; i < runs / 10 + 1; i++) {
+            networkCloner.copy(network, NUMBER_OF_COPIES, executor);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < runs; i++) {
+            assertEquals(NUMBER_OF_COPIES, networkCloner.copy(network, NUMBER_OF_COPIES, executor).size());
+        }
+        return (System.nanoTime() - start) / 1e6 / runs;
+    }
+
+    @Test
+    public void compareNetworkCloners() {
+        int runs = Integer.getInteger("farao.benchmark.runs", 200);
+        Network network = Importers.loadNetwork("testCase.xiidm", getClass().getResourceAsStream("/testCase.xiidm"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            double xmlCopyTime = meanCopyTimeInMs(new XmlNetworkCloner(), network, executor, runs);
+            double bufferedXmlCopyTime = meanCopyTimeInMs(new BufferedXmlNetworkCloner(), network, executor, runs);
+            LOGGER.info("{} copies on 1 thread, mean of {} runs: XmlNetworkCloner {} ms, BufferedXmlNetworkCloner {} ms",
+                NUMBER_OF_COPIES, runs, String.format("%.1f", xmlCopyTime), String.format("%.1f", bufferedXmlCopyTime));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}